@@ -0,0 +1,110 @@
+package com.lanchonete;
+
+import com.lanchonete.enums.*;
+import com.lanchonete.model.*;
+import com.lanchonete.store.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de estresse do armazém de pedidos concorrente
+ * Verifica números únicos e contíguos, instantâneos consistentes
+ * e mede a escala das anexações com o número de threads
+ */
+public class TesteArmazemPedidos {
+    private static final int PEDIDOS_POR_EXECUCAO = 2_000_000;
+    
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TESTE DE ESTRESSE DO ARMAZÉM DE PEDIDOS ===\n");
+        
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        Lanche lanche = new Lanche.Builder()
+                .comTamanho(Tamanho.MEDIO)
+                .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO))
+                .build();
+        
+        // Aquecimento do JIT
+        executar(1, lanche, false);
+        
+        double base = 0;
+        for (int threads = 1; threads <= Math.max(2, nucleos * 2); threads *= 2) {
+            double porSegundo = executar(threads, lanche, true);
+            if (threads == 1) {
+                base = porSegundo;
+            }
+            System.out.printf("🔵 %2d thread(s): %,12.0f anexações/s  (escala %.2fx, núcleos: %d)%n", 
+                threads, porSegundo, porSegundo / base, nucleos);
+        }
+        
+        System.out.println("\n✅ Números de pedido únicos, contíguos e instantâneos consistentes");
+    }
+    
+    private static double executar(int threads, Produto produto, boolean comLeitor) throws InterruptedException {
+        ArmazemPedidos armazem = new ArmazemPedidosConcorrente();
+        int porThread = PEDIDOS_POR_EXECUCAO / threads;
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch chegada = new CountDownLatch(threads);
+        AtomicBoolean terminou = new AtomicBoolean();
+        AtomicLong falhasLeitor = new AtomicLong();
+        
+        for (int t = 0; t < threads; t++) {
+            Thread escritor = new Thread(() -> {
+                try {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        armazem.registrar(produto, 0L);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    chegada.countDown();
+                }
+            });
+            escritor.start();
+        }
+        
+        // Leitor concorrente: todo instantâneo deve ser um prefixo contíguo 1..n
+        Thread leitor = new Thread(() -> {
+            while (!terminou.get()) {
+                InstantaneoPedidos instantaneo = armazem.instantaneo();
+                long esperado = 1;
+                for (PedidoRegistrado pedido : instantaneo) {
+                    if (pedido == null || pedido.getId() != esperado++) {
+                        falhasLeitor.incrementAndGet();
+                        break;
+                    }
+                }
+            }
+        });
+        if (comLeitor) {
+            leitor.start();
+        }
+        
+        long inicio = System.nanoTime();
+        largada.countDown();
+        chegada.await();
+        long decorrido = System.nanoTime() - inicio;
+        terminou.set(true);
+        leitor.join();
+        
+        long total = (long) porThread * threads;
+        if (armazem.tamanho() != total) {
+            throw new IllegalStateException("Esperados " + total + " pedidos, encontrados " + armazem.tamanho());
+        }
+        for (long id = 1; id <= total; id++) {
+            PedidoRegistrado pedido = armazem.buscar(id);
+            if (pedido == null || pedido.getId() != id) {
+                throw new IllegalStateException("Pedido #" + id + " ausente ou com número errado");
+            }
+        }
+        if (armazem.buscar(total + 1) != null) {
+            throw new IllegalStateException("Pedido além do último número");
+        }
+        if (falhasLeitor.get() > 0) {
+            throw new IllegalStateException(falhasLeitor.get() + " instantâneo(s) inconsistente(s)");
+        }
+        
+        return total * 1_000_000_000.0 / decorrido;
+    }
+}
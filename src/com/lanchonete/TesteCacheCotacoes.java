@@ -0,0 +1,130 @@
+package com.lanchonete;
+
+import com.lanchonete.enums.*;
+import com.lanchonete.metrics.MetricasLanchonete;
+import com.lanchonete.model.*;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.pricing.VersaoPrecos;
+import com.lanchonete.validator.*;
+
+/**
+ * Teste do cache de cotações dos Builders
+ * Verifica que a troca da tabela de preços ou das regras entre duas
+ * cotações da mesma configuração não devolve o valor antigo, e que uma
+ * recusa respondida pelo cache mantém o código e conta na métrica
+ * 
+ * O cache só existe com -Dlanchonete.cache.cotacoes:
+ *   java -Dlanchonete.cache.cotacoes=64 com.lanchonete.TesteCacheCotacoes
+ */
+public class TesteCacheCotacoes {
+    
+    public static void main(String[] args) {
+        System.out.println("=== TESTE DO CACHE DE COTAÇÕES ===\n");
+        
+        if (!CacheCotacoes.ATIVO || !MetricasLanchonete.ATIVAS) {
+            throw new IllegalStateException("Execute com -Dlanchonete.cache.cotacoes=64 e as métricas ligadas");
+        }
+        
+        testarNovaTabelaDePrecos();
+        testarRecargaDeRegras();
+        testarRecusaEmCache();
+        
+        System.out.println("\n✅ Cotações em cache acompanham preços e regras vigentes");
+    }
+    
+    private static void testarNovaTabelaDePrecos() {
+        Lanche.Builder builder = new Lanche.Builder()
+            .comTamanho(Tamanho.MEDIO)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO));
+        
+        long anterior = builder.cotarCentavos();
+        long acertos = MetricasLanchonete.COTACOES_EM_CACHE.getValor();
+        verificar("segunda cotação", builder.cotarCentavos(), anterior);
+        verificar("acertos no cache", MetricasLanchonete.COTACOES_EM_CACHE.getValor(), acertos + 1);
+        
+        VersaoPrecos original = TabelaPrecos.vigente();
+        long geracao = CacheCotacoes.global().getGeracao();
+        TabelaPrecos.publicar(new VersaoPrecos.Builder(original)
+            .comVersao(original.getVersao() + 1)
+            .comPrecoIngrediente(TipoIngrediente.FRANGO,
+                TabelaPrecos.reais(original.getPrecoIngredienteCentavos(TipoIngrediente.FRANGO)) + 1.0)
+            .build());
+        try {
+            long atual = builder.cotarCentavos();
+            if (atual == anterior) {
+                throw new IllegalStateException("Cotação não acompanhou a nova tabela de preços: " + atual);
+            }
+            verificar("cotação após a troca", atual, builder.build().calcularPrecoTotalCentavos());
+            verificar("geração do cache", CacheCotacoes.global().getGeracao(), geracao + 1);
+            System.out.println("🔵 Nova tabela de preços: " + anterior + " -> " + atual + " centavos");
+        } finally {
+            // Versões só avançam: a tabela original volta com um número novo
+            TabelaPrecos.publicar(new VersaoPrecos.Builder(original)
+                .comVersao(TabelaPrecos.vigente().getVersao() + 1)
+                .build());
+        }
+        verificar("cotação com a tabela original", builder.cotarCentavos(), anterior);
+    }
+    
+    private static void testarRecargaDeRegras() {
+        Pizza.Builder builder = new Pizza.Builder()
+            .comTamanho(Tamanho.GRANDE)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.BACON))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO));
+        
+        long preco = builder.tentarCotarCentavos();
+        verificar("pizza com três proteínas", builder.tentarCotarCentavos(), preco);
+        
+        RegrasCombinacao originais = ValidadorCombinacoes.getRegras();
+        ValidadorCombinacoes.instalar(new RegrasCombinacao.Builder(originais)
+            .comLimiteProteinas(2)
+            .build());
+        try {
+            if (builder.tentarCotarCentavos() != Produto.SEM_PRECO
+                    || ResultadoValidacao.regra(builder.getResultado()) != RegraValidacao.LIMITE_PROTEINAS) {
+                throw new IllegalStateException("Cotação não acompanhou as novas regras: "
+                    + ResultadoValidacao.mensagem(builder.getResultado()));
+            }
+            System.out.println("🔵 Regras recarregadas: " + ResultadoValidacao.mensagem(builder.getResultado()));
+        } finally {
+            ValidadorCombinacoes.instalar(originais);
+        }
+        verificar("cotação com as regras originais", builder.tentarCotarCentavos(), preco);
+    }
+    
+    private static void testarRecusaEmCache() {
+        RegraValidacao regra = RegraValidacao.COMBINACAO_PROIBIDA;
+        Lanche.Builder builder = new Lanche.Builder()
+            .comTamanho(Tamanho.MEDIO)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.GORGONZOLA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CHEDDAR));
+        
+        long rejeicoes = MetricasLanchonete.getRejeicoes(regra);
+        verificar("primeira cotação", builder.tentarCotarCentavos(), Produto.SEM_PRECO);
+        long resultado = builder.getResultado();
+        verificar("rejeições após a validação", MetricasLanchonete.getRejeicoes(regra), rejeicoes + 1);
+        
+        long acertos = MetricasLanchonete.COTACOES_EM_CACHE.getValor();
+        verificar("cotação em cache", builder.tentarCotarCentavos(), Produto.SEM_PRECO);
+        verificar("acertos no cache", MetricasLanchonete.COTACOES_EM_CACHE.getValor(), acertos + 1);
+        verificar("código da recusa em cache", builder.getResultado(), resultado);
+        verificar("rejeições após o cache", MetricasLanchonete.getRejeicoes(regra), rejeicoes + 2);
+        
+        try {
+            builder.cotarCentavos();
+            throw new IllegalStateException("Recusa em cache cotada por cotarCentavos()");
+        } catch (ProdutoInvalidoException e) {
+            verificar("código da exceção", e.getResultado(), resultado);
+        }
+        verificar("rejeições após a exceção", MetricasLanchonete.getRejeicoes(regra), rejeicoes + 3);
+        System.out.println("🔵 Recusa em cache: " + ResultadoValidacao.mensagem(resultado)
+            + " (" + (MetricasLanchonete.getRejeicoes(regra) - rejeicoes) + " rejeições contadas)");
+    }
+    
+    private static void verificar(String consulta, long obtido, long esperado) {
+        if (obtido != esperado) {
+            throw new IllegalStateException(consulta + ": " + obtido + ", esperado " + esperado);
+        }
+    }
+}
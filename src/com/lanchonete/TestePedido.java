@@ -0,0 +1,202 @@
+package com.lanchonete;
+
+import com.lanchonete.enums.*;
+import com.lanchonete.model.*;
+import com.lanchonete.pedido.*;
+import com.lanchonete.store.*;
+
+/**
+ * Teste do carrinho de pedidos com promoções
+ * Verifica que os totais incrementais coincidem com um pedido montado do
+ * zero a cada inclusão ou retirada, inclusive com preços repetidos no
+ * mesmo sabor, que o sabor só é aceito em pizzas com os ingredientes dele
+ * e que o desconto rateado entre os itens leva a receita ao total cobrado
+ */
+public class TestePedido {
+    
+    public static void main(String[] args) {
+        System.out.println("=== TESTE DO CARRINHO DE PEDIDOS ===\n");
+        
+        testarTotaisIncrementais();
+        testarPrecosRepetidos();
+        testarSaborVerificado();
+        testarRateioDoDesconto();
+        
+        System.out.println("\n✅ Totais incrementais corretos, sabores verificados e descontos rateados");
+    }
+    
+    /**
+     * Combo família e 3ª Calabresa montados e desfeitos item a item
+     */
+    private static void testarTotaisIncrementais() {
+        Pedido pedido = new Pedido();
+        ItemPedido calabresa1 = pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.GRANDE));
+        conferir(pedido);
+        ItemPedido portuguesa = pedido.adicionar(pizza(SaborPizza.PORTUGUESA, Tamanho.GRANDE));
+        conferir(pedido);
+        ItemPedido lanche = pedido.adicionar(lanche());
+        conferir(pedido);
+        verificar("combo família", pedido.getDescontoCentavos(0), 1000);
+        
+        pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.MEDIO));
+        conferir(pedido);
+        ItemPedido calabresa3 = pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.PEQUENO));
+        conferir(pedido);
+        long desconto = (calabresa3.getPrecoCentavos() + 1) / 2;
+        verificar("3ª Calabresa", pedido.getDescontoCentavos(1), desconto);
+        verificar("desconto acumulado", pedido.getDescontoCentavos(), 1000 + desconto);
+        System.out.println("🔵 " + pedido.getQuantidadeItens() + " itens: subtotal " + pedido.getSubtotalCentavos()
+            + ", desconto " + pedido.getDescontoCentavos() + ", total " + pedido.getTotalCentavos());
+        
+        pedido.remover(lanche);
+        conferir(pedido);
+        verificar("combo sem o lanche", pedido.getDescontoCentavos(0), 0);
+        pedido.remover(portuguesa);
+        conferir(pedido);
+        pedido.remover(calabresa1);
+        conferir(pedido);
+        verificar("3ª Calabresa com duas pizzas", pedido.getDescontoCentavos(1), 0);
+        if (pedido.remover(calabresa1)) {
+            throw new IllegalStateException("Item retirado duas vezes");
+        }
+    }
+    
+    /**
+     * Preços iguais no mesmo sabor: a busca binária deve retirar uma cópia só
+     */
+    private static void testarPrecosRepetidos() {
+        Pedido pedido = new Pedido();
+        Produto grande = pizza(SaborPizza.CALABRESA, Tamanho.GRANDE).construir();
+        ItemPedido[] iguais = new ItemPedido[5];
+        for (int i = 0; i < iguais.length; i++) {
+            iguais[i] = pedido.adicionar(grande, SaborPizza.CALABRESA);
+        }
+        ItemPedido pequena = pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.PEQUENO));
+        conferir(pedido);
+        
+        long precoGrande = iguais[0].getPrecoCentavos();
+        long precoPequena = pequena.getPrecoCentavos();
+        for (int rodada = 0; rodada < 3; rodada++) {
+            pedido.remover(iguais[2]);
+            conferir(pedido);
+            verificar("pizzas do sabor", pedido.getQuantidade(SaborPizza.CALABRESA), 5);
+            verificar("mais baratas", pedido.somarMaisBaratos(SaborPizza.CALABRESA, 3), precoPequena + 2 * precoGrande);
+            iguais[2] = pedido.adicionar(grande, SaborPizza.CALABRESA);
+            conferir(pedido);
+        }
+        
+        pedido.remover(pequena);
+        conferir(pedido);
+        verificar("mais baratas sem a pequena", pedido.somarMaisBaratos(SaborPizza.CALABRESA, 2), 2 * precoGrande);
+        pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.PEQUENO));
+        conferir(pedido);
+        verificar("mais baratas com a pequena", pedido.somarMaisBaratos(SaborPizza.CALABRESA, 1), precoPequena);
+        
+        for (ItemPedido item : iguais) {
+            pedido.remover(item);
+            conferir(pedido);
+        }
+        verificar("pizzas restantes", pedido.getQuantidade(SaborPizza.CALABRESA), 1);
+        System.out.println("🔵 Retiradas e reinclusões com " + iguais.length + " preços iguais: "
+            + pedido.getQuantidadeItens() + " item restante");
+    }
+    
+    private static void testarSaborVerificado() {
+        Pedido pedido = new Pedido();
+        Produto portuguesa = pizza(SaborPizza.PORTUGUESA, Tamanho.GRANDE).construir();
+        recusar("portuguesa como calabresa", () -> pedido.adicionar(portuguesa, SaborPizza.CALABRESA));
+        recusar("lanche com sabor", () -> pedido.adicionar(lanche(), SaborPizza.CALABRESA));
+        verificar("itens após recusas", pedido.getQuantidadeItens(), 0);
+        
+        // Calabresa com extras continua sendo calabresa
+        Pizza comExtra = new Pizza.Builder().comTamanho(Tamanho.GRANDE).comTipoMassa(TipoMassa.FINA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CEBOLA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.MUSSARELA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.AZEITONA))
+            .build();
+        pedido.adicionar(comExtra, SaborPizza.CALABRESA);
+        verificar("calabresa com extra", pedido.getQuantidade(SaborPizza.CALABRESA), 1);
+        System.out.println("🔵 Sabor recusado em pizza sem os ingredientes e aceito com extras");
+    }
+    
+    /**
+     * Itens registrados com o desconto rateado: a receita da tabela é o total cobrado
+     */
+    private static void testarRateioDoDesconto() {
+        Pedido pedido = new Pedido();
+        pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.GRANDE));
+        pedido.adicionar(pizza(SaborPizza.PORTUGUESA, Tamanho.GRANDE));
+        pedido.adicionar(lanche());
+        pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.MEDIO));
+        pedido.adicionar(pizza(SaborPizza.CALABRESA, Tamanho.PEQUENO));
+        
+        long[] descontos = pedido.ratearDesconto();
+        ArmazemPedidos armazem = new ArmazemPedidosConcorrente();
+        TabelaColunarPedidos tabela = new TabelaColunarPedidos();
+        long soma = 0;
+        for (int i = 0; i < descontos.length; i++) {
+            ItemPedido item = pedido.getItens().get(i);
+            if (descontos[i] < 0 || descontos[i] > item.getPrecoCentavos()) {
+                throw new IllegalStateException("Parte do desconto fora do preço do item: " + descontos[i]);
+            }
+            soma += descontos[i];
+            tabela.adicionar(armazem.registrar(item.getProduto(), descontos[i], i));
+        }
+        verificar("soma das partes", soma, pedido.getDescontoCentavos());
+        verificar("receita registrada", tabela.resumir().getReceitaCentavos(), pedido.getTotalCentavos());
+        System.out.println("🔵 Desconto de " + soma + " centavos rateado em " + descontos.length
+            + " itens: receita " + tabela.resumir().getReceitaCentavos());
+    }
+    
+    /**
+     * Compara os totais incrementais com os de um pedido montado do zero
+     */
+    private static void conferir(Pedido pedido) {
+        Pedido refeito = new Pedido(pedido.getPromocoes());
+        long subtotal = 0;
+        for (ItemPedido item : pedido.getItens()) {
+            refeito.adicionar(item.getProduto(), item.getSabor());
+            subtotal += item.getPrecoCentavos();
+        }
+        verificar("subtotal", pedido.getSubtotalCentavos(), subtotal);
+        for (int i = 0; i < pedido.getPromocoes().getQuantidade(); i++) {
+            verificar(pedido.getPromocoes().getPromocao(i).getNome(),
+                pedido.getDescontoCentavos(i), refeito.getDescontoCentavos(i));
+        }
+        verificar("desconto", pedido.getDescontoCentavos(), refeito.getDescontoCentavos());
+        verificar("total", pedido.getTotalCentavos(), subtotal - refeito.getDescontoCentavos());
+        for (SaborPizza sabor : SaborPizza.values()) {
+            int quantidade = refeito.getQuantidade(sabor);
+            verificar(sabor.getNome(), pedido.somarMaisBaratos(sabor, quantidade), refeito.somarMaisBaratos(sabor, quantidade));
+        }
+    }
+    
+    private static EspecificacaoProduto pizza(SaborPizza sabor, Tamanho tamanho) {
+        return new EspecificacaoProduto()
+            .comTipoProduto(TipoProduto.PIZZA).comSabor(sabor)
+            .comTamanho(tamanho).comTipoMassa(TipoMassa.FINA);
+    }
+    
+    private static Lanche lanche() {
+        return new Lanche.Builder()
+            .comTamanho(Tamanho.MEDIO)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO))
+            .build();
+    }
+    
+    private static void recusar(String caso, Runnable inclusao) {
+        try {
+            inclusao.run();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new IllegalStateException(caso + ": inclusão aceita");
+    }
+    
+    private static void verificar(String consulta, long obtido, long esperado) {
+        if (obtido != esperado) {
+            throw new IllegalStateException(consulta + ": " + obtido + ", esperado " + esperado);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.lanchonete;
+
+import com.lanchonete.enums.*;
+import com.lanchonete.model.*;
+import com.lanchonete.validator.*;
+import java.util.EnumSet;
+
+/**
+ * Teste do caminho de validação sem exceção
+ * Para cada RegraValidacao, a mensagem montada sob demanda a partir do
+ * código de tentarBuild()/tentarCotarCentavos() deve ser a mesma da
+ * exceção lançada por build()/cotarCentavos()
+ */
+public class TesteResultadoValidacao {
+    private static final EnumSet<RegraValidacao> VERIFICADAS = EnumSet.noneOf(RegraValidacao.class);
+    
+    public static void main(String[] args) {
+        System.out.println("=== TESTE DOS RESULTADOS DE VALIDAÇÃO ===\n");
+        
+        RegrasCombinacao originais = ValidadorCombinacoes.getRegras();
+        try {
+            testarLanches();
+            testarPizzas();
+            
+            // Massa indisponível fora das regras legadas de ciabatta e borda recheada
+            ValidadorCombinacoes.instalar(new RegrasCombinacao.Builder(originais)
+                .comMassasIndisponiveis(Tamanho.GRANDE, EnumSet.of(TipoMassa.GROSSA))
+                .build());
+            conferir(RegraValidacao.MASSA_INDISPONIVEL, pizza(Tamanho.GRANDE, TipoMassa.GROSSA)
+                .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA)));
+        } finally {
+            ValidadorCombinacoes.instalar(originais);
+        }
+        
+        EnumSet<RegraValidacao> faltantes = EnumSet.complementOf(VERIFICADAS);
+        if (!faltantes.isEmpty()) {
+            throw new IllegalStateException("Regras sem caso de teste: " + faltantes);
+        }
+        
+        System.out.println("\n✅ Mensagens sob demanda iguais às das exceções em todas as "
+            + VERIFICADAS.size() + " regras");
+    }
+    
+    private static void testarLanches() {
+        conferir(RegraValidacao.TAMANHO_AUSENTE, lanche(null, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO)));
+        conferir(RegraValidacao.MASSA_AUSENTE, lanche(Tamanho.MEDIO, null)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO)));
+        conferir(RegraValidacao.PRECO_BASE_NEGATIVO, lanche(Tamanho.MEDIO, TipoMassa.PAO_TRADICIONAL)
+            .comPrecoBase(-1.0)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO)));
+        conferir(RegraValidacao.COMBINACAO_PROIBIDA, lanche(Tamanho.MEDIO, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.GORGONZOLA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CHEDDAR)));
+        conferir(RegraValidacao.LIMITE_PROTEINAS, lanche(Tamanho.GRANDE, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.BACON))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.PRESUNTO))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA)));
+        conferir(RegraValidacao.LIMITE_QUEIJOS, lanche(Tamanho.GRANDE, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.MUSSARELA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CHEDDAR))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.PARMESAO)));
+        conferir(RegraValidacao.QUANTIDADE_TOTAL, lanche(Tamanho.GRANDE, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO, 10))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.TOMATE, 10)));
+        conferir(RegraValidacao.CIABATTA_PEQUENO, lanche(Tamanho.PEQUENO, TipoMassa.CIABATTA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO)));
+        conferir(RegraValidacao.TIPOS_LANCHE_PEQUENO, lanche(Tamanho.PEQUENO, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.MUSSARELA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.TOMATE))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.ALFACE))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.MAIONESE)));
+        conferir(RegraValidacao.PRECO_CONFLITANTE, lanche(Tamanho.MEDIO, TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.FRANGO))
+            .adicionarIngrediente(new IngredientePremium(TipoIngrediente.FRANGO, 1)));
+    }
+    
+    private static void testarPizzas() {
+        conferir(RegraValidacao.TAMANHO_AUSENTE, pizza(null, TipoMassa.FINA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA)));
+        conferir(RegraValidacao.MASSA_AUSENTE, pizza(Tamanho.MEDIO, null)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA)));
+        conferir(RegraValidacao.COMBINACAO_PROIBIDA, pizza(Tamanho.MEDIO, TipoMassa.FINA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.MOLHO_ESPECIAL))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.KETCHUP)));
+        conferir(RegraValidacao.BORDA_RECHEADA_PEQUENA, pizza(Tamanho.PEQUENO, TipoMassa.BORDA_RECHEADA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA)));
+        conferir(RegraValidacao.PIZZA_SEM_PROTEINA, pizza(Tamanho.MEDIO, TipoMassa.FINA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.MUSSARELA)));
+        conferir(RegraValidacao.PRECO_CONFLITANTE, pizza(Tamanho.MEDIO, TipoMassa.FINA)
+            .adicionarIngrediente(new IngredientePromocional(TipoIngrediente.CALABRESA, 1, 0.10))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA)));
+    }
+    
+    private static Lanche.Builder lanche(Tamanho tamanho, TipoMassa pao) {
+        return new Lanche.Builder().comTamanho(tamanho).comTipoPao(pao);
+    }
+    
+    private static Pizza.Builder pizza(Tamanho tamanho, TipoMassa massa) {
+        return new Pizza.Builder().comTamanho(tamanho).comTipoMassa(massa);
+    }
+    
+    private static void conferir(RegraValidacao regra, Lanche.Builder builder) {
+        if (builder.tentarBuild() != null) {
+            throw new IllegalStateException(regra + ": lanche aceito por tentarBuild()");
+        }
+        String mensagem = mensagem(regra, builder.getResultado());
+        if (builder.tentarCotarCentavos() != Produto.SEM_PRECO) {
+            throw new IllegalStateException(regra + ": lanche cotado por tentarCotarCentavos()");
+        }
+        comparar(regra, "tentarCotarCentavos()", mensagem(regra, builder.getResultado()), mensagem);
+        try {
+            builder.build();
+            throw new IllegalStateException(regra + ": lanche aceito por build()");
+        } catch (ProdutoInvalidoException e) {
+            comparar(regra, "build()", excecao(regra, e), mensagem);
+        }
+        try {
+            builder.cotarCentavos();
+            throw new IllegalStateException(regra + ": lanche cotado por cotarCentavos()");
+        } catch (ProdutoInvalidoException e) {
+            comparar(regra, "cotarCentavos()", excecao(regra, e), mensagem);
+        }
+        System.out.println("🔵 Lanche " + regra + ": " + mensagem);
+    }
+    
+    private static void conferir(RegraValidacao regra, Pizza.Builder builder) {
+        if (builder.tentarBuild() != null) {
+            throw new IllegalStateException(regra + ": pizza aceita por tentarBuild()");
+        }
+        String mensagem = mensagem(regra, builder.getResultado());
+        if (builder.tentarCotarCentavos() != Produto.SEM_PRECO) {
+            throw new IllegalStateException(regra + ": pizza cotada por tentarCotarCentavos()");
+        }
+        comparar(regra, "tentarCotarCentavos()", mensagem(regra, builder.getResultado()), mensagem);
+        try {
+            builder.build();
+            throw new IllegalStateException(regra + ": pizza aceita por build()");
+        } catch (ProdutoInvalidoException e) {
+            comparar(regra, "build()", excecao(regra, e), mensagem);
+        }
+        try {
+            builder.cotarCentavos();
+            throw new IllegalStateException(regra + ": pizza cotada por cotarCentavos()");
+        } catch (ProdutoInvalidoException e) {
+            comparar(regra, "cotarCentavos()", excecao(regra, e), mensagem);
+        }
+        System.out.println("🔵 Pizza  " + regra + ": " + mensagem);
+    }
+    
+    /**
+     * Mensagem montada a partir do código, depois de conferir a regra recusada
+     */
+    private static String mensagem(RegraValidacao regra, long resultado) {
+        if (ResultadoValidacao.regra(resultado) != regra) {
+            throw new IllegalStateException(regra + ": recusado por " + ResultadoValidacao.regra(resultado));
+        }
+        VERIFICADAS.add(regra);
+        return ResultadoValidacao.mensagem(resultado);
+    }
+    
+    private static String excecao(RegraValidacao regra, ProdutoInvalidoException e) {
+        if (e.getRegra() != regra) {
+            throw new IllegalStateException(regra + ": exceção da regra " + e.getRegra());
+        }
+        return e.getMessage();
+    }
+    
+    private static void comparar(RegraValidacao regra, String caminho, String obtida, String esperada) {
+        if (!esperada.equals(obtida)) {
+            throw new IllegalStateException(regra + " em " + caminho + ": \"" + obtida + "\", esperada \"" + esperada + "\"");
+        }
+    }
+}
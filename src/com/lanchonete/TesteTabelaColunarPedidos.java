@@ -0,0 +1,81 @@
+package com.lanchonete;
+
+import com.lanchonete.enums.*;
+import com.lanchonete.model.*;
+import com.lanchonete.store.*;
+import com.lanchonete.validator.*;
+import java.io.StringReader;
+
+/**
+ * Teste da tabela colunar de pedidos no limite de quantidade por ingrediente
+ * Verifica que a soma empacotada (SWAR) coincide com a soma linha a linha
+ * e que as regras não aceitam limites que a tabela não consegue guardar
+ */
+public class TesteTabelaColunarPedidos {
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TESTE DA TABELA COLUNAR DE PEDIDOS ===\n");
+        
+        RegrasCombinacao originais = ValidadorCombinacoes.getRegras();
+        try {
+            ValidadorCombinacoes.instalar(new RegrasCombinacao.Builder(originais)
+                .comLimiteQuantidadeTotal(RegrasCombinacao.MAX_QUANTIDADE_TOTAL)
+                .build());
+            testarQuantidadeMaxima();
+        } finally {
+            ValidadorCombinacoes.instalar(originais);
+        }
+        testarLimiteDasRegras();
+        
+        System.out.println("\n✅ Consumo de ingredientes correto no limite de quantidade");
+    }
+    
+    /**
+     * Dois segmentos e uma palavra parcial, com o máximo de unidades em todas as linhas
+     */
+    private static void testarQuantidadeMaxima() {
+        int maximo = RegrasCombinacao.MAX_QUANTIDADE_TOTAL;
+        Lanche.Builder builder = new Lanche.Builder().comTamanho(Tamanho.GRANDE);
+        for (int restante = maximo; restante > 0; restante -= 10) {
+            // Inclusões de até 10 unidades, somadas pelo Builder no mesmo tipo
+            builder.adicionarIngrediente(new Ingrediente(TipoIngrediente.BACON, Math.min(10, restante)));
+        }
+        Lanche lanche = builder.build();
+        
+        TabelaColunarPedidos tabela = new TabelaColunarPedidos();
+        int linhas = TabelaColunarPedidos.TAMANHO_SEGMENTO * 2 + 5;
+        for (int i = 0; i < linhas; i++) {
+            tabela.adicionar(lanche, i);
+        }
+        
+        long esperado = (long) linhas * maximo;
+        verificar("resumir()", tabela.resumir().getConsumo(TipoIngrediente.BACON), esperado);
+        verificar("resumirEmParalelo()", tabela.resumirEmParalelo().getConsumo(TipoIngrediente.BACON), esperado);
+        verificar("resumir(inicio, fim)", tabela.resumir(0, linhas).getConsumo(TipoIngrediente.BACON), esperado);
+        System.out.println("🔵 " + linhas + " linhas com " + maximo + " unidades de bacon: " + esperado);
+        
+        builder.limpar().comTamanho(Tamanho.GRANDE)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.BACON, maximo))
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.BACON, 1));
+        if (builder.tentarBuild() != null
+                || ResultadoValidacao.regra(builder.getResultado()) != RegraValidacao.QUANTIDADE_TOTAL) {
+            throw new IllegalStateException("Produto acima do limite de quantidade foi aceito");
+        }
+    }
+    
+    private static void testarLimiteDasRegras() throws Exception {
+        RegrasCombinacao.ler(new StringReader("limite.quantidade_total = " + RegrasCombinacao.MAX_QUANTIDADE_TOTAL));
+        try {
+            RegrasCombinacao.ler(new StringReader("limite.quantidade_total = " + (RegrasCombinacao.MAX_QUANTIDADE_TOTAL + 1)));
+            throw new IllegalStateException("Limite acima de " + RegrasCombinacao.MAX_QUANTIDADE_TOTAL + " foi aceito");
+        } catch (IllegalArgumentException e) {
+            System.out.println("🔵 Limite acima do máximo recusado: " + e.getMessage());
+        }
+    }
+    
+    private static void verificar(String consulta, long obtido, long esperado) {
+        if (obtido != esperado) {
+            throw new IllegalStateException(consulta + ": consumo " + obtido + ", esperado " + esperado);
+        }
+    }
+}
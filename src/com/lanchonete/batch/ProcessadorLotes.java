@@ -0,0 +1,367 @@
+package com.lanchonete.batch;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processador de pedidos em lote, sem interação com o usuário
+ * 
+ * Formato do arquivo de entrada (uma linha por produto, campos separados por ';'):
+ * <pre>
+ *   # comentário
+ *   LANCHE;GRANDE;PAO_INTEGRAL;;PADRAO;FRANGO:1,CHEDDAR:2
+ *   PIZZA;MEDIO;FINA;CALABRESA;PREMIUM;BACON:2
+ * </pre>
+ * Campos: produto; tamanho; massa/pão; sabor (só pizza, pode ser vazio);
+ * tipo de factory; ingredientes extras no formato TIPO:QUANTIDADE.
+ * 
+ * As linhas são agrupadas em blocos que atravessam três estágios paralelos
+ * (interpretação, montagem/validação e precificação). O escritor consome os
+ * blocos na ordem de leitura, então os arquivos de saída preservam a ordem
+ * da entrada independentemente do número de núcleos.
+ */
+public class ProcessadorLotes {
+    private static final int TAMANHO_BLOCO = 512;
+    private static final Bloco FIM = new Bloco(0);
+    
+    private final int threads;
+    
+    public ProcessadorLotes(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Número de threads deve ser positivo");
+        }
+        this.threads = threads;
+    }
+    
+    /**
+     * Processa o arquivo de entrada gerando o arquivo de pedidos precificados e o de rejeitados
+     */
+    public Resumo processar(Path entrada, Path saida, Path rejeitados) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        BlockingQueue<CompletableFuture<Bloco>> fila = new ArrayBlockingQueue<>(threads * 4);
+        Resumo resumo = new Resumo();
+        long inicio = System.nanoTime();
+        
+        try (BufferedReader leitor = Files.newBufferedReader(entrada, StandardCharsets.UTF_8);
+             BufferedWriter escritorSaida = Files.newBufferedWriter(saida, StandardCharsets.UTF_8);
+             BufferedWriter escritorRejeitados = Files.newBufferedWriter(rejeitados, StandardCharsets.UTF_8)) {
+            
+            CompletableFuture<Void> escrita = CompletableFuture.runAsync(
+                () -> escrever(fila, escritorSaida, escritorRejeitados, resumo));
+            
+            boolean lido = false;
+            try {
+                long numeroLinha = 0;
+                Bloco bloco = new Bloco(numeroLinha + 1);
+                String linha;
+                
+                while ((linha = leitor.readLine()) != null) {
+                    numeroLinha++;
+                    bloco.adicionar(linha);
+                    if (bloco.tamanho == TAMANHO_BLOCO) {
+                        enfileirar(fila, submeter(bloco, executor), escrita);
+                        bloco = new Bloco(numeroLinha + 1);
+                    }
+                }
+                if (bloco.tamanho > 0) {
+                    enfileirar(fila, submeter(bloco, executor), escrita);
+                }
+                enfileirar(fila, CompletableFuture.completedFuture(FIM), escrita);
+                lido = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Processamento interrompido", e);
+            } finally {
+                if (!lido) {
+                    // A leitura falhou: o escritor precisa parar antes que os arquivos sejam fechados
+                    fila.clear();
+                    fila.offer(CompletableFuture.completedFuture(FIM));
+                    escrita.handle((r, e) -> null).join();
+                }
+            }
+            
+            aguardar(escrita);
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        resumo.nanos = System.nanoTime() - inicio;
+        return resumo;
+    }
+    
+    /**
+     * Entrega o bloco ao escritor sem ficar preso na fila cheia se ele tiver falhado
+     * 
+     * @throws IOException com a falha do escritor, se ele terminou antes do fim da entrada
+     */
+    private static void enfileirar(BlockingQueue<CompletableFuture<Bloco>> fila, CompletableFuture<Bloco> bloco,
+                                   CompletableFuture<Void> escrita) throws InterruptedException, IOException {
+        while (!fila.offer(bloco, 100, TimeUnit.MILLISECONDS)) {
+            if (escrita.isDone()) {
+                aguardar(escrita);
+                throw new IOException("Escrita do lote terminou antes do fim da entrada");
+            }
+        }
+    }
+    
+    /**
+     * Espera o escritor e repassa a sua falha como IOException
+     */
+    private static void aguardar(CompletableFuture<Void> escrita) throws IOException {
+        try {
+            escrita.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) causa).getCause();
+            }
+            throw new IOException("Falha na escrita do lote: " + causa.getMessage(), causa);
+        }
+    }
+    
+    private static CompletableFuture<Bloco> submeter(Bloco bloco, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> interpretar(bloco), executor)
+                .thenApplyAsync(ProcessadorLotes::construir, executor)
+                .thenApplyAsync(ProcessadorLotes::precificar, executor);
+    }
+    
+    /**
+     * Estágio 1: transforma cada linha em uma especificação de produto
+     */
+    private static Bloco interpretar(Bloco bloco) {
+        for (int i = 0; i < bloco.tamanho; i++) {
+            String linha = bloco.linhas[i].trim();
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                bloco.ignorada[i] = true;
+                continue;
+            }
+            try {
+                bloco.especificacoes[i] = interpretarLinha(linha);
+            } catch (IllegalArgumentException e) {
+                bloco.erros[i] = e.getMessage();
+            }
+        }
+        return bloco;
+    }
+    
+    /**
+     * Estágio 2: monta o produto com os Builders e as factories (inclui validação)
+     */
+    private static Bloco construir(Bloco bloco) {
+        for (int i = 0; i < bloco.tamanho; i++) {
+            if (bloco.especificacoes[i] == null) {
+                continue;
+            }
+            try {
+                bloco.produtos[i] = bloco.especificacoes[i].construir();
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                bloco.erros[i] = e.getMessage();
+            }
+        }
+        return bloco;
+    }
+    
+    /**
+     * Estágio 3: calcula o preço de cada produto aceito
+     */
+    private static Bloco precificar(Bloco bloco) {
+        for (int i = 0; i < bloco.tamanho; i++) {
+            if (bloco.produtos[i] != null) {
+                bloco.precosCentavos[i] = bloco.produtos[i].calcularPrecoTotalCentavos();
+            }
+        }
+        return bloco;
+    }
+    
+    private static void escrever(BlockingQueue<CompletableFuture<Bloco>> fila, BufferedWriter saida, 
+                                 BufferedWriter rejeitados, Resumo resumo) {
+        StringBuilder sb = new StringBuilder(128);
+        try {
+            while (true) {
+                Bloco bloco = fila.take().join();
+                if (bloco == FIM) {
+                    return;
+                }
+                
+                for (int i = 0; i < bloco.tamanho; i++) {
+                    if (bloco.ignorada[i]) {
+                        continue;
+                    }
+                    long numeroLinha = bloco.primeiraLinha + i;
+                    sb.setLength(0);
+                    
+                    if (bloco.produtos[i] != null) {
+                        EspecificacaoProduto especificacao = bloco.especificacoes[i];
+                        Produto produto = bloco.produtos[i];
+                        sb.append(numeroLinha).append(';')
+                          .append(produto.getTipoProduto().name()).append(';')
+                          .append(produto.getTamanho().name()).append(';')
+                          .append(produto.getTipoMassa().name()).append(';')
+                          .append(especificacao.getSabor() != null ? especificacao.getSabor().name() : "").append(';')
+                          .append(especificacao.getTipoFactory().name()).append(';');
+                        anexarValor(sb, bloco.precosCentavos[i]);
+                        saida.append(sb).append('\n');
+                        resumo.aceitos++;
+                    } else {
+                        sb.append(numeroLinha).append(';')
+                          .append(bloco.erros[i]).append(';')
+                          .append(bloco.linhas[i].trim());
+                        rejeitados.append(sb).append('\n');
+                        resumo.rejeitados++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Escrita interrompida", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Interpreta uma linha do arquivo de lote
+     */
+    public static EspecificacaoProduto interpretarLinha(String linha) {
+        String[] campos = linha.split(";", -1);
+        if (campos.length != 6) {
+            throw new IllegalArgumentException("Linha deve ter 6 campos separados por ';' (encontrados " 
+                + campos.length + ")");
+        }
+        
+        TipoProduto produto = EspecificacaoProduto.converter(TipoProduto.class, campos[0], "Produto");
+        TipoMassa massa = EspecificacaoProduto.converter(TipoMassa.class, campos[2], "Massa");
+        EspecificacaoProduto.verificarMassa(produto, massa);
+        
+        EspecificacaoProduto especificacao = new EspecificacaoProduto()
+            .comTipoProduto(produto)
+            .comTamanho(EspecificacaoProduto.converter(Tamanho.class, campos[1], "Tamanho"))
+            .comTipoMassa(massa)
+            .comTipoFactory(EspecificacaoProduto.converter(IngredienteFactory.TipoFactory.class, campos[4], "Factory"));
+        
+        if (!campos[3].isBlank()) {
+            especificacao.comSabor(EspecificacaoProduto.converter(SaborPizza.class, campos[3], "Sabor"));
+        }
+        
+        if (!campos[5].isBlank()) {
+            for (String item : campos[5].split(",")) {
+                int separador = item.indexOf(':');
+                TipoIngrediente tipo;
+                int quantidade = 1;
+                
+                if (separador < 0) {
+                    tipo = EspecificacaoProduto.converter(TipoIngrediente.class, item, "Ingrediente");
+                } else {
+                    tipo = EspecificacaoProduto.converter(TipoIngrediente.class, item.substring(0, separador), "Ingrediente");
+                    try {
+                        quantidade = Integer.parseInt(item.substring(separador + 1).trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Quantidade inválida: " + item.trim());
+                    }
+                }
+                especificacao.adicionarIngrediente(tipo, quantidade);
+            }
+        }
+        
+        return especificacao;
+    }
+    
+    /**
+     * Formata centavos como valor decimal com ponto (formato de máquina)
+     */
+    private static void anexarValor(StringBuilder sb, long centavos) {
+        long resto = centavos % 100;
+        sb.append(centavos / 100).append('.');
+        if (resto < 10) {
+            sb.append('0');
+        }
+        sb.append(resto);
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Uso: ProcessadorLotes <entrada> <saida> <rejeitados> [threads]");
+            return;
+        }
+        
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Resumo resumo = new ProcessadorLotes(threads)
+            .processar(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]));
+        
+        System.out.println(resumo);
+    }
+    
+    /**
+     * Bloco de linhas que atravessa os estágios do pipeline
+     */
+    private static class Bloco {
+        final long primeiraLinha;
+        final String[] linhas = new String[TAMANHO_BLOCO];
+        final boolean[] ignorada = new boolean[TAMANHO_BLOCO];
+        final EspecificacaoProduto[] especificacoes = new EspecificacaoProduto[TAMANHO_BLOCO];
+        final Produto[] produtos = new Produto[TAMANHO_BLOCO];
+        final long[] precosCentavos = new long[TAMANHO_BLOCO];
+        final String[] erros = new String[TAMANHO_BLOCO];
+        int tamanho;
+        
+        Bloco(long primeiraLinha) {
+            this.primeiraLinha = primeiraLinha;
+        }
+        
+        void adicionar(String linha) {
+            linhas[tamanho++] = linha;
+        }
+    }
+    
+    /**
+     * Resumo da execução de um lote
+     */
+    public static class Resumo {
+        private long aceitos;
+        private long rejeitados;
+        private long nanos;
+        
+        public long getAceitos() {
+            return aceitos;
+        }
+        
+        public long getRejeitados() {
+            return rejeitados;
+        }
+        
+        public long getNanos() {
+            return nanos;
+        }
+        
+        public double getPedidosPorSegundo() {
+            return nanos == 0 ? 0 : (aceitos + rejeitados) * 1_000_000_000.0 / nanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("📦 %d pedidos processados (%d aceitos, %d rejeitados) em %.1f ms - %.0f pedidos/s",
+                aceitos + rejeitados, aceitos, rejeitados, nanos / 1_000_000.0, getPedidosPorSegundo());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.lanchonete.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mini harness de micro-benchmarks (aquecimento, medição e alocação)
+ * 
+ * Cada benchmark roda em amostras de duração fixa; o resultado de cada
+ * operação é consumido por um "sumidouro" para que o JIT não elimine o
+ * trabalho. A alocação por operação vem do contador de bytes alocados da
+ * thread (com.sun.management.ThreadMXBean), o mesmo dado que o profiler
+ * de GC do JMH reporta como gc.alloc.rate.norm.
+ */
+public class Benchmark {
+    
+    /**
+     * Operação medida; o retorno é consumido pelo harness
+     * (retorna long para não alocar boxing dentro da medição)
+     */
+    @FunctionalInterface
+    public interface Operacao {
+        long executar();
+    }
+    
+    private static final com.sun.management.ThreadMXBean THREAD_MX = 
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    private final int amostrasAquecimento;
+    private final int amostrasMedicao;
+    private final long nanosPorAmostra;
+    private final String filtro;
+    private final List<Resultado> resultados = new ArrayList<>();
+    
+    private long sumidouro;
+    
+    public Benchmark(int amostrasAquecimento, int amostrasMedicao, long milisPorAmostra, String filtro) {
+        this.amostrasAquecimento = amostrasAquecimento;
+        this.amostrasMedicao = amostrasMedicao;
+        this.nanosPorAmostra = milisPorAmostra * 1_000_000L;
+        this.filtro = filtro;
+    }
+    
+    /**
+     * Executa o benchmark (se passar no filtro) e imprime o resultado
+     */
+    public void medir(String nome, Operacao operacao) {
+        if (filtro != null && !nome.contains(filtro)) {
+            return;
+        }
+        
+        long operacoesPorLote = calibrar(operacao);
+        
+        for (int i = 0; i < amostrasAquecimento; i++) {
+            amostrar(operacao, operacoesPorLote);
+        }
+        
+        double[] nanosPorOperacao = new double[amostrasMedicao];
+        long bytesTotais = 0;
+        long operacoesTotais = 0;
+        long nanosTotais = 0;
+        
+        for (int i = 0; i < amostrasMedicao; i++) {
+            long bytesAntes = THREAD_MX.getCurrentThreadAllocatedBytes();
+            long[] amostra = amostrar(operacao, operacoesPorLote);
+            bytesTotais += THREAD_MX.getCurrentThreadAllocatedBytes() - bytesAntes;
+            
+            operacoesTotais += amostra[0];
+            nanosTotais += amostra[1];
+            nanosPorOperacao[i] = (double) amostra[1] / amostra[0];
+        }
+        
+        Resultado resultado = new Resultado(nome, nanosPorOperacao, 
+            (double) bytesTotais / operacoesTotais, 
+            bytesTotais * 1_000_000_000.0 / nanosTotais / (1024 * 1024));
+        resultados.add(resultado);
+        System.out.println(resultado);
+    }
+    
+    public List<Resultado> getResultados() {
+        return resultados;
+    }
+    
+    /**
+     * Valor acumulado pelo sumidouro (impede eliminação de código morto)
+     */
+    public long getSumidouro() {
+        return sumidouro;
+    }
+    
+    private long calibrar(Operacao operacao) {
+        long operacoes = 1;
+        while (true) {
+            long inicio = System.nanoTime();
+            executarLote(operacao, operacoes);
+            long decorrido = System.nanoTime() - inicio;
+            if (decorrido > nanosPorAmostra / 20 || operacoes > (1L << 40)) {
+                return Math.max(1, operacoes * (nanosPorAmostra / 20) / Math.max(1, decorrido));
+            }
+            operacoes *= 2;
+        }
+    }
+    
+    private long[] amostrar(Operacao operacao, long operacoesPorLote) {
+        long operacoes = 0;
+        long inicio = System.nanoTime();
+        long decorrido;
+        do {
+            executarLote(operacao, operacoesPorLote);
+            operacoes += operacoesPorLote;
+            decorrido = System.nanoTime() - inicio;
+        } while (decorrido < nanosPorAmostra);
+        return new long[] { operacoes, decorrido };
+    }
+    
+    private void executarLote(Operacao operacao, long operacoes) {
+        long acumulado = 0;
+        for (long i = 0; i < operacoes; i++) {
+            acumulado += operacao.executar();
+        }
+        sumidouro += acumulado;
+    }
+    
+    /**
+     * Resultado de um benchmark
+     */
+    public static class Resultado {
+        private final String nome;
+        private final double mediaNanos;
+        private final double desvioNanos;
+        private final double bytesPorOperacao;
+        private final double taxaAlocacaoMbPorSegundo;
+        
+        Resultado(String nome, double[] amostras, double bytesPorOperacao, double taxaAlocacaoMbPorSegundo) {
+            this.nome = nome;
+            double soma = 0;
+            for (double amostra : amostras) {
+                soma += amostra;
+            }
+            this.mediaNanos = soma / amostras.length;
+            double quadrados = 0;
+            for (double amostra : amostras) {
+                quadrados += (amostra - mediaNanos) * (amostra - mediaNanos);
+            }
+            this.desvioNanos = Math.sqrt(quadrados / amostras.length);
+            this.bytesPorOperacao = bytesPorOperacao;
+            this.taxaAlocacaoMbPorSegundo = taxaAlocacaoMbPorSegundo;
+        }
+        
+        public String getNome() {
+            return nome;
+        }
+        
+        public double getMediaNanos() {
+            return mediaNanos;
+        }
+        
+        public double getBytesPorOperacao() {
+            return bytesPorOperacao;
+        }
+        
+        public double getTaxaAlocacaoMbPorSegundo() {
+            return taxaAlocacaoMbPorSegundo;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%-45s %10.1f ± %6.1f ns/op %10.1f B/op %9.1f MB/s", 
+                nome, mediaNanos, desvioNanos, bytesPorOperacao, taxaAlocacaoMbPorSegundo);
+        }
+    }
+}
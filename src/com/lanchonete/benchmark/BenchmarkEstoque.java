@@ -0,0 +1,230 @@
+package com.lanchonete.benchmark;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.estoque.Estoque;
+import com.lanchonete.estoque.EstoqueInsuficienteException;
+import com.lanchonete.estoque.Reserva;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark de contenção do estoque
+ * 
+ * Uso: java com.lanchonete.benchmark.BenchmarkEstoque [ms por cenário]
+ * 
+ * 1) Vazão de reservar + cancelar com 1 a 16 threads, comparando o Estoque
+ *    sem trava com uma versão equivalente protegida por synchronized.
+ * 2) Escassez: várias threads reservam até o estoque acabar; confere que
+ *    nenhum saldo ficou negativo e que o total reservado bate com o que
+ *    saiu do estoque.
+ */
+public class BenchmarkEstoque {
+    private static final int[] THREADS = { 1, 2, 4, 8, 16 };
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    
+    /**
+     * Operação medida: reserva e devolve os ingredientes do produto
+     */
+    private interface Alvo {
+        boolean reservarECancelar(Produto produto);
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        long milis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        List<Produto> produtos = montarProdutos();
+        
+        System.out.println("=== BENCHMARK DE ESTOQUE ===\n");
+        System.out.printf("%-14s %8s %14s %12s%n", "implementação", "threads", "reservas/s", "recusadas");
+        
+        for (int threads : THREADS) {
+            Estoque estoque = new Estoque(1_000_000, 0);
+            medir("sem trava", threads, milis, produtos, produto -> {
+                try {
+                    estoque.reservar(produto).cancelar();
+                    return true;
+                } catch (EstoqueInsuficienteException e) {
+                    return false;
+                }
+            });
+            conferirSaldos(estoque, 1_000_000);
+            
+            EstoqueComTrava comTrava = new EstoqueComTrava(1_000_000);
+            medir("synchronized", threads, milis, produtos, comTrava::reservarECancelar);
+        }
+        
+        System.out.println();
+        escassez(produtos, 16);
+    }
+    
+    private static void medir(String nome, int threads, long milis, List<Produto> produtos, Alvo alvo) 
+            throws InterruptedException {
+        LongAdder reservas = new LongAdder();
+        LongAdder recusadas = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] trabalhadores = new Thread[threads];
+        long[] fim = new long[1];
+        
+        for (int t = 0; t < threads; t++) {
+            trabalhadores[t] = new Thread(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long prazo = fim[0];
+                long locais = 0;
+                long locaisRecusadas = 0;
+                do {
+                    // Consulta o relógio a cada 256 operações
+                    for (int i = 0; i < 256; i++) {
+                        if (alvo.reservarECancelar(produtos.get(aleatorio.nextInt(produtos.size())))) {
+                            locais++;
+                        } else {
+                            locaisRecusadas++;
+                        }
+                    }
+                } while (System.nanoTime() < prazo);
+                reservas.add(locais);
+                recusadas.add(locaisRecusadas);
+            });
+            trabalhadores[t].start();
+        }
+        
+        long inicio = System.nanoTime();
+        fim[0] = inicio + milis * 1_000_000L;
+        largada.countDown();
+        for (Thread trabalhador : trabalhadores) {
+            trabalhador.join();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        
+        System.out.printf("%-14s %8d %14.0f %12d%n", nome, threads, reservas.sum() / segundos, recusadas.sum());
+    }
+    
+    /**
+     * Threads reservam (sem devolver) até o estoque acabar
+     */
+    private static void escassez(List<Produto> produtos, int threads) throws InterruptedException {
+        final int saldoInicial = 500;
+        Estoque estoque = new Estoque(saldoInicial, 50);
+        LongAdder avisos = new LongAdder();
+        estoque.adicionarOuvinte((tipo, saldo, limite) -> avisos.increment());
+        
+        AtomicLongArray reservado = new AtomicLongArray(TIPOS.length);
+        LongAdder confirmadas = new LongAdder();
+        Thread[] trabalhadores = new Thread[threads];
+        
+        long inicio = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            trabalhadores[t] = new Thread(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                int recusasSeguidas = 0;
+                while (recusasSeguidas < 1000) {
+                    try {
+                        Reserva reserva = estoque.reservar(produtos.get(aleatorio.nextInt(produtos.size())));
+                        for (TipoIngrediente tipo : TIPOS) {
+                            reservado.addAndGet(tipo.ordinal(), reserva.getQuantidade(tipo));
+                        }
+                        confirmadas.increment();
+                        recusasSeguidas = 0;
+                    } catch (EstoqueInsuficienteException e) {
+                        recusasSeguidas++;
+                    }
+                }
+            });
+            trabalhadores[t].start();
+        }
+        for (Thread trabalhador : trabalhadores) {
+            trabalhador.join();
+        }
+        
+        boolean consistente = true;
+        for (TipoIngrediente tipo : TIPOS) {
+            int saldo = estoque.getSaldo(tipo);
+            if (saldo < 0 || saldo + reservado.get(tipo.ordinal()) != saldoInicial) {
+                consistente = false;
+                System.out.println("❌ " + tipo.getNome() + ": saldo " + saldo 
+                    + ", reservado " + reservado.get(tipo.ordinal()));
+            }
+        }
+        
+        System.out.printf("Escassez (%d threads): %d pedidos reservados em %.1fms, %d avisos de estoque baixo, %s%n",
+            threads, confirmadas.sum(), (System.nanoTime() - inicio) / 1e6, avisos.sum(),
+            consistente ? "saldos consistentes" : "SALDOS INCONSISTENTES");
+    }
+    
+    private static void conferirSaldos(Estoque estoque, int esperado) {
+        for (TipoIngrediente tipo : TIPOS) {
+            if (estoque.getSaldo(tipo) != esperado) {
+                System.out.println("❌ Saldo de " + tipo.getNome() + " não voltou ao inicial: " + estoque.getSaldo(tipo));
+            }
+        }
+    }
+    
+    private static List<Produto> montarProdutos() {
+        List<Produto> produtos = new ArrayList<>();
+        for (SaborPizza sabor : SaborPizza.values()) {
+            try {
+                produtos.add(new EspecificacaoProduto()
+                    .comTipoProduto(TipoProduto.PIZZA).comTamanho(Tamanho.GRANDE)
+                    .comTipoMassa(TipoMassa.GROSSA).comSabor(sabor)
+                    .construir());
+            } catch (IllegalStateException e) {
+                // sabor sem proteína não forma pizza válida sem extras
+            }
+        }
+        produtos.add(new EspecificacaoProduto()
+            .comTipoProduto(TipoProduto.LANCHE).comTamanho(Tamanho.MEDIO).comTipoMassa(TipoMassa.PAO_TRADICIONAL)
+            .adicionarIngrediente(TipoIngrediente.CARNE_BOVINA, 2)
+            .adicionarIngrediente(TipoIngrediente.CHEDDAR, 1)
+            .adicionarIngrediente(TipoIngrediente.BACON, 1)
+            .construir());
+        return produtos;
+    }
+    
+    /**
+     * Mesma semântica do Estoque, mas com uma trava global (base de comparação)
+     */
+    private static class EstoqueComTrava {
+        private final int[] saldos = new int[TIPOS.length];
+        
+        EstoqueComTrava(int saldoInicial) {
+            java.util.Arrays.fill(saldos, saldoInicial);
+        }
+        
+        boolean reservarECancelar(Produto produto) {
+            List<Ingrediente> ingredientes = produto.getIngredientes();
+            synchronized (this) {
+                for (int i = 0; i < ingredientes.size(); i++) {
+                    Ingrediente ingrediente = ingredientes.get(i);
+                    if (saldos[ingrediente.getTipo().ordinal()] < ingrediente.getQuantidade()) {
+                        return false;
+                    }
+                }
+                for (int i = 0; i < ingredientes.size(); i++) {
+                    Ingrediente ingrediente = ingredientes.get(i);
+                    saldos[ingrediente.getTipo().ordinal()] -= ingrediente.getQuantidade();
+                }
+            }
+            synchronized (this) {
+                for (int i = 0; i < ingredientes.size(); i++) {
+                    Ingrediente ingrediente = ingredientes.get(i);
+                    saldos[ingrediente.getTipo().ordinal()] += ingrediente.getQuantidade();
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.lanchonete.benchmark;
+
+import com.lanchonete.catalogo.CatalogoCardapio;
+import com.lanchonete.carga.GeradorPedidos;
+import com.lanchonete.codec.CodecProduto;
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.model.CacheCotacoes;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.IngredientePremium;
+import com.lanchonete.model.IngredientePromocional;
+import com.lanchonete.model.Lanche;
+import com.lanchonete.model.Pizza;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.pedido.ItemPedido;
+import com.lanchonete.pedido.Pedido;
+import com.lanchonete.recibo.BufferRecibo;
+import com.lanchonete.recibo.LayoutRecibo;
+import com.lanchonete.validator.ValidadorCombinacoes;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Suíte de benchmarks dos caminhos quentes do sistema
+ * 
+ * Uso: java com.lanchonete.benchmark.BenchmarkLanchonete [filtro] [ms por amostra]
+ * 
+ * Cobre Builders por número de ingredientes (novos e reaproveitados só
+ * cotando), o validador (aceito/rejeitado, com e sem exceção), o cálculo
+ * de preço, a obtenção de factory + criação de ingrediente por tipo de
+ * factory, a cotação de pizza de sabor (montagem, cotação sem produto e
+ * catálogo), o codec binário (ida e volta), a renderização do recibo
+ * (toString), a inclusão e retirada de itens em carrinhos com promoções e
+ * a cotação de um conjunto de configurações repetidas (cache de cotações;
+ * compare com -Dlanchonete.cache.cotacoes=4096).
+ * Cada linha do relatório
+ * traz ns/op, bytes alocados por operação e taxa de alocação.
+ */
+public class BenchmarkLanchonete {
+    
+    // Ingredientes compatíveis entre si, em ordem de adição
+    private static final TipoIngrediente[] INGREDIENTES_LANCHE = {
+        TipoIngrediente.CARNE_BOVINA, TipoIngrediente.CHEDDAR, TipoIngrediente.ALFACE, 
+        TipoIngrediente.TOMATE, TipoIngrediente.BACON, TipoIngrediente.CEBOLA, 
+        TipoIngrediente.MAIONESE, TipoIngrediente.PIMENTAO
+    };
+    
+    private static final TipoIngrediente[] INGREDIENTES_PIZZA = {
+        TipoIngrediente.CALABRESA, TipoIngrediente.MUSSARELA, TipoIngrediente.CEBOLA, 
+        TipoIngrediente.AZEITONA, TipoIngrediente.BACON, TipoIngrediente.PARMESAO, 
+        TipoIngrediente.TOMATE, TipoIngrediente.PIMENTAO
+    };
+    
+    private static final int[] QUANTIDADES_INGREDIENTES = { 0, 2, 4, 8 };
+    
+    public static void main(String[] args) {
+        String filtro = args.length > 0 ? args[0] : null;
+        long milisPorAmostra = args.length > 1 ? Long.parseLong(args[1]) : 500;
+        
+        Benchmark benchmark = new Benchmark(3, 5, milisPorAmostra, filtro);
+        
+        System.out.println("=== BENCHMARKS DA LANCHONETE ===\n");
+        
+        benchmarkBuilders(benchmark);
+        benchmarkValidador(benchmark);
+        benchmarkPrecos(benchmark);
+        benchmarkFactories(benchmark);
+        benchmarkCatalogo(benchmark);
+        benchmarkCodec(benchmark);
+        benchmarkRecibos(benchmark);
+        benchmarkPedidos(benchmark);
+        benchmarkCacheCotacoes(benchmark);
+        
+        System.out.println("\n(sumidouro: " + benchmark.getSumidouro() + ")");
+    }
+    
+    private static void benchmarkBuilders(Benchmark benchmark) {
+        for (int quantidade : QUANTIDADES_INGREDIENTES) {
+            Ingrediente[] ingredientes = criarIngredientes(INGREDIENTES_LANCHE, quantidade);
+            benchmark.medir("lanche.builder.build[" + quantidade + " ingredientes]", () -> {
+                Lanche.Builder builder = new Lanche.Builder()
+                    .comTamanho(Tamanho.GRANDE)
+                    .comTipoPao(TipoMassa.PAO_INTEGRAL);
+                for (Ingrediente ingrediente : ingredientes) {
+                    builder.adicionarIngrediente(ingrediente);
+                }
+                return builder.build().getIngredientes().size();
+            });
+        }
+        
+        for (int quantidade : QUANTIDADES_INGREDIENTES) {
+            Ingrediente[] ingredientes = criarIngredientes(INGREDIENTES_PIZZA, Math.max(1, quantidade));
+            benchmark.medir("pizza.builder.build[" + ingredientes.length + " ingredientes]", () -> {
+                Pizza.Builder builder = new Pizza.Builder()
+                    .comTamanho(Tamanho.GRANDE)
+                    .comTipoMassa(TipoMassa.GROSSA);
+                for (Ingrediente ingrediente : ingredientes) {
+                    builder.adicionarIngrediente(ingrediente);
+                }
+                return builder.build().getIngredientes().size();
+            });
+        }
+        
+        // Mesmo lanche num Builder reaproveitado, só cotando (sem construir o produto)
+        Lanche.Builder reaproveitado = new Lanche.Builder();
+        for (int quantidade : QUANTIDADES_INGREDIENTES) {
+            Ingrediente[] ingredientes = criarIngredientes(INGREDIENTES_LANCHE, quantidade);
+            benchmark.medir("lanche.builder.cotar[" + quantidade + " ingredientes, reaproveitado]", () -> {
+                reaproveitado.limpar()
+                    .comTamanho(Tamanho.GRANDE)
+                    .comTipoPao(TipoMassa.PAO_INTEGRAL);
+                for (Ingrediente ingrediente : ingredientes) {
+                    reaproveitado.adicionarIngrediente(ingrediente);
+                }
+                return reaproveitado.cotarCentavos();
+            });
+        }
+    }
+    
+    private static void benchmarkValidador(Benchmark benchmark) {
+        List<Ingrediente> aceita = Arrays.asList(criarIngredientes(INGREDIENTES_PIZZA, 5));
+        List<Ingrediente> rejeitada = Arrays.asList(
+            new Ingrediente(TipoIngrediente.FRANGO),
+            new Ingrediente(TipoIngrediente.GORGONZOLA),
+            new Ingrediente(TipoIngrediente.CHEDDAR)
+        );
+        
+        benchmark.medir("validador.validarPizza[aceita]", () -> {
+            ValidadorCombinacoes.validarPizza(Tamanho.MEDIO, TipoMassa.FINA, aceita);
+            return 1;
+        });
+        
+        benchmark.medir("validador.validarPizza[rejeitada]", () -> {
+            try {
+                ValidadorCombinacoes.validarPizza(Tamanho.MEDIO, TipoMassa.FINA, rejeitada);
+                return 0;
+            } catch (IllegalStateException e) {
+                return 1;
+            }
+        });
+        
+        // Mesma recusa pelo caminho sem exceção (código em vez de pilha e mensagem)
+        long mascaraRejeitada = ValidadorCombinacoes.mascara(rejeitada);
+        benchmark.medir("validador.verificarPizza[rejeitada]", () -> 
+            ValidadorCombinacoes.verificarPizza(Tamanho.MEDIO, TipoMassa.FINA, mascaraRejeitada, rejeitada.size()));
+        
+        Pizza.Builder recusada = new Pizza.Builder().comTamanho(Tamanho.MEDIO).comTipoMassa(TipoMassa.FINA);
+        for (Ingrediente ingrediente : rejeitada) {
+            recusada.adicionarIngrediente(ingrediente);
+        }
+        benchmark.medir("pizza.builder.cotar[rejeitada, excecao]", () -> {
+            try {
+                return recusada.cotarCentavos();
+            } catch (IllegalStateException e) {
+                return e.getMessage().length();
+            }
+        });
+        benchmark.medir("pizza.builder.tentarCotar[rejeitada]", () -> recusada.tentarCotarCentavos() + recusada.getResultado());
+    }
+    
+    private static void benchmarkPrecos(Benchmark benchmark) {
+        Lanche lanche = montarLanche(8);
+        Pizza pizza = montarPizza(5);
+        
+        benchmark.medir("lanche.calcularPrecoTotal", () -> lanche.calcularPrecoTotalCentavos());
+        benchmark.medir("pizza.calcularPrecoTotal", () -> pizza.calcularPrecoTotalCentavos());
+    }
+    
+    private static void benchmarkFactories(Benchmark benchmark) {
+        for (IngredienteFactory.TipoFactory tipoFactory : IngredienteFactory.TipoFactory.values()) {
+            benchmark.medir("factory.obter+criar[" + tipoFactory + "]", () -> {
+                IngredienteFactory factory = IngredienteFactory.obterFactory(tipoFactory);
+                return factory.criarIngrediente(TipoIngrediente.BACON, 2).getQuantidade();
+            });
+        }
+    }
+    
+    private static void benchmarkCatalogo(Benchmark benchmark) {
+        CatalogoCardapio catalogo = CatalogoCardapio.emMemoria();
+        EspecificacaoProduto especificacao = new EspecificacaoProduto()
+            .comTipoProduto(TipoProduto.PIZZA).comSabor(SaborPizza.PORTUGUESA)
+            .comTamanho(Tamanho.GRANDE).comTipoMassa(TipoMassa.GROSSA)
+            .comTipoFactory(IngredienteFactory.TipoFactory.PREMIUM);
+        
+        benchmark.medir("cotacao.sabor[montagem]", () -> especificacao.construir().calcularPrecoTotalCentavos());
+        benchmark.medir("cotacao.sabor[cotar]", () -> especificacao.cotarCentavos());
+        benchmark.medir("cotacao.sabor[catalogo]", () -> catalogo.precoCentavos(
+            SaborPizza.PORTUGUESA, Tamanho.GRANDE, TipoMassa.GROSSA, IngredienteFactory.TipoFactory.PREMIUM));
+    }
+    
+    private static void benchmarkCodec(Benchmark benchmark) {
+        Lanche lanche = montarLanche(8);
+        // Pizza com os três tipos de preço, incluindo um desconto fora do padrão
+        Pizza pizza = new Pizza.Builder()
+            .comTamanho(Tamanho.GRANDE)
+            .comTipoMassa(TipoMassa.BORDA_RECHEADA)
+            .adicionarIngrediente(new Ingrediente(TipoIngrediente.CALABRESA, 2))
+            .adicionarIngrediente(new IngredientePremium(TipoIngrediente.PARMESAO, 1))
+            .adicionarIngrediente(new IngredientePromocional(TipoIngrediente.CEBOLA, 3, 0.20))
+            .build();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CodecProduto.TAMANHO_MAXIMO);
+        
+        for (Produto produto : new Produto[] { lanche, pizza }) {
+            String nome = produto.getTipoProduto().name().toLowerCase();
+            System.out.printf("codec: %s com %d ingredientes = %d bytes%n", 
+                nome, produto.getIngredientes().size(), CodecProduto.tamanhoCodificado(produto));
+            
+            benchmark.medir("codec.codificar[" + nome + "]", () -> {
+                buffer.clear();
+                return CodecProduto.codificar(produto, buffer);
+            });
+            benchmark.medir("codec.ida_e_volta[" + nome + "]", () -> {
+                buffer.clear();
+                CodecProduto.codificar(produto, buffer);
+                buffer.flip();
+                return CodecProduto.decodificar(buffer).calcularPrecoTotalCentavos();
+            });
+        }
+    }
+    
+    private static void benchmarkRecibos(Benchmark benchmark) {
+        Lanche lanche = montarLanche(8);
+        Pizza pizza = montarPizza(5);
+        
+        benchmark.medir("lanche.toString", () -> lanche.toString().length());
+        benchmark.medir("pizza.toString", () -> pizza.toString().length());
+        
+        // Mesmos recibos num buffer reutilizado, sem a String final
+        BufferRecibo buffer = new BufferRecibo();
+        for (LayoutRecibo layout : LayoutRecibo.values()) {
+            String nome = layout.name().toLowerCase();
+            benchmark.medir("recibo." + nome + "[lanche]", () -> layout.renderizar(lanche, 42, buffer.limpar()).length());
+            benchmark.medir("recibo." + nome + "[pizza]", () -> layout.renderizar(pizza, 42, buffer.limpar()).length());
+        }
+        benchmark.medir("recibo.codificar[pizza]", () -> 
+            LayoutRecibo.CLIENTE.renderizar(pizza, 42, buffer.limpar()).codificar().limit());
+    }
+    
+    private static void benchmarkPedidos(Benchmark benchmark) {
+        // Sabores com proteína (os demais precisam de extras para passar no validador)
+        SaborPizza[] sabores = { SaborPizza.CALABRESA, SaborPizza.PORTUGUESA, SaborPizza.FRANGO_CATUPIRY, SaborPizza.BACON };
+        Tamanho[] tamanhos = Tamanho.values();
+        Produto lanche = montarLanche(4);
+        Produto calabresa = new EspecificacaoProduto()
+            .comTipoProduto(TipoProduto.PIZZA).comSabor(SaborPizza.CALABRESA)
+            .comTamanho(Tamanho.GRANDE).comTipoMassa(TipoMassa.FINA)
+            .construir();
+        
+        // Carrinhos de balcão a corporativos: pizzas de vários sabores e tamanhos e alguns lanches
+        for (int itens : new int[] { 1, 10, 60 }) {
+            Pedido pedido = new Pedido();
+            for (int i = 0; i < itens; i++) {
+                if (i % 4 == 3) {
+                    pedido.adicionar(lanche);
+                } else {
+                    pedido.adicionar(new EspecificacaoProduto()
+                        .comTipoProduto(TipoProduto.PIZZA).comSabor(sabores[i % sabores.length])
+                        .comTamanho(tamanhos[i % tamanhos.length]).comTipoMassa(TipoMassa.GROSSA));
+                }
+            }
+            benchmark.medir("pedido.adicionar+remover[" + itens + " itens]", () -> {
+                ItemPedido item = pedido.adicionar(calabresa, SaborPizza.CALABRESA);
+                long total = pedido.getTotalCentavos();
+                pedido.remover(item);
+                return total;
+            });
+        }
+    }
+    
+    private static Ingrediente[] criarIngredientes(TipoIngrediente[] tipos, int quantidade) {
+        Ingrediente[] ingredientes = new Ingrediente[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            ingredientes[i] = new Ingrediente(tipos[i], 1);
+        }
+        return ingredientes;
+    }
+    
+    private static Lanche montarLanche(int quantidade) {
+        Lanche.Builder builder = new Lanche.Builder().comTamanho(Tamanho.GRANDE);
+        for (Ingrediente ingrediente : criarIngredientes(INGREDIENTES_LANCHE, quantidade)) {
+            builder.adicionarIngrediente(ingrediente);
+        }
+        return builder.build();
+    }
+    
+    private static Pizza montarPizza(int quantidade) {
+        Pizza.Builder builder = new Pizza.Builder().comTamanho(Tamanho.GRANDE);
+        for (Ingrediente ingrediente : criarIngredientes(INGREDIENTES_PIZZA, quantidade)) {
+            builder.adicionarIngrediente(ingrediente);
+        }
+        return builder.build();
+    }
+    
+    private static void benchmarkCacheCotacoes(Benchmark benchmark) {
+        // Poucas centenas de configurações distintas, como no totem; 10% recusadas
+        GeradorPedidos gerador = new GeradorPedidos.Builder().comSemente(7L).comFracaoInvalida(0.1).build();
+        EspecificacaoProduto[] especificacoes = new EspecificacaoProduto[256];
+        for (int i = 0; i < especificacoes.length; i++) {
+            especificacoes[i] = gerador.proximo().getEspecificacao();
+        }
+        
+        int[] proxima = new int[1];
+        benchmark.medir("cotacao.repetida[256 configuracoes, cache " + CacheCotacoes.global().getCapacidade() + "]", () -> {
+            EspecificacaoProduto especificacao = especificacoes[proxima[0]++ & (especificacoes.length - 1)];
+            return especificacao.tentarCotarCentavos() + especificacao.getResultado();
+        });
+        
+        Pizza.Builder builder = new Pizza.Builder().comTamanho(Tamanho.GRANDE);
+        for (Ingrediente ingrediente : criarIngredientes(INGREDIENTES_PIZZA, 8)) {
+            builder.adicionarIngrediente(ingrediente);
+        }
+        benchmark.medir("pizza.builder.impressaoDigital[8 ingredientes]", builder::impressaoDigital);
+    }
+}
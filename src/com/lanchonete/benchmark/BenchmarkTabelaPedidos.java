@@ -0,0 +1,173 @@
+package com.lanchonete.benchmark;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.store.ArmazemPedidos;
+import com.lanchonete.store.ArmazemPedidosConcorrente;
+import com.lanchonete.store.PedidoRegistrado;
+import com.lanchonete.store.ResumoPedidos;
+import com.lanchonete.store.TabelaColunarPedidos;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark das consultas agregadas sobre o histórico de pedidos
+ * 
+ * Uso: java com.lanchonete.benchmark.BenchmarkTabelaPedidos [pedidos] [repetições]
+ * 
+ * Registra os mesmos pedidos no ArmazemPedidosConcorrente e na
+ * TabelaColunarPedidos e compara o resumo completo (receita e pedidos por
+ * tamanho e produto, consumo de ingredientes, ticket médio) percorrendo os
+ * objetos com o resumo da tabela colunar, sequencial e em paralelo. Os três
+ * caminhos precisam chegar aos mesmos números.
+ */
+public class BenchmarkTabelaPedidos {
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    
+    private static final TipoIngrediente[][] COMBOS_LANCHE = {
+        { TipoIngrediente.CARNE_BOVINA, TipoIngrediente.CHEDDAR, TipoIngrediente.ALFACE, TipoIngrediente.TOMATE },
+        { TipoIngrediente.FRANGO, TipoIngrediente.MUSSARELA, TipoIngrediente.MAIONESE },
+        { TipoIngrediente.BACON, TipoIngrediente.CARNE_BOVINA, TipoIngrediente.CEBOLA },
+        { TipoIngrediente.ALFACE, TipoIngrediente.TOMATE, TipoIngrediente.PIMENTAO }
+    };
+    
+    public static void main(String[] args) {
+        int pedidos = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        List<Produto> cardapio = montarCardapio();
+        ArmazemPedidos armazem = new ArmazemPedidosConcorrente();
+        TabelaColunarPedidos tabela = new TabelaColunarPedidos();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        long instante = 1_700_000_000_000L;
+        
+        for (int i = 0; i < pedidos; i++) {
+            instante += aleatorio.nextInt(60_000);
+            tabela.adicionar(armazem.registrar(cardapio.get(aleatorio.nextInt(cardapio.size())), instante));
+        }
+        
+        System.out.println("=== BENCHMARK DA TABELA DE PEDIDOS ===");
+        System.out.printf("%,d pedidos, %d produtos distintos, %d repetições%n%n",
+            pedidos, cardapio.size(), repeticoes);
+        System.out.printf("%-22s %12s %14s%n", "caminho", "ms/consulta", "pedidos/s");
+        
+        long[] referencia = medir("objetos", repeticoes, pedidos, () -> resumirObjetos(armazem));
+        long[] sequencial = medir("colunar", repeticoes, pedidos, () -> assinatura(tabela.resumir()));
+        long[] paralelo = medir("colunar paralelo", repeticoes, pedidos, () -> assinatura(tabela.resumirEmParalelo()));
+        
+        boolean iguais = Arrays.equals(referencia, sequencial) && Arrays.equals(referencia, paralelo);
+        ResumoPedidos resumo = tabela.resumir();
+        System.out.printf("%nReceita: R$ %.2f, ticket médio: R$ %.2f - resultados %s%n",
+            resumo.getReceitaCentavos() / 100.0, resumo.getTicketMedioCentavos() / 100.0,
+            iguais ? "idênticos" : "DIVERGENTES");
+        if (!iguais) {
+            System.exit(1);
+        }
+    }
+    
+    private interface Consulta {
+        long[] executar();
+    }
+    
+    private static long[] medir(String nome, int repeticoes, int pedidos, Consulta consulta) {
+        long[] resultado = consulta.executar(); // aquecimento
+        long melhor = Long.MAX_VALUE;
+        for (int r = 0; r < repeticoes; r++) {
+            long inicio = System.nanoTime();
+            resultado = consulta.executar();
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        System.out.printf("%-22s %12.2f %14.0f%n", nome, melhor / 1e6, pedidos / (melhor / 1e9));
+        return resultado;
+    }
+    
+    /**
+     * Mesmo resumo calculado percorrendo os pedidos como objetos
+     */
+    private static long[] resumirObjetos(ArmazemPedidos armazem) {
+        long[] receitaPorTamanho = new long[TAMANHOS.length];
+        long[] pedidosPorTamanho = new long[TAMANHOS.length];
+        long[] pedidosPorProduto = new long[TipoProduto.values().length];
+        long[] consumo = new long[TIPOS.length];
+        
+        for (PedidoRegistrado pedido : armazem.instantaneo()) {
+            Produto produto = pedido.getProduto();
+            int tamanho = produto.getTamanho().ordinal();
+            receitaPorTamanho[tamanho] += produto.calcularPrecoTotalCentavos();
+            pedidosPorTamanho[tamanho]++;
+            pedidosPorProduto[produto.getTipoProduto().ordinal()]++;
+            for (Ingrediente ingrediente : produto.getIngredientes()) {
+                consumo[ingrediente.getTipo().ordinal()] += ingrediente.getQuantidade();
+            }
+        }
+        return concatenar(receitaPorTamanho, pedidosPorTamanho, pedidosPorProduto, consumo);
+    }
+    
+    private static long[] assinatura(ResumoPedidos resumo) {
+        long[] receitaPorTamanho = new long[TAMANHOS.length];
+        long[] pedidosPorTamanho = new long[TAMANHOS.length];
+        long[] pedidosPorProduto = new long[TipoProduto.values().length];
+        long[] consumo = new long[TIPOS.length];
+        
+        for (Tamanho tamanho : TAMANHOS) {
+            receitaPorTamanho[tamanho.ordinal()] = resumo.getReceitaCentavos(tamanho);
+            pedidosPorTamanho[tamanho.ordinal()] = resumo.getPedidos(tamanho);
+        }
+        for (TipoProduto tipoProduto : TipoProduto.values()) {
+            pedidosPorProduto[tipoProduto.ordinal()] = resumo.getPedidos(tipoProduto);
+        }
+        for (TipoIngrediente tipo : TIPOS) {
+            consumo[tipo.ordinal()] = resumo.getConsumo(tipo);
+        }
+        return concatenar(receitaPorTamanho, pedidosPorTamanho, pedidosPorProduto, consumo);
+    }
+    
+    private static long[] concatenar(long[]... partes) {
+        int total = 0;
+        for (long[] parte : partes) {
+            total += parte.length;
+        }
+        long[] resultado = new long[total];
+        int posicao = 0;
+        for (long[] parte : partes) {
+            System.arraycopy(parte, 0, resultado, posicao, parte.length);
+            posicao += parte.length;
+        }
+        return resultado;
+    }
+    
+    private static List<Produto> montarCardapio() {
+        List<Produto> cardapio = new ArrayList<>();
+        for (Tamanho tamanho : TAMANHOS) {
+            for (SaborPizza sabor : SaborPizza.values()) {
+                try {
+                    cardapio.add(new EspecificacaoProduto()
+                        .comTipoProduto(TipoProduto.PIZZA).comSabor(sabor)
+                        .comTamanho(tamanho).comTipoMassa(TipoMassa.GROSSA)
+                        .construir());
+                } catch (IllegalStateException e) {
+                    // Sabor sem proteína não é aceito pelo validador
+                }
+            }
+            for (TipoIngrediente[] combo : COMBOS_LANCHE) {
+                EspecificacaoProduto especificacao = new EspecificacaoProduto()
+                    .comTipoProduto(TipoProduto.LANCHE)
+                    .comTamanho(tamanho).comTipoMassa(TipoMassa.PAO_TRADICIONAL);
+                for (TipoIngrediente tipo : combo) {
+                    especificacao.adicionarIngrediente(tipo, 1 + tamanho.ordinal());
+                }
+                cardapio.add(especificacao.construir());
+            }
+        }
+        return cardapio;
+    }
+}
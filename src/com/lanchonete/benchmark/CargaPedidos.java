@@ -0,0 +1,199 @@
+package com.lanchonete.benchmark;
+
+import com.lanchonete.carga.GeradorPedidos;
+import com.lanchonete.carga.PedidoSintetico;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.metrics.Histograma;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.validator.RegraValidacao;
+import com.lanchonete.validator.ResultadoValidacao;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga do caminho de pedidos em processo (factories, Builders e validador)
+ * 
+ * Uso: java com.lanchonete.benchmark.CargaPedidos [aberto|fechado] [pedidos] [taxa/s | threads]
+ *      [semente] [fração inválida]
+ * 
+ * Os pedidos vêm do GeradorPedidos (mesma semente, mesma carga) e são
+ * gerados antes da medição. Cada um é construído a partir da sua
+ * EspecificacaoProduto, e o desfecho (aceito ou recusado pela regra
+ * esperada) é conferido.
+ * 
+ * Malha aberta: os pedidos têm horário de chegada fixo (taxa constante) e a
+ * latência de resposta é contada a partir do horário previsto, não de quando
+ * a thread conseguiu começar; atrasos acumulados entram na medida em vez de
+ * sumirem (omissão coordenada). O tempo de serviço puro é mostrado ao lado.
+ * 
+ * Malha fechada: cada thread envia o próximo pedido assim que o anterior
+ * termina. A latência bruta é corrigida como no HdrHistogram: uma amostra
+ * maior que o intervalo esperado (tempo médio de serviço medido no
+ * aquecimento) gera também as amostras que os pedidos que deveriam ter
+ * chegado durante a pausa teriam visto.
+ */
+public class CargaPedidos {
+    
+    public static void main(String[] args) throws Exception {
+        boolean aberto = args.length == 0 || !args[0].equals("fechado");
+        int total = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int processadores = Runtime.getRuntime().availableProcessors();
+        double taxa = args.length > 2 && aberto ? Double.parseDouble(args[2]) : 100_000;
+        int threads = args.length > 2 && !aberto ? Integer.parseInt(args[2]) : processadores;
+        long semente = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        double fracaoInvalida = args.length > 4 ? Double.parseDouble(args[4]) : 0.05;
+        
+        GeradorPedidos gerador = new GeradorPedidos.Builder()
+            .comSemente(semente)
+            .comFracaoInvalida(fracaoInvalida)
+            .build();
+        long inicioGeracao = System.nanoTime();
+        List<PedidoSintetico> pedidos = gerador.gerar(total);
+        long geracao = System.nanoTime() - inicioGeracao;
+        
+        System.out.println("=== CARGA NO CAMINHO DE PEDIDOS ===");
+        System.out.printf("%,d pedidos gerados em %.2f s (semente %d)%n", total, geracao / 1e9, semente);
+        exibirMistura(pedidos);
+        
+        // Aquecimento em malha fechada; o tempo médio de serviço vira o intervalo esperado
+        Execucao aquecimento = new Execucao(pedidos.subList(0, Math.max(1, total / 5)));
+        aquecimento.fechada(1, 0);
+        long intervaloEsperado = Math.max(1, (long) aquecimento.servico.getMedia());
+        
+        Execucao execucao = new Execucao(pedidos);
+        if (aberto) {
+            System.out.printf("%nMalha aberta: %.0f pedidos/s, %d thread(s)%n", taxa, threads);
+            execucao.aberta(threads, taxa);
+        } else {
+            System.out.printf("%nMalha fechada: %d thread(s), intervalo esperado %s%n",
+                threads, Histograma.formatar(intervaloEsperado));
+            execucao.fechada(threads, intervaloEsperado);
+        }
+        
+        System.out.printf("Vazão: %,.0f pedidos/s em %.2f s | aceitos: %d | recusados: %d | desfecho divergente: %d%n%n",
+            total * 1e9 / execucao.decorrido, execucao.decorrido / 1e9,
+            execucao.aceitos.get(), execucao.recusados.get(), execucao.divergentes.get());
+        System.out.printf("%-22s %10s %10s %10s %10s %10s %10s%n",
+            "latência", "média", "p50", "p90", "p99", "p99.9", "máx");
+        exibir(aberto ? "serviço" : "bruta", execucao.servico);
+        exibir(aberto ? "resposta (agendada)" : "corrigida", execucao.resposta);
+        
+        if (execucao.divergentes.get() > 0) {
+            System.exit(1);
+        }
+    }
+    
+    private static void exibirMistura(List<PedidoSintetico> pedidos) {
+        Map<TipoProduto, Integer> porProduto = new EnumMap<>(TipoProduto.class);
+        Map<RegraValidacao, Integer> porRegra = new EnumMap<>(RegraValidacao.class);
+        for (PedidoSintetico pedido : pedidos) {
+            porProduto.merge(pedido.getEspecificacao().getTipoProduto(), 1, Integer::sum);
+            if (!pedido.isValido()) {
+                porRegra.merge(pedido.getRegraEsperada(), 1, Integer::sum);
+            }
+        }
+        System.out.println("Mistura: " + porProduto + " | inválidos por regra: " + porRegra);
+    }
+    
+    private static void exibir(String nome, Histograma histograma) {
+        System.out.printf("%-22s %10s %10s %10s %10s %10s %10s%n", nome,
+            Histograma.formatar((long) histograma.getMedia()),
+            Histograma.formatar(histograma.getQuantil(0.5)),
+            Histograma.formatar(histograma.getQuantil(0.9)),
+            Histograma.formatar(histograma.getQuantil(0.99)),
+            Histograma.formatar(histograma.getQuantil(0.999)),
+            Histograma.formatar(histograma.getMaximo()));
+    }
+    
+    /**
+     * Uma rodada sobre a lista de pedidos; as threads disputam o próximo índice
+     */
+    private static final class Execucao {
+        final List<PedidoSintetico> pedidos;
+        final Histograma servico = Histograma.avulso("servico");
+        final Histograma resposta = Histograma.avulso("resposta");
+        final AtomicInteger proximo = new AtomicInteger();
+        final AtomicLong aceitos = new AtomicLong();
+        final AtomicLong recusados = new AtomicLong();
+        final AtomicLong divergentes = new AtomicLong();
+        long decorrido;
+        
+        Execucao(List<PedidoSintetico> pedidos) {
+            this.pedidos = pedidos;
+        }
+        
+        void aberta(int threads, double taxa) throws InterruptedException {
+            double intervalo = 1e9 / taxa;
+            long inicio = System.nanoTime();
+            rodar(threads, () -> {
+                int i;
+                while ((i = proximo.getAndIncrement()) < pedidos.size()) {
+                    long agendado = inicio + (long) (i * intervalo);
+                    long restante;
+                    while ((restante = agendado - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(restante);
+                    }
+                    long comeco = System.nanoTime();
+                    construir(pedidos.get(i));
+                    long fim = System.nanoTime();
+                    servico.registrar(fim - comeco);
+                    resposta.registrar(fim - agendado);
+                }
+            });
+            decorrido = System.nanoTime() - inicio;
+        }
+        
+        /**
+         * @param intervaloEsperado intervalo para a correção de omissão coordenada (0 = sem correção)
+         */
+        void fechada(int threads, long intervaloEsperado) throws InterruptedException {
+            long inicio = System.nanoTime();
+            rodar(threads, () -> {
+                int i;
+                while ((i = proximo.getAndIncrement()) < pedidos.size()) {
+                    long comeco = System.nanoTime();
+                    construir(pedidos.get(i));
+                    long latencia = System.nanoTime() - comeco;
+                    servico.registrar(latencia);
+                    resposta.registrar(latencia);
+                    if (intervaloEsperado > 0) {
+                        for (long faltante = latencia - intervaloEsperado; faltante >= intervaloEsperado;
+                             faltante -= intervaloEsperado) {
+                            resposta.registrar(faltante);
+                        }
+                    }
+                }
+            });
+            decorrido = System.nanoTime() - inicio;
+        }
+        
+        private void construir(PedidoSintetico pedido) {
+            EspecificacaoProduto especificacao = pedido.getEspecificacao();
+            RegraValidacao obtida = null;
+            if (especificacao.tentarConstruir() != null) {
+                aceitos.incrementAndGet();
+            } else {
+                obtida = ResultadoValidacao.regra(especificacao.getResultado());
+                recusados.incrementAndGet();
+            }
+            if (obtida != pedido.getRegraEsperada()) {
+                divergentes.incrementAndGet();
+            }
+        }
+        
+        private static void rodar(int threads, Runnable tarefa) throws InterruptedException {
+            Thread[] trabalhadoras = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                trabalhadoras[t] = new Thread(tarefa, "carga-" + t);
+                trabalhadoras[t].start();
+            }
+            for (Thread trabalhadora : trabalhadoras) {
+                trabalhadora.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.lanchonete.benchmark;
+
+import com.lanchonete.cozinha.ComandaCozinha;
+import com.lanchonete.cozinha.Cozinha;
+import com.lanchonete.cozinha.PlanoPreparo;
+import com.lanchonete.cozinha.TipoEstacao;
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.metrics.Histograma;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulação da cozinha com chegadas de Poisson (carga em malha aberta)
+ * 
+ * Uso: java com.lanchonete.benchmark.SimulacaoCozinha [comandas por cenário] [escala de tempo]
+ * 
+ * Para cada quantidade de estações por tipo (1, 2 e 4) e cada utilização
+ * alvo do gargalo (50%, 70% e 90%), envia as comandas em intervalos
+ * exponenciais e mede vazão, espera em fila e permanência, com e sem roubo
+ * de tarefas. Os tempos do relatório são em tempo de cozinha; a escala
+ * (padrão 0.00002) comprime uma hora de cozinha em 72ms.
+ */
+public class SimulacaoCozinha {
+    private static final int[] ESTACOES_POR_TIPO = { 1, 2, 4 };
+    private static final double[] UTILIZACOES = { 0.5, 0.7, 0.9 };
+    private static final double NANOS_POR_HORA = 3_600e9;
+    
+    private static final TipoIngrediente[][] COMBOS_LANCHE = {
+        { TipoIngrediente.CARNE_BOVINA, TipoIngrediente.CHEDDAR, TipoIngrediente.ALFACE, TipoIngrediente.TOMATE },
+        { TipoIngrediente.FRANGO, TipoIngrediente.MUSSARELA, TipoIngrediente.MAIONESE },
+        { TipoIngrediente.BACON, TipoIngrediente.CARNE_BOVINA, TipoIngrediente.CEBOLA },
+        { TipoIngrediente.ALFACE, TipoIngrediente.TOMATE, TipoIngrediente.PIMENTAO }
+    };
+    
+    public static void main(String[] args) throws Exception {
+        int comandas = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        double escala = args.length > 1 ? Double.parseDouble(args[1]) : 0.00002;
+        
+        List<Produto> cardapio = montarCardapio();
+        double cargaGargalo = cargaMediaGargalo(cardapio);
+        
+        System.out.println("=== SIMULAÇÃO DA COZINHA ===");
+        System.out.printf("%d produtos no cardápio, %d comandas por cenário, escala %.5f%n", 
+            cardapio.size(), comandas, escala);
+        System.out.printf("Carga média por comanda na estação gargalo: %s%n%n", 
+            Histograma.formatar((long) cargaGargalo));
+        System.out.printf("%-8s %-6s %-6s %10s %10s %10s %10s %10s %12s %8s%n",
+            "estações", "util.", "roubo", "cheg./h", "vazão/h", "espera p50", "espera p99", "p99.9", "perman. p99", "roubos");
+        
+        for (int estacoes : ESTACOES_POR_TIPO) {
+            double capacidadePorHora = estacoes * NANOS_POR_HORA / cargaGargalo;
+            for (double utilizacao : UTILIZACOES) {
+                for (boolean roubo : new boolean[] { false, true }) {
+                    simular(cardapio, estacoes, utilizacao * capacidadePorHora, utilizacao, roubo, comandas, escala);
+                }
+            }
+        }
+    }
+    
+    private static void simular(List<Produto> cardapio, int estacoes, double chegadasPorHora, double utilizacao,
+                                boolean roubo, int comandas, double escala) throws Exception {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        double intervaloMedioReal = NANOS_POR_HORA / chegadasPorHora * escala;
+        List<CompletableFuture<ComandaCozinha>> conclusoes = new ArrayList<>(comandas);
+        
+        try (Cozinha cozinha = new Cozinha.Builder()
+                .comEstacoes(estacoes)
+                .comEscalaTempo(escala)
+                .comRoubo(roubo)
+                .build()) {
+            
+            long inicio = System.nanoTime();
+            long proximaChegada = inicio;
+            for (int i = 0; i < comandas; i++) {
+                proximaChegada += (long) (-Math.log(1.0 - aleatorio.nextDouble()) * intervaloMedioReal);
+                long restante;
+                while ((restante = proximaChegada - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(restante);
+                }
+                Produto produto = cardapio.get(aleatorio.nextInt(cardapio.size()));
+                conclusoes.add(cozinha.enviar(i + 1, produto).getConclusao());
+            }
+            
+            CompletableFuture.allOf(conclusoes.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.MINUTES);
+            double horasCozinha = (System.nanoTime() - inicio) / escala / NANOS_POR_HORA;
+            
+            System.out.printf("%-8d %-6s %-6s %10.1f %10.1f %10s %10s %10s %12s %8d%n",
+                estacoes,
+                Math.round(utilizacao * 100) + "%",
+                roubo ? "sim" : "não",
+                chegadasPorHora,
+                cozinha.getComandasConcluidas() / horasCozinha,
+                Histograma.formatar(cozinha.getEspera().getQuantil(0.5)),
+                Histograma.formatar(cozinha.getEspera().getQuantil(0.99)),
+                Histograma.formatar(cozinha.getEspera().getQuantil(0.999)),
+                Histograma.formatar(cozinha.getPermanencia().getQuantil(0.99)),
+                cozinha.getRoubadas());
+        }
+    }
+    
+    /**
+     * Cardápio variado: todos os sabores de pizza e alguns lanches, em todos os tamanhos e massas
+     */
+    private static List<Produto> montarCardapio() {
+        List<Produto> cardapio = new ArrayList<>();
+        
+        for (Tamanho tamanho : Tamanho.values()) {
+            for (SaborPizza sabor : SaborPizza.values()) {
+                for (TipoMassa massa : new TipoMassa[] { TipoMassa.FINA, TipoMassa.GROSSA, TipoMassa.BORDA_RECHEADA }) {
+                    adicionarSeValido(cardapio, new EspecificacaoProduto()
+                        .comTipoProduto(TipoProduto.PIZZA).comTamanho(tamanho).comTipoMassa(massa).comSabor(sabor));
+                }
+            }
+            for (TipoIngrediente[] combo : COMBOS_LANCHE) {
+                for (TipoMassa pao : new TipoMassa[] { TipoMassa.PAO_TRADICIONAL, TipoMassa.PAO_AUSTRALIANO, TipoMassa.CIABATTA }) {
+                    EspecificacaoProduto especificacao = new EspecificacaoProduto()
+                        .comTipoProduto(TipoProduto.LANCHE).comTamanho(tamanho).comTipoMassa(pao);
+                    for (TipoIngrediente tipo : combo) {
+                        especificacao.adicionarIngrediente(tipo, 1);
+                    }
+                    adicionarSeValido(cardapio, especificacao);
+                }
+            }
+        }
+        return cardapio;
+    }
+    
+    private static void adicionarSeValido(List<Produto> cardapio, EspecificacaoProduto especificacao) {
+        try {
+            cardapio.add(especificacao.construir());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // combinação recusada pelas regras (ex.: borda recheada pequena)
+        }
+    }
+    
+    /**
+     * Maior carga média por comanda entre os tipos de estação (o gargalo da cozinha)
+     */
+    private static double cargaMediaGargalo(List<Produto> cardapio) {
+        double[] carga = new double[TipoEstacao.values().length];
+        for (Produto produto : cardapio) {
+            for (TipoEstacao tipo : TipoEstacao.values()) {
+                carga[tipo.ordinal()] += PlanoPreparo.tempoEstimadoNanos(produto, tipo);
+            }
+        }
+        
+        double maior = 0;
+        for (double total : carga) {
+            maior = Math.max(maior, total / cardapio.size());
+        }
+        return maior;
+    }
+}
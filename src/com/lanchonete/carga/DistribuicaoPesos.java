@@ -0,0 +1,66 @@
+package com.lanchonete.carga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sorteio de índices proporcional a pesos, em tempo constante (método de alias de Vose)
+ */
+final class DistribuicaoPesos {
+    private final double[] probabilidades;
+    private final int[] alias;
+    
+    DistribuicaoPesos(double[] pesos) {
+        int n = pesos.length;
+        double soma = 0;
+        for (double peso : pesos) {
+            if (peso < 0 || Double.isNaN(peso)) {
+                throw new IllegalStateException("Peso inválido: " + peso);
+            }
+            soma += peso;
+        }
+        if (soma <= 0) {
+            throw new IllegalStateException("Ao menos um peso deve ser positivo");
+        }
+        
+        probabilidades = new double[n];
+        alias = new int[n];
+        double[] escalados = new double[n];
+        int[] pequenos = new int[n];
+        int[] grandes = new int[n];
+        int totalPequenos = 0;
+        int totalGrandes = 0;
+        for (int i = 0; i < n; i++) {
+            escalados[i] = pesos[i] * n / soma;
+            if (escalados[i] < 1.0) {
+                pequenos[totalPequenos++] = i;
+            } else {
+                grandes[totalGrandes++] = i;
+            }
+        }
+        
+        while (totalPequenos > 0 && totalGrandes > 0) {
+            int pequeno = pequenos[--totalPequenos];
+            int grande = grandes[--totalGrandes];
+            probabilidades[pequeno] = escalados[pequeno];
+            alias[pequeno] = grande;
+            escalados[grande] -= 1.0 - escalados[pequeno];
+            if (escalados[grande] < 1.0) {
+                pequenos[totalPequenos++] = grande;
+            } else {
+                grandes[totalGrandes++] = grande;
+            }
+        }
+        // O que sobrar (por arredondamento) fica com probabilidade 1
+        while (totalGrandes > 0) {
+            probabilidades[grandes[--totalGrandes]] = 1.0;
+        }
+        while (totalPequenos > 0) {
+            probabilidades[pequenos[--totalPequenos]] = 1.0;
+        }
+    }
+    
+    int sortear(SplittableRandom aleatorio) {
+        int i = aleatorio.nextInt(probabilidades.length);
+        return aleatorio.nextDouble() < probabilidades[i] ? i : alias[i];
+    }
+}
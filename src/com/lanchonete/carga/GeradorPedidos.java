@@ -0,0 +1,417 @@
+package com.lanchonete.carga;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.validator.RegraValidacao;
+import com.lanchonete.validator.RegrasCombinacao;
+import com.lanchonete.validator.ResultadoValidacao;
+import com.lanchonete.validator.ValidadorCombinacoes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador reprodutível de pedidos sintéticos para testes de carga
+ * 
+ * Sorteia tipo de produto, sabor, tamanho, massa, factory, número de
+ * extras e porções a partir de pesos configuráveis; a mesma semente gera
+ * sempre a mesma sequência. Uma fração configurável dos pedidos viola de
+ * propósito uma regra do ValidadorCombinacoes (também sorteada por peso).
+ * 
+ * Cada pedido é construído uma vez na geração para registrar o desfecho
+ * esperado: os válidos são a distribuição configurada condicionada a
+ * passar na validação (sorteios recusados são refeitos), e os inválidos
+ * só são aceitos quando recusados exatamente pela regra sorteada. Não é
+ * thread-safe; gere os pedidos antes de distribuí-los entre threads.
+ */
+public class GeradorPedidos {
+    /**
+     * Regras que o gerador sabe violar de propósito
+     */
+    public static final List<RegraValidacao> VIOLACOES = List.of(
+        RegraValidacao.COMBINACAO_PROIBIDA,
+        RegraValidacao.LIMITE_PROTEINAS,
+        RegraValidacao.LIMITE_QUEIJOS,
+        RegraValidacao.QUANTIDADE_TOTAL,
+        RegraValidacao.CIABATTA_PEQUENO,
+        RegraValidacao.TIPOS_LANCHE_PEQUENO,
+        RegraValidacao.BORDA_RECHEADA_PEQUENA,
+        RegraValidacao.PIZZA_SEM_PROTEINA
+    );
+    
+    private static final TipoMassa[] MASSAS_LANCHE = {
+        TipoMassa.PAO_TRADICIONAL, TipoMassa.PAO_INTEGRAL, TipoMassa.PAO_AUSTRALIANO, TipoMassa.CIABATTA
+    };
+    private static final TipoMassa[] MASSAS_PIZZA = { TipoMassa.FINA, TipoMassa.GROSSA, TipoMassa.BORDA_RECHEADA };
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final SaborPizza[] SABORES = SaborPizza.values();
+    private static final IngredienteFactory.TipoFactory[] FACTORIES = IngredienteFactory.TipoFactory.values();
+    private static final int MAX_TENTATIVAS = 1000;
+    
+    private final SplittableRandom aleatorio;
+    private final double fracaoPizza;
+    private final double fracaoInvalida;
+    private final DistribuicaoPesos sabores;
+    private final DistribuicaoPesos tamanhos;
+    private final DistribuicaoPesos massasLanche;
+    private final DistribuicaoPesos massasPizza;
+    private final DistribuicaoPesos factories;
+    private final DistribuicaoPesos extras;
+    private final DistribuicaoPesos porcoes;
+    private final DistribuicaoPesos violacoes;
+    
+    private GeradorPedidos(Builder builder) {
+        this.aleatorio = new SplittableRandom(builder.semente);
+        this.fracaoPizza = builder.fracaoPizza;
+        this.fracaoInvalida = builder.fracaoInvalida;
+        this.sabores = new DistribuicaoPesos(builder.pesosSabor);
+        this.tamanhos = new DistribuicaoPesos(builder.pesosTamanho);
+        this.massasLanche = new DistribuicaoPesos(selecionar(builder.pesosMassa, MASSAS_LANCHE));
+        this.massasPizza = new DistribuicaoPesos(selecionar(builder.pesosMassa, MASSAS_PIZZA));
+        this.factories = new DistribuicaoPesos(builder.pesosFactory);
+        this.extras = new DistribuicaoPesos(builder.pesosExtras);
+        this.porcoes = new DistribuicaoPesos(builder.pesosPorcoes);
+        this.violacoes = new DistribuicaoPesos(builder.pesosViolacao);
+    }
+    
+    /**
+     * Gera os próximos n pedidos
+     */
+    public List<PedidoSintetico> gerar(int n) {
+        List<PedidoSintetico> pedidos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            pedidos.add(proximo());
+        }
+        return pedidos;
+    }
+    
+    /**
+     * Gera o próximo pedido da sequência
+     * 
+     * @throws IllegalStateException se os pesos tornarem impossível gerar o pedido sorteado
+     */
+    public PedidoSintetico proximo() {
+        RegraValidacao alvo = aleatorio.nextDouble() < fracaoInvalida
+            ? VIOLACOES.get(violacoes.sortear(aleatorio))
+            : null;
+        
+        for (int tentativa = 0; tentativa < MAX_TENTATIVAS; tentativa++) {
+            Rascunho rascunho = sortear(produtoDaRegra(alvo));
+            if (alvo != null) {
+                violar(rascunho, alvo);
+            }
+            EspecificacaoProduto especificacao = rascunho.especificar();
+            try {
+                especificacao.tentarCotarCentavos();
+            } catch (IllegalArgumentException e) {
+                continue; // Ingrediente fora da linha da factory sorteada: sorteia de novo
+            }
+            if (ResultadoValidacao.regra(especificacao.getResultado()) == alvo) {
+                return new PedidoSintetico(especificacao, alvo);
+            }
+        }
+        throw new IllegalStateException("Não foi possível gerar pedido "
+            + (alvo == null ? "válido" : "violando " + alvo) + " com os pesos configurados");
+    }
+    
+    private static TipoProduto produtoDaRegra(RegraValidacao regra) {
+        if (regra == null) {
+            return null;
+        }
+        switch (regra) {
+            case CIABATTA_PEQUENO:
+            case TIPOS_LANCHE_PEQUENO:
+                return TipoProduto.LANCHE;
+            case BORDA_RECHEADA_PEQUENA:
+            case PIZZA_SEM_PROTEINA:
+                return TipoProduto.PIZZA;
+            default:
+                return null;
+        }
+    }
+    
+    private Rascunho sortear(TipoProduto tipoProduto) {
+        Rascunho rascunho = new Rascunho();
+        rascunho.tipoProduto = tipoProduto != null ? tipoProduto
+            : aleatorio.nextDouble() < fracaoPizza ? TipoProduto.PIZZA : TipoProduto.LANCHE;
+        rascunho.tamanho = TAMANHOS[tamanhos.sortear(aleatorio)];
+        rascunho.factory = FACTORIES[factories.sortear(aleatorio)];
+        if (rascunho.tipoProduto == TipoProduto.PIZZA) {
+            rascunho.massa = MASSAS_PIZZA[massasPizza.sortear(aleatorio)];
+            rascunho.sabor = SABORES[sabores.sortear(aleatorio)];
+        } else {
+            rascunho.massa = MASSAS_LANCHE[massasLanche.sortear(aleatorio)];
+        }
+        
+        int numeroExtras = extras.sortear(aleatorio);
+        while (rascunho.numeroTipos() < numeroExtras) {
+            TipoIngrediente tipo = TIPOS[aleatorio.nextInt(TIPOS.length)];
+            if (rascunho.porcoes[tipo.ordinal()] == 0) {
+                rascunho.porcoes[tipo.ordinal()] = 1 + porcoes.sortear(aleatorio);
+            }
+        }
+        return rascunho;
+    }
+    
+    /**
+     * Altera o rascunho para que viole a regra (a construção confirma qual regra recusou)
+     */
+    private void violar(Rascunho rascunho, RegraValidacao regra) {
+        RegrasCombinacao regras = ValidadorCombinacoes.getRegras();
+        switch (regra) {
+            case COMBINACAO_PROIBIDA: {
+                List<Set<TipoIngrediente>> combinacoes = regras.getCombinacoesProibidas();
+                if (combinacoes.isEmpty()) {
+                    throw new IllegalStateException("As regras vigentes não têm combinações proibidas");
+                }
+                for (TipoIngrediente tipo : combinacoes.get(aleatorio.nextInt(combinacoes.size()))) {
+                    rascunho.incluir(tipo);
+                }
+                break;
+            }
+            case LIMITE_PROTEINAS:
+                incluirDaCategoria(rascunho, TipoIngrediente.Categoria.PROTEINA, regras.getLimiteProteinas() + 1);
+                break;
+            case LIMITE_QUEIJOS:
+                incluirDaCategoria(rascunho, TipoIngrediente.Categoria.QUEIJO, regras.getLimiteQueijos() + 1);
+                break;
+            case QUANTIDADE_TOTAL: {
+                int metade = regras.getLimiteQuantidadeTotal() / 2 + 1;
+                Arrays.fill(rascunho.porcoes, 0);
+                rascunho.porcoes[aleatorio.nextInt(TIPOS.length)] = metade;
+                int outro;
+                do {
+                    outro = aleatorio.nextInt(TIPOS.length);
+                } while (rascunho.porcoes[outro] != 0);
+                rascunho.porcoes[outro] = metade;
+                break;
+            }
+            case CIABATTA_PEQUENO:
+                rascunho.tamanho = Tamanho.PEQUENO;
+                rascunho.massa = TipoMassa.CIABATTA;
+                break;
+            case TIPOS_LANCHE_PEQUENO:
+                rascunho.tamanho = Tamanho.PEQUENO;
+                while (rascunho.numeroTipos() <= regras.getLimiteTiposLanchePequeno()) {
+                    rascunho.incluir(TIPOS[aleatorio.nextInt(TIPOS.length)]);
+                }
+                break;
+            case BORDA_RECHEADA_PEQUENA:
+                rascunho.tamanho = Tamanho.PEQUENO;
+                rascunho.massa = TipoMassa.BORDA_RECHEADA;
+                break;
+            case PIZZA_SEM_PROTEINA:
+                // Sabor sem proteína e extras sem proteína (sem extras a pizza é só queijo e molho, que vale)
+                do {
+                    rascunho.sabor = SABORES[aleatorio.nextInt(SABORES.length)];
+                } while (temProteina(rascunho.sabor.getIngredientes()));
+                for (TipoIngrediente tipo : TIPOS) {
+                    if (tipo.getCategoria() == TipoIngrediente.Categoria.PROTEINA) {
+                        rascunho.porcoes[tipo.ordinal()] = 0;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Regra não suportada pelo gerador: " + regra);
+        }
+    }
+    
+    private void incluirDaCategoria(Rascunho rascunho, TipoIngrediente.Categoria categoria, int quantidade) {
+        List<TipoIngrediente> candidatos = new ArrayList<>();
+        for (TipoIngrediente tipo : TIPOS) {
+            if (tipo.getCategoria() == categoria) {
+                candidatos.add(tipo);
+            }
+        }
+        for (int i = 0; i < quantidade && !candidatos.isEmpty(); i++) {
+            rascunho.incluir(candidatos.remove(aleatorio.nextInt(candidatos.size())));
+        }
+    }
+    
+    private static boolean temProteina(List<TipoIngrediente> tipos) {
+        for (TipoIngrediente tipo : tipos) {
+            if (tipo.getCategoria() == TipoIngrediente.Categoria.PROTEINA) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static double[] selecionar(double[] pesosMassa, TipoMassa[] massas) {
+        double[] pesos = new double[massas.length];
+        for (int i = 0; i < massas.length; i++) {
+            pesos[i] = pesosMassa[massas[i].ordinal()];
+        }
+        return pesos;
+    }
+    
+    /**
+     * Pedido em montagem, antes de virar EspecificacaoProduto
+     */
+    private static final class Rascunho {
+        TipoProduto tipoProduto;
+        Tamanho tamanho;
+        TipoMassa massa;
+        IngredienteFactory.TipoFactory factory;
+        SaborPizza sabor;
+        final int[] porcoes = new int[TIPOS.length];
+        
+        void incluir(TipoIngrediente tipo) {
+            if (porcoes[tipo.ordinal()] == 0) {
+                porcoes[tipo.ordinal()] = 1;
+            }
+        }
+        
+        int numeroTipos() {
+            int n = 0;
+            for (int quantidade : porcoes) {
+                if (quantidade > 0) {
+                    n++;
+                }
+            }
+            return n;
+        }
+        
+        EspecificacaoProduto especificar() {
+            EspecificacaoProduto especificacao = new EspecificacaoProduto()
+                .comTipoProduto(tipoProduto)
+                .comTamanho(tamanho)
+                .comTipoMassa(massa)
+                .comSabor(sabor)
+                .comTipoFactory(factory);
+            for (TipoIngrediente tipo : TIPOS) {
+                if (porcoes[tipo.ordinal()] > 0) {
+                    especificacao.adicionarIngrediente(tipo, porcoes[tipo.ordinal()]);
+                }
+            }
+            return especificacao;
+        }
+    }
+    
+    /**
+     * Builder com os pesos da carga; os padrões imitam um dia comum da lanchonete
+     */
+    public static class Builder {
+        private long semente = 42;
+        private double fracaoPizza = 0.5;
+        private double fracaoInvalida = 0.05;
+        private final double[] pesosSabor = new double[SABORES.length];
+        private final double[] pesosTamanho = new double[TAMANHOS.length];
+        private final double[] pesosMassa = new double[TipoMassa.values().length];
+        private final double[] pesosFactory = new double[FACTORIES.length];
+        private final double[] pesosViolacao = new double[VIOLACOES.size()];
+        private double[] pesosExtras = { 15, 25, 25, 20, 10, 5 };
+        private double[] pesosPorcoes = { 75, 20, 5 };
+        
+        public Builder() {
+            comPesoSabor(SaborPizza.CALABRESA, 25);
+            comPesoSabor(SaborPizza.MARGHERITA, 20);
+            comPesoSabor(SaborPizza.PORTUGUESA, 15);
+            comPesoSabor(SaborPizza.FRANGO_CATUPIRY, 15);
+            comPesoSabor(SaborPizza.BACON, 10);
+            comPesoSabor(SaborPizza.QUATRO_QUEIJOS, 10);
+            comPesoSabor(SaborPizza.VEGETARIANA, 5);
+            comPesoTamanho(Tamanho.PEQUENO, 25);
+            comPesoTamanho(Tamanho.MEDIO, 50);
+            comPesoTamanho(Tamanho.GRANDE, 25);
+            comPesoFactory(IngredienteFactory.TipoFactory.PADRAO, 70);
+            comPesoFactory(IngredienteFactory.TipoFactory.PREMIUM, 20);
+            comPesoFactory(IngredienteFactory.TipoFactory.PROMOCIONAL, 10);
+            Arrays.fill(pesosMassa, 1);
+            Arrays.fill(pesosViolacao, 1);
+        }
+        
+        public Builder comSemente(long semente) {
+            this.semente = semente;
+            return this;
+        }
+        
+        public Builder comFracaoPizza(double fracaoPizza) {
+            this.fracaoPizza = fracaoPizza;
+            return this;
+        }
+        
+        /**
+         * Fração dos pedidos que deve ser recusada pelo validador
+         */
+        public Builder comFracaoInvalida(double fracaoInvalida) {
+            this.fracaoInvalida = fracaoInvalida;
+            return this;
+        }
+        
+        public Builder comPesoSabor(SaborPizza sabor, double peso) {
+            pesosSabor[sabor.ordinal()] = peso;
+            return this;
+        }
+        
+        public Builder comPesoTamanho(Tamanho tamanho, double peso) {
+            pesosTamanho[tamanho.ordinal()] = peso;
+            return this;
+        }
+        
+        /**
+         * Peso da massa (pizzas) ou do pão (lanches), sorteado só entre os do produto
+         */
+        public Builder comPesoMassa(TipoMassa massa, double peso) {
+            pesosMassa[massa.ordinal()] = peso;
+            return this;
+        }
+        
+        public Builder comPesoFactory(IngredienteFactory.TipoFactory factory, double peso) {
+            pesosFactory[factory.ordinal()] = peso;
+            return this;
+        }
+        
+        /**
+         * Peso da regra entre os pedidos inválidos (só as de {@link GeradorPedidos#VIOLACOES})
+         */
+        public Builder comPesoViolacao(RegraValidacao regra, double peso) {
+            int indice = VIOLACOES.indexOf(regra);
+            if (indice < 0) {
+                throw new IllegalArgumentException("Regra não suportada pelo gerador: " + regra);
+            }
+            pesosViolacao[indice] = peso;
+            return this;
+        }
+        
+        /**
+         * Pesos do número de ingredientes extras (posição i = i extras)
+         */
+        public Builder comPesosExtras(double... pesos) {
+            this.pesosExtras = pesos.clone();
+            return this;
+        }
+        
+        /**
+         * Pesos das porções de cada extra (posição i = i + 1 porções)
+         */
+        public Builder comPesosPorcoes(double... pesos) {
+            this.pesosPorcoes = pesos.clone();
+            return this;
+        }
+        
+        public GeradorPedidos build() {
+            if (fracaoPizza < 0 || fracaoPizza > 1) {
+                throw new IllegalStateException("Fração de pizzas deve estar entre 0 e 1");
+            }
+            if (fracaoInvalida < 0 || fracaoInvalida > 1) {
+                throw new IllegalStateException("Fração de pedidos inválidos deve estar entre 0 e 1");
+            }
+            if (pesosExtras.length > TIPOS.length + 1) {
+                throw new IllegalStateException("No máximo " + TIPOS.length + " ingredientes extras");
+            }
+            if (pesosPorcoes.length > IngredienteFactory.QUANTIDADE_MAXIMA) {
+                throw new IllegalStateException("No máximo " + IngredienteFactory.QUANTIDADE_MAXIMA + " porções");
+            }
+            return new GeradorPedidos(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lanchonete.carga;
+
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.validator.RegraValidacao;
+
+/**
+ * Pedido gerado pela carga sintética, com o desfecho esperado ao construí-lo
+ */
+public final class PedidoSintetico {
+    private final EspecificacaoProduto especificacao;
+    private final RegraValidacao regraEsperada;
+    
+    PedidoSintetico(EspecificacaoProduto especificacao, RegraValidacao regraEsperada) {
+        this.especificacao = especificacao;
+        this.regraEsperada = regraEsperada;
+    }
+    
+    public EspecificacaoProduto getEspecificacao() {
+        return especificacao;
+    }
+    
+    /**
+     * Regra que deve recusar o pedido, ou null se ele é válido
+     */
+    public RegraValidacao getRegraEsperada() {
+        return regraEsperada;
+    }
+    
+    public boolean isValido() {
+        return regraEsperada == null;
+    }
+}
@@ -0,0 +1,252 @@
+package com.lanchonete.catalogo;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoPreco;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory.TipoFactory;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.validator.ProdutoInvalidoException;
+import com.lanchonete.validator.RegraValidacao;
+import com.lanchonete.validator.ValidadorCombinacoes;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Cardápio de pizzas pré-calculado (sabor × tamanho × massa × factory)
+ * 
+ * Preço e validade de uma pizza só de sabor dependem apenas dos enums, das
+ * regras de combinação e da tabela de preços vigentes, então todas as
+ * combinações são montadas uma vez pelo mesmo fluxo do console
+ * (EspecificacaoProduto) e gravadas num arquivo binário compacto, mapeado
+ * em memória na inicialização. Consultas viram leituras diretas na tabela.
+ * 
+ * Formato (big-endian):
+ * <pre>
+ *   0  int   mágico "CARD"
+ *   4  int   versão do formato
+ *   8  long  hash do conteúdo dos enums, das regras e dos preços
+ *  16  int   número de entradas
+ *  20  int   reservado
+ *  24  entradas de 8 bytes: int preço em centavos (-1 se recusada),
+ *      int ordinal de RegraValidacao (-1 se válida)
+ * </pre>
+ * Se o arquivo não existir, estiver corrompido ou o hash dos enums, das
+ * regras ou dos preços mudar, a tabela é recalculada e o arquivo reescrito
+ * (gravação em arquivo temporário seguida de move atômico).
+ */
+public final class CatalogoCardapio {
+    public static final long SEM_PRECO = -1;
+    
+    private static final int MAGICO = 0x43415244; // "CARD"
+    private static final int VERSAO_FORMATO = 1;
+    private static final int TAMANHO_CABECALHO = 24;
+    private static final int TAMANHO_ENTRADA = 8;
+    
+    // Massas de pizza, na ordem do cardápio do console
+    private static final TipoMassa[] MASSAS_PIZZA = { TipoMassa.FINA, TipoMassa.GROSSA, TipoMassa.BORDA_RECHEADA };
+    
+    private static final SaborPizza[] SABORES = SaborPizza.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final TipoFactory[] FACTORIES = TipoFactory.values();
+    private static final RegraValidacao[] REGRAS = RegraValidacao.values();
+    private static final int TOTAL_ENTRADAS = SABORES.length * TAMANHOS.length * MASSAS_PIZZA.length * FACTORIES.length;
+    
+    // Posição de cada TipoMassa em MASSAS_PIZZA (-1 para pães)
+    private static final int[] INDICE_MASSA = new int[TipoMassa.values().length];
+    
+    static {
+        Arrays.fill(INDICE_MASSA, -1);
+        for (int i = 0; i < MASSAS_PIZZA.length; i++) {
+            INDICE_MASSA[MASSAS_PIZZA[i].ordinal()] = i;
+        }
+    }
+    
+    private final ByteBuffer tabela;
+    private final long hashConteudo;
+    private final boolean regenerado;
+    
+    private CatalogoCardapio(ByteBuffer tabela, boolean regenerado) {
+        this.tabela = tabela;
+        this.hashConteudo = tabela.getLong(8);
+        this.regenerado = regenerado;
+    }
+    
+    /**
+     * Mapeia o snapshot do arquivo, recalculando-o se estiver ausente ou desatualizado
+     */
+    public static CatalogoCardapio carregar(Path arquivo) throws IOException {
+        long hash = hashConteudo();
+        
+        if (Files.exists(arquivo)) {
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+                if (canal.size() == TAMANHO_CABECALHO + (long) TOTAL_ENTRADAS * TAMANHO_ENTRADA) {
+                    ByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                    if (cabecalhoValido(mapeado, hash)) {
+                        return new CatalogoCardapio(mapeado, false);
+                    }
+                }
+            }
+        }
+        
+        ByteBuffer gerado = gerar(hash);
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, 
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer escrita = gerado.duplicate();
+            while (escrita.hasRemaining()) {
+                canal.write(escrita);
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return new CatalogoCardapio(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()), true);
+        }
+    }
+    
+    /**
+     * Calcula o catálogo só em memória (sem arquivo)
+     */
+    public static CatalogoCardapio emMemoria() {
+        return new CatalogoCardapio(gerar(hashConteudo()), true);
+    }
+    
+    /**
+     * Indica se a massa é de pizza (as únicas cobertas pelo catálogo)
+     */
+    public static boolean isMassaPizza(TipoMassa massa) {
+        return INDICE_MASSA[massa.ordinal()] >= 0;
+    }
+    
+    /**
+     * Preço da pizza só de sabor, em centavos, ou {@link #SEM_PRECO} se a combinação é recusada
+     */
+    public long precoCentavos(SaborPizza sabor, Tamanho tamanho, TipoMassa massa, TipoFactory factory) {
+        return tabela.getInt(posicao(sabor, tamanho, massa, factory));
+    }
+    
+    public boolean isValida(SaborPizza sabor, Tamanho tamanho, TipoMassa massa, TipoFactory factory) {
+        return precoCentavos(sabor, tamanho, massa, factory) != SEM_PRECO;
+    }
+    
+    /**
+     * Regra que recusa a combinação, ou null se ela é válida
+     */
+    public RegraValidacao motivoRecusa(SaborPizza sabor, Tamanho tamanho, TipoMassa massa, TipoFactory factory) {
+        int regra = tabela.getInt(posicao(sabor, tamanho, massa, factory) + 4);
+        return regra < 0 ? null : REGRAS[regra];
+    }
+    
+    public long getHashConteudo() {
+        return hashConteudo;
+    }
+    
+    /**
+     * Indica se a tabela foi recalculada nesta carga (em vez de lida do snapshot)
+     */
+    public boolean isRegenerado() {
+        return regenerado;
+    }
+    
+    /**
+     * Hash (FNV-1a de 64 bits) de tudo que determina preço e validade das entradas
+     * 
+     * Inclui as regras de combinação e a tabela de preços vigentes: após uma
+     * recarga de qualquer uma delas, carregar() recalcula a tabela.
+     */
+    public static long hashConteudo() {
+        StringBuilder sb = new StringBuilder(2048).append(VERSAO_FORMATO).append('|');
+        for (SaborPizza sabor : SABORES) {
+            sb.append(sabor.name()).append(sabor.getIngredientes()).append(';');
+        }
+        for (Tamanho tamanho : TAMANHOS) {
+            sb.append(tamanho.name()).append(tamanho.getMultiplicadorPreco()).append(';');
+        }
+        for (TipoMassa massa : TipoMassa.values()) {
+            sb.append(massa.name()).append(massa.getPrecoAdicional()).append(';');
+        }
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            sb.append(tipo.name()).append(tipo.getPreco()).append(tipo.getCategoria()).append(';');
+        }
+        for (TipoPreco tipoPreco : TipoPreco.values()) {
+            sb.append(tipoPreco.name()).append(tipoPreco.getFatorBp()).append(';');
+        }
+        for (TipoFactory factory : FACTORIES) {
+            sb.append(factory.name()).append(';');
+        }
+        for (RegraValidacao regra : REGRAS) {
+            sb.append(regra.name()).append(';');
+        }
+        sb.append(ValidadorCombinacoes.getRegras().formatar());
+        sb.append(TabelaPrecos.vigente().formatar());
+        
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : sb.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    private static ByteBuffer gerar(long hash) {
+        ByteBuffer tabela = ByteBuffer.allocate(TAMANHO_CABECALHO + TOTAL_ENTRADAS * TAMANHO_ENTRADA);
+        tabela.putInt(0, MAGICO);
+        tabela.putInt(4, VERSAO_FORMATO);
+        tabela.putLong(8, hash);
+        tabela.putInt(16, TOTAL_ENTRADAS);
+        
+        for (SaborPizza sabor : SABORES) {
+            for (Tamanho tamanho : TAMANHOS) {
+                for (TipoMassa massa : MASSAS_PIZZA) {
+                    for (TipoFactory factory : FACTORIES) {
+                        int posicao = posicao(sabor, tamanho, massa, factory);
+                        try {
+                            long preco = new EspecificacaoProduto()
+                                .comTipoProduto(TipoProduto.PIZZA)
+                                .comSabor(sabor)
+                                .comTamanho(tamanho)
+                                .comTipoMassa(massa)
+                                .comTipoFactory(factory)
+                                .cotarCentavos();
+                            tabela.putInt(posicao, Math.toIntExact(preco));
+                            tabela.putInt(posicao + 4, -1);
+                        } catch (ProdutoInvalidoException e) {
+                            tabela.putInt(posicao, (int) SEM_PRECO);
+                            tabela.putInt(posicao + 4, e.getRegra().ordinal());
+                        }
+                    }
+                }
+            }
+        }
+        return tabela;
+    }
+    
+    private static boolean cabecalhoValido(ByteBuffer tabela, long hash) {
+        return tabela.getInt(0) == MAGICO 
+            && tabela.getInt(4) == VERSAO_FORMATO 
+            && tabela.getLong(8) == hash 
+            && tabela.getInt(16) == TOTAL_ENTRADAS;
+    }
+    
+    private static int posicao(SaborPizza sabor, Tamanho tamanho, TipoMassa massa, TipoFactory factory) {
+        int indiceMassa = INDICE_MASSA[massa.ordinal()];
+        if (indiceMassa < 0) {
+            throw new IllegalArgumentException(massa.getNome() + " não é massa de pizza");
+        }
+        int indice = ((sabor.ordinal() * TAMANHOS.length + tamanho.ordinal()) 
+                      * MASSAS_PIZZA.length + indiceMassa) * FACTORIES.length + factory.ordinal();
+        return TAMANHO_CABECALHO + indice * TAMANHO_ENTRADA;
+    }
+}
@@ -0,0 +1,257 @@
+package com.lanchonete.codec;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoPreco;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.IngredientePremium;
+import com.lanchonete.model.IngredientePromocional;
+import com.lanchonete.model.Lanche;
+import com.lanchonete.model.Pizza;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pricing.TabelaPrecos;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Codec binário compacto e versionado para Lanche e Pizza
+ * 
+ * Formato de um registro (varint = inteiro sem sinal em base 128, 7 bits por byte):
+ * <pre>
+ *   byte    versão do formato
+ *   byte    tipo de produto | tamanho &lt;&lt; 1 | massa/pão &lt;&lt; 3 (ordinais)
+ *   varint  preço base em centavos
+ *   varint  preço total cobrado em centavos
+ *   varint  versão da tabela de preços do total
+ *   varint  número de ingredientes
+ *   por ingrediente:
+ *     byte    tipo | tipo de preço &lt;&lt; 5 | 0x80 se o fator difere do padrão do tipo de preço
+ *     varint  quantidade
+ *     varint  fator de preço em pontos-base (só com o bit 0x80)
+ * </pre>
+ * Um lanche com três ingredientes ocupa 14 bytes. A codificação e
+ * a decodificação leem e escrevem direto no ByteBuffer (a partir da posição
+ * atual, avançando-a); na decodificação os ingredientes de fator padrão vêm
+ * de uma tabela compartilhada, como os flyweights das factories.
+ * 
+ * A versão 2 passou a gravar o total e a versão da tabela de preços,
+ * como o DiarioPedidos; registros da versão 1 são recusados.
+ */
+public final class CodecProduto {
+    public static final int VERSAO = 2;
+    
+    // Maior registro possível (varints de int ocupam até 5 bytes, os de long até 10)
+    public static final int TAMANHO_MAXIMO = 2 + 5 + 10 + 10 + 5 + TipoIngrediente.values().length * (1 + 5 + 5);
+    
+    private static final int FATOR_PERSONALIZADO = 0x80;
+    
+    private static final TipoProduto[] TIPOS_PRODUTO = TipoProduto.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final TipoMassa[] MASSAS = TipoMassa.values();
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    private static final TipoPreco[] TIPOS_PRECO = TipoPreco.values();
+    
+    // Ingredientes compartilhados por (tipo de preço, tipo, quantidade), com o fator padrão
+    private static final Ingrediente[] COMPARTILHADOS =
+        new Ingrediente[TIPOS_PRECO.length * TIPOS.length * IngredienteFactory.QUANTIDADE_MAXIMA];
+    
+    static {
+        for (TipoPreco tipoPreco : TIPOS_PRECO) {
+            for (TipoIngrediente tipo : TIPOS) {
+                for (int quantidade = 1; quantidade <= IngredienteFactory.QUANTIDADE_MAXIMA; quantidade++) {
+                    COMPARTILHADOS[indice(tipoPreco, tipo, quantidade)] =
+                        criarIngrediente(tipo, quantidade, tipoPreco, tipoPreco.getFatorBp());
+                }
+            }
+        }
+    }
+    
+    private CodecProduto() {
+    }
+    
+    /**
+     * Escreve o produto a partir da posição atual do buffer
+     * 
+     * @return número de bytes escritos
+     * @throws java.nio.BufferOverflowException se o buffer não tiver espaço
+     */
+    public static int codificar(Produto produto, ByteBuffer destino) {
+        int inicio = destino.position();
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        
+        destino.put((byte) VERSAO);
+        destino.put((byte) (produto.getTipoProduto().ordinal()
+                            | produto.getTamanho().ordinal() << 1
+                            | produto.getTipoMassa().ordinal() << 3));
+        escreverVarint(destino, TabelaPrecos.centavos(produto.getPrecoBase()));
+        escreverVarint(destino, produto.calcularPrecoTotalCentavos());
+        escreverVarint(destino, produto.getVersaoPrecos());
+        escreverVarint(destino, ingredientes.size());
+        
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            TipoPreco tipoPreco = ingrediente.getTipoPreco();
+            int fatorBp = ingrediente.getFatorPrecoBp();
+            boolean personalizado = fatorBp != tipoPreco.getFatorBp();
+            
+            destino.put((byte) (ingrediente.getTipo().ordinal()
+                                | tipoPreco.ordinal() << 5
+                                | (personalizado ? FATOR_PERSONALIZADO : 0)));
+            escreverVarint(destino, ingrediente.getQuantidade());
+            if (personalizado) {
+                escreverVarint(destino, fatorBp);
+            }
+        }
+        
+        return destino.position() - inicio;
+    }
+    
+    /**
+     * Lê um produto a partir da posição atual do buffer
+     * 
+     * O produto é recriado pelo Builder.restaurar() correspondente, com o
+     * total e a versão da tabela gravados: não é validado nem recalculado,
+     * então volta como foi cotado mesmo que as regras ou os preços tenham
+     * mudado depois.
+     * 
+     * @throws IllegalArgumentException se o registro estiver corrompido ou for de versão desconhecida
+     * @throws java.nio.BufferUnderflowException se o registro estiver truncado
+     */
+    public static Produto decodificar(ByteBuffer origem) {
+        int versao = origem.get() & 0xFF;
+        if (versao != VERSAO) {
+            throw new IllegalArgumentException("Versão de registro desconhecida: " + versao);
+        }
+        
+        int cabecalho = origem.get() & 0xFF;
+        TipoProduto tipoProduto = TIPOS_PRODUTO[ordinal(cabecalho & 0x01, TIPOS_PRODUTO.length)];
+        Tamanho tamanho = TAMANHOS[ordinal(cabecalho >>> 1 & 0x03, TAMANHOS.length)];
+        TipoMassa massa = MASSAS[ordinal(cabecalho >>> 3 & 0x07, MASSAS.length)];
+        double precoBase = TabelaPrecos.reais(lerVarint(origem));
+        long totalCentavos = lerVarint(origem);
+        long versaoPrecos = lerVarint(origem);
+        long numeroIngredientes = lerVarint(origem);
+        if (numeroIngredientes > TIPOS.length) {
+            throw new IllegalArgumentException("Registro corrompido: " + numeroIngredientes + " ingredientes");
+        }
+        
+        Lanche.Builder lanche = null;
+        Pizza.Builder pizza = null;
+        if (tipoProduto == TipoProduto.LANCHE) {
+            lanche = new Lanche.Builder().comTamanho(tamanho).comTipoPao(massa).comPrecoBase(precoBase);
+        } else {
+            pizza = new Pizza.Builder().comTamanho(tamanho).comTipoMassa(massa).comPrecoBase(precoBase);
+        }
+        
+        for (int i = 0; i < numeroIngredientes; i++) {
+            int codigo = origem.get() & 0xFF;
+            TipoIngrediente tipo = TIPOS[ordinal(codigo & 0x1F, TIPOS.length)];
+            TipoPreco tipoPreco = TIPOS_PRECO[ordinal(codigo >>> 5 & 0x03, TIPOS_PRECO.length)];
+            int quantidade = inteiro(lerVarint(origem));
+            
+            Ingrediente ingrediente;
+            if ((codigo & FATOR_PERSONALIZADO) != 0) {
+                ingrediente = criarIngrediente(tipo, quantidade, tipoPreco, inteiro(lerVarint(origem)));
+            } else if (quantidade >= 1 && quantidade <= IngredienteFactory.QUANTIDADE_MAXIMA) {
+                ingrediente = COMPARTILHADOS[indice(tipoPreco, tipo, quantidade)];
+            } else {
+                ingrediente = criarIngrediente(tipo, quantidade, tipoPreco, tipoPreco.getFatorBp());
+            }
+            
+            if (lanche != null) {
+                lanche.adicionarIngrediente(ingrediente);
+            } else {
+                pizza.adicionarIngrediente(ingrediente);
+            }
+        }
+        
+        return lanche != null 
+            ? lanche.restaurar(totalCentavos, versaoPrecos) 
+            : pizza.restaurar(totalCentavos, versaoPrecos);
+    }
+    
+    /**
+     * Número de bytes que o produto ocupa codificado
+     */
+    public static int tamanhoCodificado(Produto produto) {
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        int tamanho = 2 + tamanhoVarint(TabelaPrecos.centavos(produto.getPrecoBase()))
+                      + tamanhoVarint(produto.calcularPrecoTotalCentavos())
+                      + tamanhoVarint(produto.getVersaoPrecos())
+                      + tamanhoVarint(ingredientes.size());
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            tamanho += 1 + tamanhoVarint(ingrediente.getQuantidade());
+            if (ingrediente.getFatorPrecoBp() != ingrediente.getTipoPreco().getFatorBp()) {
+                tamanho += tamanhoVarint(ingrediente.getFatorPrecoBp());
+            }
+        }
+        return tamanho;
+    }
+    
+    private static void escreverVarint(ByteBuffer destino, long valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Valor negativo não pode ser codificado: " + valor);
+        }
+        while (valor >= 0x80) {
+            destino.put((byte) (valor | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+    
+    private static long lerVarint(ByteBuffer origem) {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            int b = origem.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Registro corrompido: varint longo demais");
+    }
+    
+    private static int tamanhoVarint(long valor) {
+        int bytes = 1;
+        while (valor >= 0x80) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+    
+    private static int ordinal(int valor, int limite) {
+        if (valor >= limite) {
+            throw new IllegalArgumentException("Registro corrompido: ordinal " + valor + " fora do enum");
+        }
+        return valor;
+    }
+    
+    private static int inteiro(long valor) {
+        if (valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Registro corrompido: valor " + valor + " fora do intervalo");
+        }
+        return (int) valor;
+    }
+    
+    private static Ingrediente criarIngrediente(TipoIngrediente tipo, int quantidade, TipoPreco tipoPreco, int fatorBp) {
+        switch (tipoPreco) {
+            case PREMIUM:
+                return new IngredientePremium(tipo, quantidade);
+            case PROMOCIONAL:
+                return new IngredientePromocional(tipo, quantidade,
+                    (TipoPreco.PADRAO.getFatorBp() - fatorBp) / (double) TipoPreco.PADRAO.getFatorBp());
+            default:
+                return new Ingrediente(tipo, quantidade);
+        }
+    }
+    
+    private static int indice(TipoPreco tipoPreco, TipoIngrediente tipo, int quantidade) {
+        return (tipoPreco.ordinal() * TIPOS.length + tipo.ordinal()) * IngredienteFactory.QUANTIDADE_MAXIMA
+               + (quantidade - 1);
+    }
+}
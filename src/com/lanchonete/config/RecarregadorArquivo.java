@@ -0,0 +1,196 @@
+package com.lanchonete.config;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Base para configurações lidas de um arquivo e reinstaladas quando ele muda
+ * 
+ * Uma thread daemon observa o diretório do arquivo (WatchService). A cada
+ * alteração o arquivo é lido e compilado inteiro em um objeto imutável, que
+ * só então é instalado - quem lê a configuração nunca vê um estado pela
+ * metade. Eventos em rajada (editores que gravam em partes) são agrupados
+ * antes da leitura. Se o conteúdo novo é inválido, a configuração em vigor
+ * continua e o erro vai para o log.
+ * 
+ * Para trocar a configuração sem risco de leitura parcial, grave um arquivo
+ * temporário e renomeie-o sobre o original.
+ * 
+ * @param <T> configuração imutável carregada do arquivo
+ */
+public abstract class RecarregadorArquivo<T> implements AutoCloseable {
+    // Silêncio esperado após o último evento antes de reler o arquivo
+    private static final long ESPERA_RAJADA_MS = 100;
+    
+    private final Path arquivo;
+    private final String descricao;
+    private final PrintStream log;
+    private final List<Consumer<T>> ouvintes = new CopyOnWriteArrayList<>();
+    private final WatchService observador;
+    private final Thread thread;
+    private volatile int recargas;
+    private volatile int falhas;
+    
+    /**
+     * @param descricao nome da configuração nas mensagens de log
+     */
+    protected RecarregadorArquivo(Path arquivo, String descricao, PrintStream log) throws IOException {
+        this.arquivo = arquivo.toAbsolutePath();
+        this.descricao = descricao;
+        this.log = log;
+        this.observador = this.arquivo.getFileSystem().newWatchService();
+        this.thread = new Thread(this::observar, "recarga-" + this.arquivo.getFileName());
+        this.thread.setDaemon(true);
+    }
+    
+    /**
+     * Lê e compila o arquivo
+     * 
+     * @throws IllegalArgumentException se o conteúdo não descreve uma configuração válida
+     */
+    protected abstract T ler(Path arquivo) throws IOException;
+    
+    /**
+     * Configuração no formato do arquivo (usado para criá-lo e para detectar conteúdo igual)
+     */
+    protected abstract String formatar(T configuracao);
+    
+    protected abstract T vigente();
+    
+    /**
+     * Publica a configuração
+     * 
+     * @throws IllegalArgumentException se ela não pode substituir a vigente
+     */
+    protected abstract void instalar(T configuracao);
+    
+    /**
+     * Instala o conteúdo do arquivo e passa a observá-lo
+     * 
+     * Se o arquivo não existe, ele é criado com a configuração vigente.
+     * 
+     * @throws IllegalArgumentException se o arquivo existe mas não descreve uma configuração válida
+     */
+    protected final void iniciar() throws IOException {
+        if (Files.notExists(arquivo)) {
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            Files.write(temporario, formatar(vigente()).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        T inicial = ler(arquivo);
+        if (!formatar(inicial).equals(formatar(vigente()))) {
+            instalar(inicial);
+        }
+        
+        arquivo.getParent().register(observador,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread.start();
+    }
+    
+    /**
+     * Registra quem deve ser avisado (na thread do recarregador) após cada troca de configuração
+     */
+    public void adicionarOuvinte(Consumer<T> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+    
+    /**
+     * Relê o arquivo e instala a configuração se ela mudou
+     * 
+     * @return true se uma configuração nova foi instalada
+     */
+    public synchronized boolean recarregar() {
+        T nova;
+        try {
+            nova = ler(arquivo);
+            if (formatar(nova).equals(formatar(vigente()))) {
+                return false;
+            }
+            instalar(nova);
+        } catch (IOException | IllegalArgumentException e) {
+            falhas++;
+            log.println("⚠️ " + descricao + ": " + arquivo.getFileName() + " ignorado, configuração anterior mantida ("
+                + e.getMessage() + ")");
+            return false;
+        }
+        
+        recargas++;
+        log.println("🔄 " + descricao + ": recarregado de " + arquivo.getFileName());
+        for (Consumer<T> ouvinte : ouvintes) {
+            try {
+                ouvinte.accept(nova);
+            } catch (RuntimeException e) {
+                log.println("⚠️ " + descricao + ": falha ao aplicar a configuração recarregada: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Número de configurações instaladas por alteração do arquivo (sem contar a carga inicial)
+     */
+    public int getRecargas() {
+        return recargas;
+    }
+    
+    /**
+     * Número de alterações recusadas por conteúdo inválido ou erro de leitura
+     */
+    public int getFalhas() {
+        return falhas;
+    }
+    
+    private void observar() {
+        try {
+            while (true) {
+                WatchKey chave = observador.take();
+                boolean alterado = doArquivo(chave);
+                // Agrupa a rajada: só relê depois de um intervalo sem eventos
+                while ((chave = observador.poll(ESPERA_RAJADA_MS, TimeUnit.MILLISECONDS)) != null) {
+                    alterado |= doArquivo(chave);
+                }
+                if (alterado) {
+                    recarregar();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Encerrado por close()
+        }
+    }
+    
+    private boolean doArquivo(WatchKey chave) {
+        boolean alterado = false;
+        for (WatchEvent<?> evento : chave.pollEvents()) {
+            if (evento.kind() == StandardWatchEventKinds.OVERFLOW
+                    || arquivo.getFileName().equals(evento.context())) {
+                alterado = true;
+            }
+        }
+        chave.reset();
+        return alterado;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        observador.close();
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.lanchonete.console;
+
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.recibo.BufferRecibo;
+import com.lanchonete.recibo.FormatoReais;
+import com.lanchonete.recibo.LayoutRecibo;
+import com.lanchonete.store.ArmazemPedidos;
+import com.lanchonete.store.PedidoRegistrado;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Histórico de pedidos paginado para o console
+ * 
+ * Guarda, para cada filtro (todos, lanches, pizzas), a lista de números de
+ * pedido e o total cobrado (com os descontos do carrinho), atualizados a cada pedido registrado. Assim
+ * ir para qualquer página é O(1) e o total geral nunca exige varrer o
+ * histórico. Cada página é montada com os modelos de recibo em um
+ * BufferRecibo reutilizado e escrita no terminal com um único flush, então
+ * o custo de exibir depende só do tamanho da página.
+ */
+public class HistoricoPedidos {
+    public static final int TAMANHO_PAGINA_PADRAO = 5;
+    
+    private static final TipoProduto[] TIPOS_PRODUTO = TipoProduto.values();
+    
+    private final ArmazemPedidos armazem;
+    private final int tamanhoPagina;
+    private final PrintStream saida;
+    
+    // Números de pedido por filtro: índice 0 = todos, 1 + ordinal = tipo de produto
+    private final long[][] pedidos = new long[1 + TIPOS_PRODUTO.length][16];
+    private final int[] quantidades = new int[1 + TIPOS_PRODUTO.length];
+    private final long[] totaisCentavos = new long[1 + TIPOS_PRODUTO.length];
+    
+    // Reutilizado entre páginas
+    private final BufferRecibo buffer = new BufferRecibo(4096, Charset.defaultCharset());
+    
+    public HistoricoPedidos(ArmazemPedidos armazem) {
+        this(armazem, TAMANHO_PAGINA_PADRAO, System.out);
+    }
+    
+    public HistoricoPedidos(ArmazemPedidos armazem, int tamanhoPagina, PrintStream destino) {
+        if (tamanhoPagina <= 0) {
+            throw new IllegalArgumentException("Tamanho de página deve ser positivo");
+        }
+        this.armazem = armazem;
+        this.tamanhoPagina = tamanhoPagina;
+        this.saida = destino;
+    }
+    
+    /**
+     * Inclui um pedido já registrado no armazém
+     */
+    public synchronized void registrar(PedidoRegistrado pedido) {
+        long centavos = pedido.getValorCobradoCentavos();
+        adicionar(0, pedido.getId(), centavos);
+        adicionar(1 + pedido.getProduto().getTipoProduto().ordinal(), pedido.getId(), centavos);
+    }
+    
+    /**
+     * Quantidade de pedidos no filtro (null = todos)
+     */
+    public synchronized int getQuantidade(TipoProduto filtro) {
+        return quantidades[indice(filtro)];
+    }
+    
+    /**
+     * Valor total dos pedidos no filtro (null = todos), em centavos
+     */
+    public synchronized long getTotalCentavos(TipoProduto filtro) {
+        return totaisCentavos[indice(filtro)];
+    }
+    
+    /**
+     * Número de páginas no filtro (ao menos 1, mesmo sem pedidos)
+     */
+    public synchronized int getNumeroPaginas(TipoProduto filtro) {
+        return Math.max(1, (quantidades[indice(filtro)] + tamanhoPagina - 1) / tamanhoPagina);
+    }
+    
+    /**
+     * Monta a página (1..número de páginas) no buffer interno
+     * 
+     * @return o buffer, válido até a próxima renderização
+     */
+    public synchronized BufferRecibo renderizarPagina(int pagina, TipoProduto filtro) {
+        int indice = indice(filtro);
+        int quantidade = quantidades[indice];
+        int paginas = getNumeroPaginas(filtro);
+        pagina = Math.max(1, Math.min(pagina, paginas));
+        int primeiro = (pagina - 1) * tamanhoPagina;
+        int ultimo = Math.min(quantidade, primeiro + tamanhoPagina);
+        
+        BufferRecibo texto = buffer.limpar();
+        texto.anexar("📋 ").anexar(filtro == null ? "Todos os pedidos" : filtro.getNome()).anexar(filtro == null ? "" : "s")
+          .anexar(" - página ").anexar(pagina).anexar('/').anexar(paginas)
+          .anexar(" (").anexar(quantidade).anexar(" pedido(s))\n");
+        
+        if (quantidade == 0) {
+            texto.anexar("\n❌ Nenhum pedido realizado ainda.\n");
+        }
+        
+        for (int i = primeiro; i < ultimo; i++) {
+            PedidoRegistrado pedido = armazem.buscar(pedidos[indice][i]);
+            texto.anexar("\n📦 PEDIDO #").anexar(pedido.getId()).anexar('\n');
+            for (int c = 0; c < 40; c++) {
+                texto.anexar('-');
+            }
+            texto.anexar('\n');
+            LayoutRecibo.CLIENTE.renderizar(pedido.getProduto(), pedido.getId(), texto).anexar('\n');
+            if (pedido.getDescontoCentavos() > 0) {
+                texto.anexar("🏷️ Desconto do pedido: -R$ ").anexarCentavos(pedido.getDescontoCentavos(), FormatoReais.LOCAL)
+                  .anexar(" (cobrado R$ ").anexarCentavos(pedido.getValorCobradoCentavos(), FormatoReais.LOCAL).anexar(")\n");
+            }
+        }
+        
+        texto.anexar("\n💰 VALOR TOTAL DOS PEDIDOS: R$ ").anexarCentavos(totaisCentavos[0], FormatoReais.LOCAL);
+        if (filtro != null) {
+            texto.anexar("  (").anexar(filtro.getNome()).anexar("s: R$ ")
+              .anexarCentavos(totaisCentavos[indice], FormatoReais.LOCAL).anexar(')');
+        }
+        texto.anexar('\n');
+        return texto;
+    }
+    
+    /**
+     * Renderiza a página e a escreve no terminal com um único flush
+     */
+    public synchronized void exibirPagina(int pagina, TipoProduto filtro) {
+        renderizarPagina(pagina, filtro);
+        try {
+            buffer.escrever(saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        saida.flush();
+    }
+    
+    private void adicionar(int indice, long id, long centavos) {
+        if (quantidades[indice] == pedidos[indice].length) {
+            pedidos[indice] = Arrays.copyOf(pedidos[indice], pedidos[indice].length * 2);
+        }
+        pedidos[indice][quantidades[indice]++] = id;
+        totaisCentavos[indice] += centavos;
+    }
+    
+    private static int indice(TipoProduto filtro) {
+        return filtro == null ? 0 : 1 + filtro.ordinal();
+    }
+}
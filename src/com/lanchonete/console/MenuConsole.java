@@ -92,6 +92,14 @@ public class MenuConsole {
         }
     }
     
+    /**
+     * Lê uma linha livre (sem espaços nas pontas)
+     */
+    public static String lerLinha(String prompt) {
+        System.out.print(prompt);
+        return scanner.nextLine().trim();
+    }
+    
     /**
      * Exibe lista numerada de itens
      */
@@ -3,8 +3,30 @@ package com.lanchonete.console;
 import com.lanchonete.model.*;
 import com.lanchonete.enums.*;
 import com.lanchonete.factory.*;
+import com.lanchonete.catalogo.CatalogoCardapio;
+import com.lanchonete.cozinha.Cozinha;
+import com.lanchonete.estoque.Estoque;
+import com.lanchonete.estoque.EstoqueInsuficienteException;
+import com.lanchonete.estoque.Reserva;
+import com.lanchonete.journal.DiarioPedidos;
+import com.lanchonete.metrics.MetricasLanchonete;
+import com.lanchonete.metrics.RegistroMetricas;
+import com.lanchonete.pedido.ItemPedido;
+import com.lanchonete.pedido.Pedido;
+import com.lanchonete.pricing.RecarregadorPrecos;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.store.ArmazemPedidos;
+import com.lanchonete.store.ArmazemPedidosConcorrente;
+import com.lanchonete.store.PedidoRegistrado;
+import com.lanchonete.store.ResumoPedidos;
+import com.lanchonete.store.TabelaColunarPedidos;
+import com.lanchonete.validator.RecarregadorRegras;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Sistema principal da lanchonete com interface console interativa
@@ -12,17 +34,34 @@ import java.util.ArrayList;
  */
 public class SistemaLanchonete {
     private static IngredienteFactory factory;
-    private static List<Object> pedidosRealizados = new ArrayList<>();
+    private static final ArmazemPedidos pedidosRealizados = new ArmazemPedidosConcorrente();
+    private static final TabelaColunarPedidos tabelaPedidos = new TabelaColunarPedidos();
+    private static final HistoricoPedidos historico = new HistoricoPedidos(pedidosRealizados);
+    private static DiarioPedidos diario;
+    private static Cozinha cozinha;
+    private static final Estoque estoque = criarEstoque();
+    private static volatile CatalogoCardapio catalogo;
+    private static Pedido carrinho = new Pedido();
+    private static final Map<ItemPedido, Reserva> reservasCarrinho = new HashMap<>();
     
     public static void main(String[] args) {
         MenuConsole.exibirTitulo("🍕🥪 SISTEMA DE PEDIDOS - LANCHONETE BUILDER 🥪🍕");
         
+        abrirDiario();
+        carregarRegras();
+        carregarPrecos();
+        carregarCatalogo();
+        iniciarRelatorioMetricas();
+        iniciarCozinha();
+        
         while (true) {
             try {
                 String[] opcoesPrincipais = {
                     "🥪 Montar um Lanche",
                     "🍕 Montar uma Pizza", 
+                    "🛒 Carrinho / Fechar Pedido",
                     "📋 Ver Pedidos Realizados",
+                    "👨‍🍳 Painel da Cozinha",
                     "🚪 Sair"
                 };
                 
@@ -36,11 +75,20 @@ public class SistemaLanchonete {
                         montarPizza();
                         break;
                     case 3:
-                        exibirPedidosRealizados();
+                        exibirCarrinho();
                         break;
                     case 4:
+                        exibirPedidosRealizados();
+                        break;
+                    case 5:
+                        exibirPainelCozinha();
+                        break;
+                    case 6:
                         System.out.println("\n🎉 Obrigado por usar nosso sistema!");
                         System.out.println("👋 Volte sempre!");
+                        esvaziarCarrinho();
+                        fecharCozinha();
+                        fecharDiario();
                         MenuConsole.fechar();
                         return;
                 }
@@ -75,8 +123,7 @@ public class SistemaLanchonete {
             // 5. Construir lanche usando Builder
             Lanche.Builder builder = new Lanche.Builder()
                 .comTamanho(tamanho)
-                .comTipoPao(tipoPao)
-                .comPrecoBase(15.0);
+                .comTipoPao(tipoPao);
             
             // Adicionar ingredientes ao builder
             for (Ingrediente ingrediente : ingredientes) {
@@ -85,16 +132,30 @@ public class SistemaLanchonete {
             
             Lanche lancheCompleto = builder.build();
             
-            // 6. Exibir resumo e confirmar
-            exibirResumo("🥪 SEU LANCHE", lancheCompleto);
-            
-            if (MenuConsole.perguntarContinuar("✅ Confirmar pedido?")) {
-                pedidosRealizados.add(lancheCompleto);
-                MenuConsole.exibirSucesso("Lanche adicionado aos pedidos!");
-            } else {
-                MenuConsole.exibirErro("Pedido cancelado.");
+            // Reserva os ingredientes enquanto o cliente confirma (tudo ou nada)
+            Reserva reserva = estoque.reservar(lancheCompleto);
+            boolean adicionado = false;
+            try {
+                // 6. Exibir resumo e confirmar
+                exibirResumo("🥪 SEU LANCHE", lancheCompleto);
+                
+                if (MenuConsole.perguntarContinuar("🛒 Adicionar ao carrinho?")) {
+                    adicionarAoCarrinho(lancheCompleto, null, reserva);
+                    adicionado = true;
+                    MenuConsole.exibirSucesso("Lanche adicionado ao carrinho! (" + carrinho.getQuantidadeItens() + " item(ns))");
+                } else {
+                    MenuConsole.exibirErro("Lanche descartado.");
+                }
+            } finally {
+                // Sem item no carrinho a reserva volta ao estoque, inclusive se a leitura falhar
+                if (!adicionado) {
+                    reserva.cancelar();
+                }
             }
             
+        } catch (EstoqueInsuficienteException e) {
+            MenuConsole.exibirErro(e.getMessage());
+            MenuConsole.exibirErro("Pedido não realizado. Tente com outros ingredientes.");
         } catch (IllegalStateException e) {
             MenuConsole.exibirErro("Configuração inválida: " + e.getMessage());
             MenuConsole.exibirErro("Tente novamente com outras opções.");
@@ -121,7 +182,7 @@ public class SistemaLanchonete {
             TipoMassa tipoMassa = escolherTipoMassa();
             
             // 4. Escolher sabor da pizza
-            SaborPizza sabor = escolherSaborPizza();
+            SaborPizza sabor = escolherSaborPizza(tamanho, tipoMassa);
             
             // 5. Adicionar ingredientes do sabor
             List<Ingrediente> ingredientes = criarIngredientesSabor(sabor);
@@ -135,8 +196,7 @@ public class SistemaLanchonete {
             // 5. Construir pizza usando Builder
             Pizza.Builder builderPizza = new Pizza.Builder()
                 .comTamanho(tamanho)
-                .comTipoMassa(tipoMassa)
-                .comPrecoBase(20.0);
+                .comTipoMassa(tipoMassa);
             
             // Adicionar ingredientes ao builder
             for (Ingrediente ingrediente : ingredientes) {
@@ -145,16 +205,31 @@ public class SistemaLanchonete {
             
             Pizza pizzaCompleta = builderPizza.build();
             
-            // 6. Exibir resumo e confirmar
-            exibirResumo("🍕 SUA PIZZA", pizzaCompleta);
-            
-            if (MenuConsole.perguntarContinuar("✅ Confirmar pedido?")) {
-                pedidosRealizados.add(pizzaCompleta);
-                MenuConsole.exibirSucesso("Pizza adicionada aos pedidos!");
-            } else {
-                MenuConsole.exibirErro("Pedido cancelado.");
+            // Reserva os ingredientes enquanto o cliente confirma (tudo ou nada)
+            Reserva reserva = estoque.reservar(pizzaCompleta);
+            boolean adicionado = false;
+            try {
+                // 6. Exibir resumo e confirmar
+                exibirResumo("🍕 SUA PIZZA", pizzaCompleta);
+                
+                if (MenuConsole.perguntarContinuar("🛒 Adicionar ao carrinho?")) {
+                    // Sem algum ingrediente do sabor (em falta), entra como pizza montada
+                    adicionarAoCarrinho(pizzaCompleta, Pedido.contemSabor(pizzaCompleta, sabor) ? sabor : null, reserva);
+                    adicionado = true;
+                    MenuConsole.exibirSucesso("Pizza adicionada ao carrinho! (" + carrinho.getQuantidadeItens() + " item(ns))");
+                } else {
+                    MenuConsole.exibirErro("Pizza descartada.");
+                }
+            } finally {
+                // Sem item no carrinho a reserva volta ao estoque, inclusive se a leitura falhar
+                if (!adicionado) {
+                    reserva.cancelar();
+                }
             }
             
+        } catch (EstoqueInsuficienteException e) {
+            MenuConsole.exibirErro(e.getMessage());
+            MenuConsole.exibirErro("Pedido não realizado. Tente com outros ingredientes.");
         } catch (IllegalStateException e) {
             MenuConsole.exibirErro("Configuração inválida: " + e.getMessage());
             MenuConsole.exibirErro("Tente novamente com outras opções.");
@@ -163,6 +238,168 @@ public class SistemaLanchonete {
         MenuConsole.pausar();
     }
     
+    /**
+     * Liga o relatório periódico de métricas se -Dlanchonete.metricas.intervalo=segundos for informado
+     */
+    private static void iniciarRelatorioMetricas() {
+        String intervalo = System.getProperty("lanchonete.metricas.intervalo");
+        if (intervalo == null) {
+            return;
+        }
+        
+        try {
+            RegistroMetricas.global().iniciarRelatorioPeriodico(Long.parseLong(intervalo), System.err);
+        } catch (NumberFormatException e) {
+            MenuConsole.exibirErro("Intervalo de métricas inválido: " + intervalo);
+        }
+    }
+    
+    /**
+     * Carrega as regras de combinação de -Dlanchonete.regras (se informado) e as
+     * recarrega quando o arquivo muda, recalculando o catálogo de pizzas
+     */
+    private static void carregarRegras() {
+        String arquivo = System.getProperty("lanchonete.regras");
+        if (arquivo == null) {
+            return;
+        }
+        
+        try {
+            RecarregadorRegras recarregador = RecarregadorRegras.iniciar(Paths.get(arquivo), System.err);
+            recarregador.adicionarOuvinte(regras -> carregarCatalogo());
+        } catch (IOException | IllegalArgumentException e) {
+            MenuConsole.exibirErro("Regras de combinação indisponíveis (" + e.getMessage() 
+                + "). Usando as regras padrão.");
+        }
+    }
+    
+    /**
+     * Carrega a tabela de preços de -Dlanchonete.precos (se informado) e publica
+     * cada nova versão quando o arquivo muda, recalculando o catálogo de pizzas
+     */
+    private static void carregarPrecos() {
+        String arquivo = System.getProperty("lanchonete.precos");
+        if (arquivo == null) {
+            return;
+        }
+        
+        try {
+            RecarregadorPrecos recarregador = RecarregadorPrecos.iniciar(Paths.get(arquivo), System.err);
+            recarregador.adicionarOuvinte(precos -> carregarCatalogo());
+        } catch (IOException | IllegalArgumentException e) {
+            MenuConsole.exibirErro("Tabela de preços indisponível (" + e.getMessage() 
+                + "). Usando os preços padrão.");
+        }
+    }
+    
+    /**
+     * Mapeia o catálogo de pizzas (-Dlanchonete.catalogo), recalculando-o se os enums, as regras ou os preços mudaram
+     */
+    private static void carregarCatalogo() {
+        String arquivo = System.getProperty("lanchonete.catalogo", "catalogo-cardapio.bin");
+        
+        try {
+            catalogo = CatalogoCardapio.carregar(Paths.get(arquivo));
+        } catch (IOException e) {
+            MenuConsole.exibirErro("Catálogo indisponível em disco (" + e.getMessage() + "). Calculando em memória.");
+            catalogo = CatalogoCardapio.emMemoria();
+        }
+    }
+    
+    /**
+     * Estoque inicial por ingrediente: -Dlanchonete.estoque.inicial (padrão 50) e
+     * aviso de estoque baixo abaixo de -Dlanchonete.estoque.minimo (padrão 10)
+     */
+    private static Estoque criarEstoque() {
+        Estoque novo = new Estoque(
+            Integer.getInteger("lanchonete.estoque.inicial", 50),
+            Integer.getInteger("lanchonete.estoque.minimo", 10));
+        novo.adicionarOuvinte((tipo, saldo, limite) -> 
+            System.out.println("⚠️ Estoque baixo: restam " + saldo + " porções de " + tipo.getNome()));
+        return novo;
+    }
+    
+    /**
+     * Inicia a cozinha; -Dlanchonete.cozinha.escala acelera os tempos de preparo (padrão 0.01)
+     */
+    private static void iniciarCozinha() {
+        double escala = 0.01;
+        String propriedade = System.getProperty("lanchonete.cozinha.escala");
+        if (propriedade != null) {
+            try {
+                escala = Double.parseDouble(propriedade);
+            } catch (NumberFormatException e) {
+                MenuConsole.exibirErro("Escala da cozinha inválida: " + propriedade);
+            }
+        }
+        
+        cozinha = new Cozinha.Builder()
+            .comEstacoes(Integer.getInteger("lanchonete.cozinha.estacoes", 2))
+            .comEscalaTempo(escala)
+            .build();
+    }
+    
+    private static void fecharCozinha() {
+        cozinha.close();
+    }
+    
+    /**
+     * Exibe fila, ocupação e espera de cada estação da cozinha
+     */
+    private static void exibirPainelCozinha() {
+        MenuConsole.limparTela();
+        MenuConsole.exibirTitulo("👨‍🍳 PAINEL DA COZINHA");
+        System.out.println(cozinha.painel());
+        MenuConsole.pausar();
+    }
+    
+    /**
+     * Abre o diário de pedidos e recupera o histórico gravado
+     */
+    private static void abrirDiario() {
+        String diretorio = System.getProperty("lanchonete.diario", "diario-pedidos");
+        
+        try {
+            diario = DiarioPedidos.abrir(Paths.get(diretorio));
+            long recuperados = diario.recuperar((sequencia, timestamp, produto, descontoCentavos) -> 
+                indexar(pedidosRealizados.registrar(produto, descontoCentavos, timestamp)));
+            
+            if (recuperados > 0) {
+                System.out.println("📂 " + recuperados + " pedido(s) recuperado(s) do diário");
+            }
+        } catch (IOException e) {
+            diario = null;
+            MenuConsole.exibirErro("Diário de pedidos indisponível (" + e.getMessage() + "). Pedidos não serão persistidos.");
+        }
+    }
+    
+    /**
+     * Grava o produto confirmado e seu desconto no diário (o fsync é feito em grupo, em segundo plano)
+     */
+    private static void registrarNoDiario(Produto produto, long descontoCentavos) {
+        if (diario == null) {
+            return;
+        }
+        
+        try {
+            diario.anexar(produto, descontoCentavos);
+        } catch (IOException e) {
+            MenuConsole.exibirErro("Falha ao gravar pedido no diário: " + e.getMessage());
+        }
+    }
+    
+    private static void fecharDiario() {
+        if (diario == null) {
+            return;
+        }
+        
+        try {
+            diario.close();
+        } catch (IOException e) {
+            MenuConsole.exibirErro("Falha ao fechar o diário: " + e.getMessage());
+        }
+    }
+    
     /**
      * Permite escolher o tipo de ingredientes (Factory Method)
      */
@@ -245,14 +482,19 @@ public class SistemaLanchonete {
     /**
      * Menu para escolher sabor da pizza
      */
-    private static SaborPizza escolherSaborPizza() {
+    private static SaborPizza escolherSaborPizza(Tamanho tamanho, TipoMassa massa) {
         SaborPizza[] sabores = SaborPizza.values();
         
         System.out.println("\n🍕 ESCOLHA O SABOR DA PIZZA");
         System.out.println("-".repeat(40));
         
+        // Preços e restrições vêm do catálogo pré-calculado (sem montar as pizzas)
         for (int i = 0; i < sabores.length; i++) {
-            System.out.println((i + 1) + ". " + sabores[i].toString());
+            long centavos = catalogo.precoCentavos(sabores[i], tamanho, massa, factory.getTipo());
+            String detalhe = centavos != CatalogoCardapio.SEM_PRECO
+                ? "R$ " + String.format("%.2f", TabelaPrecos.reais(centavos))
+                : "⚠️ " + catalogo.motivoRecusa(sabores[i], tamanho, massa, factory.getTipo()).getDescricao();
+            System.out.println((i + 1) + ". " + sabores[i].toString() + " — " + detalhe);
         }
         
         int opcao = MenuConsole.lerOpcao(1, sabores.length);
@@ -271,6 +513,11 @@ public class SistemaLanchonete {
         System.out.println("\n🧄 Adicionando ingredientes do sabor " + sabor.getNome() + "...");
         
         for (TipoIngrediente tipo : sabor.getIngredientes()) {
+            if (!estoque.disponivel(tipo, 1)) {
+                System.out.println("⚠️ " + tipo.getNome() + " em falta no estoque");
+                continue;
+            }
+            
             try {
                 Ingrediente ingrediente = factory.criarIngrediente(tipo, 1);
                 ingredientes.add(ingrediente);
@@ -339,14 +586,19 @@ public class SistemaLanchonete {
                 
                 int quantidade = MenuConsole.lerQuantidade();
                 
-                try {
-                    Ingrediente ingrediente = factory.criarIngrediente(tipoEscolhido, quantidade);
-                    ingredientes.add(ingrediente);
-                    
-                    System.out.println("✅ Adicionado: " + ingrediente.toString());
-                    
-                } catch (IllegalArgumentException e) {
-                    MenuConsole.exibirErro("Não foi possível adicionar: " + e.getMessage());
+                if (!estoque.disponivel(tipoEscolhido, quantidade)) {
+                    MenuConsole.exibirErro("Estoque insuficiente de " + tipoEscolhido.getNome() 
+                        + " (disponível: " + estoque.getSaldo(tipoEscolhido) + ")");
+                } else {
+                    try {
+                        Ingrediente ingrediente = factory.criarIngrediente(tipoEscolhido, quantidade);
+                        ingredientes.add(ingrediente);
+                        
+                        System.out.println("✅ Adicionado: " + ingrediente.toString());
+                        
+                    } catch (IllegalArgumentException e) {
+                        MenuConsole.exibirErro("Não foi possível adicionar: " + e.getMessage());
+                    }
                 }
                 
                 if (!MenuConsole.perguntarContinuar("Adicionar mais " + nomeCategoria.toLowerCase() + "?")) {
@@ -366,31 +618,194 @@ public class SistemaLanchonete {
     }
     
     /**
-     * Exibe histórico de pedidos realizados
+     * Inclui o produto no carrinho, mantendo a reserva dos ingredientes até o fechamento
+     */
+    private static void adicionarAoCarrinho(Produto produto, SaborPizza sabor, Reserva reserva) {
+        ItemPedido item = carrinho.adicionar(produto, sabor);
+        reservasCarrinho.put(item, reserva);
+    }
+    
+    /**
+     * Exibe o carrinho com as promoções aplicadas; permite fechar o pedido ou retirar itens
+     */
+    private static void exibirCarrinho() {
+        while (true) {
+            MenuConsole.limparTela();
+            MenuConsole.exibirTitulo("🛒 CARRINHO");
+            
+            if (carrinho.getQuantidadeItens() == 0) {
+                System.out.println("❌ Carrinho vazio. Monte um lanche ou uma pizza.");
+                MenuConsole.pausar();
+                return;
+            }
+            
+            List<ItemPedido> itens = carrinho.getItens();
+            for (int i = 0; i < itens.size(); i++) {
+                System.out.printf("%d. %-40s R$ %.2f%n", i + 1, itens.get(i),
+                    TabelaPrecos.reais(itens.get(i).getPrecoCentavos()));
+            }
+            
+            System.out.println("-".repeat(40));
+            System.out.printf("Subtotal: R$ %.2f%n", TabelaPrecos.reais(carrinho.getSubtotalCentavos()));
+            for (int i = 0; i < carrinho.getPromocoes().getQuantidade(); i++) {
+                if (carrinho.getDescontoCentavos(i) > 0) {
+                    System.out.printf("🎁 %s: -R$ %.2f%n", carrinho.getPromocoes().getPromocao(i).getNome(),
+                        TabelaPrecos.reais(carrinho.getDescontoCentavos(i)));
+                }
+            }
+            System.out.printf("💰 TOTAL: R$ %.2f%n", TabelaPrecos.reais(carrinho.getTotalCentavos()));
+            
+            String[] opcoes = { "✅ Fechar pedido", "➖ Retirar um item", "↩️ Voltar" };
+            switch (MenuConsole.exibirMenuOpcoes("CARRINHO", opcoes)) {
+                case 1:
+                    fecharPedido();
+                    MenuConsole.pausar();
+                    return;
+                case 2:
+                    System.out.println("Qual item retirar?");
+                    ItemPedido item = itens.get(MenuConsole.lerOpcao(1, itens.size()) - 1);
+                    carrinho.remover(item);
+                    reservasCarrinho.remove(item).cancelar();
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+    
+    /**
+     * Registra cada produto do carrinho (armazém, diário e cozinha) e abre um carrinho novo
+     * 
+     * Armazém, diário e cozinha continuam trabalhando por produto; o
+     * carrinho decide as promoções e o total cobrado.
+     */
+    private static void fecharPedido() {
+        StringBuilder numeros = new StringBuilder();
+        // Cada item é registrado pelo valor cobrado, para que receita e histórico somem o total do pedido
+        List<ItemPedido> itens = carrinho.getItens();
+        long[] descontos = carrinho.ratearDesconto();
+        for (int i = 0; i < itens.size(); i++) {
+            ItemPedido item = itens.get(i);
+            PedidoRegistrado pedido = indexar(pedidosRealizados.registrar(item.getProduto(), descontos[i], System.currentTimeMillis()));
+            MetricasLanchonete.pedidoConfirmado();
+            registrarNoDiario(item.getProduto(), descontos[i]);
+            cozinha.enviar(pedido);
+            numeros.append(numeros.length() == 0 ? "#" : ", #").append(pedido.getId());
+        }
+        MenuConsole.exibirSucesso("Pedido fechado: R$ " + String.format("%.2f", TabelaPrecos.reais(carrinho.getTotalCentavos()))
+            + " (" + numeros + ")");
+        reservasCarrinho.clear();
+        carrinho = new Pedido();
+    }
+    
+    /**
+     * Devolve ao estoque os ingredientes reservados pelos itens não fechados
+     */
+    private static void esvaziarCarrinho() {
+        for (Reserva reserva : reservasCarrinho.values()) {
+            reserva.cancelar();
+        }
+        reservasCarrinho.clear();
+        carrinho = new Pedido();
+    }
+    
+    /**
+     * Inclui o pedido recém-registrado na tabela colunar e no histórico paginado
+     */
+    private static PedidoRegistrado indexar(PedidoRegistrado pedido) {
+        tabelaPedidos.adicionar(pedido);
+        historico.registrar(pedido);
+        return pedido;
+    }
+    
+    /**
+     * Exibe histórico de pedidos realizados, uma página por vez
+     * 
+     * Comandos: [Enter]/p próxima, a anterior, u última, número vai para a
+     * página, l/z/t filtram lanches/pizzas/todos, r resumo, s sai.
      */
     private static void exibirPedidosRealizados() {
+        int pagina = 1;
+        TipoProduto filtro = null;
+        
+        while (true) {
+            MenuConsole.limparTela();
+            MenuConsole.exibirTitulo("📋 PEDIDOS REALIZADOS");
+            historico.exibirPagina(pagina, filtro);
+            pagina = Math.min(pagina, historico.getNumeroPaginas(filtro));
+            
+            String comando = MenuConsole.lerLinha(
+                "\n[Enter/p] próxima  [a] anterior  [u] última  [nº] página  "
+                + "[l/z/t] lanches/pizzas/todos  [r] resumo  [s] sair: ").toLowerCase();
+            
+            switch (comando) {
+                case "":
+                case "p":
+                    pagina = Math.min(pagina + 1, historico.getNumeroPaginas(filtro));
+                    break;
+                case "a":
+                    pagina = Math.max(pagina - 1, 1);
+                    break;
+                case "u":
+                    pagina = historico.getNumeroPaginas(filtro);
+                    break;
+                case "l":
+                    filtro = TipoProduto.LANCHE;
+                    pagina = 1;
+                    break;
+                case "z":
+                    filtro = TipoProduto.PIZZA;
+                    pagina = 1;
+                    break;
+                case "t":
+                    filtro = null;
+                    pagina = 1;
+                    break;
+                case "r":
+                    exibirResumoPedidos();
+                    break;
+                case "s":
+                    return;
+                default:
+                    try {
+                        pagina = Math.max(1, Math.min(Integer.parseInt(comando), historico.getNumeroPaginas(filtro)));
+                    } catch (NumberFormatException e) {
+                        MenuConsole.exibirErro("Comando inválido: " + comando);
+                        MenuConsole.pausar();
+                    }
+            }
+        }
+    }
+    
+    /**
+     * Exibe os agregados de todos os pedidos
+     */
+    private static void exibirResumoPedidos() {
         MenuConsole.limparTela();
-        MenuConsole.exibirTitulo("📋 PEDIDOS REALIZADOS");
+        MenuConsole.exibirTitulo("📊 RESUMO DOS PEDIDOS");
         
-        if (pedidosRealizados.isEmpty()) {
+        // Totais vêm da tabela colunar, sem percorrer os produtos de novo
+        ResumoPedidos resumo = tabelaPedidos.resumir();
+        if (resumo.getPedidos() == 0) {
             System.out.println("❌ Nenhum pedido realizado ainda.");
         } else {
-            for (int i = 0; i < pedidosRealizados.size(); i++) {
-                System.out.println("\n📦 PEDIDO #" + (i + 1));
-                System.out.println("-".repeat(40));
-                System.out.println(pedidosRealizados.get(i).toString());
+            System.out.println("💰 VALOR TOTAL DOS PEDIDOS: R$ " 
+                + String.format("%.2f", TabelaPrecos.reais(resumo.getReceitaCentavos())));
+            System.out.println("🎫 Ticket médio: R$ " 
+                + String.format("%.2f", resumo.getTicketMedioCentavos() / 100.0));
+            
+            System.out.println("\n📏 Por tamanho:");
+            for (Tamanho tamanho : Tamanho.values()) {
+                System.out.printf("   %-8s %3d pedido(s)   R$ %.2f%n", tamanho.getNome(), 
+                    resumo.getPedidos(tamanho), TabelaPrecos.reais(resumo.getReceitaCentavos(tamanho)));
             }
             
-            double totalPedidos = 0;
-            for (Object pedido : pedidosRealizados) {
-                if (pedido instanceof Lanche) {
-                    totalPedidos += ((Lanche) pedido).calcularPrecoTotal();
-                } else if (pedido instanceof Pizza) {
-                    totalPedidos += ((Pizza) pedido).calcularPrecoTotal();
+            System.out.println("\n🧂 Consumo de ingredientes:");
+            for (TipoIngrediente tipo : TipoIngrediente.values()) {
+                if (resumo.getConsumo(tipo) > 0) {
+                    System.out.printf("   %-24s %4d un.%n", tipo.getNome(), resumo.getConsumo(tipo));
                 }
             }
-            
-            System.out.println("\n💰 VALOR TOTAL DOS PEDIDOS: R$ " + String.format("%.2f", totalPedidos));
         }
         
         MenuConsole.pausar();
@@ -0,0 +1,62 @@
+package com.lanchonete.cozinha;
+
+import com.lanchonete.model.Produto;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Produto em preparo na cozinha, com suas etapas em ordem de execução
+ */
+public final class ComandaCozinha {
+    private final long id;
+    private final Produto produto;
+    private final TarefaCozinha[] etapas;
+    private final long recebidaEm;
+    private final CompletableFuture<ComandaCozinha> conclusao = new CompletableFuture<>();
+    
+    // Só é alterada pela estação que concluiu a etapa anterior (as etapas são sequenciais)
+    private int etapaAtual;
+    
+    ComandaCozinha(long id, Produto produto, long recebidaEm) {
+        this.id = id;
+        this.produto = produto;
+        this.recebidaEm = recebidaEm;
+        this.etapas = PlanoPreparo.decompor(this);
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public Produto getProduto() {
+        return produto;
+    }
+    
+    public int getTotalEtapas() {
+        return etapas.length;
+    }
+    
+    /**
+     * Completa quando a última etapa termina (ou falha se a cozinha for encerrada antes)
+     */
+    public CompletableFuture<ComandaCozinha> getConclusao() {
+        return conclusao;
+    }
+    
+    long getRecebidaEm() {
+        return recebidaEm;
+    }
+    
+    TarefaCozinha primeiraEtapa() {
+        return etapas[0];
+    }
+    
+    /**
+     * Avança para a próxima etapa
+     * 
+     * @return próxima tarefa, ou null se a comanda terminou
+     */
+    TarefaCozinha avancar() {
+        etapaAtual++;
+        return etapaAtual < etapas.length ? etapas[etapaAtual] : null;
+    }
+}
@@ -0,0 +1,317 @@
+package com.lanchonete.cozinha;
+
+import com.lanchonete.metrics.Histograma;
+import com.lanchonete.model.Produto;
+import com.lanchonete.store.PedidoRegistrado;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Escalonador da cozinha: distribui as etapas das comandas entre as estações
+ * 
+ * Cada etapa vai para uma estação do seu tipo em rodízio (despacho O(1),
+ * sem varrer filas); o desequilíbrio causado por etapas de durações
+ * diferentes é corrigido pelo roubo de tarefas entre estações ociosas.
+ * Quando uma etapa termina, a próxima etapa da comanda é despachada.
+ * 
+ * Os tempos de preparo vêm de {@link PlanoPreparo} e são multiplicados pela
+ * escala de tempo (1.0 = tempo real; 0.001 = um minuto de cozinha em 60ms).
+ * Métricas de espera são sempre reportadas em tempo de cozinha.
+ */
+public final class Cozinha implements AutoCloseable {
+    private static final TipoEstacao[] TIPOS = TipoEstacao.values();
+    
+    private final EstacaoCozinha[][] estacoesPorTipo;
+    private final List<EstacaoCozinha> estacoes;
+    private final AtomicIntegerArray proximaEstacao;
+    private final double escalaTempo;
+    private final boolean rouboAtivo;
+    
+    private final Histograma espera = Histograma.avulso("cozinha_espera");
+    private final Histograma permanencia = Histograma.avulso("cozinha_permanencia");
+    private final LongAdder comandasConcluidas = new LongAdder();
+    
+    // enviar() despacha sob a leitura; close() marca o encerramento sob a escrita
+    private final ReadWriteLock travaEncerramento = new ReentrantReadWriteLock();
+    private volatile boolean encerrada;
+    
+    private Cozinha(Builder builder) {
+        this.escalaTempo = builder.escalaTempo;
+        this.rouboAtivo = builder.rouboAtivo;
+        this.estacoesPorTipo = new EstacaoCozinha[TIPOS.length][];
+        this.proximaEstacao = new AtomicIntegerArray(TIPOS.length);
+        
+        List<EstacaoCozinha> todas = new ArrayList<>();
+        for (TipoEstacao tipo : TIPOS) {
+            int quantidade = builder.quantidades.get(tipo);
+            EstacaoCozinha[] doTipo = new EstacaoCozinha[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                doTipo[i] = new EstacaoCozinha(this, tipo, i + 1);
+                todas.add(doTipo[i]);
+            }
+            estacoesPorTipo[tipo.ordinal()] = doTipo;
+        }
+        this.estacoes = Collections.unmodifiableList(todas);
+        
+        for (EstacaoCozinha estacao : estacoes) {
+            estacao.iniciar();
+        }
+    }
+    
+    /**
+     * Envia um pedido confirmado para a cozinha
+     */
+    public ComandaCozinha enviar(PedidoRegistrado pedido) {
+        return enviar(pedido.getId(), pedido.getProduto());
+    }
+    
+    /**
+     * Decompõe o produto em etapas e despacha a primeira
+     */
+    public ComandaCozinha enviar(long id, Produto produto) {
+        ComandaCozinha comanda = new ComandaCozinha(id, produto, System.nanoTime());
+        
+        // Sob a trava, a primeira etapa nunca chega a uma fila que close() já esvaziou
+        travaEncerramento.readLock().lock();
+        try {
+            if (encerrada) {
+                throw new IllegalStateException("Cozinha encerrada");
+            }
+            despachar(comanda.primeiraEtapa());
+        } finally {
+            travaEncerramento.readLock().unlock();
+        }
+        return comanda;
+    }
+    
+    public List<EstacaoCozinha> getEstacoes() {
+        return estacoes;
+    }
+    
+    /**
+     * Tarefas aguardando em todas as estações do tipo
+     */
+    public int getProfundidade(TipoEstacao tipo) {
+        int total = 0;
+        for (EstacaoCozinha estacao : estacoesPorTipo[tipo.ordinal()]) {
+            total += estacao.getProfundidade();
+        }
+        return total;
+    }
+    
+    /**
+     * Espera em fila de todas as etapas, em tempo de cozinha
+     */
+    public Histograma getEspera() {
+        return espera;
+    }
+    
+    /**
+     * Tempo do recebimento da comanda até a conclusão da última etapa, em tempo de cozinha
+     */
+    public Histograma getPermanencia() {
+        return permanencia;
+    }
+    
+    public long getComandasConcluidas() {
+        return comandasConcluidas.sum();
+    }
+    
+    public long getRoubadas() {
+        long total = 0;
+        for (EstacaoCozinha estacao : estacoes) {
+            total += estacao.getRoubadas();
+        }
+        return total;
+    }
+    
+    public boolean isEncerrada() {
+        return encerrada;
+    }
+    
+    /**
+     * Painel textual com a situação de cada estação
+     */
+    public String painel() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-12s %6s %8s %11s %9s %12s %12s%n", 
+            "Estação", "Fila", "Ocupada", "Concluídas", "Roubadas", "Espera p50", "Espera p99"));
+        for (EstacaoCozinha estacao : estacoes) {
+            sb.append(String.format("%-12s %6d %8s %11d %9d %12s %12s%n",
+                estacao.getNome(),
+                estacao.getProfundidade(),
+                estacao.isOcupada() ? "sim" : "não",
+                estacao.getConcluidas(),
+                estacao.getRoubadas(),
+                Histograma.formatar(estacao.getEspera().getQuantil(0.5)),
+                Histograma.formatar(estacao.getEspera().getQuantil(0.99))));
+        }
+        sb.append(String.format("Comandas concluídas: %d | permanência p50 %s, p99 %s",
+            getComandasConcluidas(),
+            Histograma.formatar(permanencia.getQuantil(0.5)),
+            Histograma.formatar(permanencia.getQuantil(0.99))));
+        return sb.toString();
+    }
+    
+    /**
+     * Para as estações; comandas ainda não concluídas falham com IllegalStateException
+     * 
+     * As estações param logo (o preparo em curso é abandonado), então a
+     * espera não é interrompível: uma interrupção é guardada e restaurada
+     * no fim, depois que todas as comandas pendentes foram encerradas.
+     */
+    @Override
+    public void close() {
+        travaEncerramento.writeLock().lock();
+        try {
+            if (encerrada) {
+                return;
+            }
+            encerrada = true;
+        } finally {
+            travaEncerramento.writeLock().unlock();
+        }
+        
+        for (EstacaoCozinha estacao : estacoes) {
+            estacao.acordar();
+        }
+        boolean interrompida = false;
+        for (EstacaoCozinha estacao : estacoes) {
+            while (true) {
+                try {
+                    estacao.aguardarTermino();
+                    break;
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+        }
+        
+        IllegalStateException motivo = new IllegalStateException("Cozinha encerrada antes da conclusão");
+        for (EstacaoCozinha estacao : estacoes) {
+            TarefaCozinha tarefa;
+            while ((tarefa = estacao.retirarRestante()) != null) {
+                tarefa.getComanda().getConclusao().completeExceptionally(motivo);
+            }
+        }
+        
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    void despachar(TarefaCozinha tarefa) {
+        int indiceTipo = tarefa.getTipoEstacao().ordinal();
+        EstacaoCozinha[] candidatas = estacoesPorTipo[indiceTipo];
+        int indice = Math.floorMod(proximaEstacao.getAndIncrement(indiceTipo), candidatas.length);
+        candidatas[indice].receber(tarefa);
+    }
+    
+    /**
+     * Rouba a tarefa mais recente da estação mais carregada do mesmo tipo
+     */
+    TarefaCozinha roubar(EstacaoCozinha ladra) {
+        if (!rouboAtivo) {
+            return null;
+        }
+        
+        EstacaoCozinha vitima = null;
+        int maiorFila = 0;
+        for (EstacaoCozinha candidata : estacoesPorTipo[ladra.getTipo().ordinal()]) {
+            int fila = candidata.getProfundidade();
+            if (candidata != ladra && fila > maiorFila) {
+                vitima = candidata;
+                maiorFila = fila;
+            }
+        }
+        return vitima != null ? vitima.cederUltima() : null;
+    }
+    
+    void concluir(TarefaCozinha tarefa) {
+        ComandaCozinha comanda = tarefa.getComanda();
+        TarefaCozinha proxima = comanda.avancar();
+        
+        if (proxima != null) {
+            despachar(proxima);
+            return;
+        }
+        
+        permanencia.registrar(paraTempoCozinha(System.nanoTime() - comanda.getRecebidaEm()));
+        comandasConcluidas.increment();
+        comanda.getConclusao().complete(comanda);
+    }
+    
+    void registrarEspera(long nanosCozinha) {
+        espera.registrar(nanosCozinha);
+    }
+    
+    long paraTempoReal(long nanosCozinha) {
+        return (long) (nanosCozinha * escalaTempo);
+    }
+    
+    long paraTempoCozinha(long nanosReais) {
+        return (long) (nanosReais / escalaTempo);
+    }
+    
+    /**
+     * Builder para configurar estações e escala de tempo da cozinha
+     */
+    public static class Builder {
+        private final Map<TipoEstacao, Integer> quantidades = new EnumMap<>(TipoEstacao.class);
+        private double escalaTempo = 1.0;
+        private boolean rouboAtivo = true;
+        
+        public Builder() {
+            for (TipoEstacao tipo : TIPOS) {
+                quantidades.put(tipo, 1);
+            }
+        }
+        
+        public Builder comEstacoes(TipoEstacao tipo, int quantidade) {
+            quantidades.put(tipo, quantidade);
+            return this;
+        }
+        
+        /**
+         * Mesma quantidade de estações para todos os tipos
+         */
+        public Builder comEstacoes(int quantidade) {
+            for (TipoEstacao tipo : TIPOS) {
+                quantidades.put(tipo, quantidade);
+            }
+            return this;
+        }
+        
+        public Builder comEscalaTempo(double escalaTempo) {
+            this.escalaTempo = escalaTempo;
+            return this;
+        }
+        
+        public Builder comRoubo(boolean rouboAtivo) {
+            this.rouboAtivo = rouboAtivo;
+            return this;
+        }
+        
+        /**
+         * Valida a configuração e inicia as estações
+         */
+        public Cozinha build() {
+            for (Map.Entry<TipoEstacao, Integer> entrada : quantidades.entrySet()) {
+                if (entrada.getValue() < 1) {
+                    throw new IllegalStateException("A cozinha precisa de ao menos uma estação de " + entrada.getKey().getNome());
+                }
+            }
+            if (!(escalaTempo > 0)) {
+                throw new IllegalStateException("Escala de tempo deve ser positiva");
+            }
+            return new Cozinha(this);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.lanchonete.cozinha;
+
+import com.lanchonete.metrics.Histograma;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Estação da cozinha com fila própria e uma thread de preparo
+ * 
+ * A estação consome a própria fila pela frente (ordem de chegada). Quando
+ * ela esvazia, rouba pelo fim da fila mais longa entre as estações do mesmo
+ * tipo: a última tarefa enfileirada é a que mais esperaria na vítima.
+ */
+public final class EstacaoCozinha {
+    // Tempo máximo ocioso antes de tentar roubar de novo
+    private static final long ESPERA_OCIOSA_NANOS = 1_000_000L;
+    
+    private final Cozinha cozinha;
+    private final TipoEstacao tipo;
+    private final String nome;
+    private final ConcurrentLinkedDeque<TarefaCozinha> fila = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger profundidade = new AtomicInteger();
+    private final Histograma espera;
+    private final LongAdder concluidas = new LongAdder();
+    private final LongAdder roubadas = new LongAdder();
+    private final Thread trabalhador;
+    
+    private volatile boolean ocupada;
+    
+    EstacaoCozinha(Cozinha cozinha, TipoEstacao tipo, int numero) {
+        this.cozinha = cozinha;
+        this.tipo = tipo;
+        this.nome = tipo.getNome() + " " + numero;
+        this.espera = Histograma.avulso("cozinha_espera_" + tipo.name().toLowerCase() + "_" + numero);
+        this.trabalhador = new Thread(this::trabalhar, "cozinha-" + tipo.name().toLowerCase() + "-" + numero);
+        this.trabalhador.setDaemon(true);
+    }
+    
+    public TipoEstacao getTipo() {
+        return tipo;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    /**
+     * Tarefas aguardando na fila da estação (sem contar a que está em preparo)
+     */
+    public int getProfundidade() {
+        return profundidade.get();
+    }
+    
+    public boolean isOcupada() {
+        return ocupada;
+    }
+    
+    /**
+     * Espera na fila até o início do preparo, em tempo de cozinha
+     */
+    public Histograma getEspera() {
+        return espera;
+    }
+    
+    public long getConcluidas() {
+        return concluidas.sum();
+    }
+    
+    /**
+     * Tarefas que esta estação roubou de outras do mesmo tipo
+     */
+    public long getRoubadas() {
+        return roubadas.sum();
+    }
+    
+    void iniciar() {
+        trabalhador.start();
+    }
+    
+    void acordar() {
+        LockSupport.unpark(trabalhador);
+    }
+    
+    void aguardarTermino() throws InterruptedException {
+        trabalhador.join();
+    }
+    
+    void receber(TarefaCozinha tarefa) {
+        tarefa.marcarEnfileirada(System.nanoTime());
+        fila.offerLast(tarefa);
+        profundidade.incrementAndGet();
+        LockSupport.unpark(trabalhador);
+    }
+    
+    /**
+     * Retira a tarefa mais recente para outra estação (chamado pela ladra)
+     */
+    TarefaCozinha cederUltima() {
+        TarefaCozinha tarefa = fila.pollLast();
+        if (tarefa != null) {
+            profundidade.decrementAndGet();
+        }
+        return tarefa;
+    }
+    
+    TarefaCozinha retirarRestante() {
+        return fila.pollFirst();
+    }
+    
+    private void trabalhar() {
+        while (!cozinha.isEncerrada()) {
+            TarefaCozinha tarefa = fila.pollFirst();
+            if (tarefa != null) {
+                profundidade.decrementAndGet();
+            } else {
+                tarefa = cozinha.roubar(this);
+                if (tarefa != null) {
+                    roubadas.increment();
+                }
+            }
+            
+            if (tarefa == null) {
+                LockSupport.parkNanos(this, ESPERA_OCIOSA_NANOS);
+                continue;
+            }
+            
+            preparar(tarefa);
+        }
+    }
+    
+    private void preparar(TarefaCozinha tarefa) {
+        long inicio = System.nanoTime();
+        long esperaCozinha = cozinha.paraTempoCozinha(inicio - tarefa.getEnfileiradaEm());
+        espera.registrar(esperaCozinha);
+        cozinha.registrarEspera(esperaCozinha);
+        
+        ocupada = true;
+        long prazo = inicio + cozinha.paraTempoReal(tarefa.getDuracaoNanos());
+        long restante;
+        while ((restante = prazo - System.nanoTime()) > 0 && !cozinha.isEncerrada()) {
+            LockSupport.parkNanos(this, restante);
+        }
+        ocupada = false;
+        
+        if (cozinha.isEncerrada()) {
+            tarefa.getComanda().getConclusao().completeExceptionally(
+                new IllegalStateException("Cozinha encerrada durante o preparo"));
+            return;
+        }
+        
+        concluidas.increment();
+        cozinha.concluir(tarefa);
+    }
+}
@@ -0,0 +1,111 @@
+package com.lanchonete.cozinha;
+
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import java.util.List;
+
+/**
+ * Decompõe um produto nas etapas de preparo da cozinha
+ * 
+ * Lanches passam pela chapa (proteínas e queijos) e depois pela montagem;
+ * pizzas são montadas e depois vão ao forno. Os tempos são estimativas de
+ * cozinha real, escaladas pelo tamanho do produto.
+ */
+public final class PlanoPreparo {
+    private static final long SEGUNDO = 1_000_000_000L;
+    
+    // Fator de tempo por tamanho (PEQUENO, MEDIO, GRANDE), em percentual
+    private static final int[] FATOR_TAMANHO = { 100, 125, 150 };
+    
+    private PlanoPreparo() {
+    }
+    
+    /**
+     * Tempo estimado de preparo do produto (soma das etapas), em tempo de cozinha
+     */
+    public static long tempoEstimadoNanos(Produto produto) {
+        long total = 0;
+        for (TarefaCozinha tarefa : decompor(new ComandaCozinha(0, produto, 0))) {
+            total += tarefa.getDuracaoNanos();
+        }
+        return total;
+    }
+    
+    /**
+     * Tempo que o produto ocupa as estações do tipo informado, em tempo de cozinha
+     */
+    public static long tempoEstimadoNanos(Produto produto, TipoEstacao tipoEstacao) {
+        long total = 0;
+        for (TarefaCozinha tarefa : decompor(new ComandaCozinha(0, produto, 0))) {
+            if (tarefa.getTipoEstacao() == tipoEstacao) {
+                total += tarefa.getDuracaoNanos();
+            }
+        }
+        return total;
+    }
+    
+    static TarefaCozinha[] decompor(ComandaCozinha comanda) {
+        Produto produto = comanda.getProduto();
+        int fator = FATOR_TAMANHO[produto.getTamanho().ordinal()];
+        
+        int proteinas = 0;
+        int queijos = 0;
+        int demais = 0;
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            switch (ingrediente.getTipo().getCategoria()) {
+                case PROTEINA:
+                    proteinas += ingrediente.getQuantidade();
+                    break;
+                case QUEIJO:
+                    queijos += ingrediente.getQuantidade();
+                    break;
+                default:
+                    demais += ingrediente.getQuantidade();
+            }
+        }
+        
+        if (produto.getTipoProduto() == TipoProduto.PIZZA) {
+            long montagem = 45 * SEGUNDO + 8 * SEGUNDO * (proteinas + queijos + demais);
+            long forno;
+            switch (produto.getTipoMassa()) {
+                case FINA:
+                    forno = 360 * SEGUNDO;
+                    break;
+                case BORDA_RECHEADA:
+                    forno = 540 * SEGUNDO;
+                    break;
+                default:
+                    forno = 480 * SEGUNDO;
+            }
+            return new TarefaCozinha[] {
+                new TarefaCozinha(comanda, TipoEstacao.MONTAGEM, montagem * fator / 100),
+                new TarefaCozinha(comanda, TipoEstacao.FORNO, forno * fator / 100)
+            };
+        }
+        
+        long montagem = 30 * SEGUNDO + 5 * SEGUNDO * demais;
+        switch (produto.getTipoMassa()) {
+            case CIABATTA:
+            case PAO_AUSTRALIANO:
+                montagem += 20 * SEGUNDO; // pães mais grossos vão à tostadeira
+                break;
+            default:
+                break;
+        }
+        
+        if (proteinas == 0 && queijos == 0) {
+            return new TarefaCozinha[] {
+                new TarefaCozinha(comanda, TipoEstacao.MONTAGEM, montagem * fator / 100)
+            };
+        }
+        
+        long chapa = 45 * SEGUNDO + 30 * SEGUNDO * proteinas + 10 * SEGUNDO * queijos;
+        return new TarefaCozinha[] {
+            new TarefaCozinha(comanda, TipoEstacao.CHAPA, chapa * fator / 100),
+            new TarefaCozinha(comanda, TipoEstacao.MONTAGEM, montagem * fator / 100)
+        };
+    }
+}
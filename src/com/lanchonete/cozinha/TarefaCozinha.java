@@ -0,0 +1,47 @@
+package com.lanchonete.cozinha;
+
+/**
+ * Etapa de preparo de uma comanda, executada por uma estação de um tipo
+ */
+public final class TarefaCozinha {
+    private final ComandaCozinha comanda;
+    private final TipoEstacao tipoEstacao;
+    private final long duracaoNanos;
+    
+    // Instante (System.nanoTime) em que entrou na fila de uma estação
+    private volatile long enfileiradaEm;
+    
+    TarefaCozinha(ComandaCozinha comanda, TipoEstacao tipoEstacao, long duracaoNanos) {
+        this.comanda = comanda;
+        this.tipoEstacao = tipoEstacao;
+        this.duracaoNanos = duracaoNanos;
+    }
+    
+    public ComandaCozinha getComanda() {
+        return comanda;
+    }
+    
+    public TipoEstacao getTipoEstacao() {
+        return tipoEstacao;
+    }
+    
+    /**
+     * Duração estimada em tempo de cozinha (antes da escala de simulação)
+     */
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+    
+    long getEnfileiradaEm() {
+        return enfileiradaEm;
+    }
+    
+    void marcarEnfileirada(long instante) {
+        this.enfileiradaEm = instante;
+    }
+    
+    @Override
+    public String toString() {
+        return tipoEstacao.getNome() + " (comanda #" + comanda.getId() + ")";
+    }
+}
@@ -0,0 +1,25 @@
+package com.lanchonete.cozinha;
+
+/**
+ * Tipos de estação da cozinha
+ */
+public enum TipoEstacao {
+    CHAPA("Chapa"),
+    MONTAGEM("Montagem"),
+    FORNO("Forno");
+    
+    private final String nome;
+    
+    TipoEstacao(String nome) {
+        this.nome = nome;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
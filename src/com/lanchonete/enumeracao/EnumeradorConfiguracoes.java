@@ -0,0 +1,573 @@
+package com.lanchonete.enumeracao;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoPreco;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.pricing.VersaoPrecos;
+import com.lanchonete.validator.RegraValidacao;
+import com.lanchonete.validator.RegrasCombinacao;
+import com.lanchonete.validator.ValidadorCombinacoes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Enumerador de todas as configurações válidas de lanches e pizzas personalizados
+ * 
+ * Uma configuração é a quantidade (0 até o máximo por ingrediente) de cada
+ * TipoIngrediente, com no máximo o limite de quantidade total das regras.
+ * Em vez de gerar as configurações uma a uma, a contagem é feita por
+ * distribuições (unidades × subtotal de preço):
+ * 
+ * 1. Os tipos que participam de regras de combinação são percorridos em
+ *    profundidade (presente/ausente), podando o ramo assim que a máscara
+ *    viola uma regra - as regras de combinação são monótonas, então nenhum
+ *    descendente seria válido. Cada nó carrega a distribuição das
+ *    quantidades dos tipos presentes; os primeiros níveis viram tarefas de
+ *    um ForkJoinPool, com acumuladores próprios somados no join.
+ * 2. Os tipos livres (sem regra de combinação) são agregados por
+ *    programação dinâmica em (número de tipos × unidades × subtotal).
+ * 3. As duas partes são combinadas respeitando o limite de unidades, o
+ *    limite de tipos do lanche pequeno e a proteína obrigatória da pizza.
+ * 
+ * Os preços seguem a versão da TabelaPrecos vigente na criação do
+ * enumerador, com o preço base de cada produto definido nela.
+ * 
+ * Uso: java com.lanchonete.enumeracao.EnumeradorConfiguracoes [quantidade máxima] [--histograma] [--verificar]
+ * 
+ * Com --verificar, o resultado com quantidade máxima 1 é conferido contra
+ * a força bruta (todas as 2^19 máscaras passando pelo ValidadorCombinacoes)
+ * em alguns produtos, para detectar divergências após mudanças de regra.
+ */
+public class EnumeradorConfiguracoes {
+    public static final int QUANTIDADE_MAXIMA_PADRAO = IngredienteFactory.QUANTIDADE_MAXIMA;
+    
+    private static final TipoMassa[] MASSAS_LANCHE = {
+        TipoMassa.PAO_TRADICIONAL, TipoMassa.PAO_INTEGRAL, TipoMassa.PAO_AUSTRALIANO, TipoMassa.CIABATTA
+    };
+    private static final TipoMassa[] MASSAS_PIZZA = { TipoMassa.FINA, TipoMassa.GROSSA, TipoMassa.BORDA_RECHEADA };
+    
+    // Níveis da busca que viram tarefas do pool (até 2^n tarefas)
+    private static final int PROFUNDIDADE_PARALELA = 4;
+    
+    private static final int SEM_LIMITE = Integer.MAX_VALUE;
+    
+    private final int quantidadeMaxima;
+    private final int totalMaximo;
+    
+    // Regras vigentes na criação; a enumeração inteira usa o mesmo conjunto
+    private final RegrasCombinacao regras;
+    // Tabela de preços vigente na criação, pelo mesmo motivo
+    private final VersaoPrecos precos;
+    private final TipoPreco tipoPreco;
+    private final int paralelismo;
+    
+    // Tipos percorridos na busca e tipos agregados pela programação dinâmica
+    private final TipoIngrediente[] restritos;
+    private final TipoIngrediente[] livres;
+    private final long mascaraProteinas;
+    
+    // Preços dos ingredientes em passos de mdc(preços em centavos)
+    private final long passoCentavos;
+    private final int[] passosRestritos;
+    private final int[] passosLivres;
+    
+    // Dimensões das distribuições: unidades (0..totalMaximo) × passos de preço
+    private final int linhas;
+    private final int largura;
+    
+    private EnumeradorConfiguracoes(Builder builder) {
+        this.quantidadeMaxima = builder.quantidadeMaxima;
+        this.regras = ValidadorCombinacoes.getRegras();
+        this.precos = TabelaPrecos.vigente();
+        this.totalMaximo = regras.getLimiteQuantidadeTotal();
+        this.tipoPreco = builder.tipoPreco;
+        this.paralelismo = builder.paralelismo;
+        
+        long mascaraRestritos = regras.mascaraTiposRestritos();
+        List<TipoIngrediente> comRegra = new ArrayList<>();
+        List<TipoIngrediente> semRegra = new ArrayList<>();
+        long proteinas = 0L;
+        long mdc = 0;
+        int maiorPreco = 0;
+        
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            if ((mascaraRestritos & ValidadorCombinacoes.mascara(tipo)) != 0L) {
+                comRegra.add(tipo);
+            } else {
+                semRegra.add(tipo);
+            }
+            if (tipo.getCategoria() == TipoIngrediente.Categoria.PROTEINA) {
+                proteinas |= ValidadorCombinacoes.mascara(tipo);
+            }
+            mdc = mdc(mdc, precos.getPrecoIngredienteCentavos(tipo));
+        }
+        
+        this.restritos = comRegra.toArray(new TipoIngrediente[0]);
+        this.livres = semRegra.toArray(new TipoIngrediente[0]);
+        this.mascaraProteinas = proteinas;
+        this.passoCentavos = mdc;
+        this.passosRestritos = passos(precos, restritos, mdc);
+        this.passosLivres = passos(precos, livres, mdc);
+        
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            maiorPreco = Math.max(maiorPreco, (int) (precos.getPrecoIngredienteCentavos(tipo) / mdc));
+        }
+        this.linhas = totalMaximo + 1;
+        this.largura = totalMaximo * maiorPreco + 1;
+    }
+    
+    /**
+     * Conta as configurações válidas de todos os produtos, tamanhos e massas
+     */
+    public List<ResultadoEnumeracao> enumerar() {
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            long[] distribuicaoInicial = new long[linhas * largura];
+            distribuicaoInicial[0] = 1;
+            
+            ForkJoinTask<long[]> busca = pool.submit(new Busca(0, 0L, 0, distribuicaoInicial));
+            ForkJoinTask<long[]> livresTarefa = pool.submit(this::distribuicaoLivres);
+            long[] porRestritos = busca.get();
+            long[] porLivres = livresTarefa.get();
+            
+            ForkJoinTask<long[]> lanche = pool.submit(() -> combinar(porRestritos, porLivres, SEM_LIMITE, false));
+            ForkJoinTask<long[]> lanchePequeno = pool.submit(
+                () -> combinar(porRestritos, porLivres, regras.getLimiteTiposLanchePequeno(), false));
+            ForkJoinTask<long[]> pizza = pool.submit(
+                () -> combinar(porRestritos, porLivres, SEM_LIMITE, regras.isPizzaExigeProteina()));
+            
+            List<ResultadoEnumeracao> resultados = new ArrayList<>();
+            for (Tamanho tamanho : Tamanho.values()) {
+                long[] contagens = tamanho == Tamanho.PEQUENO ? lanchePequeno.get() : lanche.get();
+                for (TipoMassa massa : MASSAS_LANCHE) {
+                    resultados.add(resultado(TipoProduto.LANCHE, tamanho, massa, contagens));
+                }
+            }
+            for (Tamanho tamanho : Tamanho.values()) {
+                for (TipoMassa massa : MASSAS_PIZZA) {
+                    resultados.add(resultado(TipoProduto.PIZZA, tamanho, massa, pizza.get()));
+                }
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Enumeração interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na enumeração", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    public int getQuantidadeMaxima() {
+        return quantidadeMaxima;
+    }
+    
+    public TipoPreco getTipoPreco() {
+        return tipoPreco;
+    }
+    
+    /**
+     * Limite de unidades por configuração, vindo das regras de combinação
+     */
+    public int getTotalMaximo() {
+        return totalMaximo;
+    }
+    
+    /**
+     * Versão da tabela de preços usada na enumeração
+     */
+    public long getVersaoPrecos() {
+        return precos.getVersao();
+    }
+    
+    private ResultadoEnumeracao resultado(TipoProduto produto, Tamanho tamanho, TipoMassa massa, long[] contagens) {
+        RegraValidacao regraMassa = regras.violacaoMassa(tamanho, massa);
+        long precoBaseCentavos = precos.getPrecoBaseCentavos(produto);
+        int fatorBp = precos.getFatorBp(tipoPreco);
+        long[] totais = new long[largura];
+        for (int passo = 0; passo < largura; passo++) {
+            long subtotal = passo * passoCentavos * fatorBp;
+            totais[passo] = precos.calcularTotalCentavos(precoBaseCentavos, massa, tamanho, subtotal);
+        }
+        return new ResultadoEnumeracao(produto, tamanho, massa, regraMassa,
+            regraMassa == null ? contagens : new long[largura], totais);
+    }
+    
+    /**
+     * Nó da busca sobre os tipos restritos; abaixo de PROFUNDIDADE_PARALELA segue sequencial
+     */
+    private final class Busca extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+        
+        private final int indice;
+        private final long mascara;
+        private final int tipos;
+        private final long[] distribuicao;
+        
+        Busca(int indice, long mascara, int tipos, long[] distribuicao) {
+            this.indice = indice;
+            this.mascara = mascara;
+            this.tipos = tipos;
+            this.distribuicao = distribuicao;
+        }
+        
+        @Override
+        protected long[] compute() {
+            if (indice >= PROFUNDIDADE_PARALELA || indice == restritos.length) {
+                long[] acumulado = new long[(restritos.length + 1) * 2 * linhas * largura];
+                buscar(indice, mascara, tipos, distribuicao, acumulado);
+                return acumulado;
+            }
+            
+            Busca ausente = new Busca(indice + 1, mascara, tipos, distribuicao);
+            long comTipo = mascara | ValidadorCombinacoes.mascara(restritos[indice]);
+            long[] proxima = regras.violacaoCombinacao(comTipo) == null
+                ? adicionarTipo(distribuicao, tipos, passosRestritos[indice])
+                : null;
+            if (proxima == null) {
+                return ausente.compute();
+            }
+            
+            ausente.fork();
+            long[] acumulado = new Busca(indice + 1, comTipo, tipos + 1, proxima).compute();
+            long[] outro = ausente.join();
+            for (int i = 0; i < acumulado.length; i++) {
+                acumulado[i] += outro[i];
+            }
+            return acumulado;
+        }
+    }
+    
+    private void buscar(int indice, long mascara, int tipos, long[] distribuicao, long[] acumulado) {
+        if (indice == restritos.length) {
+            int proteina = (mascara & mascaraProteinas) != 0L ? 1 : 0;
+            int base = (tipos * 2 + proteina) * linhas * largura;
+            for (int i = tipos * largura; i < distribuicao.length; i++) {
+                acumulado[base + i] += distribuicao[i];
+            }
+            return;
+        }
+        
+        buscar(indice + 1, mascara, tipos, distribuicao, acumulado);
+        
+        // As regras de combinação são monótonas: se o tipo viola, todo o ramo é inválido
+        long comTipo = mascara | ValidadorCombinacoes.mascara(restritos[indice]);
+        if (regras.violacaoCombinacao(comTipo) != null) {
+            return;
+        }
+        long[] proxima = adicionarTipo(distribuicao, tipos, passosRestritos[indice]);
+        if (proxima != null) {
+            buscar(indice + 1, comTipo, tipos + 1, proxima, acumulado);
+        }
+    }
+    
+    /**
+     * Distribuição após incluir um tipo com 1..quantidadeMaxima unidades, ou null se nada cabe no limite
+     * 
+     * @param tipos tipos já presentes (cada um ocupa ao menos uma unidade)
+     */
+    private long[] adicionarTipo(long[] distribuicao, int tipos, int passos) {
+        if (tipos + 1 > totalMaximo) {
+            return null;
+        }
+        long[] proxima = new long[distribuicao.length];
+        for (int unidades = tipos; unidades < totalMaximo; unidades++) {
+            int limite = Math.min(quantidadeMaxima, totalMaximo - unidades);
+            int linha = unidades * largura;
+            for (int preco = 0; preco < largura; preco++) {
+                long quantidade = distribuicao[linha + preco];
+                if (quantidade == 0) {
+                    continue;
+                }
+                for (int q = 1; q <= limite; q++) {
+                    proxima[linha + q * largura + preco + q * passos] += quantidade;
+                }
+            }
+        }
+        return proxima;
+    }
+    
+    /**
+     * Configurações dos tipos livres acumuladas por (até k tipos, até u unidades, passo de preço)
+     */
+    private long[] distribuicaoLivres() {
+        int camada = linhas * largura;
+        long[] atual = new long[(livres.length + 1) * camada];
+        atual[0] = 1;
+        
+        for (int j = 0; j < livres.length; j++) {
+            long[] proxima = atual.clone();
+            for (int k = 0; k <= j; k++) {
+                for (int unidades = k; unidades < totalMaximo; unidades++) {
+                    int limite = Math.min(quantidadeMaxima, totalMaximo - unidades);
+                    int origem = k * camada + unidades * largura;
+                    int destino = origem + camada;
+                    for (int preco = 0; preco < largura; preco++) {
+                        long quantidade = atual[origem + preco];
+                        if (quantidade == 0) {
+                            continue;
+                        }
+                        for (int q = 1; q <= limite; q++) {
+                            proxima[destino + q * largura + preco + q * passosLivres[j]] += quantidade;
+                        }
+                    }
+                }
+            }
+            atual = proxima;
+        }
+        
+        // Somas acumuladas em k e em unidades
+        for (int k = 1; k <= livres.length; k++) {
+            for (int i = 0; i < camada; i++) {
+                atual[k * camada + i] += atual[(k - 1) * camada + i];
+            }
+        }
+        for (int k = 0; k <= livres.length; k++) {
+            for (int unidades = 1; unidades < linhas; unidades++) {
+                int linha = k * camada + unidades * largura;
+                for (int preco = 0; preco < largura; preco++) {
+                    atual[linha + preco] += atual[linha - largura + preco];
+                }
+            }
+        }
+        return atual;
+    }
+    
+    /**
+     * Combina restritos e livres em contagens por passo de preço
+     * 
+     * @param limiteTipos máximo de tipos distintos no produto (SEM_LIMITE para nenhum)
+     * @param exigeProteina se produtos não vazios precisam de ao menos uma proteína
+     */
+    private long[] combinar(long[] porRestritos, long[] porLivres, int limiteTipos, boolean exigeProteina) {
+        long[] contagens = new long[largura];
+        int camada = linhas * largura;
+        
+        for (int tipos = 0; tipos <= restritos.length; tipos++) {
+            for (int proteina = 0; proteina <= 1; proteina++) {
+                int maximoLivres = limiteTipos == SEM_LIMITE ? livres.length : limiteTipos - tipos;
+                if (exigeProteina && proteina == 0) {
+                    // Sem proteína só a pizza vazia é válida
+                    maximoLivres = tipos == 0 ? 0 : -1;
+                }
+                if (maximoLivres < 0) {
+                    continue;
+                }
+                maximoLivres = Math.min(maximoLivres, livres.length);
+                
+                int base = (tipos * 2 + proteina) * camada;
+                for (int unidades = tipos; unidades < linhas; unidades++) {
+                    int linhaLivres = maximoLivres * camada + (totalMaximo - unidades) * largura;
+                    for (int preco = 0; preco < largura; preco++) {
+                        long quantidade = porRestritos[base + unidades * largura + preco];
+                        if (quantidade == 0) {
+                            continue;
+                        }
+                        for (int outro = 0; preco + outro < largura; outro++) {
+                            contagens[preco + outro] += quantidade * porLivres[linhaLivres + outro];
+                        }
+                    }
+                }
+            }
+        }
+        return contagens;
+    }
+    
+    public static void main(String[] args) {
+        int quantidadeMaxima = QUANTIDADE_MAXIMA_PADRAO;
+        boolean histograma = false;
+        boolean verificar = false;
+        for (String arg : args) {
+            if (arg.equals("--histograma")) {
+                histograma = true;
+            } else if (arg.equals("--verificar")) {
+                verificar = true;
+            } else {
+                quantidadeMaxima = Integer.parseInt(arg);
+            }
+        }
+        
+        EnumeradorConfiguracoes enumerador = new Builder().comQuantidadeMaxima(quantidadeMaxima).build();
+        long inicio = System.nanoTime();
+        List<ResultadoEnumeracao> resultados = enumerador.enumerar();
+        long nanos = System.nanoTime() - inicio;
+        
+        System.out.println("=== CONFIGURAÇÕES VÁLIDAS ===");
+        System.out.printf("Até %d unidades por ingrediente, %d no total, preço %s (%d ms)%n%n",
+            quantidadeMaxima, enumerador.getTotalMaximo(), enumerador.getTipoPreco(), nanos / 1_000_000);
+        System.out.printf("%-7s %-8s %-18s %14s %10s %10s %10s %10s%n",
+            "produto", "tamanho", "massa", "configurações", "mínimo", "mediana", "máximo", "média");
+        
+        long total = 0;
+        for (ResultadoEnumeracao resultado : resultados) {
+            total += resultado.getTotal();
+            if (resultado.getRegraMassa() != null) {
+                System.out.printf("%-7s %-8s %-18s %14s   %s%n", resultado.getProduto(), resultado.getTamanho(),
+                    resultado.getMassa(), "-", resultado.getRegraMassa().getDescricao());
+                continue;
+            }
+            System.out.printf("%-7s %-8s %-18s %,14d %10s %10s %10s %10s%n", resultado.getProduto(),
+                resultado.getTamanho(), resultado.getMassa(), resultado.getTotal(),
+                reais(resultado.getPrecoMinimoCentavos()), reais(resultado.getPrecoQuantilCentavos(0.5)),
+                reais(resultado.getPrecoMaximoCentavos()), reais(Math.round(resultado.getPrecoMedioCentavos())));
+        }
+        System.out.printf("%nTotal: %,d configurações%n", total);
+        
+        if (histograma) {
+            for (ResultadoEnumeracao resultado : resultados) {
+                if (resultado.getTotal() > 0) {
+                    imprimirHistograma(resultado);
+                }
+            }
+        }
+        
+        if (verificar && !verificarForcaBruta()) {
+            System.exit(1);
+        }
+    }
+    
+    private static void imprimirHistograma(ResultadoEnumeracao resultado) {
+        SortedMap<Long, Long> faixas = resultado.faixas(1_000);
+        long maior = 0;
+        for (long quantidade : faixas.values()) {
+            maior = Math.max(maior, quantidade);
+        }
+        
+        System.out.printf("%n%s %s %s%n", resultado.getProduto(), resultado.getTamanho(), resultado.getMassa());
+        for (Map.Entry<Long, Long> faixa : faixas.entrySet()) {
+            int barra = (int) Math.max(1, faixa.getValue() * 40 / maior);
+            System.out.printf("  %10s %,14d %s%n", reais(faixa.getKey()), faixa.getValue(), "#".repeat(barra));
+        }
+    }
+    
+    /**
+     * Confere a enumeração (quantidade máxima 1) contra todas as máscaras validadas uma a uma
+     */
+    private static boolean verificarForcaBruta() {
+        EnumeradorConfiguracoes enumerador = new Builder().comQuantidadeMaxima(1).build();
+        VersaoPrecos precos = enumerador.precos;
+        List<ResultadoEnumeracao> resultados = enumerador.enumerar();
+        TipoIngrediente[] tipos = TipoIngrediente.values();
+        boolean ok = true;
+        
+        System.out.println();
+        System.out.println("=== VERIFICAÇÃO POR FORÇA BRUTA (quantidade máxima 1) ===");
+        for (ResultadoEnumeracao resultado : resultados) {
+            // Um caso por regra específica: lanche pequeno, lanche grande e pizza
+            boolean conferir = (resultado.getProduto() == TipoProduto.LANCHE 
+                    && resultado.getMassa() == TipoMassa.PAO_TRADICIONAL
+                    && resultado.getTamanho() != Tamanho.MEDIO)
+                || (resultado.getProduto() == TipoProduto.PIZZA 
+                    && resultado.getMassa() == TipoMassa.FINA
+                    && resultado.getTamanho() == Tamanho.MEDIO);
+            if (!conferir) {
+                continue;
+            }
+            
+            boolean lanche = resultado.getProduto() == TipoProduto.LANCHE;
+            long precoBase = precos.getPrecoBaseCentavos(resultado.getProduto());
+            SortedMap<Long, Long> esperado = new TreeMap<>();
+            
+            for (long mascara = 0; mascara < 1L << tipos.length; mascara++) {
+                int itens = Long.bitCount(mascara);
+                try {
+                    if (lanche) {
+                        ValidadorCombinacoes.validarLanche(resultado.getTamanho(), resultado.getMassa(), mascara, itens, itens);
+                    } else {
+                        ValidadorCombinacoes.validarPizza(resultado.getTamanho(), resultado.getMassa(), mascara, itens);
+                    }
+                } catch (IllegalStateException e) {
+                    continue;
+                }
+                
+                long subtotal = 0;
+                for (TipoIngrediente tipo : tipos) {
+                    if ((mascara & ValidadorCombinacoes.mascara(tipo)) != 0L) {
+                        subtotal += precos.getPrecoIngredienteCentavos(tipo) * precos.getFatorBp(TipoPreco.PADRAO);
+                    }
+                }
+                long preco = precos.calcularTotalCentavos(precoBase, resultado.getMassa(), resultado.getTamanho(), subtotal);
+                esperado.merge(preco, 1L, Long::sum);
+            }
+            
+            boolean igual = esperado.equals(resultado.distribuicao());
+            ok &= igual;
+            System.out.printf("%-7s %-8s %-18s %,10d %s%n", resultado.getProduto(), resultado.getTamanho(),
+                resultado.getMassa(), resultado.getTotal(), igual ? "OK" : "DIVERGENTE");
+        }
+        return ok;
+    }
+    
+    private static String reais(long centavos) {
+        return String.format("R$ %.2f", TabelaPrecos.reais(centavos));
+    }
+    
+    private static int[] passos(VersaoPrecos precos, TipoIngrediente[] tipos, long passoCentavos) {
+        int[] passos = new int[tipos.length];
+        for (int i = 0; i < tipos.length; i++) {
+            passos[i] = (int) (precos.getPrecoIngredienteCentavos(tipos[i]) / passoCentavos);
+        }
+        return passos;
+    }
+    
+    private static long mdc(long a, long b) {
+        while (b != 0) {
+            long resto = a % b;
+            a = b;
+            b = resto;
+        }
+        return a;
+    }
+    
+    /**
+     * Builder do enumerador
+     */
+    public static class Builder {
+        private int quantidadeMaxima = QUANTIDADE_MAXIMA_PADRAO;
+        private TipoPreco tipoPreco = TipoPreco.PADRAO;
+        private int paralelismo = Runtime.getRuntime().availableProcessors();
+        
+        /**
+         * Quantidade máxima de cada ingrediente (padrão: a mesma aceita pelas factories)
+         */
+        public Builder comQuantidadeMaxima(int quantidadeMaxima) {
+            this.quantidadeMaxima = quantidadeMaxima;
+            return this;
+        }
+        
+        public Builder comTipoPreco(TipoPreco tipoPreco) {
+            this.tipoPreco = tipoPreco;
+            return this;
+        }
+        
+        public Builder comParalelismo(int paralelismo) {
+            this.paralelismo = paralelismo;
+            return this;
+        }
+        
+        public EnumeradorConfiguracoes build() {
+            if (quantidadeMaxima < 1) {
+                throw new IllegalStateException("Quantidade máxima por ingrediente deve ser positiva");
+            }
+            if (tipoPreco == null) {
+                throw new IllegalStateException("Tipo de preço é obrigatório");
+            }
+            if (paralelismo < 1) {
+                throw new IllegalStateException("Paralelismo deve ser positivo");
+            }
+            return new EnumeradorConfiguracoes(this);
+        }
+    }
+}
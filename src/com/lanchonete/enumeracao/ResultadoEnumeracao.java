@@ -0,0 +1,141 @@
+package com.lanchonete.enumeracao;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.validator.RegraValidacao;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Quantidade de configurações válidas de um produto personalizado em um
+ * tamanho e massa, com a distribuição dos preços
+ * 
+ * A distribuição é indexada pelo subtotal dos ingredientes em passos de
+ * preço; cada passo tem o preço final correspondente já calculado pela
+ * TabelaPrecos.
+ */
+public final class ResultadoEnumeracao {
+    private final TipoProduto produto;
+    private final Tamanho tamanho;
+    private final TipoMassa massa;
+    private final RegraValidacao regraMassa;
+    private final long[] contagens;
+    private final long[] precosCentavos;
+    private final long total;
+    
+    ResultadoEnumeracao(TipoProduto produto, Tamanho tamanho, TipoMassa massa, RegraValidacao regraMassa,
+                        long[] contagens, long[] precosCentavos) {
+        this.produto = produto;
+        this.tamanho = tamanho;
+        this.massa = massa;
+        this.regraMassa = regraMassa;
+        this.contagens = contagens;
+        this.precosCentavos = precosCentavos;
+        
+        long soma = 0;
+        for (long contagem : contagens) {
+            soma += contagem;
+        }
+        this.total = soma;
+    }
+    
+    public TipoProduto getProduto() {
+        return produto;
+    }
+    
+    public Tamanho getTamanho() {
+        return tamanho;
+    }
+    
+    public TipoMassa getMassa() {
+        return massa;
+    }
+    
+    /**
+     * Regra que torna a massa indisponível no tamanho, ou null se disponível
+     */
+    public RegraValidacao getRegraMassa() {
+        return regraMassa;
+    }
+    
+    /**
+     * Número de configurações válidas
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    public long getPrecoMinimoCentavos() {
+        for (int i = 0; i < contagens.length; i++) {
+            if (contagens[i] != 0) {
+                return precosCentavos[i];
+            }
+        }
+        return 0;
+    }
+    
+    public long getPrecoMaximoCentavos() {
+        for (int i = contagens.length - 1; i >= 0; i--) {
+            if (contagens[i] != 0) {
+                return precosCentavos[i];
+            }
+        }
+        return 0;
+    }
+    
+    public double getPrecoMedioCentavos() {
+        if (total == 0) {
+            return 0.0;
+        }
+        double soma = 0.0;
+        for (int i = 0; i < contagens.length; i++) {
+            soma += (double) contagens[i] * precosCentavos[i];
+        }
+        return soma / total;
+    }
+    
+    /**
+     * Menor preço que cobre a fração q (0..1) das configurações
+     */
+    public long getPrecoQuantilCentavos(double q) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(q * total));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return precosCentavos[i];
+            }
+        }
+        return getPrecoMaximoCentavos();
+    }
+    
+    /**
+     * Quantidade de configurações por preço final em centavos
+     */
+    public SortedMap<Long, Long> distribuicao() {
+        return faixas(1);
+    }
+    
+    /**
+     * Quantidade de configurações por faixa de preço (chave = início da faixa em centavos)
+     */
+    public SortedMap<Long, Long> faixas(long larguraCentavos) {
+        SortedMap<Long, Long> faixas = new TreeMap<>();
+        for (int i = 0; i < contagens.length; i++) {
+            if (contagens[i] != 0) {
+                long inicio = precosCentavos[i] / larguraCentavos * larguraCentavos;
+                faixas.merge(inicio, contagens[i], Long::sum);
+            }
+        }
+        return faixas;
+    }
+    
+    @Override
+    public String toString() {
+        return produto + " " + tamanho + " " + massa + ": " + total + " configurações";
+    }
+}
@@ -0,0 +1,32 @@
+package com.lanchonete.enums;
+
+/**
+ * Enum que define a política de preço de um ingrediente
+ * O fator é expresso em pontos-base (10000 = 100% do preço de tabela)
+ */
+public enum TipoPreco {
+    PADRAO("Padrão", 10_000),
+    PREMIUM("Premium", 13_000),      // 30% mais caro
+    PROMOCIONAL("Promocional", 8_500); // 15% de desconto
+    
+    private final String nome;
+    private final int fatorBp;
+    
+    TipoPreco(String nome, int fatorBp) {
+        this.nome = nome;
+        this.fatorBp = fatorBp;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    public int getFatorBp() {
+        return fatorBp;
+    }
+    
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
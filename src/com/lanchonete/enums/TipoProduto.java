@@ -0,0 +1,24 @@
+package com.lanchonete.enums;
+
+/**
+ * Enum que define os tipos de produto vendidos
+ */
+public enum TipoProduto {
+    LANCHE("Lanche"),
+    PIZZA("Pizza");
+    
+    private final String nome;
+    
+    TipoProduto(String nome) {
+        this.nome = nome;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
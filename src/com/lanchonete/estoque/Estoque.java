@@ -0,0 +1,149 @@
+package com.lanchonete.estoque;
+
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Estoque de ingredientes sem trava global
+ * 
+ * Os saldos ficam num AtomicIntegerArray indexado pelo ordinal de
+ * TipoIngrediente. Uma reserva retira cada ingrediente do pedido com
+ * compareAndSet (nunca deixando o saldo negativo); se algum faltar, o que
+ * já foi retirado é devolvido e a reserva inteira é recusada. Enquanto a
+ * devolução não termina, outra reserva concorrente pode ver o saldo
+ * momentaneamente menor e também ser recusada - o saldo final continua
+ * sempre correto.
+ */
+public final class Estoque {
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    
+    private final AtomicIntegerArray saldos = new AtomicIntegerArray(TIPOS.length);
+    private final AtomicIntegerArray limitesBaixos = new AtomicIntegerArray(TIPOS.length);
+    private final List<OuvinteEstoque> ouvintes = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Cria o estoque com o mesmo saldo inicial e limite de aviso para todos os ingredientes
+     */
+    public Estoque(int saldoInicial, int limiteBaixo) {
+        if (saldoInicial < 0 || limiteBaixo < 0) {
+            throw new IllegalArgumentException("Saldo e limite não podem ser negativos");
+        }
+        for (int i = 0; i < TIPOS.length; i++) {
+            saldos.set(i, saldoInicial);
+            limitesBaixos.set(i, limiteBaixo);
+        }
+    }
+    
+    public int getSaldo(TipoIngrediente tipo) {
+        return saldos.get(tipo.ordinal());
+    }
+    
+    /**
+     * Consulta sem reservar (o saldo pode mudar logo em seguida)
+     */
+    public boolean disponivel(TipoIngrediente tipo, int quantidade) {
+        return saldos.get(tipo.ordinal()) >= quantidade;
+    }
+    
+    public void reabastecer(TipoIngrediente tipo, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de reabastecimento deve ser positiva");
+        }
+        saldos.addAndGet(tipo.ordinal(), quantidade);
+    }
+    
+    public void definirLimiteBaixo(TipoIngrediente tipo, int limite) {
+        limitesBaixos.set(tipo.ordinal(), limite);
+    }
+    
+    public void adicionarOuvinte(OuvinteEstoque ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+    
+    /**
+     * Reserva todos os ingredientes do produto, ou nenhum
+     * 
+     * @throws EstoqueInsuficienteException se algum ingrediente faltar
+     */
+    public Reserva reservar(Produto produto) {
+        return reservar(produto.getIngredientes());
+    }
+    
+    /**
+     * Reserva todos os ingredientes da lista, ou nenhum
+     * 
+     * @throws EstoqueInsuficienteException se algum ingrediente faltar
+     */
+    public Reserva reservar(List<Ingrediente> ingredientes) {
+        int[] quantidades = new int[TIPOS.length];
+        long presentes = 0L;
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            int indice = ingrediente.getTipo().ordinal();
+            quantidades[indice] += ingrediente.getQuantidade();
+            presentes |= 1L << indice;
+        }
+        
+        long retirados = 0L;
+        long abaixoDoLimite = 0L;
+        for (long pendentes = presentes; pendentes != 0; pendentes &= pendentes - 1) {
+            int indice = Long.numberOfTrailingZeros(pendentes);
+            int anterior = retirar(indice, quantidades[indice]);
+            if (anterior < 0) {
+                devolver(quantidades, retirados);
+                throw new EstoqueInsuficienteException(TIPOS[indice], quantidades[indice], saldos.get(indice));
+            }
+            retirados |= 1L << indice;
+            
+            int limite = limitesBaixos.get(indice);
+            if (anterior >= limite && anterior - quantidades[indice] < limite) {
+                abaixoDoLimite |= 1L << indice;
+            }
+        }
+        
+        if (abaixoDoLimite != 0) {
+            avisarEstoqueBaixo(abaixoDoLimite);
+        }
+        return new Reserva(this, quantidades, presentes);
+    }
+    
+    /**
+     * Devolve ao estoque as quantidades dos tipos marcados na máscara
+     */
+    void devolver(int[] quantidades, long tipos) {
+        for (long pendentes = tipos; pendentes != 0; pendentes &= pendentes - 1) {
+            int indice = Long.numberOfTrailingZeros(pendentes);
+            saldos.addAndGet(indice, quantidades[indice]);
+        }
+    }
+    
+    /**
+     * Retira a quantidade se houver saldo
+     * 
+     * @return saldo anterior, ou -1 se não havia o suficiente
+     */
+    private int retirar(int indice, int quantidade) {
+        while (true) {
+            int atual = saldos.get(indice);
+            if (atual < quantidade) {
+                return -1;
+            }
+            if (saldos.compareAndSet(indice, atual, atual - quantidade)) {
+                return atual;
+            }
+        }
+    }
+    
+    private void avisarEstoqueBaixo(long tipos) {
+        for (long pendentes = tipos; pendentes != 0; pendentes &= pendentes - 1) {
+            int indice = Long.numberOfTrailingZeros(pendentes);
+            for (OuvinteEstoque ouvinte : ouvintes) {
+                ouvinte.estoqueBaixo(TIPOS[indice], saldos.get(indice), limitesBaixos.get(indice));
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.lanchonete.estoque;
+
+import com.lanchonete.enums.TipoIngrediente;
+
+/**
+ * Reserva recusada por falta de um ingrediente (nada foi retirado do estoque)
+ */
+public class EstoqueInsuficienteException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+    
+    private final TipoIngrediente tipo;
+    private final int solicitado;
+    private final int disponivel;
+    
+    public EstoqueInsuficienteException(TipoIngrediente tipo, int solicitado, int disponivel) {
+        super("Estoque insuficiente de " + tipo.getNome() + " (solicitado: " + solicitado 
+              + ", disponível: " + disponivel + ")");
+        this.tipo = tipo;
+        this.solicitado = solicitado;
+        this.disponivel = disponivel;
+    }
+    
+    public TipoIngrediente getTipo() {
+        return tipo;
+    }
+    
+    public int getSolicitado() {
+        return solicitado;
+    }
+    
+    public int getDisponivel() {
+        return disponivel;
+    }
+}
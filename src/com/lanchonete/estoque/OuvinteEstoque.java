@@ -0,0 +1,18 @@
+package com.lanchonete.estoque;
+
+import com.lanchonete.enums.TipoIngrediente;
+
+/**
+ * Recebe avisos de estoque baixo
+ * 
+ * Chamado na thread que fez a reserva, depois que ela foi concluída;
+ * implementações devem ser rápidas e não lançar exceções.
+ */
+@FunctionalInterface
+public interface OuvinteEstoque {
+    
+    /**
+     * O saldo do ingrediente acabou de ficar abaixo do limite configurado
+     */
+    void estoqueBaixo(TipoIngrediente tipo, int saldo, int limite);
+}
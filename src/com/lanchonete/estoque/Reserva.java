@@ -0,0 +1,48 @@
+package com.lanchonete.estoque;
+
+import com.lanchonete.enums.TipoIngrediente;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ingredientes retirados do estoque para um pedido
+ * 
+ * Se o pedido não for confirmado, cancelar() devolve tudo ao estoque
+ * (apenas uma vez, mesmo com chamadas concorrentes).
+ */
+public final class Reserva {
+    private final Estoque estoque;
+    
+    // Quantidade reservada por ordinal de TipoIngrediente
+    private final int[] quantidades;
+    
+    // Máscara (bit = ordinal) dos tipos com quantidade reservada
+    private final long tipos;
+    private final AtomicBoolean ativa = new AtomicBoolean(true);
+    
+    Reserva(Estoque estoque, int[] quantidades, long tipos) {
+        this.estoque = estoque;
+        this.quantidades = quantidades;
+        this.tipos = tipos;
+    }
+    
+    public int getQuantidade(TipoIngrediente tipo) {
+        return quantidades[tipo.ordinal()];
+    }
+    
+    public boolean isAtiva() {
+        return ativa.get();
+    }
+    
+    /**
+     * Devolve os ingredientes ao estoque
+     * 
+     * @return false se a reserva já havia sido cancelada
+     */
+    public boolean cancelar() {
+        if (!ativa.compareAndSet(true, false)) {
+            return false;
+        }
+        estoque.devolver(quantidades, tipos);
+        return true;
+    }
+}
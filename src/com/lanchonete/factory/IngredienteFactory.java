@@ -6,14 +6,27 @@ import com.lanchonete.enums.TipoIngrediente;
 /**
  * Factory Method para criação de ingredientes
  * Implementa o padrão Factory Method como segundo padrão GoF obrigatório
+ * 
+ * As factories não têm estado, então cada tipo tem uma única instância.
+ * Como Ingrediente é imutável e o espaço de chaves é pequeno (tipo ×
+ * quantidade 1-10), cada factory concreta devolve instâncias compartilhadas
+ * (Flyweight) de uma tabela pré-alocada em vez de criar objetos novos.
  */
 public abstract class IngredienteFactory {
     
+    // Maior quantidade coberta pela tabela de flyweights (igual ao limite de validarQuantidade)
+    public static final int QUANTIDADE_MAXIMA = 10;
+    
     /**
      * Método factory abstrato - cada subclasse implementa sua estratégia
      */
     public abstract Ingrediente criarIngrediente(TipoIngrediente tipo, int quantidade);
     
+    /**
+     * Tipo desta factory (a chave usada em obterFactory)
+     */
+    public abstract TipoFactory getTipo();
+    
     /**
      * Método factory com quantidade padrão
      */
@@ -37,7 +50,7 @@ public abstract class IngredienteFactory {
         if (quantidade <= 0) {
             throw new IllegalArgumentException("Quantidade deve ser positiva");
         }
-        if (quantidade > 10) {
+        if (quantidade > QUANTIDADE_MAXIMA) {
             throw new IllegalArgumentException("Quantidade máxima de 10 unidades por ingrediente");
         }
     }
@@ -49,19 +62,45 @@ public abstract class IngredienteFactory {
     }
     
     /**
-     * Factory Method estático para obter a factory apropriada
+     * Factory Method estático para obter a factory apropriada (instância única por tipo)
      */
     public static IngredienteFactory obterFactory(TipoFactory tipoFactory) {
-        switch (tipoFactory) {
-            case PADRAO:
-                return new IngredienteFactoryPadrao();
-            case PREMIUM:
-                return new IngredienteFactoryPremium();
-            case PROMOCIONAL:
-                return new IngredienteFactoryPromocional();
-            default:
-                throw new IllegalArgumentException("Tipo de factory não reconhecido");
+        if (tipoFactory == null) {
+            throw new IllegalArgumentException("Tipo de factory não reconhecido");
         }
+        return Instancias.FACTORIES[tipoFactory.ordinal()];
+    }
+    
+    /**
+     * Posição do flyweight (tipo, quantidade) na tabela de uma factory
+     */
+    protected static int indiceFlyweight(TipoIngrediente tipo, int quantidade) {
+        return tipo.ordinal() * QUANTIDADE_MAXIMA + (quantidade - 1);
+    }
+    
+    /**
+     * Tamanho da tabela de flyweights de uma factory
+     */
+    protected static int tamanhoTabelaFlyweight() {
+        return TipoIngrediente.values().length * QUANTIDADE_MAXIMA;
+    }
+    
+    /**
+     * Indica se a quantidade é coberta pela tabela de flyweights
+     */
+    protected static boolean quantidadeNaTabela(int quantidade) {
+        return quantidade >= 1 && quantidade <= QUANTIDADE_MAXIMA;
+    }
+    
+    /**
+     * Instâncias únicas, criadas na primeira chamada de obterFactory
+     */
+    private static class Instancias {
+        private static final IngredienteFactory[] FACTORIES = {
+            new IngredienteFactoryPadrao(),
+            new IngredienteFactoryPremium(),
+            new IngredienteFactoryPromocional()
+        };
     }
     
     /**
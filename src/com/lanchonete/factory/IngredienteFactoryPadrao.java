@@ -1,5 +1,6 @@
 package com.lanchonete.factory;
 
+import com.lanchonete.metrics.MetricasLanchonete;
 import com.lanchonete.model.Ingrediente;
 import com.lanchonete.enums.TipoIngrediente;
 
@@ -9,8 +10,27 @@ import com.lanchonete.enums.TipoIngrediente;
  */
 public class IngredienteFactoryPadrao extends IngredienteFactory {
     
+    private static final Ingrediente[] FLYWEIGHTS = new Ingrediente[tamanhoTabelaFlyweight()];
+    
+    static {
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            for (int quantidade = 1; quantidade <= QUANTIDADE_MAXIMA; quantidade++) {
+                FLYWEIGHTS[indiceFlyweight(tipo, quantidade)] = new Ingrediente(tipo, quantidade);
+            }
+        }
+    }
+    
+    @Override
+    public TipoFactory getTipo() {
+        return TipoFactory.PADRAO;
+    }
+    
     @Override
     public Ingrediente criarIngrediente(TipoIngrediente tipo, int quantidade) {
+        MetricasLanchonete.ingredienteCriado(TipoFactory.PADRAO);
+        if (tipo != null && quantidadeNaTabela(quantidade)) {
+            return FLYWEIGHTS[indiceFlyweight(tipo, quantidade)];
+        }
         return new Ingrediente(tipo, quantidade);
     }
-} 
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.lanchonete.factory;
 
+import com.lanchonete.metrics.MetricasLanchonete;
 import com.lanchonete.model.Ingrediente;
 import com.lanchonete.model.IngredientePremium;
 import com.lanchonete.enums.TipoIngrediente;
@@ -10,9 +11,30 @@ import com.lanchonete.enums.TipoIngrediente;
  */
 public class IngredienteFactoryPremium extends IngredienteFactory {
     
+    private static final Ingrediente[] FLYWEIGHTS = new Ingrediente[tamanhoTabelaFlyweight()];
+    
+    static {
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            if (disponivelPremium(tipo)) {
+                for (int quantidade = 1; quantidade <= QUANTIDADE_MAXIMA; quantidade++) {
+                    FLYWEIGHTS[indiceFlyweight(tipo, quantidade)] = new IngredientePremium(tipo, quantidade);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public TipoFactory getTipo() {
+        return TipoFactory.PREMIUM;
+    }
+    
     @Override
     public Ingrediente criarIngrediente(TipoIngrediente tipo, int quantidade) {
         validarIngredientePremium(tipo);
+        MetricasLanchonete.ingredienteCriado(TipoFactory.PREMIUM);
+        if (tipo != null && quantidadeNaTabela(quantidade)) {
+            return FLYWEIGHTS[indiceFlyweight(tipo, quantidade)];
+        }
         return new IngredientePremium(tipo, quantidade);
     }
     
@@ -21,10 +43,14 @@ public class IngredienteFactoryPremium extends IngredienteFactory {
      */
     private void validarIngredientePremium(TipoIngrediente tipo) {
         // Alguns ingredientes não estão disponíveis na linha premium
-        if (tipo == TipoIngrediente.KETCHUP || tipo == TipoIngrediente.MOSTARDA) {
+        if (!disponivelPremium(tipo)) {
             throw new IllegalArgumentException(
                 "Ingrediente " + tipo.getNome() + " não disponível na linha premium"
             );
         }
     }
-} 
\ No newline at end of file
+    
+    private static boolean disponivelPremium(TipoIngrediente tipo) {
+        return tipo != TipoIngrediente.KETCHUP && tipo != TipoIngrediente.MOSTARDA;
+    }
+}
\ No newline at end of file
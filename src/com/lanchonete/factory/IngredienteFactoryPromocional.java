@@ -1,21 +1,44 @@
 package com.lanchonete.factory;
 
+import com.lanchonete.metrics.MetricasLanchonete;
 import com.lanchonete.model.Ingrediente;
 import com.lanchonete.model.IngredientePromocional;
+import com.lanchonete.pricing.TabelaPrecos;
 import com.lanchonete.enums.TipoIngrediente;
 
 /**
  * Factory concreta para ingredientes promocionais
  * Cria ingredientes com desconto aplicado
+ * 
+ * O desconto vem da tabela de preços vigente e é gravado no ingrediente
+ * na criação.
  */
 public class IngredienteFactoryPromocional extends IngredienteFactory {
     
-    private static final double DESCONTO_PROMOCIONAL = 0.15; // 15% de desconto
+    private static final int QUANTIDADE_MINIMA = 2;
+    
+    // Flyweights do desconto da tabela de preços vigente; refeitos quando ele muda
+    private static volatile Flyweights flyweights = new Flyweights(TabelaPrecos.vigente().getDescontoPromocional());
+    
+    @Override
+    public TipoFactory getTipo() {
+        return TipoFactory.PROMOCIONAL;
+    }
     
     @Override
     public Ingrediente criarIngrediente(TipoIngrediente tipo, int quantidade) {
         validarPromocao(quantidade);
-        return new IngredientePromocional(tipo, quantidade, DESCONTO_PROMOCIONAL);
+        MetricasLanchonete.ingredienteCriado(TipoFactory.PROMOCIONAL);
+        double desconto = TabelaPrecos.vigente().getDescontoPromocional();
+        if (tipo != null && quantidadeNaTabela(quantidade)) {
+            Flyweights atuais = flyweights;
+            if (atuais.desconto != desconto) {
+                atuais = new Flyweights(desconto);
+                flyweights = atuais;
+            }
+            return atuais.ingredientes[indiceFlyweight(tipo, quantidade)];
+        }
+        return new IngredientePromocional(tipo, quantidade, desconto);
     }
     
     /**
@@ -23,10 +46,28 @@ public class IngredienteFactoryPromocional extends IngredienteFactory {
      */
     private void validarPromocao(int quantidade) {
         // Promoção só válida para quantidade >= 2
-        if (quantidade < 2) {
+        if (quantidade < QUANTIDADE_MINIMA) {
             throw new IllegalArgumentException(
                 "Promoção válida apenas para quantidade mínima de 2 ingredientes"
             );
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Tabela de flyweights de um valor de desconto
+     */
+    private static final class Flyweights {
+        final double desconto;
+        final Ingrediente[] ingredientes = new Ingrediente[tamanhoTabelaFlyweight()];
+        
+        Flyweights(double desconto) {
+            this.desconto = desconto;
+            for (TipoIngrediente tipo : TipoIngrediente.values()) {
+                for (int quantidade = QUANTIDADE_MINIMA; quantidade <= QUANTIDADE_MAXIMA; quantidade++) {
+                    ingredientes[indiceFlyweight(tipo, quantidade)] = 
+                        new IngredientePromocional(tipo, quantidade, desconto);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.lanchonete.http;
+
+import com.lanchonete.store.ArmazemPedidosConcorrente;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga local da API de pedidos
+ * 
+ * Uso: java com.lanchonete.http.CargaHttp [requisições] [concorrência] [url base]
+ * 
+ * Sem URL, sobe um ServidorPedidos embutido em porta livre. Mantém até
+ * "concorrência" requisições em voo e reporta vazão e percentis de latência.
+ * A mistura é 70% cotações válidas, 20% cotações recusadas pelo validador
+ * e 10% confirmações.
+ */
+public class CargaHttp {
+    private static final String COTACAO_VALIDA = 
+        "{\"produto\":\"PIZZA\",\"tamanho\":\"GRANDE\",\"massa\":\"FINA\",\"sabor\":\"CALABRESA\","
+        + "\"factory\":\"PADRAO\",\"ingredientes\":[{\"tipo\":\"BACON\",\"quantidade\":2}]}";
+    private static final String COTACAO_RECUSADA = 
+        "{\"produto\":\"LANCHE\",\"tamanho\":\"MEDIO\",\"massa\":\"PAO_INTEGRAL\","
+        + "\"ingredientes\":[{\"tipo\":\"GORGONZOLA\"},{\"tipo\":\"CHEDDAR\"}]}";
+    private static final String CONFIRMACAO = 
+        "{\"produto\":\"LANCHE\",\"tamanho\":\"GRANDE\",\"massa\":\"PAO_AUSTRALIANO\","
+        + "\"ingredientes\":[{\"tipo\":\"CARNE_BOVINA\",\"quantidade\":2},{\"tipo\":\"CHEDDAR\"}]}";
+    
+    public static void main(String[] args) throws Exception {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int concorrencia = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        
+        ServidorPedidos servidor = null;
+        String base;
+        if (args.length > 2) {
+            base = args[2];
+        } else {
+            servidor = new ServidorPedidos(0, new ArmazemPedidosConcorrente());
+            servidor.iniciar();
+            base = "http://127.0.0.1:" + servidor.getPorta();
+        }
+        
+        ExecutorService executorCliente = ServidorPedidos.criarExecutor();
+        HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(executorCliente)
+            .build();
+        
+        HttpRequest[] requisicoes = {
+            requisicao(base + "/api/cotacoes", COTACAO_VALIDA),
+            requisicao(base + "/api/cotacoes", COTACAO_RECUSADA),
+            requisicao(base + "/api/pedidos", CONFIRMACAO)
+        };
+        
+        System.out.println("=== CARGA NA API DE PEDIDOS ===");
+        System.out.println("Alvo: " + base + " | requisições: " + total + " | concorrência: " + concorrencia + "\n");
+        
+        // Aquecimento com um décimo da carga
+        executar(cliente, requisicoes, Math.max(1, total / 10), concorrencia);
+        Resultado resultado = executar(cliente, requisicoes, total, concorrencia);
+        System.out.println(resultado);
+        
+        executorCliente.shutdownNow();
+        if (servidor != null) {
+            servidor.parar();
+        }
+    }
+    
+    private static HttpRequest requisicao(String url, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(corpo))
+            .build();
+    }
+    
+    private static Resultado executar(HttpClient cliente, HttpRequest[] requisicoes, int total, int concorrencia) 
+            throws InterruptedException {
+        Semaphore emVoo = new Semaphore(concorrencia);
+        CountDownLatch concluidas = new CountDownLatch(total);
+        long[] latencias = new long[total];
+        AtomicLong falhas = new AtomicLong();
+        AtomicLong status4xx = new AtomicLong();
+        
+        long inicio = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            int sorteio = i % 10;
+            HttpRequest requisicao = sorteio < 7 ? requisicoes[0] : sorteio < 9 ? requisicoes[1] : requisicoes[2];
+            int indice = i;
+            
+            emVoo.acquire();
+            long envio = System.nanoTime();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((resposta, erro) -> {
+                    latencias[indice] = System.nanoTime() - envio;
+                    if (erro != null || resposta.statusCode() >= 500) {
+                        falhas.incrementAndGet();
+                    } else if (resposta.statusCode() >= 400) {
+                        status4xx.incrementAndGet();
+                    }
+                    emVoo.release();
+                    concluidas.countDown();
+                });
+        }
+        concluidas.await();
+        long decorrido = System.nanoTime() - inicio;
+        
+        Arrays.sort(latencias);
+        return new Resultado(total, decorrido, latencias, falhas.get(), status4xx.get());
+    }
+    
+    private static class Resultado {
+        final int total;
+        final long nanos;
+        final long[] latencias;
+        final long falhas;
+        final long status4xx;
+        
+        Resultado(int total, long nanos, long[] latencias, long falhas, long status4xx) {
+            this.total = total;
+            this.nanos = nanos;
+            this.latencias = latencias;
+            this.falhas = falhas;
+            this.status4xx = status4xx;
+        }
+        
+        double percentilMs(double percentil) {
+            int indice = (int) Math.min(latencias.length - 1, Math.ceil(percentil / 100.0 * latencias.length) - 1);
+            return latencias[Math.max(0, indice)] / 1_000_000.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                "📊 %d requisições em %.2f s (%.0f req/s) | 4xx esperados: %d | falhas: %d%n"
+                + "   latência p50=%.2f ms  p90=%.2f ms  p99=%.2f ms  p99.9=%.2f ms  máx=%.2f ms",
+                total, nanos / 1e9, total * 1e9 / nanos, status4xx, falhas,
+                percentilMs(50), percentilMs(90), percentilMs(99), percentilMs(99.9), percentilMs(100));
+        }
+    }
+}
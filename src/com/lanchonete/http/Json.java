@@ -0,0 +1,228 @@
+package com.lanchonete.http;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor/escritor JSON mínimo para a API HTTP (sem dependências externas)
+ * 
+ * Objetos viram Map, arrays viram List, números viram Long ou Double.
+ * O aninhamento de objetos e arrays é limitado a PROFUNDIDADE_MAXIMA
+ * níveis: o leitor é recursivo e um corpo pequeno com milhares de '['
+ * esgotaria a pilha da thread.
+ */
+public final class Json {
+    public static final int PROFUNDIDADE_MAXIMA = 32;
+    
+    private final String texto;
+    private int posicao;
+    private int profundidade;
+    
+    private Json(String texto) {
+        this.texto = texto;
+    }
+    
+    /**
+     * Interpreta um documento JSON
+     * 
+     * @throws IllegalArgumentException se o documento for inválido
+     */
+    public static Object ler(String texto) {
+        Json json = new Json(texto);
+        json.pularEspacos();
+        Object valor = json.lerValor();
+        json.pularEspacos();
+        if (json.posicao != texto.length()) {
+            throw json.erro("Conteúdo após o fim do documento");
+        }
+        return valor;
+    }
+    
+    /**
+     * Anexa uma string JSON (com aspas e escapes) ao StringBuilder
+     */
+    public static StringBuilder escreverTexto(StringBuilder sb, String valor) {
+        sb.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+    
+    private Object lerValor() {
+        if (posicao >= texto.length()) {
+            throw erro("Fim inesperado do documento");
+        }
+        char c = texto.charAt(posicao);
+        switch (c) {
+            case '{':
+            case '[':
+                if (++profundidade > PROFUNDIDADE_MAXIMA) {
+                    throw erro("Aninhamento acima de " + PROFUNDIDADE_MAXIMA + " níveis");
+                }
+                Object composto = c == '{' ? lerObjeto() : lerArray();
+                profundidade--;
+                return composto;
+            case '"': return lerTexto();
+            case 't': return lerLiteral("true", Boolean.TRUE);
+            case 'f': return lerLiteral("false", Boolean.FALSE);
+            case 'n': return lerLiteral("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return lerNumero();
+                }
+                throw erro("Caractere inesperado '" + c + "'");
+        }
+    }
+    
+    private Map<String, Object> lerObjeto() {
+        Map<String, Object> objeto = new LinkedHashMap<>();
+        posicao++;
+        pularEspacos();
+        if (consumir('}')) {
+            return objeto;
+        }
+        while (true) {
+            pularEspacos();
+            if (posicao >= texto.length() || texto.charAt(posicao) != '"') {
+                throw erro("Esperado nome de campo");
+            }
+            String chave = lerTexto();
+            pularEspacos();
+            if (!consumir(':')) {
+                throw erro("Esperado ':'");
+            }
+            pularEspacos();
+            objeto.put(chave, lerValor());
+            pularEspacos();
+            if (consumir('}')) {
+                return objeto;
+            }
+            if (!consumir(',')) {
+                throw erro("Esperado ',' ou '}'");
+            }
+        }
+    }
+    
+    private List<Object> lerArray() {
+        List<Object> lista = new ArrayList<>();
+        posicao++;
+        pularEspacos();
+        if (consumir(']')) {
+            return lista;
+        }
+        while (true) {
+            pularEspacos();
+            lista.add(lerValor());
+            pularEspacos();
+            if (consumir(']')) {
+                return lista;
+            }
+            if (!consumir(',')) {
+                throw erro("Esperado ',' ou ']'");
+            }
+        }
+    }
+    
+    private String lerTexto() {
+        StringBuilder sb = new StringBuilder();
+        posicao++;
+        while (posicao < texto.length()) {
+            char c = texto.charAt(posicao++);
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (posicao >= texto.length()) {
+                break;
+            }
+            char escape = texto.charAt(posicao++);
+            switch (escape) {
+                case '"': case '\\': case '/': sb.append(escape); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (posicao + 4 > texto.length()) {
+                        throw erro("Escape unicode incompleto");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw erro("Escape unicode inválido");
+                    }
+                    posicao += 4;
+                    break;
+                default:
+                    throw erro("Escape inválido '\\" + escape + "'");
+            }
+        }
+        throw erro("Texto não terminado");
+    }
+    
+    private Object lerNumero() {
+        int inicio = posicao;
+        boolean decimal = false;
+        while (posicao < texto.length()) {
+            char c = texto.charAt(posicao);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            posicao++;
+        }
+        String numero = texto.substring(inicio, posicao);
+        try {
+            return decimal ? (Object) Double.parseDouble(numero) : (Object) Long.parseLong(numero);
+        } catch (NumberFormatException e) {
+            throw erro("Número inválido '" + numero + "'");
+        }
+    }
+    
+    private Object lerLiteral(String literal, Object valor) {
+        if (!texto.startsWith(literal, posicao)) {
+            throw erro("Literal inválido");
+        }
+        posicao += literal.length();
+        return valor;
+    }
+    
+    private boolean consumir(char esperado) {
+        if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+            posicao++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void pularEspacos() {
+        while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+            posicao++;
+        }
+    }
+    
+    private IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException("JSON inválido na posição " + posicao + ": " + mensagem);
+    }
+}
@@ -0,0 +1,574 @@
+package com.lanchonete.http;
+
+import com.lanchonete.catalogo.CatalogoCardapio;
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.estoque.Estoque;
+import com.lanchonete.estoque.EstoqueInsuficienteException;
+import com.lanchonete.estoque.Reserva;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.metrics.MetricasLanchonete;
+import com.lanchonete.metrics.RegistroMetricas;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pedido.EspecificacaoProduto;
+import com.lanchonete.pricing.RecarregadorPrecos;
+import com.lanchonete.store.ArmazemPedidos;
+import com.lanchonete.store.ArmazemPedidosConcorrente;
+import com.lanchonete.store.PedidoRegistrado;
+import com.lanchonete.validator.ProdutoInvalidoException;
+import com.lanchonete.validator.RecarregadorRegras;
+import com.lanchonete.validator.ResultadoValidacao;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API HTTP/JSON de pedidos para quiosques e integrações
+ * 
+ * Rotas:
+ * <pre>
+ *   POST /api/cotacoes    monta e valida o produto, devolve o preço
+ *   POST /api/validacoes  apenas valida o produto
+ *   POST /api/pedidos     confirma o produto no armazém de pedidos (201)
+ *   GET  /api/pedidos/{n} consulta um pedido confirmado
+ *   GET  /api/cardapio    preços dos sabores de pizza (?tamanho=&amp;massa=&amp;factory=)
+ *   GET  /metricas        métricas no formato de texto do Prometheus
+ * </pre>
+ * Corpo das requisições POST:
+ * <pre>
+ *   {"produto":"PIZZA","tamanho":"GRANDE","massa":"FINA","sabor":"CALABRESA",
+ *    "factory":"PADRAO","ingredientes":[{"tipo":"BACON","quantidade":2}]}
+ * </pre>
+ * Erros voltam como {"erro": código, "mensagem": texto}: 400 para requisição
+ * mal formada, 422 quando a factory ou o validador recusam o produto e 409
+ * quando falta estoque para confirmar o pedido. As recusas (422 e sabores
+ * recusados no cardápio) trazem também "regra" (RegraValidacao.getCodigo())
+ * e "ingrediente", null quando a recusa não envolve um ingrediente.
+ * 
+ * Cada requisição roda em uma thread virtual quando a JVM oferece
+ * (Java 21+); em JVMs anteriores usa um pool fixo de threads de plataforma.
+ */
+public class ServidorPedidos {
+    private static final int TAMANHO_MAXIMO_CORPO = 64 * 1024;
+    private static final String PREFIXO_PEDIDOS = "/api/pedidos";
+    
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final ArmazemPedidos armazem;
+    private final Estoque estoque;
+    private volatile CatalogoCardapio catalogo;
+    
+    /**
+     * Servidor sem controle de estoque
+     */
+    public ServidorPedidos(int porta, ArmazemPedidos armazem) throws IOException {
+        this(porta, armazem, null, CatalogoCardapio.emMemoria());
+    }
+    
+    /**
+     * Servidor que reserva os ingredientes no estoque antes de confirmar cada pedido
+     * e responde o cardápio a partir do catálogo pré-calculado
+     */
+    public ServidorPedidos(int porta, ArmazemPedidos armazem, Estoque estoque, CatalogoCardapio catalogo) 
+            throws IOException {
+        this.armazem = armazem;
+        this.estoque = estoque;
+        this.catalogo = catalogo;
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), 4096);
+        this.executor = criarExecutor();
+        
+        servidor.createContext("/api/cotacoes", exchange -> tratar(exchange, "POST", this::cotar));
+        servidor.createContext("/api/validacoes", exchange -> tratar(exchange, "POST", this::validar));
+        servidor.createContext(PREFIXO_PEDIDOS, exchange -> {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                tratar(exchange, "GET", this::consultar);
+            } else {
+                tratar(exchange, "POST", this::confirmar);
+            }
+        });
+        servidor.createContext("/api/cardapio", exchange -> tratar(exchange, "GET", this::cardapio));
+        servidor.createContext("/metricas", this::exportarMetricas);
+        servidor.setExecutor(executor);
+    }
+    
+    public void iniciar() {
+        servidor.start();
+    }
+    
+    public void parar() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+    
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+    
+    public ArmazemPedidos getArmazem() {
+        return armazem;
+    }
+    
+    /**
+     * Troca o catálogo (após recarga das regras ou dos preços); requisições em andamento terminam com o anterior
+     */
+    public void atualizarCatalogo(CatalogoCardapio catalogo) {
+        this.catalogo = catalogo;
+    }
+    
+    /**
+     * Thread virtual por requisição quando disponível (Java 21+)
+     */
+    static ExecutorService criarExecutor() {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) fabrica.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger contador = new AtomicInteger();
+            int threads = Math.max(32, Runtime.getRuntime().availableProcessors() * 8);
+            return Executors.newFixedThreadPool(threads, tarefa -> {
+                Thread thread = new Thread(tarefa, "http-pedidos-" + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Tratador {
+        Resposta tratar(HttpExchange exchange) throws IOException;
+    }
+    
+    private void tratar(HttpExchange exchange, String metodo, Tratador tratador) throws IOException {
+        Resposta resposta;
+        try {
+            if (!metodo.equals(exchange.getRequestMethod())) {
+                resposta = Resposta.erro(405, "metodo_nao_permitido", "Use " + metodo);
+            } else {
+                resposta = tratador.tratar(exchange);
+            }
+        } catch (RequisicaoInvalida e) {
+            resposta = Resposta.erro(400, "requisicao_invalida", e.getMessage());
+        } catch (RuntimeException e) {
+            resposta = Resposta.erro(500, "erro_interno", String.valueOf(e.getMessage()));
+        }
+        
+        byte[] corpo = resposta.corpo.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(resposta.status, corpo.length);
+        try (OutputStream saida = exchange.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+    
+    private void exportarMetricas(HttpExchange exchange) throws IOException {
+        byte[] corpo = RegistroMetricas.global().exportarPrometheus().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, corpo.length);
+        try (OutputStream saida = exchange.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+    
+    private Resposta cotar(HttpExchange exchange) throws IOException {
+        EspecificacaoProduto especificacao = lerEspecificacao(exchange);
+        Produto produto;
+        try {
+            produto = especificacao.tentarConstruir();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return recusa(e);
+        }
+        if (produto == null) {
+            return recusa(especificacao.getResultado());
+        }
+        return new Resposta(200, escreverProduto(new StringBuilder(256).append('{'), produto).append('}'));
+    }
+    
+    private Resposta validar(HttpExchange exchange) throws IOException {
+        EspecificacaoProduto especificacao = lerEspecificacao(exchange);
+        
+        // Pizza só de sabor: a validade já está no catálogo; recusas seguem
+        // pelos Builders, que informam o ingrediente e os detalhes da regra
+        if (apenasSabor(especificacao) && catalogo.motivoRecusa(especificacao.getSabor(), especificacao.getTamanho(), 
+                especificacao.getTipoMassa(), especificacao.getTipoFactory()) == null) {
+            return new Resposta(200, new StringBuilder("{\"valido\":true}"));
+        }
+        
+        long preco;
+        try {
+            preco = especificacao.tentarCotarCentavos();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return recusa(e);
+        }
+        if (preco == Produto.SEM_PRECO) {
+            return recusa(especificacao.getResultado());
+        }
+        return new Resposta(200, new StringBuilder("{\"valido\":true}"));
+    }
+    
+    private Resposta confirmar(HttpExchange exchange) throws IOException {
+        if (!PREFIXO_PEDIDOS.equals(exchange.getRequestURI().getPath())) {
+            return Resposta.erro(404, "nao_encontrado", "Rota inexistente");
+        }
+        
+        EspecificacaoProduto especificacao = lerEspecificacao(exchange);
+        Produto produto;
+        try {
+            produto = especificacao.tentarConstruir();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return recusa(e);
+        }
+        if (produto == null) {
+            return recusa(especificacao.getResultado());
+        }
+        
+        Reserva reserva = null;
+        if (estoque != null) {
+            try {
+                reserva = estoque.reservar(produto);
+            } catch (EstoqueInsuficienteException e) {
+                return Resposta.erro(409, "estoque_insuficiente", e.getMessage());
+            }
+        }
+        
+        PedidoRegistrado pedido;
+        try {
+            pedido = armazem.registrar(produto);
+        } catch (RuntimeException | Error e) {
+            // Pedido não registrado: os ingredientes voltam ao estoque
+            if (reserva != null) {
+                reserva.cancelar();
+            }
+            throw e;
+        }
+        MetricasLanchonete.pedidoConfirmado();
+        return new Resposta(201, escreverPedido(new StringBuilder(256), pedido));
+    }
+    
+    /**
+     * Cardápio de pizzas por tamanho, massa e factory, direto do catálogo
+     */
+    private Resposta cardapio(HttpExchange exchange) {
+        String consulta = exchange.getRequestURI().getQuery();
+        Tamanho tamanho;
+        TipoMassa massa;
+        IngredienteFactory.TipoFactory factory;
+        try {
+            tamanho = EspecificacaoProduto.converter(Tamanho.class, parametro(consulta, "tamanho", "MEDIO"), "Tamanho");
+            massa = EspecificacaoProduto.converter(TipoMassa.class, parametro(consulta, "massa", "FINA"), "Massa");
+            factory = EspecificacaoProduto.converter(
+                IngredienteFactory.TipoFactory.class, parametro(consulta, "factory", "PADRAO"), "Factory");
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalida(e.getMessage());
+        }
+        if (!CatalogoCardapio.isMassaPizza(massa)) {
+            throw new RequisicaoInvalida(massa.getNome() + " não é massa de pizza");
+        }
+        
+        CatalogoCardapio catalogo = this.catalogo;
+        StringBuilder sb = new StringBuilder(1024)
+            .append("{\"tamanho\":\"").append(tamanho.name())
+            .append("\",\"massa\":\"").append(massa.name())
+            .append("\",\"factory\":\"").append(factory.name())
+            .append("\",\"sabores\":[");
+        SaborPizza[] sabores = SaborPizza.values();
+        for (int i = 0; i < sabores.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"sabor\":\"").append(sabores[i].name()).append("\",\"nome\":");
+            Json.escreverTexto(sb, sabores[i].getNome());
+            long centavos = catalogo.precoCentavos(sabores[i], tamanho, massa, factory);
+            long resultado = ResultadoValidacao.VALIDO;
+            if (centavos == CatalogoCardapio.SEM_PRECO) {
+                // O catálogo guarda só a regra: os Builders refazem a validação para detalhar a recusa
+                EspecificacaoProduto especificacao = new EspecificacaoProduto()
+                    .comTipoProduto(TipoProduto.PIZZA).comSabor(sabores[i])
+                    .comTamanho(tamanho).comTipoMassa(massa).comTipoFactory(factory);
+                centavos = especificacao.tentarCotarCentavos();
+                resultado = especificacao.getResultado();
+            }
+            if (resultado == ResultadoValidacao.VALIDO) {
+                sb.append(",\"valido\":true,\"totalCentavos\":").append(centavos).append('}');
+            } else {
+                escreverRecusa(sb.append(",\"valido\":false,"), resultado).append('}');
+            }
+        }
+        return new Resposta(200, sb.append("]}"));
+    }
+    
+    private Resposta consultar(HttpExchange exchange) {
+        String caminho = exchange.getRequestURI().getPath();
+        if (!caminho.startsWith(PREFIXO_PEDIDOS + "/")) {
+            return Resposta.erro(404, "nao_encontrado", "Rota inexistente");
+        }
+        if (caminho.length() == PREFIXO_PEDIDOS.length() + 1) {
+            return Resposta.erro(404, "nao_encontrado", "Informe o número do pedido");
+        }
+        
+        long id;
+        try {
+            id = Long.parseLong(caminho.substring(PREFIXO_PEDIDOS.length() + 1));
+        } catch (NumberFormatException e) {
+            throw new RequisicaoInvalida("Número de pedido inválido");
+        }
+        
+        PedidoRegistrado pedido = armazem.buscar(id);
+        if (pedido == null) {
+            return Resposta.erro(404, "pedido_nao_encontrado", "Pedido #" + id + " não existe");
+        }
+        return new Resposta(200, escreverPedido(new StringBuilder(256), pedido));
+    }
+    
+    /**
+     * Mapeia as exceções de negócio para 422 com código estável
+     */
+    private static Resposta recusa(RuntimeException e) {
+        if (e instanceof ProdutoInvalidoException) {
+            return recusa(((ProdutoInvalidoException) e).getResultado());
+        }
+        // Ingrediente recusado pela factory: não há regra de validação envolvida
+        String codigo = e instanceof IllegalStateException ? "configuracao_invalida" : "ingrediente_recusado";
+        StringBuilder corpo = new StringBuilder(128).append("{\"valido\":false,\"erro\":\"").append(codigo)
+            .append("\",\"regra\":null,\"ingrediente\":null,\"mensagem\":");
+        Json.escreverTexto(corpo, String.valueOf(e.getMessage()));
+        return new Resposta(422, corpo.append('}'));
+    }
+    
+    /**
+     * Recusa do validador vinda do caminho sem exceção (mensagem montada só aqui)
+     */
+    private static Resposta recusa(long resultado) {
+        StringBuilder corpo = new StringBuilder(128).append("{\"valido\":false,\"erro\":\"configuracao_invalida\",");
+        return new Resposta(422, escreverRecusa(corpo, resultado).append('}'));
+    }
+    
+    /**
+     * Campos comuns de uma recusa: regra, ingrediente envolvido (ou null) e mensagem
+     */
+    private static StringBuilder escreverRecusa(StringBuilder sb, long resultado) {
+        TipoIngrediente ingrediente = ResultadoValidacao.ingrediente(resultado);
+        sb.append("\"regra\":\"").append(ResultadoValidacao.regra(resultado).getCodigo())
+          .append("\",\"ingrediente\":");
+        if (ingrediente == null) {
+            sb.append("null");
+        } else {
+            sb.append('"').append(ingrediente.name()).append('"');
+        }
+        sb.append(",\"mensagem\":");
+        return Json.escreverTexto(sb, ResultadoValidacao.mensagem(resultado));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static EspecificacaoProduto lerEspecificacao(HttpExchange exchange) throws IOException {
+        Object documento;
+        try {
+            documento = Json.ler(lerCorpo(exchange));
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalida(e.getMessage());
+        }
+        if (!(documento instanceof Map)) {
+            throw new RequisicaoInvalida("Corpo deve ser um objeto JSON");
+        }
+        
+        Map<String, Object> campos = (Map<String, Object>) documento;
+        try {
+            EspecificacaoProduto especificacao = new EspecificacaoProduto()
+                .comTipoProduto(EspecificacaoProduto.converter(TipoProduto.class, texto(campos, "produto"), "Produto"));
+            
+            if (campos.get("tamanho") != null) {
+                especificacao.comTamanho(EspecificacaoProduto.converter(Tamanho.class, texto(campos, "tamanho"), "Tamanho"));
+            }
+            if (campos.get("massa") != null) {
+                TipoMassa massa = EspecificacaoProduto.converter(TipoMassa.class, texto(campos, "massa"), "Massa");
+                EspecificacaoProduto.verificarMassa(especificacao.getTipoProduto(), massa);
+                especificacao.comTipoMassa(massa);
+            }
+            if (campos.get("sabor") != null) {
+                especificacao.comSabor(EspecificacaoProduto.converter(SaborPizza.class, texto(campos, "sabor"), "Sabor"));
+            }
+            if (campos.get("factory") != null) {
+                especificacao.comTipoFactory(EspecificacaoProduto.converter(
+                    IngredienteFactory.TipoFactory.class, texto(campos, "factory"), "Factory"));
+            }
+            
+            Object ingredientes = campos.get("ingredientes");
+            if (ingredientes != null) {
+                if (!(ingredientes instanceof List)) {
+                    throw new RequisicaoInvalida("'ingredientes' deve ser uma lista");
+                }
+                for (Object item : (List<Object>) ingredientes) {
+                    if (!(item instanceof Map)) {
+                        throw new RequisicaoInvalida("Cada ingrediente deve ser um objeto");
+                    }
+                    Map<String, Object> ingrediente = (Map<String, Object>) item;
+                    Object quantidade = ingrediente.getOrDefault("quantidade", 1L);
+                    if (!(quantidade instanceof Long)) {
+                        throw new RequisicaoInvalida("'quantidade' deve ser um número inteiro");
+                    }
+                    especificacao.adicionarIngrediente(
+                        EspecificacaoProduto.converter(TipoIngrediente.class, texto(ingrediente, "tipo"), "Ingrediente"),
+                        (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, (Long) quantidade)));
+                }
+            }
+            return especificacao;
+        } catch (RequisicaoInvalida e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalida(e.getMessage());
+        }
+    }
+    
+    /**
+     * Pizza de sabor, sem extras, com tamanho e massa de pizza informados
+     */
+    private static boolean apenasSabor(EspecificacaoProduto especificacao) {
+        return especificacao.getTipoProduto() == TipoProduto.PIZZA 
+            && especificacao.getSabor() != null 
+            && especificacao.getTotalIngredientes() == 0 
+            && especificacao.getTamanho() != null 
+            && especificacao.getTipoMassa() != null 
+            && CatalogoCardapio.isMassaPizza(especificacao.getTipoMassa());
+    }
+    
+    private static String parametro(String consulta, String nome, String padrao) {
+        if (consulta == null) {
+            return padrao;
+        }
+        for (String par : consulta.split("&")) {
+            int separador = par.indexOf('=');
+            if (separador > 0 && par.substring(0, separador).equals(nome)) {
+                return par.substring(separador + 1);
+            }
+        }
+        return padrao;
+    }
+    
+    private static String texto(Map<String, Object> campos, String nome) {
+        Object valor = campos.get(nome);
+        if (valor != null && !(valor instanceof String)) {
+            throw new RequisicaoInvalida("'" + nome + "' deve ser texto");
+        }
+        return (String) valor;
+    }
+    
+    private static String lerCorpo(HttpExchange exchange) throws IOException {
+        try (InputStream entrada = exchange.getRequestBody()) {
+            byte[] corpo = entrada.readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+            if (corpo.length > TAMANHO_MAXIMO_CORPO) {
+                throw new RequisicaoInvalida("Corpo excede " + TAMANHO_MAXIMO_CORPO + " bytes");
+            }
+            return new String(corpo, StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static StringBuilder escreverPedido(StringBuilder sb, PedidoRegistrado pedido) {
+        sb.append("{\"id\":").append(pedido.getId())
+          .append(",\"instante\":").append(pedido.getInstante()).append(',');
+        return escreverProduto(sb, pedido.getProduto()).append('}');
+    }
+    
+    private static StringBuilder escreverProduto(StringBuilder sb, Produto produto) {
+        long centavos = produto.calcularPrecoTotalCentavos();
+        sb.append("\"produto\":\"").append(produto.getTipoProduto().name())
+          .append("\",\"tamanho\":\"").append(produto.getTamanho().name())
+          .append("\",\"massa\":\"").append(produto.getTipoMassa().name())
+          .append("\",\"totalCentavos\":").append(centavos)
+          .append(",\"versaoPrecos\":").append(produto.getVersaoPrecos())
+          .append(",\"ingredientes\":[");
+        
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"tipo\":\"").append(ingrediente.getTipo().name())
+              .append("\",\"quantidade\":").append(ingrediente.getQuantidade())
+              .append(",\"tipoPreco\":\"").append(ingrediente.getTipoPreco().name()).append("\"}");
+        }
+        return sb.append(']');
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Estoque estoque = new Estoque(
+            Integer.getInteger("lanchonete.estoque.inicial", 10_000),
+            Integer.getInteger("lanchonete.estoque.minimo", 100));
+        estoque.adicionarOuvinte((tipo, saldo, limite) -> 
+            System.out.println("⚠️ Estoque baixo: restam " + saldo + " porções de " + tipo.getNome()));
+        
+        // Regras de combinação (-Dlanchonete.regras) e preços (-Dlanchonete.precos)
+        // antes do catálogo, que depende dos dois
+        String arquivoRegras = System.getProperty("lanchonete.regras");
+        RecarregadorRegras recarregadorRegras = arquivoRegras != null
+            ? RecarregadorRegras.iniciar(Paths.get(arquivoRegras), System.err)
+            : null;
+        String arquivoPrecos = System.getProperty("lanchonete.precos");
+        RecarregadorPrecos recarregadorPrecos = arquivoPrecos != null
+            ? RecarregadorPrecos.iniciar(Paths.get(arquivoPrecos), System.err)
+            : null;
+        
+        Path arquivoCatalogo = Paths.get(System.getProperty("lanchonete.catalogo", "catalogo-cardapio.bin"));
+        CatalogoCardapio catalogo = CatalogoCardapio.carregar(arquivoCatalogo);
+        
+        ServidorPedidos servidor = new ServidorPedidos(porta, new ArmazemPedidosConcorrente(), estoque, catalogo);
+        Runnable recarregarCatalogo = () -> {
+            try {
+                servidor.atualizarCatalogo(CatalogoCardapio.carregar(arquivoCatalogo));
+            } catch (IOException e) {
+                servidor.atualizarCatalogo(CatalogoCardapio.emMemoria());
+            }
+        };
+        if (recarregadorRegras != null) {
+            recarregadorRegras.adicionarOuvinte(regras -> recarregarCatalogo.run());
+        }
+        if (recarregadorPrecos != null) {
+            recarregadorPrecos.adicionarOuvinte(precos -> recarregarCatalogo.run());
+        }
+        servidor.iniciar();
+        System.out.println("🌐 API de pedidos ouvindo na porta " + servidor.getPorta());
+    }
+    
+    /**
+     * Requisição mal formada (vira 400)
+     */
+    private static class RequisicaoInvalida extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+        
+        RequisicaoInvalida(String mensagem) {
+            super(mensagem);
+        }
+    }
+    
+    private static class Resposta {
+        final int status;
+        final StringBuilder corpo;
+        
+        Resposta(int status, StringBuilder corpo) {
+            this.status = status;
+            this.corpo = corpo;
+        }
+        
+        static Resposta erro(int status, String codigo, String mensagem) {
+            StringBuilder corpo = new StringBuilder(128).append("{\"erro\":\"").append(codigo).append("\",\"mensagem\":");
+            Json.escreverTexto(corpo, mensagem == null ? "" : mensagem).append('}');
+            return new Resposta(status, corpo);
+        }
+    }
+}
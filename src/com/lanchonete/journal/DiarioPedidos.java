@@ -0,0 +1,449 @@
+package com.lanchonete.journal;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoPreco;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.IngredientePremium;
+import com.lanchonete.model.IngredientePromocional;
+import com.lanchonete.model.Lanche;
+import com.lanchonete.model.Pizza;
+import com.lanchonete.model.Produto;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (journal) de pedidos confirmados, somente-anexação, em arquivos mapeados em memória
+ * 
+ * Cada produto vira um registro de tamanho fixo ({@value #TAMANHO_REGISTRO} bytes):
+ * <pre>
+ *   0  int   marcador (escrito por último)      4  int   CRC32 dos bytes 8..127
+ *   8  long  sequência                          16 long  timestamp (ms)
+ *   24 byte  tipo de produto                    25 byte  tamanho
+ *   26 byte  massa/pão                          27 byte  número de ingredientes
+ *   28 int   preço base (centavos)              32 int   total (centavos)
+ *   36 19 × (byte tipo|tipoPreco&lt;&lt;5, byte quantidade, short fator em pontos-base)
+ *   112 long versão da tabela de preços (0 em registros anteriores a ela)
+ *   120 int  desconto do carrinho (centavos; 0 em registros anteriores a ele)
+ * </pre>
+ * A recuperação recria cada produto com o total e a versão gravados, sem
+ * revalidar nem recalcular, e devolve o desconto gravado: o histórico
+ * continua como foi cobrado mesmo depois de trocas de regras ou de preços.
+ * A anexação é apenas uma escrita na memória mapeada; uma thread de fundo
+ * faz o fsync em grupo a cada {@value #INTERVALO_SINCRONIZACAO_MS} ms. Os
+ * segmentos são rotacionados por tamanho e nomeados pela primeira sequência.
+ * Na abertura o diário é varrido até o primeiro registro incompleto
+ * (marcador ausente ou CRC divergente), que passa a ser o ponto de escrita.
+ */
+public class DiarioPedidos implements AutoCloseable {
+    public static final int TAMANHO_REGISTRO = 128;
+    public static final long TAMANHO_SEGMENTO_PADRAO = 64L * 1024 * 1024; // 524288 registros
+    
+    private static final int MARCADOR = 0x4C414E43; // "LANC"
+    private static final int MAX_INGREDIENTES = TipoIngrediente.values().length;
+    private static final int OFFSET_VERSAO_PRECOS = 36 + 4 * MAX_INGREDIENTES;
+    private static final int OFFSET_DESCONTO = OFFSET_VERSAO_PRECOS + 8;
+    private static final long INTERVALO_SINCRONIZACAO_MS = 10;
+    private static final String PREFIXO_SEGMENTO = "diario-";
+    private static final String SUFIXO_SEGMENTO = ".seg";
+    
+    private static final TipoProduto[] TIPOS_PRODUTO = TipoProduto.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final TipoMassa[] MASSAS = TipoMassa.values();
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    private static final TipoPreco[] TIPOS_PRECO = TipoPreco.values();
+    
+    private final Path diretorio;
+    private final long tamanhoSegmento;
+    private final CRC32 crc = new CRC32();
+    private final Object travaDurabilidade = new Object();
+    private final Thread sincronizador;
+    
+    // Estado de escrita, protegido por "this"
+    private RandomAccessFile arquivo;
+    private MappedByteBuffer segmento;
+    private int posicao;
+    private long proximaSequencia;
+    private boolean fechado;
+    
+    private volatile long ultimaSequenciaGravada = -1;
+    private volatile long ultimaSequenciaDuravel = -1;
+    
+    private DiarioPedidos(Path diretorio, long tamanhoSegmento) {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.sincronizador = new Thread(this::sincronizarPeriodicamente, "diario-sincronizador");
+        this.sincronizador.setDaemon(true);
+    }
+    
+    /**
+     * Abre (ou cria) o diário no diretório informado com segmentos do tamanho padrão
+     */
+    public static DiarioPedidos abrir(Path diretorio) throws IOException {
+        return abrir(diretorio, TAMANHO_SEGMENTO_PADRAO);
+    }
+    
+    /**
+     * Abre (ou cria) o diário no diretório informado
+     */
+    public static DiarioPedidos abrir(Path diretorio, long tamanhoSegmento) throws IOException {
+        if (tamanhoSegmento < TAMANHO_REGISTRO || tamanhoSegmento % TAMANHO_REGISTRO != 0 
+                || tamanhoSegmento > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Tamanho de segmento deve ser múltiplo de " + TAMANHO_REGISTRO + " bytes e menor que 2 GiB");
+        }
+        
+        Files.createDirectories(diretorio);
+        DiarioPedidos diario = new DiarioPedidos(diretorio, tamanhoSegmento);
+        diario.posicionarEscrita();
+        diario.sincronizador.start();
+        return diario;
+    }
+    
+    /**
+     * Consumidor dos registros recuperados na varredura
+     */
+    @FunctionalInterface
+    public interface ConsumidorRegistro {
+        void aceitar(long sequencia, long timestamp, Produto produto, long descontoCentavos);
+    }
+    
+    /**
+     * Varre todo o diário em ordem de sequência e reconstrói os produtos
+     * 
+     * @return número de registros recuperados
+     */
+    public long recuperar(ConsumidorRegistro consumidor) throws IOException {
+        long recuperados = 0;
+        
+        for (Path caminho : listarSegmentos()) {
+            try (RandomAccessFile leitura = new RandomAccessFile(caminho.toFile(), "r")) {
+                MappedByteBuffer buffer = leitura.getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, 0, leitura.length());
+                CRC32 crcLeitura = new CRC32();
+                
+                for (int offset = 0; offset + TAMANHO_REGISTRO <= buffer.capacity(); offset += TAMANHO_REGISTRO) {
+                    if (!registroValido(buffer, offset, crcLeitura)) {
+                        break;
+                    }
+                    
+                    long sequencia = buffer.getLong(offset + 8);
+                    if (sequencia > ultimaSequenciaGravada) {
+                        break; // Resto de um segmento antigo além do ponto de escrita
+                    }
+                    
+                    Produto produto;
+                    try {
+                        produto = decodificar(buffer, offset);
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        System.err.println("⚠️ Registro " + sequencia + " do diário ignorado: " + e.getMessage());
+                        continue;
+                    }
+                    consumidor.aceitar(sequencia, buffer.getLong(offset + 16), produto, buffer.getInt(offset + OFFSET_DESCONTO));
+                    recuperados++;
+                }
+            }
+        }
+        
+        return recuperados;
+    }
+    
+    /**
+     * Anexa um produto confirmado ao diário, sem desconto (não espera o fsync)
+     * 
+     * @return sequência atribuída ao registro
+     */
+    public long anexar(Produto produto) throws IOException {
+        return anexar(produto, 0);
+    }
+    
+    /**
+     * Anexa um produto confirmado com o desconto que recebeu no carrinho (não espera o fsync)
+     * 
+     * @return sequência atribuída ao registro
+     */
+    public synchronized long anexar(Produto produto, long descontoCentavos) throws IOException {
+        if (fechado) {
+            throw new IllegalStateException("Diário fechado");
+        }
+        
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        if (ingredientes.size() > MAX_INGREDIENTES) {
+            throw new IllegalArgumentException("Produto com ingredientes demais para o diário");
+        }
+        
+        if (posicao + TAMANHO_REGISTRO > tamanhoSegmento) {
+            rotacionar();
+        }
+        
+        long sequencia = proximaSequencia;
+        MappedByteBuffer buffer = segmento;
+        int offset = posicao;
+        
+        buffer.putLong(offset + 8, sequencia);
+        buffer.putLong(offset + 16, System.currentTimeMillis());
+        buffer.put(offset + 24, (byte) produto.getTipoProduto().ordinal());
+        buffer.put(offset + 25, (byte) produto.getTamanho().ordinal());
+        buffer.put(offset + 26, (byte) produto.getTipoMassa().ordinal());
+        buffer.put(offset + 27, (byte) ingredientes.size());
+        buffer.putInt(offset + 28, (int) Math.round(produto.getPrecoBase() * 100.0));
+        buffer.putInt(offset + 32, (int) produto.calcularPrecoTotalCentavos());
+        
+        int entrada = offset + 36;
+        for (int i = 0; i < MAX_INGREDIENTES; i++, entrada += 4) {
+            if (i < ingredientes.size()) {
+                Ingrediente ingrediente = ingredientes.get(i);
+                buffer.put(entrada, (byte) (ingrediente.getTipo().ordinal() | ingrediente.getTipoPreco().ordinal() << 5));
+                buffer.put(entrada + 1, (byte) ingrediente.getQuantidade());
+                buffer.putShort(entrada + 2, (short) ingrediente.getFatorPrecoBp());
+            } else {
+                buffer.putInt(entrada, 0);
+            }
+        }
+        buffer.putLong(offset + OFFSET_VERSAO_PRECOS, produto.getVersaoPrecos());
+        buffer.putInt(offset + OFFSET_DESCONTO, (int) descontoCentavos);
+        for (int i = offset + OFFSET_DESCONTO + 4; i < offset + TAMANHO_REGISTRO; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        
+        buffer.putInt(offset + 4, calcularCrc(buffer, offset, crc));
+        buffer.putInt(offset, MARCADOR); // Por último: o registro só "existe" quando completo
+        
+        posicao += TAMANHO_REGISTRO;
+        proximaSequencia++;
+        ultimaSequenciaGravada = sequencia;
+        return sequencia;
+    }
+    
+    /**
+     * Bloqueia até que o registro informado tenha sido sincronizado em disco
+     */
+    public void aguardarDurabilidade(long sequencia) throws InterruptedException {
+        synchronized (travaDurabilidade) {
+            while (ultimaSequenciaDuravel < sequencia) {
+                if (fechadoSemSincronizar(sequencia)) {
+                    throw new IllegalStateException("Diário fechado antes da sincronização");
+                }
+                travaDurabilidade.notifyAll();
+                travaDurabilidade.wait(INTERVALO_SINCRONIZACAO_MS);
+            }
+        }
+    }
+    
+    public long getUltimaSequenciaGravada() {
+        return ultimaSequenciaGravada;
+    }
+    
+    public long getUltimaSequenciaDuravel() {
+        return ultimaSequenciaDuravel;
+    }
+    
+    /**
+     * Sincroniza o que estiver pendente e encerra a thread de sincronização
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        }
+        sincronizador.interrupt();
+        try {
+            sincronizador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sincronizar();
+        synchronized (this) {
+            arquivo.close();
+        }
+    }
+    
+    private synchronized boolean fechadoSemSincronizar(long sequencia) {
+        return fechado && !sincronizador.isAlive() && ultimaSequenciaDuravel < sequencia;
+    }
+    
+    private void sincronizarPeriodicamente() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                synchronized (travaDurabilidade) {
+                    travaDurabilidade.wait(INTERVALO_SINCRONIZACAO_MS);
+                }
+                sincronizar();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Commit em grupo: um único force() cobre todos os registros anexados desde o anterior
+     */
+    private void sincronizar() {
+        MappedByteBuffer alvo;
+        long sequencia;
+        synchronized (this) {
+            sequencia = ultimaSequenciaGravada;
+            alvo = segmento;
+        }
+        if (sequencia <= ultimaSequenciaDuravel) {
+            return;
+        }
+        
+        alvo.force();
+        
+        synchronized (travaDurabilidade) {
+            ultimaSequenciaDuravel = sequencia;
+            travaDurabilidade.notifyAll();
+        }
+    }
+    
+    private void rotacionar() throws IOException {
+        // Registros do segmento anterior precisam estar em disco antes de abandoná-lo
+        segmento.force();
+        arquivo.close();
+        abrirSegmento(caminhoSegmento(proximaSequencia));
+        posicao = 0;
+    }
+    
+    private void posicionarEscrita() throws IOException {
+        List<Path> segmentos = listarSegmentos();
+        
+        if (segmentos.isEmpty()) {
+            proximaSequencia = 0;
+            abrirSegmento(caminhoSegmento(0));
+            posicao = 0;
+            return;
+        }
+        
+        Path ultimo = segmentos.get(segmentos.size() - 1);
+        abrirSegmento(ultimo);
+        
+        long sequencia = primeiraSequencia(ultimo);
+        int offset = 0;
+        while (offset + TAMANHO_REGISTRO <= segmento.capacity() 
+                && registroValido(segmento, offset, crc) 
+                && segmento.getLong(offset + 8) == sequencia) {
+            offset += TAMANHO_REGISTRO;
+            sequencia++;
+        }
+        
+        // Invalida um eventual registro incompleto deixado por uma queda
+        if (offset + TAMANHO_REGISTRO <= segmento.capacity()) {
+            segmento.putInt(offset, 0);
+        }
+        
+        posicao = offset;
+        proximaSequencia = sequencia;
+        ultimaSequenciaGravada = sequencia - 1;
+        ultimaSequenciaDuravel = sequencia - 1;
+    }
+    
+    private void abrirSegmento(Path caminho) throws IOException {
+        arquivo = new RandomAccessFile(caminho.toFile(), "rw");
+        if (arquivo.length() < tamanhoSegmento) {
+            arquivo.setLength(tamanhoSegmento);
+        }
+        segmento = arquivo.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, arquivo.length());
+    }
+    
+    private List<Path> listarSegmentos() throws IOException {
+        List<Path> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(diretorio, PREFIXO_SEGMENTO + "*" + SUFIXO_SEGMENTO)) {
+            for (Path caminho : stream) {
+                segmentos.add(caminho);
+            }
+        }
+        // Nomes têm a sequência com zeros à esquerda, então a ordem lexicográfica é a cronológica
+        Collections.sort(segmentos);
+        return segmentos;
+    }
+    
+    private Path caminhoSegmento(long primeiraSequencia) {
+        return diretorio.resolve(String.format("%s%016d%s", PREFIXO_SEGMENTO, primeiraSequencia, SUFIXO_SEGMENTO));
+    }
+    
+    private static long primeiraSequencia(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - SUFIXO_SEGMENTO.length()));
+    }
+    
+    private static boolean registroValido(MappedByteBuffer buffer, int offset, CRC32 crc) {
+        return buffer.getInt(offset) == MARCADOR 
+            && buffer.getInt(offset + 4) == calcularCrc(buffer, offset, crc);
+    }
+    
+    private static int calcularCrc(MappedByteBuffer buffer, int offset, CRC32 crc) {
+        int posicaoOriginal = buffer.position();
+        int limiteOriginal = buffer.limit();
+        
+        crc.reset();
+        buffer.limit(offset + TAMANHO_REGISTRO).position(offset + 8);
+        crc.update(buffer);
+        buffer.limit(limiteOriginal).position(posicaoOriginal);
+        
+        return (int) crc.getValue();
+    }
+    
+    private static Produto decodificar(MappedByteBuffer buffer, int offset) {
+        TipoProduto tipoProduto = TIPOS_PRODUTO[buffer.get(offset + 24)];
+        Tamanho tamanho = TAMANHOS[buffer.get(offset + 25)];
+        TipoMassa massa = MASSAS[buffer.get(offset + 26)];
+        int numeroIngredientes = buffer.get(offset + 27);
+        double precoBase = buffer.getInt(offset + 28) / 100.0;
+        
+        Lanche.Builder lanche = null;
+        Pizza.Builder pizza = null;
+        if (tipoProduto == TipoProduto.LANCHE) {
+            lanche = new Lanche.Builder().comTamanho(tamanho).comTipoPao(massa).comPrecoBase(precoBase);
+        } else {
+            pizza = new Pizza.Builder().comTamanho(tamanho).comTipoMassa(massa).comPrecoBase(precoBase);
+        }
+        
+        int entrada = offset + 36;
+        for (int i = 0; i < numeroIngredientes; i++, entrada += 4) {
+            int codigo = buffer.get(entrada) & 0xFF;
+            TipoIngrediente tipo = TIPOS[codigo & 0x1F];
+            TipoPreco tipoPreco = TIPOS_PRECO[codigo >>> 5];
+            int quantidade = buffer.get(entrada + 1) & 0xFF;
+            int fatorBp = buffer.getShort(entrada + 2) & 0xFFFF;
+            
+            Ingrediente ingrediente;
+            switch (tipoPreco) {
+                case PREMIUM:
+                    ingrediente = new IngredientePremium(tipo, quantidade);
+                    break;
+                case PROMOCIONAL:
+                    ingrediente = new IngredientePromocional(tipo, quantidade, (10_000 - fatorBp) / 10_000.0);
+                    break;
+                default:
+                    ingrediente = new Ingrediente(tipo, quantidade);
+            }
+            
+            if (lanche != null) {
+                lanche.adicionarIngrediente(ingrediente);
+            } else {
+                pizza.adicionarIngrediente(ingrediente);
+            }
+        }
+        
+        long totalCentavos = buffer.getInt(offset + 32);
+        long versaoPrecos = buffer.getLong(offset + OFFSET_VERSAO_PRECOS);
+        return lanche != null 
+            ? lanche.restaurar(totalCentavos, versaoPrecos) 
+            : pizza.restaurar(totalCentavos, versaoPrecos);
+    }
+}
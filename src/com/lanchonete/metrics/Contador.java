@@ -0,0 +1,41 @@
+package com.lanchonete.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monotônico de baixa disputa entre threads
+ */
+public class Contador extends Metrica {
+    private final LongAdder valor = new LongAdder();
+    
+    Contador(String nome, String ajuda, String rotulos) {
+        super(nome, ajuda, rotulos);
+    }
+    
+    public void incrementar() {
+        valor.increment();
+    }
+    
+    public void adicionar(long quantidade) {
+        valor.add(quantidade);
+    }
+    
+    public long getValor() {
+        return valor.sum();
+    }
+    
+    @Override
+    public String getTipoPrometheus() {
+        return "counter";
+    }
+    
+    @Override
+    public void exportarPrometheus(StringBuilder sb) {
+        anexarAmostra(sb, "", null, getValor());
+    }
+    
+    @Override
+    public void exportarTexto(StringBuilder sb) {
+        sb.append(String.format("%-60s %d%n", identificacao(), getValor()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.lanchonete.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em nanossegundos com baldes log-lineares
+ * 
+ * Cada potência de dois é dividida em 16 sub-baldes (erro relativo máximo
+ * de ~6%), cobrindo de 1 ns a 2^63 ns em ~1000 contadores fixos. Registrar
+ * é um cálculo de índice e um incremento atômico: não aloca nada.
+ */
+public class Histograma extends Metrica {
+    private static final int BITS_SUB_BALDE = 4;
+    private static final int SUB_BALDES = 1 << BITS_SUB_BALDE;
+    private static final int TOTAL_BALDES = (64 - BITS_SUB_BALDE + 1) * SUB_BALDES;
+    private static final double[] QUANTIS = { 0.5, 0.9, 0.99, 0.999 };
+    
+    private final AtomicLongArray baldes = new AtomicLongArray(TOTAL_BALDES);
+    private final AtomicLong contagem = new AtomicLong();
+    private final AtomicLong soma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+    
+    Histograma(String nome, String ajuda, String rotulos) {
+        super(nome, ajuda, rotulos);
+    }
+    
+    /**
+     * Cria um histograma avulso, fora do registro (ex.: ferramentas de carga)
+     */
+    public static Histograma avulso(String nome) {
+        return new Histograma(nome, "", "");
+    }
+    
+    public void registrar(long nanos) {
+        registrar(nanos, 1);
+    }
+    
+    /**
+     * Registra o mesmo valor "quantidade" vezes (ex.: correção de omissão coordenada)
+     */
+    public void registrar(long nanos, long quantidade) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        baldes.addAndGet(indice(nanos), quantidade);
+        contagem.addAndGet(quantidade);
+        soma.addAndGet(nanos * quantidade);
+        
+        long atual;
+        while (nanos > (atual = maximo.get())) {
+            if (maximo.compareAndSet(atual, nanos)) {
+                break;
+            }
+        }
+    }
+    
+    public long getContagem() {
+        return contagem.get();
+    }
+    
+    public long getSoma() {
+        return soma.get();
+    }
+    
+    public long getMaximo() {
+        return maximo.get();
+    }
+    
+    public double getMedia() {
+        long n = getContagem();
+        return n == 0 ? 0 : (double) getSoma() / n;
+    }
+    
+    /**
+     * Valor aproximado do quantil (0.0 a 1.0), pelo limite superior do balde
+     */
+    public long getQuantil(double quantil) {
+        long n = getContagem();
+        if (n == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(quantil * n));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            acumulado += baldes.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+    
+    /**
+     * Zera o histograma (não atômico em relação a registros concorrentes)
+     */
+    public void zerar() {
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            baldes.set(i, 0);
+        }
+        contagem.set(0);
+        soma.set(0);
+        maximo.set(0);
+    }
+    
+    @Override
+    public String getTipoPrometheus() {
+        return "summary";
+    }
+    
+    @Override
+    public void exportarPrometheus(StringBuilder sb) {
+        for (double quantil : QUANTIS) {
+            anexarAmostra(sb, "", "quantile=\"" + quantil + "\"", getQuantil(quantil) / 1e9);
+        }
+        anexarAmostra(sb, "_sum", null, getSoma() / 1e9);
+        anexarAmostra(sb, "_count", null, getContagem());
+    }
+    
+    @Override
+    public void exportarTexto(StringBuilder sb) {
+        sb.append(String.format("%-60s n=%d  média=%s  p50=%s  p99=%s  p99.9=%s  máx=%s%n", 
+            identificacao(), getContagem(), formatar((long) getMedia()), formatar(getQuantil(0.5)), 
+            formatar(getQuantil(0.99)), formatar(getQuantil(0.999)), formatar(getMaximo())));
+    }
+    
+    /**
+     * Formata nanossegundos na unidade mais legível
+     */
+    public static String formatar(long nanos) {
+        if (nanos < 10_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 10_000_000) {
+            return String.format("%.1fµs", nanos / 1e3);
+        }
+        if (nanos < 10_000_000_000L) {
+            return String.format("%.1fms", nanos / 1e6);
+        }
+        return String.format("%.1fs", nanos / 1e9);
+    }
+    
+    static int indice(long valor) {
+        if (valor < SUB_BALDES) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int deslocamento = expoente - BITS_SUB_BALDE;
+        return (deslocamento + 1) * SUB_BALDES + (int) ((valor >>> deslocamento) & (SUB_BALDES - 1));
+    }
+    
+    static long limiteSuperior(int indice) {
+        if (indice < SUB_BALDES) {
+            return indice;
+        }
+        int deslocamento = indice / SUB_BALDES - 1;
+        long subBalde = indice % SUB_BALDES;
+        long inicio = (SUB_BALDES + subBalde) << deslocamento;
+        return inicio + (1L << deslocamento) - 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.lanchonete.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de eventos com taxa por segundo (média desde o início e no último intervalo)
+ */
+public class Medidor extends Metrica {
+    private final LongAdder eventos = new LongAdder();
+    private final long inicio = System.nanoTime();
+    
+    // Estado do último relatório, usado para a taxa do intervalo
+    private long ultimoTotal;
+    private long ultimoInstante = inicio;
+    private double ultimaTaxa;
+    
+    Medidor(String nome, String ajuda, String rotulos) {
+        super(nome, ajuda, rotulos);
+    }
+    
+    public void marcar() {
+        eventos.increment();
+    }
+    
+    public long getTotal() {
+        return eventos.sum();
+    }
+    
+    public double getTaxaMedia() {
+        long decorrido = System.nanoTime() - inicio;
+        return decorrido == 0 ? 0 : getTotal() * 1e9 / decorrido;
+    }
+    
+    /**
+     * Taxa desde a chamada anterior (cada chamada fecha um intervalo)
+     */
+    public synchronized double getTaxaIntervalo() {
+        long agora = System.nanoTime();
+        long total = getTotal();
+        if (agora - ultimoInstante >= 1_000_000L) {
+            ultimaTaxa = (total - ultimoTotal) * 1e9 / (agora - ultimoInstante);
+            ultimoTotal = total;
+            ultimoInstante = agora;
+        }
+        return ultimaTaxa;
+    }
+    
+    @Override
+    public String getTipoPrometheus() {
+        return "counter";
+    }
+    
+    @Override
+    public void exportarPrometheus(StringBuilder sb) {
+        // Taxas são calculadas pelo Prometheus (rate()); exporta só o total,
+        // com o nome da família (que já termina em _total, como nos contadores)
+        anexarAmostra(sb, "", null, getTotal());
+    }
+    
+    @Override
+    public void exportarTexto(StringBuilder sb) {
+        sb.append(String.format("%-60s total=%d  %.1f/s (intervalo)  %.1f/s (média)%n", 
+            identificacao(), getTotal(), getTaxaIntervalo(), getTaxaMedia()));
+    }
+}
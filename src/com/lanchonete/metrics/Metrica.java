@@ -0,0 +1,71 @@
+package com.lanchonete.metrics;
+
+/**
+ * Métrica exportável pelo registro (contador, medidor ou histograma)
+ */
+public abstract class Metrica {
+    private final String nome;
+    private final String ajuda;
+    private final String rotulos;
+    
+    protected Metrica(String nome, String ajuda, String rotulos) {
+        this.nome = nome;
+        this.ajuda = ajuda;
+        this.rotulos = rotulos == null ? "" : rotulos;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    public String getAjuda() {
+        return ajuda;
+    }
+    
+    /**
+     * Rótulos no formato Prometheus sem chaves, ex.: produto="lanche"
+     */
+    public String getRotulos() {
+        return rotulos;
+    }
+    
+    /**
+     * Tipo Prometheus da família (counter, gauge, summary)
+     */
+    public abstract String getTipoPrometheus();
+    
+    /**
+     * Anexa as amostras no formato de exposição do Prometheus
+     */
+    public abstract void exportarPrometheus(StringBuilder sb);
+    
+    /**
+     * Anexa uma linha legível para o relatório em texto
+     */
+    public abstract void exportarTexto(StringBuilder sb);
+    
+    protected void anexarAmostra(StringBuilder sb, String sufixo, String rotuloExtra, double valor) {
+        sb.append(nome).append(sufixo);
+        if (!rotulos.isEmpty() || rotuloExtra != null) {
+            sb.append('{').append(rotulos);
+            if (rotuloExtra != null) {
+                if (!rotulos.isEmpty()) {
+                    sb.append(',');
+                }
+                sb.append(rotuloExtra);
+            }
+            sb.append('}');
+        }
+        sb.append(' ');
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            sb.append((long) valor);
+        } else {
+            sb.append(valor);
+        }
+        sb.append('\n');
+    }
+    
+    protected String identificacao() {
+        return rotulos.isEmpty() ? nome : nome + "{" + rotulos + "}";
+    }
+}
@@ -0,0 +1,133 @@
+package com.lanchonete.metrics;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.validator.RegraValidacao;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Métricas de negócio da lanchonete, registradas no registro global
+ * 
+ * Pode ser desligado com -Dlanchonete.metricas=false; como a flag é uma
+ * constante, o JIT remove as medições por completo nesse caso.
+ * 
+ * Ler o relógio custa dezenas de ns, mais que o próprio cálculo de preço,
+ * então as latências são amostradas: só 1 a cada N chamadas é cronometrada
+ * (N = -Dlanchonete.metricas.amostragem, potência de 2, padrão 16). Os
+ * contadores de eventos não são amostrados.
+ */
+public final class MetricasLanchonete {
+    public static final boolean ATIVAS = !"false".equalsIgnoreCase(System.getProperty("lanchonete.metricas"));
+    
+    private static final int MASCARA_AMOSTRAGEM = 
+        Integer.highestOneBit(Math.max(1, Integer.getInteger("lanchonete.metricas.amostragem", 16))) - 1;
+    
+    private static final RegistroMetricas REGISTRO = RegistroMetricas.global();
+    
+    public static final Histograma BUILD_LANCHE = REGISTRO.histograma(
+        "lanchonete_build_segundos", "Duração amostrada de Builder.build() (inclui validação)", "produto=\"lanche\"");
+    public static final Histograma BUILD_PIZZA = REGISTRO.histograma(
+        "lanchonete_build_segundos", "Duração amostrada de Builder.build() (inclui validação)", "produto=\"pizza\"");
+    public static final Histograma VALIDACAO_LANCHE = REGISTRO.histograma(
+        "lanchonete_validacao_segundos", "Duração amostrada das regras de ValidadorCombinacoes", "produto=\"lanche\"");
+    public static final Histograma VALIDACAO_PIZZA = REGISTRO.histograma(
+        "lanchonete_validacao_segundos", "Duração amostrada das regras de ValidadorCombinacoes", "produto=\"pizza\"");
+    public static final Histograma PRECO_LANCHE = REGISTRO.histograma(
+        "lanchonete_preco_segundos", "Duração amostrada do cálculo de preço na construção", "produto=\"lanche\"");
+    public static final Histograma PRECO_PIZZA = REGISTRO.histograma(
+        "lanchonete_preco_segundos", "Duração amostrada do cálculo de preço na construção", "produto=\"pizza\"");
+    
+    public static final Medidor PEDIDOS_CONFIRMADOS = REGISTRO.medidor(
+        "lanchonete_pedidos_confirmados_total", "Pedidos confirmados", null);
+    
+    public static final Contador COTACOES_EM_CACHE = REGISTRO.contador(
+        "lanchonete_cache_cotacoes_total", "Consultas ao cache de cotações", "resultado=\"acerto\"");
+    public static final Contador COTACOES_FORA_DO_CACHE = REGISTRO.contador(
+        "lanchonete_cache_cotacoes_total", "Consultas ao cache de cotações", "resultado=\"falha\"");
+    public static final Contador COTACOES_DESPEJADAS = REGISTRO.contador(
+        "lanchonete_cache_cotacoes_despejos_total", "Cotações retiradas do cache para dar lugar a outras", null);
+    
+    private static final Contador[] REJEICOES = new Contador[RegraValidacao.values().length];
+    private static final Contador[] INGREDIENTES_POR_FACTORY = new Contador[IngredienteFactory.TipoFactory.values().length];
+    private static final Contador[] PRODUTOS_POR_TAMANHO = new Contador[Tamanho.values().length];
+    
+    static {
+        for (RegraValidacao regra : RegraValidacao.values()) {
+            REJEICOES[regra.ordinal()] = REGISTRO.contador("lanchonete_rejeicoes_total", 
+                "Produtos recusados por regra de negócio", "regra=\"" + regra.getCodigo() + "\"");
+        }
+        for (IngredienteFactory.TipoFactory tipo : IngredienteFactory.TipoFactory.values()) {
+            INGREDIENTES_POR_FACTORY[tipo.ordinal()] = REGISTRO.contador("lanchonete_ingredientes_criados_total", 
+                "Ingredientes entregues por tipo de factory", "factory=\"" + tipo.name().toLowerCase() + "\"");
+        }
+        for (Tamanho tamanho : Tamanho.values()) {
+            PRODUTOS_POR_TAMANHO[tamanho.ordinal()] = REGISTRO.contador("lanchonete_produtos_construidos_total", 
+                "Produtos construídos com sucesso por tamanho", "tamanho=\"" + tamanho.name().toLowerCase() + "\"");
+        }
+    }
+    
+    private MetricasLanchonete() {
+    }
+    
+    /**
+     * Início de uma medição (0 quando desligada ou fora da amostra)
+     */
+    public static long iniciar() {
+        if (!ATIVAS || (ThreadLocalRandom.current().nextInt() & MASCARA_AMOSTRAGEM) != 0) {
+            return 0L;
+        }
+        return System.nanoTime();
+    }
+    
+    /**
+     * Encerra uma medição iniciada com iniciar()
+     */
+    public static void registrar(Histograma histograma, long inicio) {
+        if (ATIVAS && inicio != 0L) {
+            histograma.registrar(System.nanoTime() - inicio);
+        }
+    }
+    
+    public static void rejeicao(RegraValidacao regra) {
+        if (ATIVAS) {
+            REJEICOES[regra.ordinal()].incrementar();
+        }
+    }
+    
+    public static void ingredienteCriado(IngredienteFactory.TipoFactory tipoFactory) {
+        if (ATIVAS) {
+            INGREDIENTES_POR_FACTORY[tipoFactory.ordinal()].incrementar();
+        }
+    }
+    
+    public static void produtoConstruido(Tamanho tamanho) {
+        if (ATIVAS) {
+            PRODUTOS_POR_TAMANHO[tamanho.ordinal()].incrementar();
+        }
+    }
+    
+    /**
+     * Consulta ao cache de cotações (acerto ou falha)
+     */
+    public static void consultaCacheCotacoes(boolean acerto) {
+        if (ATIVAS) {
+            (acerto ? COTACOES_EM_CACHE : COTACOES_FORA_DO_CACHE).incrementar();
+        }
+    }
+    
+    public static void cotacaoDespejada() {
+        if (ATIVAS) {
+            COTACOES_DESPEJADAS.incrementar();
+        }
+    }
+    
+    public static void pedidoConfirmado() {
+        if (ATIVAS) {
+            PEDIDOS_CONFIRMADOS.marcar();
+        }
+    }
+    
+    public static long getRejeicoes(RegraValidacao regra) {
+        return REJEICOES[regra.ordinal()].getValor();
+    }
+}
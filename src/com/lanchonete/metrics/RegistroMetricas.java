@@ -0,0 +1,102 @@
+package com.lanchonete.metrics;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de métricas do processo
+ * 
+ * As métricas são criadas uma única vez (normalmente em campos estáticos)
+ * e depois apenas atualizadas; a exportação percorre a lista registrada.
+ */
+public class RegistroMetricas {
+    private static final RegistroMetricas GLOBAL = new RegistroMetricas();
+    
+    private final List<Metrica> metricas = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Registro compartilhado pelo sistema
+     */
+    public static RegistroMetricas global() {
+        return GLOBAL;
+    }
+    
+    public Contador contador(String nome, String ajuda, String rotulos) {
+        return registrar(new Contador(nome, ajuda, rotulos));
+    }
+    
+    public Medidor medidor(String nome, String ajuda, String rotulos) {
+        return registrar(new Medidor(nome, ajuda, rotulos));
+    }
+    
+    public Histograma histograma(String nome, String ajuda, String rotulos) {
+        return registrar(new Histograma(nome, ajuda, rotulos));
+    }
+    
+    public List<Metrica> getMetricas() {
+        return metricas;
+    }
+    
+    /**
+     * Exporta todas as métricas no formato de exposição de texto do Prometheus
+     */
+    public String exportarPrometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+        String familiaAnterior = null;
+        
+        for (Metrica metrica : metricas) {
+            if (!metrica.getNome().equals(familiaAnterior)) {
+                sb.append("# HELP ").append(metrica.getNome()).append(' ').append(metrica.getAjuda()).append('\n');
+                sb.append("# TYPE ").append(metrica.getNome()).append(' ').append(metrica.getTipoPrometheus()).append('\n');
+                familiaAnterior = metrica.getNome();
+            }
+            metrica.exportarPrometheus(sb);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Exporta um instantâneo legível de todas as métricas
+     */
+    public String exportarTexto() {
+        StringBuilder sb = new StringBuilder(4096);
+        for (Metrica metrica : metricas) {
+            metrica.exportarTexto(sb);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Imprime o instantâneo em texto periodicamente (thread daemon)
+     */
+    public ScheduledExecutorService iniciarRelatorioPeriodico(long intervaloSegundos, PrintStream saida) {
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "relatorio-metricas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleAtFixedRate(
+            () -> saida.print("📈 MÉTRICAS\n" + exportarTexto()), 
+            intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+        return agendador;
+    }
+    
+    /**
+     * Insere a métrica logo após as da mesma família, para a exportação agrupar HELP/TYPE
+     */
+    private synchronized <M extends Metrica> M registrar(M metrica) {
+        int posicao = metricas.size();
+        for (int i = metricas.size() - 1; i >= 0; i--) {
+            if (metricas.get(i).getNome().equals(metrica.getNome())) {
+                posicao = i + 1;
+                break;
+            }
+        }
+        metricas.add(posicao, metrica);
+        return metrica;
+    }
+}
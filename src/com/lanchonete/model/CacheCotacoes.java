@@ -0,0 +1,260 @@
+package com.lanchonete.model;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.metrics.MetricasLanchonete;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.pricing.VersaoPrecos;
+import com.lanchonete.validator.RegrasCombinacao;
+import com.lanchonete.validator.ResultadoValidacao;
+import com.lanchonete.validator.ValidadorCombinacoes;
+import java.util.Arrays;
+
+/**
+ * Cache de cotações dos Builders, indexado pela impressão digital da configuração
+ * 
+ * No totem o cliente alterna entre poucas configurações, e cada cotação
+ * repetia validação e cálculo de preço. A impressão digital é um hash de
+ * 64 bits da configuração canônica: tipo de produto, tamanho, massa, preço
+ * base informado e os ingredientes em ordem de tipo, com quantidade e
+ * política de preço - a ordem de inclusão não importa. O valor guardado é
+ * o preço em centavos ou, para configurações recusadas, o código de
+ * ResultadoValidacao negativo.
+ * 
+ * O tamanho é limitado por -Dlanchonete.cache.cotacoes (entradas). O padrão
+ * é 0, desligado: validação e preço já são máscaras e aritmética inteira,
+ * e a impressão digital com a consulta custa quase o mesmo que refazê-los
+ * (BenchmarkLanchonete "cotacao.repetida"). Vale ligar quando as regras ou
+ * a tabela ficarem mais caras. As entradas ficam em conjuntos de 8 vias,
+ * distribuídos em segmentos com trava própria; dentro do conjunto sai a
+ * menos usada recentemente (LRU aproximado, sem listas nem alocação).
+ * 
+ * Cada chave inclui a geração do cache, que avança sempre que a tabela de
+ * preços ou as regras de combinação vigentes mudam: as entradas antigas
+ * deixam de ser encontradas e são descartadas. Uma cotação calculada
+ * durante a troca lê a tabela e as regras depois da chave, então nunca
+ * fica guardada numa geração mais nova que os valores que usou.
+ */
+public final class CacheCotacoes {
+    
+    /**
+     * Devolvido por buscar() quando a chave não está no cache
+     */
+    public static final long AUSENTE = Long.MIN_VALUE;
+    
+    private static final int VIAS = 8;
+    private static final int MAX_SEGMENTOS = 16;
+    private static final long MULTIPLICADOR = 0x9E3779B97F4A7C15L;
+    
+    private static final CacheCotacoes GLOBAL = new CacheCotacoes(Integer.getInteger("lanchonete.cache.cotacoes", 0));
+    
+    /**
+     * false sem -Dlanchonete.cache.cotacoes; como é constante, o JIT remove o caminho do cache
+     */
+    public static final boolean ATIVO = GLOBAL.capacidade > 0;
+    
+    private final int capacidade;
+    private final Segmento[] segmentos;
+    private final int conjuntosPorSegmento;
+    private volatile Geracao geracao;
+    
+    private CacheCotacoes(int capacidadeMaxima) {
+        // Potência de 2 não maior que o pedido, com ao menos um conjunto
+        int total = capacidadeMaxima < VIAS ? 0 : Integer.highestOneBit(capacidadeMaxima);
+        int quantidadeSegmentos = Math.max(1, Math.min(MAX_SEGMENTOS, total / VIAS));
+        this.capacidade = total;
+        this.conjuntosPorSegmento = total / VIAS / quantidadeSegmentos;
+        this.segmentos = new Segmento[total == 0 ? 0 : quantidadeSegmentos];
+        for (int i = 0; i < segmentos.length; i++) {
+            segmentos[i] = new Segmento(conjuntosPorSegmento * VIAS);
+        }
+        this.geracao = new Geracao(TabelaPrecos.vigente(), ValidadorCombinacoes.getRegras(), 0);
+    }
+    
+    public static CacheCotacoes global() {
+        return GLOBAL;
+    }
+    
+    /**
+     * Quantidade máxima de cotações guardadas
+     */
+    public int getCapacidade() {
+        return capacidade;
+    }
+    
+    /**
+     * Quantidade de trocas de tabela de preços ou de regras observadas pelo cache
+     */
+    public long getGeracao() {
+        return geracao.numero;
+    }
+    
+    /**
+     * Chave da impressão digital na geração vigente
+     * 
+     * Deve ser obtida antes de validar e cotar a configuração, para que a
+     * cotação guardada com ela nunca seja mais antiga que a geração.
+     */
+    public long chave(long impressaoDigital) {
+        Geracao atual = geracao;
+        if (atual.precos != TabelaPrecos.vigente() || atual.regras != ValidadorCombinacoes.getRegras()) {
+            atual = avancar();
+        }
+        return finalizar(impressaoDigital + atual.numero * MULTIPLICADOR);
+    }
+    
+    /**
+     * Cotação guardada para a chave, ou AUSENTE
+     */
+    public long buscar(long chave) {
+        long cotacao = segmento(chave).buscar(chave, conjunto(chave));
+        MetricasLanchonete.consultaCacheCotacoes(cotacao != AUSENTE);
+        return cotacao;
+    }
+    
+    /**
+     * Guarda a cotação, retirando a menos usada do conjunto se ele estiver cheio
+     */
+    public void guardar(long chave, long cotacao) {
+        if (segmento(chave).guardar(chave, conjunto(chave), cotacao)) {
+            MetricasLanchonete.cotacaoDespejada();
+        }
+    }
+    
+    /**
+     * Valor guardado para uma configuração recusada
+     */
+    public static long recusa(long resultado) {
+        return -resultado;
+    }
+    
+    /**
+     * Código de ResultadoValidacao de uma cotação guardada (VALIDO se for um preço)
+     */
+    public static long resultado(long cotacao) {
+        return cotacao < 0 ? -cotacao : ResultadoValidacao.VALIDO;
+    }
+    
+    /**
+     * Início da impressão digital: o que não depende dos ingredientes
+     */
+    static long semente(TipoProduto produto, Tamanho tamanho, TipoMassa massa,
+                        boolean precoBaseInformado, double precoBase) {
+        long h = combinar(0L, produto.ordinal()
+            | (tamanho == null ? 0 : tamanho.ordinal() + 1) << 8
+            | (massa == null ? 0 : massa.ordinal() + 1) << 16
+            | (precoBaseInformado ? 1 : 0) << 24);
+        return precoBaseInformado ? combinar(h, Double.doubleToLongBits(precoBase)) : h;
+    }
+    
+    /**
+     * Passo barato de mistura; a dispersão final fica por conta de finalizar()
+     */
+    static long combinar(long h, long valor) {
+        return Long.rotateLeft((h ^ valor) * MULTIPLICADOR, 27);
+    }
+    
+    /**
+     * Finalizador de 64 bits do MurmurHash3: espalha todos os bits da entrada
+     */
+    static long finalizar(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private Segmento segmento(long chave) {
+        return segmentos[(int) chave & (segmentos.length - 1)];
+    }
+    
+    private int conjunto(long chave) {
+        return (int) (chave >>> 32) & (conjuntosPorSegmento - 1);
+    }
+    
+    /**
+     * Abre uma nova geração com a tabela e as regras vigentes e esvazia os segmentos
+     */
+    private synchronized Geracao avancar() {
+        Geracao atual = geracao;
+        VersaoPrecos precos = TabelaPrecos.vigente();
+        RegrasCombinacao regras = ValidadorCombinacoes.getRegras();
+        if (atual.precos == precos && atual.regras == regras) {
+            return atual; // Outra thread já avançou
+        }
+        Geracao nova = new Geracao(precos, regras, atual.numero + 1);
+        geracao = nova;
+        for (Segmento segmento : segmentos) {
+            segmento.limpar();
+        }
+        return nova;
+    }
+    
+    private static final class Geracao {
+        final VersaoPrecos precos;
+        final RegrasCombinacao regras;
+        final long numero;
+        
+        Geracao(VersaoPrecos precos, RegrasCombinacao regras, long numero) {
+            this.precos = precos;
+            this.regras = regras;
+            this.numero = numero;
+        }
+    }
+    
+    /**
+     * Parte do cache protegida por uma trava; uso 0 marca a via vazia
+     */
+    private static final class Segmento {
+        private final long[] chaves;
+        private final long[] cotacoes;
+        private final long[] usos;
+        private long relogio;
+        
+        Segmento(int vias) {
+            chaves = new long[vias];
+            cotacoes = new long[vias];
+            usos = new long[vias];
+        }
+        
+        synchronized long buscar(long chave, int conjunto) {
+            int inicio = conjunto * VIAS;
+            for (int i = inicio; i < inicio + VIAS; i++) {
+                if (usos[i] != 0 && chaves[i] == chave) {
+                    usos[i] = ++relogio;
+                    return cotacoes[i];
+                }
+            }
+            return AUSENTE;
+        }
+        
+        /**
+         * @return true se outra cotação foi retirada para dar lugar a esta
+         */
+        synchronized boolean guardar(long chave, int conjunto, long cotacao) {
+            int inicio = conjunto * VIAS;
+            int vitima = inicio;
+            for (int i = inicio; i < inicio + VIAS; i++) {
+                if (usos[i] != 0 && chaves[i] == chave) {
+                    vitima = i;
+                    break;
+                }
+                if (usos[i] < usos[vitima]) {
+                    vitima = i;
+                }
+            }
+            boolean despejo = usos[vitima] != 0 && chaves[vitima] != chave;
+            chaves[vitima] = chave;
+            cotacoes[vitima] = cotacao;
+            usos[vitima] = ++relogio;
+            return despejo;
+        }
+        
+        synchronized void limpar() {
+            Arrays.fill(usos, 0L);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.lanchonete.model;
+
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.pricing.VersaoPrecos;
+import com.lanchonete.validator.ValidadorCombinacoes;
+import java.util.List;
+
+/**
+ * Ingredientes de um produto em construção, indexados pelo ordinal do tipo
+ * 
+ * Mantém, a cada inclusão, a máscara de tipos, a quantidade total e o
+ * subtotal de preço (sem o fator de tamanho), de modo que validação e
+ * preço não precisem percorrer a lista novamente. O subtotal pertence a
+ * uma versão da tabela de preços; se outra versão for publicada durante a
+ * montagem, ele é recalculado uma vez na construção do produto.
+ * 
+ * Um tipo repetido com outra política de preço não é somado: fica
+ * registrado como conflito, e os Builders o recusam em validar()
+ * (RegraValidacao.PRECO_CONFLITANTE), como as demais regras.
+ */
+final class ComposicaoIngredientes {
+    
+    private static final int TOTAL_TIPOS = TipoIngrediente.values().length;
+    
+    // Ingrediente atual de cada tipo (null = ausente)
+    private final Ingrediente[] porTipo = new Ingrediente[TOTAL_TIPOS];
+    
+    // Ordinais na ordem da primeira inclusão (preserva a ordem de exibição)
+    private final byte[] ordem = new byte[TOTAL_TIPOS];
+    private int itens;
+    
+    private long mascara;
+    private int quantidadeTotal;
+    private long subtotalUnidades;
+    private VersaoPrecos precos;
+    
+    // Primeiro tipo repetido com outra política de preço (null = sem conflito)
+    private TipoIngrediente conflito;
+    
+    /**
+     * Inclui o ingrediente, somando a quantidade se o tipo já estiver presente
+     * 
+     * Se o tipo já existir com outra política de preço, o ingrediente é
+     * descartado e o tipo fica em getConflito().
+     */
+    void adicionar(Ingrediente ingrediente) {
+        int indice = ingrediente.getTipo().ordinal();
+        Ingrediente existente = porTipo[indice];
+        
+        if (existente == null) {
+            porTipo[indice] = ingrediente;
+            ordem[itens++] = (byte) indice;
+            mascara |= ValidadorCombinacoes.mascara(ingrediente.getTipo());
+        } else {
+            if (existente.getTipoPreco() != ingrediente.getTipoPreco() 
+                    || existente.getFatorPrecoBp() != ingrediente.getFatorPrecoBp()) {
+                if (conflito == null) {
+                    conflito = ingrediente.getTipo();
+                }
+                return;
+            }
+            porTipo[indice] = existente.comQuantidade(existente.getQuantidade() + ingrediente.getQuantidade());
+        }
+        
+        if (precos == null) {
+            precos = TabelaPrecos.vigente();
+        }
+        quantidadeTotal += ingrediente.getQuantidade();
+        subtotalUnidades += precos.subtotalIngrediente(ingrediente);
+    }
+    
+    long getMascara() {
+        return mascara;
+    }
+    
+    int getQuantidadeTotal() {
+        return quantidadeTotal;
+    }
+    
+    int getItens() {
+        return itens;
+    }
+    
+    TipoIngrediente getConflito() {
+        return conflito;
+    }
+    
+    /**
+     * Soma dos ingredientes em unidades internas na versão informada, ainda sem o fator de tamanho
+     */
+    long getSubtotalUnidades(VersaoPrecos versao) {
+        if (versao != precos && itens > 0) {
+            long subtotal = 0;
+            for (int i = 0; i < itens; i++) {
+                subtotal += versao.subtotalIngrediente(porTipo[ordem[i]]);
+            }
+            subtotalUnidades = subtotal;
+        }
+        precos = versao;
+        return subtotalUnidades;
+    }
+    
+    /**
+     * Acrescenta os ingredientes à impressão digital, em ordem de tipo
+     * (a ordem de inclusão não altera o resultado)
+     */
+    long impressaoDigital(long semente) {
+        long h = semente;
+        long restantes = mascara;
+        while (restantes != 0) {
+            int indice = Long.numberOfTrailingZeros(restantes);
+            restantes &= restantes - 1;
+            Ingrediente ingrediente = porTipo[indice];
+            h = CacheCotacoes.combinar(h, indice
+                | (long) ingrediente.getTipoPreco().ordinal() << 8
+                | (long) ingrediente.getFatorPrecoBp() << 32);
+            h = CacheCotacoes.combinar(h, ingrediente.getQuantidade());
+        }
+        if (conflito != null) {
+            h = CacheCotacoes.combinar(h, -1L - conflito.ordinal());
+        }
+        return CacheCotacoes.finalizar(h);
+    }
+    
+    /**
+     * Esvazia a composição para reaproveitá-la em outro produto
+     */
+    void limpar() {
+        for (int i = 0; i < itens; i++) {
+            porTipo[ordem[i]] = null;
+        }
+        itens = 0;
+        mascara = 0L;
+        quantidadeTotal = 0;
+        subtotalUnidades = 0;
+        precos = null;
+        conflito = null;
+    }
+    
+    /**
+     * Lista imutável dos ingredientes na ordem de inclusão
+     */
+    List<Ingrediente> congelar() {
+        Ingrediente[] lista = new Ingrediente[itens];
+        for (int i = 0; i < itens; i++) {
+            lista[i] = porTipo[ordem[i]];
+        }
+        return List.of(lista);
+    }
+}
@@ -1,6 +1,8 @@
 package com.lanchonete.model;
 
 import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoPreco;
+import com.lanchonete.pricing.TabelaPrecos;
 
 /**
  * Classe que representa um ingrediente no pedido
@@ -26,8 +28,32 @@ public class Ingrediente {
         return quantidade;
     }
     
+    /**
+     * Preço de todas as porções na tabela de preços vigente, já com o fator da política de preço
+     */
     public double getPrecoTotal() {
-        return tipo.getPreco() * quantidade;
+        return TabelaPrecos.reais(TabelaPrecos.vigente().centavosIngrediente(this));
+    }
+    
+    /**
+     * Cópia do ingrediente com outra quantidade, preservando a política de preço
+     */
+    public Ingrediente comQuantidade(int quantidade) {
+        return new Ingrediente(tipo, quantidade);
+    }
+    
+    /**
+     * Política de preço aplicada ao ingrediente
+     */
+    public TipoPreco getTipoPreco() {
+        return TipoPreco.PADRAO;
+    }
+    
+    /**
+     * Fator de preço em pontos-base (10000 = preço de tabela)
+     */
+    public int getFatorPrecoBp() {
+        return TipoPreco.PADRAO.getFatorBp();
     }
     
     @Override
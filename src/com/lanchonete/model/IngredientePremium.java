@@ -1,6 +1,7 @@
 package com.lanchonete.model;
 
 import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoPreco;
 
 /**
  * Classe que representa um ingrediente premium
@@ -8,15 +9,26 @@ import com.lanchonete.enums.TipoIngrediente;
  */
 public class IngredientePremium extends Ingrediente {
     
-    private static final double MULTIPLICADOR_PREMIUM = 1.3; // 30% mais caro
-    
     public IngredientePremium(TipoIngrediente tipo, int quantidade) {
         super(tipo, quantidade);
     }
     
     @Override
-    public double getPrecoTotal() {
-        return super.getPrecoTotal() * MULTIPLICADOR_PREMIUM;
+    public Ingrediente comQuantidade(int quantidade) {
+        return new IngredientePremium(getTipo(), quantidade);
+    }
+    
+    @Override
+    public TipoPreco getTipoPreco() {
+        return TipoPreco.PREMIUM;
+    }
+    
+    /**
+     * Fator de fábrica da linha premium; o preço usa o multiplicador da tabela vigente
+     */
+    @Override
+    public int getFatorPrecoBp() {
+        return TipoPreco.PREMIUM.getFatorBp(); // 30% mais caro
     }
     
     @Override
@@ -1,6 +1,7 @@
 package com.lanchonete.model;
 
 import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoPreco;
 
 /**
  * Classe que representa um ingrediente promocional
@@ -9,10 +10,12 @@ import com.lanchonete.enums.TipoIngrediente;
 public class IngredientePromocional extends Ingrediente {
     
     private final double percentualDesconto;
+    private final int fatorPrecoBp;
     
     public IngredientePromocional(TipoIngrediente tipo, int quantidade, double percentualDesconto) {
         super(tipo, quantidade);
         this.percentualDesconto = percentualDesconto;
+        this.fatorPrecoBp = 10_000 - (int) Math.round(percentualDesconto * 10_000);
     }
     
     public double getPercentualDesconto() {
@@ -20,8 +23,18 @@ public class IngredientePromocional extends Ingrediente {
     }
     
     @Override
-    public double getPrecoTotal() {
-        return super.getPrecoTotal() * (1.0 - percentualDesconto);
+    public Ingrediente comQuantidade(int quantidade) {
+        return new IngredientePromocional(getTipo(), quantidade, percentualDesconto);
+    }
+    
+    @Override
+    public TipoPreco getTipoPreco() {
+        return TipoPreco.PROMOCIONAL;
+    }
+    
+    @Override
+    public int getFatorPrecoBp() {
+        return fatorPrecoBp;
     }
     
     @Override
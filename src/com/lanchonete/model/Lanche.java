@@ -2,28 +2,57 @@ package com.lanchonete.model;
 
 import com.lanchonete.enums.Tamanho;
 import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.metrics.MetricasLanchonete;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.pricing.VersaoPrecos;
+import com.lanchonete.recibo.LayoutRecibo;
+import com.lanchonete.validator.RegraValidacao;
+import com.lanchonete.validator.ResultadoValidacao;
 import com.lanchonete.validator.ValidadorCombinacoes;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Classe que representa um lanche customizado
  * Utiliza o padrão Builder para construção
  */
-public class Lanche {
+public class Lanche implements Produto {
     private final Tamanho tamanho;
     private final TipoMassa tipoPao;
     private final List<Ingrediente> ingredientes;
     private final double precoBase;
+    private final long precoTotalCentavos;
+    private final long versaoPrecos;
     
     // Construtor privado - só pode ser chamado pelo Builder
-    private Lanche(Builder builder) {
+    private Lanche(Builder builder, VersaoPrecos precos) {
         this.tamanho = builder.tamanho;
         this.tipoPao = builder.tipoPao;
-        this.ingredientes = new ArrayList<>(builder.ingredientes);
+        this.ingredientes = builder.composicao.congelar();
+        
+        // O preço é fixado na construção, todo com a versão da tabela recebida
+        this.precoBase = builder.precoBaseInformado 
+            ? builder.precoBase : TabelaPrecos.reais(builder.precoBaseCentavos(precos));
+        this.versaoPrecos = precos.getVersao();
+        this.precoTotalCentavos = builder.calcularPreco(precos);
+    }
+    
+    // Produto restaurado de um registro: preço e versão gravados, sem recalcular
+    private Lanche(Builder builder, long precoTotalCentavos, long versaoPrecos) {
+        this.tamanho = builder.tamanho;
+        this.tipoPao = builder.tipoPao;
+        this.ingredientes = builder.composicao.congelar();
         this.precoBase = builder.precoBase;
+        this.versaoPrecos = versaoPrecos;
+        this.precoTotalCentavos = precoTotalCentavos;
     }
     
+    @Override
+    public TipoProduto getTipoProduto() {
+        return TipoProduto.LANCHE;
+    }
+    
+    @Override
     public Tamanho getTamanho() {
         return tamanho;
     }
@@ -32,45 +61,45 @@ public class Lanche {
         return tipoPao;
     }
     
+    @Override
+    public TipoMassa getTipoMassa() {
+        return tipoPao;
+    }
+    
+    @Override
     public List<Ingrediente> getIngredientes() {
-        return new ArrayList<>(ingredientes);
+        return ingredientes; // imutável, sem cópia
     }
     
+    @Override
     public double getPrecoBase() {
         return precoBase;
     }
     
+    @Override
+    public long getVersaoPrecos() {
+        return versaoPrecos;
+    }
+    
+    /**
+     * Preço total do lanche em centavos (aritmética inteira, calculado uma única vez na construção)
+     */
+    @Override
+    public long calcularPrecoTotalCentavos() {
+        return precoTotalCentavos;
+    }
+    
     /**
      * Calcula o preço total do lanche
      */
+    @Override
     public double calcularPrecoTotal() {
-        double precoIngredientes = ingredientes.stream()
-                .mapToDouble(Ingrediente::getPrecoTotal)
-                .sum();
-        
-        double precoTotal = (precoBase + precoIngredientes + tipoPao.getPrecoAdicional()) 
-                           * tamanho.getMultiplicadorPreco();
-        
-        return Math.round(precoTotal * 100.0) / 100.0; // Arredondar para 2 casas decimais
+        return TabelaPrecos.reais(calcularPrecoTotalCentavos());
     }
     
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("🥪 LANCHE ").append(tamanho.getNome().toUpperCase()).append("\n");
-        sb.append("Pão: ").append(tipoPao.getNome()).append("\n");
-        sb.append("Ingredientes:\n");
-        
-        if (ingredientes.isEmpty()) {
-            sb.append("  - Nenhum ingrediente adicional\n");
-        } else {
-            for (Ingrediente ingrediente : ingredientes) {
-                sb.append("  - ").append(ingrediente.toString()).append("\n");
-            }
-        }
-        
-        sb.append("Preço Total: R$ ").append(String.format("%.2f", calcularPrecoTotal()));
-        return sb.toString();
+        return LayoutRecibo.CLIENTE.renderizar(this);
     }
     
     /**
@@ -79,8 +108,10 @@ public class Lanche {
     public static class Builder {
         private Tamanho tamanho = Tamanho.MEDIO; // Padrão
         private TipoMassa tipoPao = TipoMassa.PAO_TRADICIONAL; // Padrão
-        private List<Ingrediente> ingredientes = new ArrayList<>();
-        private double precoBase = 15.0; // Preço base do lanche
+        private final ComposicaoIngredientes composicao = new ComposicaoIngredientes();
+        private double precoBase;
+        private boolean precoBaseInformado; // false = preço base da tabela vigente
+        private long resultado = ResultadoValidacao.VALIDO;
         
         public Builder comTamanho(Tamanho tamanho) {
             this.tamanho = tamanho;
@@ -92,26 +123,38 @@ public class Lanche {
             return this;
         }
         
+        /**
+         * Adiciona o ingrediente; se o tipo já existir, soma a quantidade
+         * mantendo a política de preço (padrão, premium ou promocional)
+         * 
+         * O mesmo tipo com outra política não é somado: validar() passa a
+         * recusar o produto com RegraValidacao.PRECO_CONFLITANTE.
+         */
         public Builder adicionarIngrediente(Ingrediente ingrediente) {
-            // Verifica se já existe o mesmo tipo de ingrediente
-            for (int i = 0; i < ingredientes.size(); i++) {
-                if (ingredientes.get(i).equals(ingrediente)) {
-                    // Substitui por um com quantidade somada
-                    Ingrediente existente = ingredientes.get(i);
-                    Ingrediente novo = new Ingrediente(
-                        existente.getTipo(), 
-                        existente.getQuantidade() + ingrediente.getQuantidade()
-                    );
-                    ingredientes.set(i, novo);
-                    return this;
-                }
-            }
-            ingredientes.add(ingrediente);
+            composicao.adicionar(ingrediente);
             return this;
         }
         
         public Builder comPrecoBase(double precoBase) {
             this.precoBase = precoBase;
+            this.precoBaseInformado = true;
+            return this;
+        }
+        
+        /**
+         * Volta o Builder ao estado inicial para montar outro lanche
+         * 
+         * Permite reaproveitar o mesmo Builder (por exemplo, um por thread em
+         * importações em lote) em vez de alocar um por produto. Produtos já
+         * construídos não são afetados: guardam a própria lista de ingredientes.
+         */
+        public Builder limpar() {
+            tamanho = Tamanho.MEDIO;
+            tipoPao = TipoMassa.PAO_TRADICIONAL;
+            composicao.limpar();
+            precoBase = 0;
+            precoBaseInformado = false;
+            resultado = ResultadoValidacao.VALIDO;
             return this;
         }
         
@@ -119,23 +162,160 @@ public class Lanche {
          * Valida as configurações e constrói o lanche
          */
         public Lanche build() {
-            validarConfiguracao();
-            return new Lanche(this);
+            long inicio = MetricasLanchonete.iniciar();
+            try {
+                ValidadorCombinacoes.lancarSeRecusado(validar());
+                Lanche produto = new Lanche(this, TabelaPrecos.vigente());
+                MetricasLanchonete.produtoConstruido(tamanho);
+                return produto;
+            } finally {
+                MetricasLanchonete.registrar(MetricasLanchonete.BUILD_LANCHE, inicio);
+            }
         }
         
-        private void validarConfiguracao() {
+        /**
+         * Valida a configuração e calcula o preço do lanche, sem construí-lo
+         * 
+         * Mesmo valor de build().calcularPrecoTotalCentavos(), mas sem alocar
+         * o produto nem a lista de ingredientes - para fluxos que só cotam.
+         * Configurações repetidas são respondidas pelo CacheCotacoes, sem
+         * validar nem recalcular.
+         * 
+         * @throws IllegalStateException se a configuração for inválida
+         */
+        public long cotarCentavos() {
+            long cotacao = cotar();
+            ValidadorCombinacoes.lancarSeRecusado(CacheCotacoes.resultado(cotacao));
+            return cotacao;
+        }
+        
+        /**
+         * Constrói o lanche, ou devolve null se a configuração for recusada
+         * 
+         * Versão sem exceção de build(): o motivo fica em getResultado() e a
+         * mensagem só é montada se alguém pedir ResultadoValidacao.mensagem().
+         */
+        public Lanche tentarBuild() {
+            long inicio = MetricasLanchonete.iniciar();
+            try {
+                resultado = validar();
+                if (resultado != ResultadoValidacao.VALIDO) {
+                    return null;
+                }
+                Lanche produto = new Lanche(this, TabelaPrecos.vigente());
+                MetricasLanchonete.produtoConstruido(tamanho);
+                return produto;
+            } finally {
+                MetricasLanchonete.registrar(MetricasLanchonete.BUILD_LANCHE, inicio);
+            }
+        }
+        
+        /**
+         * Versão sem exceção de cotarCentavos()
+         * 
+         * @return o preço em centavos, ou Produto.SEM_PRECO se a configuração
+         *         for recusada (motivo em getResultado())
+         */
+        public long tentarCotarCentavos() {
+            long cotacao = cotar();
+            resultado = CacheCotacoes.resultado(cotacao);
+            return resultado == ResultadoValidacao.VALIDO ? cotacao : SEM_PRECO;
+        }
+        
+        /**
+         * Recria um lanche já confirmado, com o preço cobrado e a versão da tabela gravados
+         * 
+         * Não valida nem recalcula: o histórico (diário de pedidos) é
+         * recuperado como foi cobrado, mesmo que as regras ou a tabela de
+         * preços tenham mudado depois. O preço base deve ter sido informado.
+         * 
+         * @throws IllegalStateException se tamanho, massa ou preço base estiverem ausentes
+         */
+        public Lanche restaurar(long precoTotalCentavos, long versaoPrecos) {
+            if (tamanho == null || tipoPao == null || !precoBaseInformado) {
+                throw new IllegalStateException("Registro incompleto: tamanho, massa e preço base são obrigatórios");
+            }
+            return new Lanche(this, precoTotalCentavos, versaoPrecos);
+        }
+        
+        /**
+         * Resultado da última chamada de tentarBuild() ou tentarCotarCentavos()
+         */
+        public long getResultado() {
+            return resultado;
+        }
+        
+        /**
+         * Impressão digital da configuração atual, chave do CacheCotacoes
+         */
+        public long impressaoDigital() {
+            return composicao.impressaoDigital(
+                CacheCotacoes.semente(TipoProduto.LANCHE, tamanho, tipoPao, precoBaseInformado, precoBase));
+        }
+        
+        /**
+         * Preço em centavos, ou a recusa codificada por CacheCotacoes.recusa()
+         */
+        private long cotar() {
+            if (!CacheCotacoes.ATIVO) {
+                return cotarSemCache();
+            }
+            CacheCotacoes cache = CacheCotacoes.global();
+            long chave = cache.chave(impressaoDigital());
+            long cotacao = cache.buscar(chave);
+            if (cotacao == CacheCotacoes.AUSENTE) {
+                cotacao = cotarSemCache();
+                cache.guardar(chave, cotacao);
+            } else if (cotacao < 0) {
+                // Recusa vinda do cache: conta a rejeição como se a regra tivesse sido avaliada
+                MetricasLanchonete.rejeicao(ResultadoValidacao.regra(CacheCotacoes.resultado(cotacao)));
+            }
+            return cotacao;
+        }
+        
+        private long cotarSemCache() {
+            long recusa = validar();
+            return recusa == ResultadoValidacao.VALIDO 
+                ? calcularPreco(TabelaPrecos.vigente()) : CacheCotacoes.recusa(recusa);
+        }
+        
+        private long calcularPreco(VersaoPrecos precos) {
+            long inicio = MetricasLanchonete.iniciar();
+            long total = precos.calcularTotalCentavos(
+                precoBaseCentavos(precos), tipoPao, tamanho, composicao.getSubtotalUnidades(precos)
+            );
+            MetricasLanchonete.registrar(MetricasLanchonete.PRECO_LANCHE, inicio);
+            return total;
+        }
+        
+        private long precoBaseCentavos(VersaoPrecos precos) {
+            return precoBaseInformado 
+                ? TabelaPrecos.centavos(precoBase) 
+                : precos.getPrecoBaseCentavos(TipoProduto.LANCHE);
+        }
+        
+        /**
+         * Valida a configuração sem lançar exceção
+         * 
+         * @return ResultadoValidacao.VALIDO ou o código da recusa
+         */
+        public long validar() {
             if (tamanho == null) {
-                throw new IllegalStateException("Tamanho deve ser especificado");
+                return ValidadorCombinacoes.recusar(RegraValidacao.TAMANHO_AUSENTE, null, 0);
             }
             if (tipoPao == null) {
-                throw new IllegalStateException("Tipo de pão deve ser especificado");
+                return ValidadorCombinacoes.recusar(RegraValidacao.MASSA_AUSENTE, null, TipoProduto.LANCHE.ordinal());
+            }
+            if (precoBaseInformado && precoBase < 0) {
+                return ValidadorCombinacoes.recusar(RegraValidacao.PRECO_BASE_NEGATIVO, null, 0);
             }
-            if (precoBase < 0) {
-                throw new IllegalStateException("Preço base não pode ser negativo");
+            if (composicao.getConflito() != null) {
+                return ValidadorCombinacoes.recusar(RegraValidacao.PRECO_CONFLITANTE, composicao.getConflito(), 0);
             }
             
             // Usar o validador de combinações
-            ValidadorCombinacoes.validarLanche(tamanho, tipoPao, ingredientes);
+            return ValidadorCombinacoes.verificarLanche(tamanho, tipoPao, composicao.getMascara(), 
+                                                      composicao.getQuantidadeTotal(), composicao.getItens());
         }
     }
 } 
\ No newline at end of file
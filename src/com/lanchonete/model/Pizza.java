@@ -2,76 +2,100 @@ package com.lanchonete.model;
 
 import com.lanchonete.enums.Tamanho;
 import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.metrics.MetricasLanchonete;
+import com.lanchonete.pricing.TabelaPrecos;
+import com.lanchonete.pricing.VersaoPrecos;
+import com.lanchonete.recibo.LayoutRecibo;
+import com.lanchonete.validator.RegraValidacao;
+import com.lanchonete.validator.ResultadoValidacao;
 import com.lanchonete.validator.ValidadorCombinacoes;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Classe que representa uma pizza customizada
  * Utiliza o padrão Builder para construção
  */
-public class Pizza {
+public class Pizza implements Produto {
     private final Tamanho tamanho;
     private final TipoMassa tipoMassa;
     private final List<Ingrediente> ingredientes;
     private final double precoBase;
+    private final long precoTotalCentavos;
+    private final long versaoPrecos;
     
     // Construtor privado - só pode ser chamado pelo Builder
-    private Pizza(Builder builder) {
+    private Pizza(Builder builder, VersaoPrecos precos) {
         this.tamanho = builder.tamanho;
         this.tipoMassa = builder.tipoMassa;
-        this.ingredientes = new ArrayList<>(builder.ingredientes);
+        this.ingredientes = builder.composicao.congelar();
+        
+        // O preço é fixado na construção, todo com a versão da tabela recebida
+        this.precoBase = builder.precoBaseInformado 
+            ? builder.precoBase : TabelaPrecos.reais(builder.precoBaseCentavos(precos));
+        this.versaoPrecos = precos.getVersao();
+        this.precoTotalCentavos = builder.calcularPreco(precos);
+    }
+    
+    // Produto restaurado de um registro: preço e versão gravados, sem recalcular
+    private Pizza(Builder builder, long precoTotalCentavos, long versaoPrecos) {
+        this.tamanho = builder.tamanho;
+        this.tipoMassa = builder.tipoMassa;
+        this.ingredientes = builder.composicao.congelar();
         this.precoBase = builder.precoBase;
+        this.versaoPrecos = versaoPrecos;
+        this.precoTotalCentavos = precoTotalCentavos;
     }
     
+    @Override
+    public TipoProduto getTipoProduto() {
+        return TipoProduto.PIZZA;
+    }
+    
+    @Override
     public Tamanho getTamanho() {
         return tamanho;
     }
     
+    @Override
     public TipoMassa getTipoMassa() {
         return tipoMassa;
     }
     
+    @Override
     public List<Ingrediente> getIngredientes() {
-        return new ArrayList<>(ingredientes);
+        return ingredientes; // imutável, sem cópia
     }
     
+    @Override
     public double getPrecoBase() {
         return precoBase;
     }
     
+    @Override
+    public long getVersaoPrecos() {
+        return versaoPrecos;
+    }
+    
+    /**
+     * Preço total da pizza em centavos (aritmética inteira, calculado uma única vez na construção)
+     */
+    @Override
+    public long calcularPrecoTotalCentavos() {
+        return precoTotalCentavos;
+    }
+    
     /**
      * Calcula o preço total da pizza
      */
+    @Override
     public double calcularPrecoTotal() {
-        double precoIngredientes = ingredientes.stream()
-                .mapToDouble(Ingrediente::getPrecoTotal)
-                .sum();
-        
-        double precoTotal = (precoBase + precoIngredientes + tipoMassa.getPrecoAdicional()) 
-                           * tamanho.getMultiplicadorPreco();
-        
-        return Math.round(precoTotal * 100.0) / 100.0; // Arredondar para 2 casas decimais
+        return TabelaPrecos.reais(calcularPrecoTotalCentavos());
     }
     
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("🍕 PIZZA ").append(tamanho.getNome().toUpperCase()).append("\n");
-        sb.append("Massa: ").append(tipoMassa.getNome()).append("\n");
-        sb.append("Ingredientes:\n");
-        
-        if (ingredientes.isEmpty()) {
-            sb.append("  - Apenas queijo e molho de tomate\n");
-        } else {
-            sb.append("  - Queijo e molho de tomate (base)\n");
-            for (Ingrediente ingrediente : ingredientes) {
-                sb.append("  - ").append(ingrediente.toString()).append("\n");
-            }
-        }
-        
-        sb.append("Preço Total: R$ ").append(String.format("%.2f", calcularPrecoTotal()));
-        return sb.toString();
+        return LayoutRecibo.CLIENTE.renderizar(this);
     }
     
     /**
@@ -80,8 +104,10 @@ public class Pizza {
     public static class Builder {
         private Tamanho tamanho = Tamanho.MEDIO; // Padrão
         private TipoMassa tipoMassa = TipoMassa.FINA; // Padrão
-        private List<Ingrediente> ingredientes = new ArrayList<>();
-        private double precoBase = 20.0; // Preço base da pizza
+        private final ComposicaoIngredientes composicao = new ComposicaoIngredientes();
+        private double precoBase;
+        private boolean precoBaseInformado; // false = preço base da tabela vigente
+        private long resultado = ResultadoValidacao.VALIDO;
         
         public Builder comTamanho(Tamanho tamanho) {
             this.tamanho = tamanho;
@@ -93,26 +119,38 @@ public class Pizza {
             return this;
         }
         
+        /**
+         * Adiciona o ingrediente; se o tipo já existir, soma a quantidade
+         * mantendo a política de preço (padrão, premium ou promocional)
+         * 
+         * O mesmo tipo com outra política não é somado: validar() passa a
+         * recusar o produto com RegraValidacao.PRECO_CONFLITANTE.
+         */
         public Builder adicionarIngrediente(Ingrediente ingrediente) {
-            // Verifica se já existe o mesmo tipo de ingrediente
-            for (int i = 0; i < ingredientes.size(); i++) {
-                if (ingredientes.get(i).equals(ingrediente)) {
-                    // Substitui por um com quantidade somada
-                    Ingrediente existente = ingredientes.get(i);
-                    Ingrediente novo = new Ingrediente(
-                        existente.getTipo(), 
-                        existente.getQuantidade() + ingrediente.getQuantidade()
-                    );
-                    ingredientes.set(i, novo);
-                    return this;
-                }
-            }
-            ingredientes.add(ingrediente);
+            composicao.adicionar(ingrediente);
             return this;
         }
         
         public Builder comPrecoBase(double precoBase) {
             this.precoBase = precoBase;
+            this.precoBaseInformado = true;
+            return this;
+        }
+        
+        /**
+         * Volta o Builder ao estado inicial para montar outra pizza
+         * 
+         * Permite reaproveitar o mesmo Builder (por exemplo, um por thread em
+         * importações em lote) em vez de alocar um por produto. Produtos já
+         * construídos não são afetados: guardam a própria lista de ingredientes.
+         */
+        public Builder limpar() {
+            tamanho = Tamanho.MEDIO;
+            tipoMassa = TipoMassa.FINA;
+            composicao.limpar();
+            precoBase = 0;
+            precoBaseInformado = false;
+            resultado = ResultadoValidacao.VALIDO;
             return this;
         }
         
@@ -120,23 +158,160 @@ public class Pizza {
          * Valida as configurações e constrói a pizza
          */
         public Pizza build() {
-            validarConfiguracao();
-            return new Pizza(this);
+            long inicio = MetricasLanchonete.iniciar();
+            try {
+                ValidadorCombinacoes.lancarSeRecusado(validar());
+                Pizza produto = new Pizza(this, TabelaPrecos.vigente());
+                MetricasLanchonete.produtoConstruido(tamanho);
+                return produto;
+            } finally {
+                MetricasLanchonete.registrar(MetricasLanchonete.BUILD_PIZZA, inicio);
+            }
+        }
+        
+        /**
+         * Valida a configuração e calcula o preço da pizza, sem construí-la
+         * 
+         * Mesmo valor de build().calcularPrecoTotalCentavos(), mas sem alocar
+         * o produto nem a lista de ingredientes - para fluxos que só cotam.
+         * Configurações repetidas são respondidas pelo CacheCotacoes, sem
+         * validar nem recalcular.
+         * 
+         * @throws IllegalStateException se a configuração for inválida
+         */
+        public long cotarCentavos() {
+            long cotacao = cotar();
+            ValidadorCombinacoes.lancarSeRecusado(CacheCotacoes.resultado(cotacao));
+            return cotacao;
+        }
+        
+        /**
+         * Constrói a pizza, ou devolve null se a configuração for recusada
+         * 
+         * Versão sem exceção de build(): o motivo fica em getResultado() e a
+         * mensagem só é montada se alguém pedir ResultadoValidacao.mensagem().
+         */
+        public Pizza tentarBuild() {
+            long inicio = MetricasLanchonete.iniciar();
+            try {
+                resultado = validar();
+                if (resultado != ResultadoValidacao.VALIDO) {
+                    return null;
+                }
+                Pizza produto = new Pizza(this, TabelaPrecos.vigente());
+                MetricasLanchonete.produtoConstruido(tamanho);
+                return produto;
+            } finally {
+                MetricasLanchonete.registrar(MetricasLanchonete.BUILD_PIZZA, inicio);
+            }
+        }
+        
+        /**
+         * Versão sem exceção de cotarCentavos()
+         * 
+         * @return o preço em centavos, ou Produto.SEM_PRECO se a configuração
+         *         for recusada (motivo em getResultado())
+         */
+        public long tentarCotarCentavos() {
+            long cotacao = cotar();
+            resultado = CacheCotacoes.resultado(cotacao);
+            return resultado == ResultadoValidacao.VALIDO ? cotacao : SEM_PRECO;
+        }
+        
+        /**
+         * Recria uma pizza já confirmada, com o preço cobrado e a versão da tabela gravados
+         * 
+         * Não valida nem recalcula: o histórico (diário de pedidos) é
+         * recuperado como foi cobrado, mesmo que as regras ou a tabela de
+         * preços tenham mudado depois. O preço base deve ter sido informado.
+         * 
+         * @throws IllegalStateException se tamanho, massa ou preço base estiverem ausentes
+         */
+        public Pizza restaurar(long precoTotalCentavos, long versaoPrecos) {
+            if (tamanho == null || tipoMassa == null || !precoBaseInformado) {
+                throw new IllegalStateException("Registro incompleto: tamanho, massa e preço base são obrigatórios");
+            }
+            return new Pizza(this, precoTotalCentavos, versaoPrecos);
+        }
+        
+        /**
+         * Resultado da última chamada de tentarBuild() ou tentarCotarCentavos()
+         */
+        public long getResultado() {
+            return resultado;
         }
         
-        private void validarConfiguracao() {
+        /**
+         * Impressão digital da configuração atual, chave do CacheCotacoes
+         */
+        public long impressaoDigital() {
+            return composicao.impressaoDigital(
+                CacheCotacoes.semente(TipoProduto.PIZZA, tamanho, tipoMassa, precoBaseInformado, precoBase));
+        }
+        
+        /**
+         * Preço em centavos, ou a recusa codificada por CacheCotacoes.recusa()
+         */
+        private long cotar() {
+            if (!CacheCotacoes.ATIVO) {
+                return cotarSemCache();
+            }
+            CacheCotacoes cache = CacheCotacoes.global();
+            long chave = cache.chave(impressaoDigital());
+            long cotacao = cache.buscar(chave);
+            if (cotacao == CacheCotacoes.AUSENTE) {
+                cotacao = cotarSemCache();
+                cache.guardar(chave, cotacao);
+            } else if (cotacao < 0) {
+                // Recusa vinda do cache: conta a rejeição como se a regra tivesse sido avaliada
+                MetricasLanchonete.rejeicao(ResultadoValidacao.regra(CacheCotacoes.resultado(cotacao)));
+            }
+            return cotacao;
+        }
+        
+        private long cotarSemCache() {
+            long recusa = validar();
+            return recusa == ResultadoValidacao.VALIDO 
+                ? calcularPreco(TabelaPrecos.vigente()) : CacheCotacoes.recusa(recusa);
+        }
+        
+        private long calcularPreco(VersaoPrecos precos) {
+            long inicio = MetricasLanchonete.iniciar();
+            long total = precos.calcularTotalCentavos(
+                precoBaseCentavos(precos), tipoMassa, tamanho, composicao.getSubtotalUnidades(precos)
+            );
+            MetricasLanchonete.registrar(MetricasLanchonete.PRECO_PIZZA, inicio);
+            return total;
+        }
+        
+        private long precoBaseCentavos(VersaoPrecos precos) {
+            return precoBaseInformado 
+                ? TabelaPrecos.centavos(precoBase) 
+                : precos.getPrecoBaseCentavos(TipoProduto.PIZZA);
+        }
+        
+        /**
+         * Valida a configuração sem lançar exceção
+         * 
+         * @return ResultadoValidacao.VALIDO ou o código da recusa
+         */
+        public long validar() {
             if (tamanho == null) {
-                throw new IllegalStateException("Tamanho deve ser especificado");
+                return ValidadorCombinacoes.recusar(RegraValidacao.TAMANHO_AUSENTE, null, 0);
             }
             if (tipoMassa == null) {
-                throw new IllegalStateException("Tipo de massa deve ser especificado");
+                return ValidadorCombinacoes.recusar(RegraValidacao.MASSA_AUSENTE, null, TipoProduto.PIZZA.ordinal());
+            }
+            if (precoBaseInformado && precoBase < 0) {
+                return ValidadorCombinacoes.recusar(RegraValidacao.PRECO_BASE_NEGATIVO, null, 0);
             }
-            if (precoBase < 0) {
-                throw new IllegalStateException("Preço base não pode ser negativo");
+            if (composicao.getConflito() != null) {
+                return ValidadorCombinacoes.recusar(RegraValidacao.PRECO_CONFLITANTE, composicao.getConflito(), 0);
             }
             
             // Usar o validador de combinações (que já inclui a validação de borda recheada)
-            ValidadorCombinacoes.validarPizza(tamanho, tipoMassa, ingredientes);
+            return ValidadorCombinacoes.verificarPizza(tamanho, tipoMassa, composicao.getMascara(), 
+                                                     composicao.getQuantidadeTotal());
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.lanchonete.model;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import java.util.List;
+
+/**
+ * Interface comum aos produtos construídos (lanches e pizzas)
+ */
+public interface Produto {
+    
+    /**
+     * Preço devolvido pelas cotações sem exceção quando a configuração é recusada
+     */
+    long SEM_PRECO = -1;
+    
+    TipoProduto getTipoProduto();
+    
+    Tamanho getTamanho();
+    
+    /**
+     * Tipo de massa da pizza ou tipo de pão do lanche
+     */
+    TipoMassa getTipoMassa();
+    
+    List<Ingrediente> getIngredientes();
+    
+    double getPrecoBase();
+    
+    /**
+     * Versão da tabela de preços usada no cálculo do produto
+     */
+    long getVersaoPrecos();
+    
+    long calcularPrecoTotalCentavos();
+    
+    double calcularPrecoTotal();
+}
@@ -0,0 +1,281 @@
+package com.lanchonete.pedido;
+
+import com.lanchonete.catalogo.CatalogoCardapio;
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.factory.IngredienteFactory;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Lanche;
+import com.lanchonete.model.Pizza;
+import com.lanchonete.model.Produto;
+import com.lanchonete.validator.ResultadoValidacao;
+import java.util.List;
+
+/**
+ * Descrição de um produto a ser montado fora do console interativo
+ * (arquivos de lote, integrações, geradores de carga)
+ * 
+ * Reproduz o mesmo fluxo do SistemaLanchonete: ingredientes do sabor com
+ * uma porção (ignorando os indisponíveis na factory escolhida), depois os
+ * extras validados pela factory, e por fim o Builder correspondente.
+ * 
+ * Os Builders são reaproveitados por thread; o produto construído guarda
+ * a própria cópia dos ingredientes e não é afetado pelo próximo uso.
+ */
+public class EspecificacaoProduto {
+    private static final int MAX_INGREDIENTES = TipoIngrediente.values().length * 4;
+    
+    // Builders reaproveitados por thread (limpos a cada produto)
+    private static final ThreadLocal<Lanche.Builder> LANCHES = ThreadLocal.withInitial(Lanche.Builder::new);
+    private static final ThreadLocal<Pizza.Builder> PIZZAS = ThreadLocal.withInitial(Pizza.Builder::new);
+    
+    private TipoProduto tipoProduto;
+    private Tamanho tamanho;
+    private TipoMassa tipoMassa;
+    private SaborPizza sabor;
+    private IngredienteFactory.TipoFactory tipoFactory = IngredienteFactory.TipoFactory.PADRAO;
+    private final TipoIngrediente[] tipos = new TipoIngrediente[MAX_INGREDIENTES];
+    private final int[] quantidades = new int[MAX_INGREDIENTES];
+    private int totalIngredientes;
+    private long resultado = ResultadoValidacao.VALIDO;
+    
+    public EspecificacaoProduto comTipoProduto(TipoProduto tipoProduto) {
+        this.tipoProduto = tipoProduto;
+        return this;
+    }
+    
+    public EspecificacaoProduto comTamanho(Tamanho tamanho) {
+        this.tamanho = tamanho;
+        return this;
+    }
+    
+    public EspecificacaoProduto comTipoMassa(TipoMassa tipoMassa) {
+        this.tipoMassa = tipoMassa;
+        return this;
+    }
+    
+    public EspecificacaoProduto comSabor(SaborPizza sabor) {
+        this.sabor = sabor;
+        return this;
+    }
+    
+    public EspecificacaoProduto comTipoFactory(IngredienteFactory.TipoFactory tipoFactory) {
+        this.tipoFactory = tipoFactory;
+        return this;
+    }
+    
+    public EspecificacaoProduto adicionarIngrediente(TipoIngrediente tipo, int quantidade) {
+        if (totalIngredientes == MAX_INGREDIENTES) {
+            throw new IllegalArgumentException("Máximo de " + MAX_INGREDIENTES + " itens de ingrediente por produto");
+        }
+        tipos[totalIngredientes] = tipo;
+        quantidades[totalIngredientes] = quantidade;
+        totalIngredientes++;
+        return this;
+    }
+    
+    public TipoProduto getTipoProduto() {
+        return tipoProduto;
+    }
+    
+    public Tamanho getTamanho() {
+        return tamanho;
+    }
+    
+    public TipoMassa getTipoMassa() {
+        return tipoMassa;
+    }
+    
+    public SaborPizza getSabor() {
+        return sabor;
+    }
+    
+    public IngredienteFactory.TipoFactory getTipoFactory() {
+        return tipoFactory;
+    }
+    
+    public int getTotalIngredientes() {
+        return totalIngredientes;
+    }
+    
+    public TipoIngrediente getTipoIngrediente(int indice) {
+        return tipos[indice];
+    }
+    
+    public int getQuantidade(int indice) {
+        return quantidades[indice];
+    }
+    
+    /**
+     * Monta e valida o produto descrito
+     * 
+     * @throws IllegalArgumentException se a factory recusar um ingrediente
+     * @throws IllegalStateException se o Builder/validador recusar a configuração
+     */
+    public Produto construir() {
+        IngredienteFactory factory = prepararFactory();
+        if (tipoProduto == TipoProduto.LANCHE) {
+            return montarLanche(factory).build();
+        }
+        return montarPizza(factory).build();
+    }
+    
+    /**
+     * Valida o produto descrito e devolve seu preço, sem construí-lo
+     * 
+     * Usa o Builder reaproveitado da thread e não aloca o produto: o
+     * caminho de cotação de uma pizza de sabor ou de um produto com
+     * ingredientes da tabela de flyweights não gera lixo.
+     * 
+     * @throws IllegalArgumentException se a factory recusar um ingrediente
+     * @throws IllegalStateException se o Builder/validador recusar a configuração
+     */
+    public long cotarCentavos() {
+        IngredienteFactory factory = prepararFactory();
+        if (tipoProduto == TipoProduto.LANCHE) {
+            return montarLanche(factory).cotarCentavos();
+        }
+        return montarPizza(factory).cotarCentavos();
+    }
+    
+    /**
+     * Monta o produto descrito, ou devolve null se o validador o recusar
+     * 
+     * Recusas de regra não lançam exceção: o motivo fica em getResultado().
+     * Ingredientes recusados pela factory continuam lançando
+     * IllegalArgumentException.
+     */
+    public Produto tentarConstruir() {
+        IngredienteFactory factory = prepararFactory();
+        Produto produto;
+        if (tipoProduto == TipoProduto.LANCHE) {
+            Lanche.Builder builder = montarLanche(factory);
+            produto = builder.tentarBuild();
+            resultado = builder.getResultado();
+        } else {
+            Pizza.Builder builder = montarPizza(factory);
+            produto = builder.tentarBuild();
+            resultado = builder.getResultado();
+        }
+        return produto;
+    }
+    
+    /**
+     * Versão sem exceção de cotarCentavos()
+     * 
+     * @return o preço em centavos, ou Produto.SEM_PRECO se o validador
+     *         recusar a configuração (motivo em getResultado())
+     */
+    public long tentarCotarCentavos() {
+        IngredienteFactory factory = prepararFactory();
+        long preco;
+        if (tipoProduto == TipoProduto.LANCHE) {
+            Lanche.Builder builder = montarLanche(factory);
+            preco = builder.tentarCotarCentavos();
+            resultado = builder.getResultado();
+        } else {
+            Pizza.Builder builder = montarPizza(factory);
+            preco = builder.tentarCotarCentavos();
+            resultado = builder.getResultado();
+        }
+        return preco;
+    }
+    
+    /**
+     * Código de ResultadoValidacao da última chamada de tentarConstruir() ou tentarCotarCentavos()
+     */
+    public long getResultado() {
+        return resultado;
+    }
+    
+    private IngredienteFactory prepararFactory() {
+        if (tipoProduto == null) {
+            throw new IllegalArgumentException("Tipo de produto deve ser especificado");
+        }
+        if (tipoProduto == TipoProduto.LANCHE && sabor != null) {
+            throw new IllegalArgumentException("Sabor só se aplica a pizzas");
+        }
+        return IngredienteFactory.obterFactory(tipoFactory);
+    }
+    
+    private Lanche.Builder montarLanche(IngredienteFactory factory) {
+        Lanche.Builder builder = LANCHES.get().limpar();
+        if (tamanho != null) {
+            builder.comTamanho(tamanho);
+        }
+        if (tipoMassa != null) {
+            builder.comTipoPao(tipoMassa);
+        }
+        for (int i = 0; i < totalIngredientes; i++) {
+            builder.adicionarIngrediente(factory.criarIngredienteValidado(tipos[i], quantidades[i]));
+        }
+        return builder;
+    }
+    
+    private Pizza.Builder montarPizza(IngredienteFactory factory) {
+        Pizza.Builder builder = PIZZAS.get().limpar();
+        if (tamanho != null) {
+            builder.comTamanho(tamanho);
+        }
+        if (tipoMassa != null) {
+            builder.comTipoMassa(tipoMassa);
+        }
+        if (sabor != null) {
+            List<TipoIngrediente> ingredientesSabor = sabor.getIngredientes();
+            for (int i = 0; i < ingredientesSabor.size(); i++) {
+                Ingrediente ingrediente;
+                try {
+                    ingrediente = factory.criarIngrediente(ingredientesSabor.get(i), 1);
+                } catch (IllegalArgumentException e) {
+                    continue; // Indisponível no tipo selecionado, como no console
+                }
+                builder.adicionarIngrediente(ingrediente);
+            }
+        }
+        for (int i = 0; i < totalIngredientes; i++) {
+            builder.adicionarIngrediente(factory.criarIngredienteValidado(tipos[i], quantidades[i]));
+        }
+        return builder;
+    }
+    
+    /**
+     * Converte texto em constante de enum com mensagem amigável
+     * 
+     * @throws IllegalArgumentException se o valor não corresponder a nenhuma constante
+     */
+    public static <E extends Enum<E>> E converter(Class<E> tipo, String valor, String campo) {
+        if (valor == null) {
+            throw new IllegalArgumentException(campo + " deve ser especificado");
+        }
+        try {
+            return Enum.valueOf(tipo, valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(campo + " inválido: " + valor.trim());
+        }
+    }
+    
+    /**
+     * Confere se a massa é do tipo de produto: massa de pizza só em pizzas, pão só em lanches
+     * 
+     * Os Builders não distinguem os dois grupos de TipoMassa; o console só
+     * oferece as opções certas, mas entradas livres (API, lotes) precisam
+     * conferir antes de montar o produto.
+     * 
+     * @throws IllegalArgumentException se a massa for do outro tipo de produto
+     */
+    public static void verificarMassa(TipoProduto produto, TipoMassa massa) {
+        if (produto == null || massa == null) {
+            return;
+        }
+        boolean massaPizza = CatalogoCardapio.isMassaPizza(massa);
+        if (produto == TipoProduto.PIZZA && !massaPizza) {
+            throw new IllegalArgumentException(massa.getNome() + " não é massa de pizza");
+        }
+        if (produto == TipoProduto.LANCHE && massaPizza) {
+            throw new IllegalArgumentException(massa.getNome() + " não é pão de lanche");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lanchonete.pedido;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.model.Produto;
+
+/**
+ * Produto incluído em um Pedido, com o sabor de cardápio (se for pizza de sabor)
+ * 
+ * O preço é lido do produto uma vez na inclusão; como o produto fixa o
+ * preço na construção, ele não muda enquanto o item está no carrinho.
+ */
+public final class ItemPedido {
+    private final Produto produto;
+    private final SaborPizza sabor;
+    private final long precoCentavos;
+    
+    ItemPedido(Produto produto, SaborPizza sabor) {
+        this.produto = produto;
+        this.sabor = sabor;
+        this.precoCentavos = produto.calcularPrecoTotalCentavos();
+    }
+    
+    public Produto getProduto() {
+        return produto;
+    }
+    
+    /**
+     * Sabor do cardápio, ou null para lanches e pizzas montadas
+     */
+    public SaborPizza getSabor() {
+        return sabor;
+    }
+    
+    public long getPrecoCentavos() {
+        return precoCentavos;
+    }
+    
+    @Override
+    public String toString() {
+        return produto.getTipoProduto() + " " + produto.getTamanho() + (sabor != null ? " " + sabor.getNome() : "");
+    }
+}
@@ -0,0 +1,288 @@
+package com.lanchonete.pedido;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import com.lanchonete.promocao.MotorPromocoes;
+import com.lanchonete.promocao.Promocao;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Carrinho com vários produtos e as promoções que valem para ele
+ * 
+ * Cada inclusão ou retirada atualiza o subtotal e os índices por tipo de
+ * produto × tamanho e por sabor (com os preços do sabor em ordem
+ * crescente). As promoções são calculadas sobre esses índices, sem
+ * percorrer os itens, e só são recalculadas as que dependem do item
+ * incluído ou retirado - carrinhos corporativos com dezenas de itens
+ * custam o mesmo que um pedido de balcão por alteração.
+ * 
+ * Não é thread-safe: como um Builder, pertence a quem monta o pedido.
+ */
+public class Pedido {
+    private static final int TAMANHOS = Tamanho.values().length;
+    private static final int SABORES = SaborPizza.values().length;
+    
+    private final MotorPromocoes promocoes;
+    private final List<ItemPedido> itens = new ArrayList<>();
+    
+    // Índices: 1 + ordinal do tamanho por tipo de produto (0 = todos os tamanhos)
+    private final int[] porProdutoTamanho = new int[TipoProduto.values().length * (1 + TAMANHOS)];
+    private final int[] porSabor = new int[SABORES];
+    private final long[][] precosPorSabor = new long[SABORES][4];
+    
+    private long subtotalCentavos;
+    private final long[] descontosPorPromocao;
+    private long descontosCentavos;
+    
+    /**
+     * Pedido com as promoções padrão
+     */
+    public Pedido() {
+        this(MotorPromocoes.padrao());
+    }
+    
+    public Pedido(MotorPromocoes promocoes) {
+        if (promocoes == null) {
+            throw new IllegalArgumentException("Promoções são obrigatórias");
+        }
+        this.promocoes = promocoes;
+        this.descontosPorPromocao = new long[promocoes.getQuantidade()];
+    }
+    
+    /**
+     * Inclui um lanche ou uma pizza montada
+     */
+    public ItemPedido adicionar(Produto produto) {
+        return adicionar(produto, null);
+    }
+    
+    /**
+     * Inclui uma pizza com o sabor do cardápio (null inclui sem sabor)
+     * 
+     * O sabor decide as promoções por sabor, então só é aceito se a pizza
+     * tiver todos os ingredientes dele (extras são permitidos).
+     * 
+     * @throws IllegalArgumentException se o produto não for uma pizza do sabor
+     */
+    public ItemPedido adicionar(Produto produto, SaborPizza sabor) {
+        if (produto == null) {
+            throw new IllegalArgumentException("Produto é obrigatório");
+        }
+        if (sabor != null && produto.getTipoProduto() != TipoProduto.PIZZA) {
+            throw new IllegalArgumentException("Sabor só se aplica a pizzas");
+        }
+        if (sabor != null && !contemSabor(produto, sabor)) {
+            throw new IllegalArgumentException("Pizza sem os ingredientes do sabor " + sabor.getNome());
+        }
+        
+        ItemPedido item = new ItemPedido(produto, sabor);
+        itens.add(item);
+        subtotalCentavos += item.getPrecoCentavos();
+        porProdutoTamanho[indice(produto.getTipoProduto(), null)]++;
+        porProdutoTamanho[indice(produto.getTipoProduto(), produto.getTamanho())]++;
+        if (sabor != null) {
+            inserirPreco(sabor.ordinal(), item.getPrecoCentavos());
+        }
+        reavaliar(item);
+        return item;
+    }
+    
+    /**
+     * Monta o produto descrito e o inclui com o sabor da especificação
+     * 
+     * Se a factory não tiver algum ingrediente do sabor, a pizza é montada
+     * sem ele e entra como pizza montada, fora das promoções do sabor.
+     * 
+     * @throws IllegalArgumentException se a factory recusar um ingrediente
+     * @throws IllegalStateException se o Builder/validador recusar a configuração
+     */
+    public ItemPedido adicionar(EspecificacaoProduto especificacao) {
+        Produto produto = especificacao.construir();
+        SaborPizza sabor = especificacao.getSabor();
+        return adicionar(produto, sabor != null && contemSabor(produto, sabor) ? sabor : null);
+    }
+    
+    /**
+     * true se o produto é uma pizza com todos os ingredientes do sabor
+     */
+    public static boolean contemSabor(Produto produto, SaborPizza sabor) {
+        if (produto.getTipoProduto() != TipoProduto.PIZZA) {
+            return false;
+        }
+        long presentes = 0;
+        for (Ingrediente ingrediente : produto.getIngredientes()) {
+            presentes |= 1L << ingrediente.getTipo().ordinal();
+        }
+        for (TipoIngrediente tipo : sabor.getIngredientes()) {
+            if ((presentes & 1L << tipo.ordinal()) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Retira um item do pedido
+     * 
+     * @return false se o item não pertence a este pedido
+     */
+    public boolean remover(ItemPedido item) {
+        if (!itens.remove(item)) {
+            return false;
+        }
+        
+        Produto produto = item.getProduto();
+        subtotalCentavos -= item.getPrecoCentavos();
+        porProdutoTamanho[indice(produto.getTipoProduto(), null)]--;
+        porProdutoTamanho[indice(produto.getTipoProduto(), produto.getTamanho())]--;
+        if (item.getSabor() != null) {
+            retirarPreco(item.getSabor().ordinal(), item.getPrecoCentavos());
+        }
+        reavaliar(item);
+        return true;
+    }
+    
+    public List<ItemPedido> getItens() {
+        return Collections.unmodifiableList(itens);
+    }
+    
+    public int getQuantidadeItens() {
+        return itens.size();
+    }
+    
+    public MotorPromocoes getPromocoes() {
+        return promocoes;
+    }
+    
+    /**
+     * Soma dos preços dos itens, sem descontos
+     */
+    public long getSubtotalCentavos() {
+        return subtotalCentavos;
+    }
+    
+    /**
+     * Desconto total das promoções, limitado ao subtotal
+     */
+    public long getDescontoCentavos() {
+        return Math.min(descontosCentavos, subtotalCentavos);
+    }
+    
+    /**
+     * Desconto concedido pela promoção na posição informada do motor
+     */
+    public long getDescontoCentavos(int indicePromocao) {
+        return descontosPorPromocao[indicePromocao];
+    }
+    
+    public long getTotalCentavos() {
+        return subtotalCentavos - getDescontoCentavos();
+    }
+    
+    /**
+     * Desconto total repartido entre os itens, na ordem de getItens()
+     * 
+     * Cada item recebe uma parte proporcional ao seu preço, arredondada
+     * sobre a soma acumulada: as partes somam exatamente o desconto e
+     * nenhuma passa do preço do item. Serve para registrar cada item
+     * pelo valor efetivamente cobrado.
+     */
+    public long[] ratearDesconto() {
+        long[] partes = new long[itens.size()];
+        long desconto = getDescontoCentavos();
+        if (desconto == 0) {
+            return partes;
+        }
+        long acumulado = 0;
+        long anterior = 0;
+        for (int i = 0; i < partes.length; i++) {
+            acumulado += itens.get(i).getPrecoCentavos();
+            long ate = desconto * acumulado / subtotalCentavos;
+            partes[i] = ate - anterior;
+            anterior = ate;
+        }
+        return partes;
+    }
+    
+    /**
+     * Itens do tipo de produto, em qualquer tamanho
+     */
+    public int getQuantidade(TipoProduto produto) {
+        return porProdutoTamanho[indice(produto, null)];
+    }
+    
+    /**
+     * Itens do tipo de produto no tamanho informado (null = qualquer tamanho)
+     */
+    public int getQuantidade(TipoProduto produto, Tamanho tamanho) {
+        return porProdutoTamanho[indice(produto, tamanho)];
+    }
+    
+    /**
+     * Pizzas do sabor
+     */
+    public int getQuantidade(SaborPizza sabor) {
+        return porSabor[sabor.ordinal()];
+    }
+    
+    /**
+     * Soma dos preços das n pizzas mais baratas do sabor
+     */
+    public long somarMaisBaratos(SaborPizza sabor, int n) {
+        long[] precos = precosPorSabor[sabor.ordinal()];
+        int limite = Math.min(n, porSabor[sabor.ordinal()]);
+        long soma = 0;
+        for (int i = 0; i < limite; i++) {
+            soma += precos[i];
+        }
+        return soma;
+    }
+    
+    private static int indice(TipoProduto produto, Tamanho tamanho) {
+        return produto.ordinal() * (1 + TAMANHOS) + (tamanho == null ? 0 : 1 + tamanho.ordinal());
+    }
+    
+    /**
+     * Recalcula só as promoções afetadas pelo item incluído ou retirado
+     */
+    private void reavaliar(ItemPedido item) {
+        for (int i = 0; i < descontosPorPromocao.length; i++) {
+            Promocao promocao = promocoes.getPromocao(i);
+            if (promocao.depende(item)) {
+                long desconto = promocao.calcularDesconto(this);
+                descontosCentavos += desconto - descontosPorPromocao[i];
+                descontosPorPromocao[i] = desconto;
+            }
+        }
+    }
+    
+    private void inserirPreco(int sabor, long preco) {
+        int quantidade = porSabor[sabor];
+        long[] precos = precosPorSabor[sabor];
+        if (quantidade == precos.length) {
+            precos = precosPorSabor[sabor] = Arrays.copyOf(precos, quantidade * 2);
+        }
+        int posicao = Arrays.binarySearch(precos, 0, quantidade, preco);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        System.arraycopy(precos, posicao, precos, posicao + 1, quantidade - posicao);
+        precos[posicao] = preco;
+        porSabor[sabor] = quantidade + 1;
+    }
+    
+    private void retirarPreco(int sabor, long preco) {
+        int quantidade = porSabor[sabor];
+        long[] precos = precosPorSabor[sabor];
+        int posicao = Arrays.binarySearch(precos, 0, quantidade, preco);
+        System.arraycopy(precos, posicao + 1, precos, posicao, quantidade - posicao - 1);
+        porSabor[sabor] = quantidade - 1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.lanchonete.pricing;
+
+import com.lanchonete.config.RecarregadorArquivo;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+/**
+ * Carrega a tabela de preços de um arquivo e publica cada nova versão em
+ * TabelaPrecos quando ele muda
+ * 
+ * Uma alteração só é aceita com número de versão maior que o vigente; do
+ * contrário a tabela em vigor continua e o erro vai para o log.
+ */
+public final class RecarregadorPrecos extends RecarregadorArquivo<VersaoPrecos> {
+    
+    private RecarregadorPrecos(Path arquivo, PrintStream log) throws IOException {
+        super(arquivo, "Tabela de preços", log);
+    }
+    
+    /**
+     * Publica a tabela do arquivo e passa a observá-lo
+     * 
+     * Se o arquivo não existe, ele é criado com a tabela vigente.
+     * 
+     * @param log destino das mensagens de recarga e de erro
+     * @throws IllegalArgumentException se o arquivo existe mas não descreve uma tabela válida e posterior
+     */
+    public static RecarregadorPrecos iniciar(Path arquivo, PrintStream log) throws IOException {
+        RecarregadorPrecos recarregador = new RecarregadorPrecos(arquivo, log);
+        recarregador.iniciar();
+        return recarregador;
+    }
+    
+    @Override
+    protected VersaoPrecos ler(Path arquivo) throws IOException {
+        return VersaoPrecos.ler(arquivo);
+    }
+    
+    @Override
+    protected String formatar(VersaoPrecos versao) {
+        return versao.formatar();
+    }
+    
+    @Override
+    protected VersaoPrecos vigente() {
+        return TabelaPrecos.vigente();
+    }
+    
+    @Override
+    protected void instalar(VersaoPrecos versao) {
+        TabelaPrecos.publicar(versao);
+    }
+}
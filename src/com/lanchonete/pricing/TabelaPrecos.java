@@ -0,0 +1,70 @@
+package com.lanchonete.pricing;
+
+/**
+ * Motor de preços em ponto fixo
+ * 
+ * Todos os valores intermediários são inteiros em "unidades", onde
+ * 1 centavo = 10^8 unidades (centavos × fator de preço em pontos-base ×
+ * fator de tamanho em pontos-base). Assim as multiplicações por 1.3, 0.85
+ * e 1.5 são exatas e o arredondamento acontece uma única vez, no total
+ * do produto, com regra meio-para-cima (a mesma do Math.round original).
+ * 
+ * Os valores vêm da VersaoPrecos vigente, publicada inteira por
+ * {@link #publicar}: quem calcula um preço lê a referência volatile uma vez
+ * e faz só consultas em vetores dessa versão, sem trava e sem misturar
+ * valores de versões diferentes no mesmo produto.
+ */
+public final class TabelaPrecos {
+    
+    // Escala dos fatores em pontos-base (10000 = 100%)
+    public static final long ESCALA_FATOR = 10_000L;
+    
+    // Quantidade de unidades internas que equivalem a um centavo
+    public static final long UNIDADES_POR_CENTAVO = ESCALA_FATOR * ESCALA_FATOR;
+    
+    private static volatile VersaoPrecos vigente = VersaoPrecos.padrao();
+    
+    private TabelaPrecos() {
+    }
+    
+    /**
+     * Versão da tabela em vigor
+     */
+    public static VersaoPrecos vigente() {
+        return vigente;
+    }
+    
+    /**
+     * Substitui a tabela em vigor; produtos já construídos mantêm a versão com que foram calculados
+     * 
+     * @throws IllegalArgumentException se a versão não for maior que a vigente
+     */
+    public static synchronized void publicar(VersaoPrecos nova) {
+        if (nova.getVersao() <= vigente.getVersao()) {
+            throw new IllegalArgumentException("Versão " + nova.getVersao() 
+                + " da tabela de preços não é posterior à vigente (" + vigente.getVersao() + ")");
+        }
+        vigente = nova;
+    }
+    
+    /**
+     * Converte um valor em reais para centavos (arredondamento meio-para-cima)
+     */
+    public static long centavos(double reais) {
+        return Math.round(reais * 100.0);
+    }
+    
+    /**
+     * Arredonda unidades internas para centavos (meio-para-cima)
+     */
+    public static long arredondar(long unidades) {
+        return Math.floorDiv(unidades + UNIDADES_POR_CENTAVO / 2, UNIDADES_POR_CENTAVO);
+    }
+    
+    /**
+     * Converte centavos para reais (apenas para exibição)
+     */
+    public static double reais(long centavos) {
+        return centavos / 100.0;
+    }
+}
@@ -0,0 +1,481 @@
+package com.lanchonete.pricing;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoPreco;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Ingrediente;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Versão imutável da tabela de preços, já expandida em vetores por ordinal
+ * 
+ * Guarda preço base por produto, preço de cada ingrediente, adicional de
+ * cada massa, fator de cada tamanho e os fatores das linhas premium e
+ * promocional. Os valores dos enums são só a versão padrão (1); uma versão
+ * nova nasce de uma cópia alterada (Builder a partir da vigente) com número
+ * maior e é publicada inteira em TabelaPrecos.
+ * 
+ * O fator premium vale para todo ingrediente premium. O desconto promocional
+ * é copiado para o ingrediente quando a factory o cria, então cada
+ * ingrediente promocional é cobrado pelo desconto que exibe.
+ * 
+ * Formato do arquivo (java.util.Properties, valores em reais e fatores decimais):
+ * <pre>
+ *   versao = 2
+ *   preco_base.LANCHE = 15.00
+ *   ingrediente.BACON = 6.50
+ *   massa.CIABATTA = 4.00
+ *   tamanho.GRANDE = 2.0
+ *   multiplicador.premium = 1.30
+ *   desconto.promocional = 0.15
+ * </pre>
+ * A versão é obrigatória; as demais chaves ausentes mantêm o valor padrão.
+ */
+public final class VersaoPrecos {
+    private static final String VERSAO = "versao";
+    private static final String PRECO_BASE = "preco_base.";
+    private static final String INGREDIENTE = "ingrediente.";
+    private static final String MASSA = "massa.";
+    private static final String TAMANHO = "tamanho.";
+    private static final String MULTIPLICADOR_PREMIUM = "multiplicador.premium";
+    private static final String DESCONTO_PROMOCIONAL = "desconto.promocional";
+    
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    private static final TipoMassa[] MASSAS = TipoMassa.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final TipoPreco[] TIPOS_PRECO = TipoPreco.values();
+    private static final TipoProduto[] PRODUTOS = TipoProduto.values();
+    
+    // Limites que mantêm o cálculo em unidades internas longe de estouro
+    private static final long CENTAVOS_MAXIMO = 1_000_000;
+    private static final long FATOR_MAXIMO_BP = 10 * TabelaPrecos.ESCALA_FATOR;
+    
+    private static final VersaoPrecos PADRAO = padraoDosEnums();
+    
+    private final long versao;
+    private final long[] centavosProduto;
+    private final long[] centavosIngrediente;
+    private final long[] centavosMassa;
+    private final long[] fatorTamanhoBp;
+    private final int[] fatorTipoPrecoBp;
+    
+    // Preço unitário por (tipo de preço, tamanho, ingrediente), já em unidades
+    private final long[] precoUnitario;
+    
+    private VersaoPrecos(Builder builder) {
+        this.versao = builder.versao;
+        this.centavosProduto = builder.centavosProduto.clone();
+        this.centavosIngrediente = builder.centavosIngrediente.clone();
+        this.centavosMassa = builder.centavosMassa.clone();
+        this.fatorTamanhoBp = builder.fatorTamanhoBp.clone();
+        this.fatorTipoPrecoBp = builder.fatorTipoPrecoBp.clone();
+        
+        this.precoUnitario = new long[TIPOS_PRECO.length * TAMANHOS.length * TIPOS.length];
+        for (TipoPreco tipoPreco : TIPOS_PRECO) {
+            for (Tamanho tamanho : TAMANHOS) {
+                for (TipoIngrediente tipo : TIPOS) {
+                    precoUnitario[indice(tipoPreco, tamanho, tipo)] =
+                        centavosIngrediente[tipo.ordinal()]
+                        * fatorTipoPrecoBp[tipoPreco.ordinal()]
+                        * fatorTamanhoBp[tamanho.ordinal()];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Versão 1, com os preços definidos nos enums
+     */
+    public static VersaoPrecos padrao() {
+        return PADRAO;
+    }
+    
+    /**
+     * Lê uma versão de um arquivo em UTF-8
+     * 
+     * @throws IllegalArgumentException se o conteúdo não descreve uma tabela válida
+     */
+    public static VersaoPrecos ler(Path arquivo) throws IOException {
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return ler(leitor);
+        }
+    }
+    
+    /**
+     * Lê uma versão no formato descrito na classe
+     * 
+     * @throws IllegalArgumentException se o conteúdo não descreve uma tabela válida
+     */
+    public static VersaoPrecos ler(Reader leitor) throws IOException {
+        Properties propriedades = new Properties();
+        propriedades.load(leitor);
+        if (propriedades.getProperty(VERSAO) == null) {
+            throw new IllegalArgumentException("Chave obrigatória ausente na tabela de preços: " + VERSAO);
+        }
+        
+        Builder builder = new Builder(PADRAO);
+        for (String chave : propriedades.stringPropertyNames()) {
+            String valor = propriedades.getProperty(chave).trim();
+            if (chave.equals(VERSAO)) {
+                builder.comVersao(decimal(chave, valor, 0).longValueExact());
+            } else if (chave.equals(MULTIPLICADOR_PREMIUM)) {
+                builder.comMultiplicadorPremium(decimal(chave, valor, 4).doubleValue());
+            } else if (chave.equals(DESCONTO_PROMOCIONAL)) {
+                builder.comDescontoPromocional(decimal(chave, valor, 4).doubleValue());
+            } else if (chave.startsWith(PRECO_BASE)) {
+                builder.comPrecoBase(constante(TipoProduto.class, chave, PRECO_BASE), reais(chave, valor));
+            } else if (chave.startsWith(INGREDIENTE)) {
+                builder.comPrecoIngrediente(constante(TipoIngrediente.class, chave, INGREDIENTE), reais(chave, valor));
+            } else if (chave.startsWith(MASSA)) {
+                builder.comPrecoMassa(constante(TipoMassa.class, chave, MASSA), reais(chave, valor));
+            } else if (chave.startsWith(TAMANHO)) {
+                builder.comMultiplicadorTamanho(constante(Tamanho.class, chave, TAMANHO),
+                    decimal(chave, valor, 4).doubleValue());
+            } else {
+                throw new IllegalArgumentException("Chave desconhecida na tabela de preços: " + chave);
+            }
+        }
+        
+        try {
+            return builder.build();
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Tabela no formato do arquivo, em ordem fixa (ler(formatar()) reproduz a mesma versão)
+     */
+    public String formatar() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(VERSAO).append(" = ").append(versao).append('\n');
+        for (TipoProduto produto : PRODUTOS) {
+            sb.append(PRECO_BASE).append(produto.name()).append(" = ")
+              .append(emReais(centavosProduto[produto.ordinal()])).append('\n');
+        }
+        for (TipoIngrediente tipo : TIPOS) {
+            sb.append(INGREDIENTE).append(tipo.name()).append(" = ")
+              .append(emReais(centavosIngrediente[tipo.ordinal()])).append('\n');
+        }
+        for (TipoMassa massa : MASSAS) {
+            sb.append(MASSA).append(massa.name()).append(" = ")
+              .append(emReais(centavosMassa[massa.ordinal()])).append('\n');
+        }
+        for (Tamanho tamanho : TAMANHOS) {
+            sb.append(TAMANHO).append(tamanho.name()).append(" = ")
+              .append(emFator(fatorTamanhoBp[tamanho.ordinal()])).append('\n');
+        }
+        sb.append(MULTIPLICADOR_PREMIUM).append(" = ")
+          .append(emFator(fatorTipoPrecoBp[TipoPreco.PREMIUM.ordinal()])).append('\n');
+        sb.append(DESCONTO_PROMOCIONAL).append(" = ")
+          .append(emFator(TabelaPrecos.ESCALA_FATOR - fatorTipoPrecoBp[TipoPreco.PROMOCIONAL.ordinal()])).append('\n');
+        return sb.toString();
+    }
+    
+    public long getVersao() {
+        return versao;
+    }
+    
+    public long getPrecoBaseCentavos(TipoProduto produto) {
+        return centavosProduto[produto.ordinal()];
+    }
+    
+    public long getPrecoIngredienteCentavos(TipoIngrediente tipo) {
+        return centavosIngrediente[tipo.ordinal()];
+    }
+    
+    public long getPrecoMassaCentavos(TipoMassa massa) {
+        return centavosMassa[massa.ordinal()];
+    }
+    
+    public long getFatorTamanhoBp(Tamanho tamanho) {
+        return fatorTamanhoBp[tamanho.ordinal()];
+    }
+    
+    /**
+     * Fator da linha de preço em pontos-base (PROMOCIONAL = 10000 - desconto)
+     */
+    public int getFatorBp(TipoPreco tipoPreco) {
+        return fatorTipoPrecoBp[tipoPreco.ordinal()];
+    }
+    
+    /**
+     * Desconto aplicado pela factory promocional aos ingredientes que cria (0.15 = 15%)
+     */
+    public double getDescontoPromocional() {
+        return (TabelaPrecos.ESCALA_FATOR - fatorTipoPrecoBp[TipoPreco.PROMOCIONAL.ordinal()])
+               / (double) TabelaPrecos.ESCALA_FATOR;
+    }
+    
+    /**
+     * Preço de uma unidade do ingrediente, em unidades internas
+     */
+    public long precoUnitario(TipoIngrediente tipo, TipoPreco tipoPreco, Tamanho tamanho) {
+        return precoUnitario[indice(tipoPreco, tamanho, tipo)];
+    }
+    
+    /**
+     * Fator cobrado pelo ingrediente: o da linha, ou o desconto próprio do promocional
+     */
+    public int fatorBp(Ingrediente ingrediente) {
+        TipoPreco tipoPreco = ingrediente.getTipoPreco();
+        return tipoPreco == TipoPreco.PROMOCIONAL ? ingrediente.getFatorPrecoBp() : fatorTipoPrecoBp[tipoPreco.ordinal()];
+    }
+    
+    /**
+     * Preço do ingrediente (todas as porções) no tamanho informado, em unidades internas
+     */
+    public long precoIngrediente(Ingrediente ingrediente, Tamanho tamanho) {
+        TipoPreco tipoPreco = ingrediente.getTipoPreco();
+        int fatorBp = fatorBp(ingrediente);
+        
+        if (fatorBp == fatorTipoPrecoBp[tipoPreco.ordinal()]) {
+            return precoUnitario(ingrediente.getTipo(), tipoPreco, tamanho) * ingrediente.getQuantidade();
+        }
+        
+        // Fator fora da tabela (ex.: desconto promocional de outra versão)
+        return centavosIngrediente[ingrediente.getTipo().ordinal()]
+               * fatorBp
+               * fatorTamanhoBp[tamanho.ordinal()]
+               * ingrediente.getQuantidade();
+    }
+    
+    /**
+     * Preço do ingrediente (todas as porções) antes do fator de tamanho, em unidades internas
+     * 
+     * Como o fator de tamanho é comum a todos os ingredientes, a soma destes
+     * subtotais pode ser mantida incrementalmente e escalada uma única vez.
+     */
+    public long subtotalIngrediente(Ingrediente ingrediente) {
+        return centavosIngrediente[ingrediente.getTipo().ordinal()]
+               * fatorBp(ingrediente)
+               * ingrediente.getQuantidade();
+    }
+    
+    /**
+     * Preço do ingrediente fora de um produto (sem fator de tamanho), em centavos
+     */
+    public long centavosIngrediente(Ingrediente ingrediente) {
+        return TabelaPrecos.arredondar(subtotalIngrediente(ingrediente) * TabelaPrecos.ESCALA_FATOR);
+    }
+    
+    /**
+     * Preço base do produto somado ao adicional da massa, em unidades internas
+     */
+    public long precoBase(long precoBaseCentavos, TipoMassa massa, Tamanho tamanho) {
+        return (precoBaseCentavos + centavosMassa[massa.ordinal()])
+               * TabelaPrecos.ESCALA_FATOR
+               * fatorTamanhoBp[tamanho.ordinal()];
+    }
+    
+    /**
+     * Calcula o preço total de um produto em centavos
+     */
+    public long calcularTotalCentavos(long precoBaseCentavos, TipoMassa massa, Tamanho tamanho,
+                                      List<Ingrediente> ingredientes) {
+        long unidades = precoBase(precoBaseCentavos, massa, tamanho);
+        
+        for (int i = 0; i < ingredientes.size(); i++) {
+            unidades += precoIngrediente(ingredientes.get(i), tamanho);
+        }
+        
+        return TabelaPrecos.arredondar(unidades);
+    }
+    
+    /**
+     * Calcula o preço total de um produto em centavos a partir do subtotal acumulado dos ingredientes
+     * 
+     * @param subtotalIngredientes soma de {@link #subtotalIngrediente} de todos os ingredientes
+     */
+    public long calcularTotalCentavos(long precoBaseCentavos, TipoMassa massa, Tamanho tamanho,
+                                      long subtotalIngredientes) {
+        return TabelaPrecos.arredondar(precoBase(precoBaseCentavos, massa, tamanho)
+                                       + subtotalIngredientes * fatorTamanhoBp[tamanho.ordinal()]);
+    }
+    
+    private static int indice(TipoPreco tipoPreco, Tamanho tamanho, TipoIngrediente tipo) {
+        return (tipoPreco.ordinal() * TAMANHOS.length + tamanho.ordinal()) * TIPOS.length + tipo.ordinal();
+    }
+    
+    private static VersaoPrecos padraoDosEnums() {
+        Builder builder = new Builder()
+            .comVersao(1)
+            .comPrecoBase(TipoProduto.LANCHE, 15.0)
+            .comPrecoBase(TipoProduto.PIZZA, 20.0);
+        for (TipoIngrediente tipo : TIPOS) {
+            builder.comPrecoIngrediente(tipo, tipo.getPreco());
+        }
+        for (TipoMassa massa : MASSAS) {
+            builder.comPrecoMassa(massa, massa.getPrecoAdicional());
+        }
+        for (Tamanho tamanho : TAMANHOS) {
+            builder.comMultiplicadorTamanho(tamanho, tamanho.getMultiplicadorPreco());
+        }
+        return builder.build();
+    }
+    
+    private static <E extends Enum<E>> E constante(Class<E> tipo, String chave, String prefixo) {
+        String nome = chave.substring(prefixo.length());
+        try {
+            return Enum.valueOf(tipo, nome);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(chave + ": " + tipo.getSimpleName() + " desconhecido: " + nome);
+        }
+    }
+    
+    private static BigDecimal decimal(String chave, String valor, int casas) {
+        BigDecimal numero;
+        try {
+            numero = new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(chave + " deve ser um número: " + valor);
+        }
+        if (numero.stripTrailingZeros().scale() > casas) {
+            throw new IllegalArgumentException(chave + " admite no máximo " + casas + " casas decimais: " + valor);
+        }
+        return numero;
+    }
+    
+    private static double reais(String chave, String valor) {
+        return decimal(chave, valor, 2).doubleValue();
+    }
+    
+    /**
+     * Mesmo arredondamento de TabelaPrecos.centavos, sem depender da inicialização dela
+     */
+    private static long centavos(double reais) {
+        return Math.round(reais * 100.0);
+    }
+    
+    private static String emReais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2).toPlainString();
+    }
+    
+    private static String emFator(long pontosBase) {
+        BigDecimal fator = BigDecimal.valueOf(pontosBase, 4).stripTrailingZeros();
+        return (fator.scale() < 1 ? fator.setScale(1) : fator).toPlainString();
+    }
+    
+    /**
+     * Builder para montar uma versão da tabela de preços
+     */
+    public static class Builder {
+        private long versao;
+        private final long[] centavosProduto = new long[PRODUTOS.length];
+        private final long[] centavosIngrediente = new long[TIPOS.length];
+        private final long[] centavosMassa = new long[MASSAS.length];
+        private final long[] fatorTamanhoBp = new long[TAMANHOS.length];
+        private final int[] fatorTipoPrecoBp = new int[TIPOS_PRECO.length];
+        
+        /**
+         * Tabela zerada, com os fatores de linha de fábrica (TipoPreco)
+         */
+        public Builder() {
+            Arrays.fill(fatorTamanhoBp, TabelaPrecos.ESCALA_FATOR);
+            for (TipoPreco tipoPreco : TIPOS_PRECO) {
+                fatorTipoPrecoBp[tipoPreco.ordinal()] = tipoPreco.getFatorBp();
+            }
+        }
+        
+        /**
+         * Cópia de uma versão existente, já com o número da versão seguinte
+         */
+        public Builder(VersaoPrecos base) {
+            this.versao = base.versao + 1;
+            System.arraycopy(base.centavosProduto, 0, centavosProduto, 0, centavosProduto.length);
+            System.arraycopy(base.centavosIngrediente, 0, centavosIngrediente, 0, centavosIngrediente.length);
+            System.arraycopy(base.centavosMassa, 0, centavosMassa, 0, centavosMassa.length);
+            System.arraycopy(base.fatorTamanhoBp, 0, fatorTamanhoBp, 0, fatorTamanhoBp.length);
+            System.arraycopy(base.fatorTipoPrecoBp, 0, fatorTipoPrecoBp, 0, fatorTipoPrecoBp.length);
+        }
+        
+        public Builder comVersao(long versao) {
+            this.versao = versao;
+            return this;
+        }
+        
+        /**
+         * Preço base usado quando o Builder do produto não informa outro
+         */
+        public Builder comPrecoBase(TipoProduto produto, double reais) {
+            centavosProduto[produto.ordinal()] = centavos(reais);
+            return this;
+        }
+        
+        public Builder comPrecoIngrediente(TipoIngrediente tipo, double reais) {
+            centavosIngrediente[tipo.ordinal()] = centavos(reais);
+            return this;
+        }
+        
+        /**
+         * Adicional cobrado pela massa ou pão
+         */
+        public Builder comPrecoMassa(TipoMassa massa, double reais) {
+            centavosMassa[massa.ordinal()] = centavos(reais);
+            return this;
+        }
+        
+        public Builder comMultiplicadorTamanho(Tamanho tamanho, double multiplicador) {
+            fatorTamanhoBp[tamanho.ordinal()] = Math.round(multiplicador * TabelaPrecos.ESCALA_FATOR);
+            return this;
+        }
+        
+        /**
+         * Multiplicador dos ingredientes premium (1.3 = 30% mais caro)
+         */
+        public Builder comMultiplicadorPremium(double multiplicador) {
+            fatorTipoPrecoBp[TipoPreco.PREMIUM.ordinal()] = (int) Math.round(multiplicador * TabelaPrecos.ESCALA_FATOR);
+            return this;
+        }
+        
+        /**
+         * Desconto dos ingredientes criados pela factory promocional (0.15 = 15%)
+         */
+        public Builder comDescontoPromocional(double desconto) {
+            fatorTipoPrecoBp[TipoPreco.PROMOCIONAL.ordinal()] =
+                (int) (TabelaPrecos.ESCALA_FATOR - Math.round(desconto * TabelaPrecos.ESCALA_FATOR));
+            return this;
+        }
+        
+        public VersaoPrecos build() {
+            if (versao < 1) {
+                throw new IllegalStateException("Versão da tabela de preços deve ser positiva");
+            }
+            validarCentavos(centavosProduto, "Preço base");
+            validarCentavos(centavosIngrediente, "Preço de ingrediente");
+            validarCentavos(centavosMassa, "Adicional de massa");
+            for (long fator : fatorTamanhoBp) {
+                if (fator <= 0 || fator > FATOR_MAXIMO_BP) {
+                    throw new IllegalStateException("Multiplicador de tamanho deve estar entre 0 (exclusivo) e 10");
+                }
+            }
+            int premium = fatorTipoPrecoBp[TipoPreco.PREMIUM.ordinal()];
+            if (premium <= 0 || premium > FATOR_MAXIMO_BP) {
+                throw new IllegalStateException("Multiplicador premium deve estar entre 0 (exclusivo) e 10");
+            }
+            int promocional = fatorTipoPrecoBp[TipoPreco.PROMOCIONAL.ordinal()];
+            if (promocional <= 0 || promocional > TabelaPrecos.ESCALA_FATOR) {
+                throw new IllegalStateException("Desconto promocional deve estar entre 0 e 1 (exclusivo)");
+            }
+            return new VersaoPrecos(this);
+        }
+        
+        private static void validarCentavos(long[] valores, String descricao) {
+            for (long centavos : valores) {
+                if (centavos < 0 || centavos > CENTAVOS_MAXIMO) {
+                    throw new IllegalStateException(descricao + " deve estar entre R$ 0,00 e R$ 10.000,00");
+                }
+            }
+        }
+    }
+}
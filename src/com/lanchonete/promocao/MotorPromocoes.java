@@ -0,0 +1,83 @@
+package com.lanchonete.promocao;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoProduto;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conjunto imutável de promoções aplicado a um Pedido
+ * 
+ * As promoções são cumulativas: cada uma calcula seu desconto sobre o
+ * carrinho inteiro e o Pedido soma os descontos, limitados ao subtotal.
+ */
+public final class MotorPromocoes {
+    private static final MotorPromocoes NENHUMA = new Builder().build();
+    private static final MotorPromocoes PADRAO = new Builder()
+        .adicionar(new PromocaoCombo.Builder()
+            .comNome("Combo família: 2 pizzas grandes + 1 lanche")
+            .exigir(TipoProduto.PIZZA, Tamanho.GRANDE, 2)
+            .exigir(TipoProduto.LANCHE, 1)
+            .comDesconto(10.0)
+            .build())
+        .adicionar(new PromocaoSabor.Builder()
+            .comNome("3ª Calabresa com 50% de desconto")
+            .comSabor(SaborPizza.CALABRESA)
+            .comCada(3)
+            .comDesconto(0.50)
+            .build())
+        .build();
+    
+    private final Promocao[] promocoes;
+    
+    private MotorPromocoes(Builder builder) {
+        this.promocoes = builder.promocoes.toArray(new Promocao[0]);
+    }
+    
+    /**
+     * Promoções vigentes na lanchonete
+     * 
+     * As duas promoções se acumulam: uma pizza GRANDE de calabresa conta
+     * para o combo família e também para a 3ª Calabresa, recebendo os dois
+     * descontos. O total do pedido nunca fica negativo (o desconto é
+     * limitado ao subtotal).
+     */
+    public static MotorPromocoes padrao() {
+        return PADRAO;
+    }
+    
+    /**
+     * Sem promoções (pedido pelo preço cheio)
+     */
+    public static MotorPromocoes nenhuma() {
+        return NENHUMA;
+    }
+    
+    public int getQuantidade() {
+        return promocoes.length;
+    }
+    
+    public Promocao getPromocao(int indice) {
+        return promocoes[indice];
+    }
+    
+    /**
+     * Builder para MotorPromocoes
+     */
+    public static class Builder {
+        private final List<Promocao> promocoes = new ArrayList<>();
+        
+        public Builder adicionar(Promocao promocao) {
+            if (promocao == null) {
+                throw new IllegalArgumentException("Promoção não pode ser nula");
+            }
+            promocoes.add(promocao);
+            return this;
+        }
+        
+        public MotorPromocoes build() {
+            return new MotorPromocoes(this);
+        }
+    }
+}
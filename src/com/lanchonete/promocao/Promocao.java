@@ -0,0 +1,26 @@
+package com.lanchonete.promocao;
+
+import com.lanchonete.pedido.ItemPedido;
+import com.lanchonete.pedido.Pedido;
+
+/**
+ * Regra de desconto avaliada sobre o carrinho inteiro
+ * 
+ * As implementações leem apenas os índices do Pedido (contagens por
+ * produto, tamanho e sabor), nunca a lista de itens, e informam de quais
+ * itens dependem para que o Pedido recalcule só o que mudou.
+ */
+public interface Promocao {
+    
+    String getNome();
+    
+    /**
+     * Indica se incluir ou retirar o item pode alterar o desconto desta promoção
+     */
+    boolean depende(ItemPedido item);
+    
+    /**
+     * Desconto em centavos que a promoção concede ao pedido no estado atual
+     */
+    long calcularDesconto(Pedido pedido);
+}
@@ -0,0 +1,144 @@
+package com.lanchonete.promocao;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.pedido.ItemPedido;
+import com.lanchonete.pedido.Pedido;
+import com.lanchonete.model.Produto;
+import com.lanchonete.pricing.TabelaPrecos;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Desconto fixo por combo completo (ex.: 2 pizzas grandes + 1 lanche)
+ * 
+ * O número de combos é o menor quociente entre a quantidade de itens de
+ * cada componente no pedido e a quantidade exigida - lido direto dos
+ * índices do Pedido. Os componentes não podem se sobrepor, para que um
+ * mesmo item não conte em dois deles.
+ */
+public final class PromocaoCombo implements Promocao {
+    private final String nome;
+    private final TipoProduto[] produtos;
+    private final Tamanho[] tamanhos; // null = qualquer tamanho
+    private final int[] quantidades;
+    private final long descontoCentavos;
+    
+    private PromocaoCombo(Builder builder) {
+        this.nome = builder.nome;
+        int componentes = builder.produtos.size();
+        this.produtos = builder.produtos.toArray(new TipoProduto[0]);
+        this.tamanhos = builder.tamanhos.toArray(new Tamanho[0]);
+        this.quantidades = new int[componentes];
+        for (int i = 0; i < componentes; i++) {
+            quantidades[i] = builder.quantidades.get(i);
+        }
+        this.descontoCentavos = TabelaPrecos.centavos(builder.desconto);
+    }
+    
+    @Override
+    public String getNome() {
+        return nome;
+    }
+    
+    /**
+     * Desconto concedido por combo completo
+     */
+    public long getDescontoCentavos() {
+        return descontoCentavos;
+    }
+    
+    @Override
+    public boolean depende(ItemPedido item) {
+        Produto produto = item.getProduto();
+        for (int i = 0; i < produtos.length; i++) {
+            if (produtos[i] == produto.getTipoProduto() && (tamanhos[i] == null || tamanhos[i] == produto.getTamanho())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public long calcularDesconto(Pedido pedido) {
+        int combos = Integer.MAX_VALUE;
+        for (int i = 0; i < produtos.length; i++) {
+            combos = Math.min(combos, pedido.getQuantidade(produtos[i], tamanhos[i]) / quantidades[i]);
+        }
+        return combos * descontoCentavos;
+    }
+    
+    @Override
+    public String toString() {
+        return nome;
+    }
+    
+    /**
+     * Builder para PromocaoCombo
+     */
+    public static class Builder {
+        private String nome;
+        private final List<TipoProduto> produtos = new ArrayList<>();
+        private final List<Tamanho> tamanhos = new ArrayList<>();
+        private final List<Integer> quantidades = new ArrayList<>();
+        private double desconto;
+        
+        public Builder comNome(String nome) {
+            this.nome = nome;
+            return this;
+        }
+        
+        /**
+         * Exige a quantidade de itens do produto em qualquer tamanho
+         */
+        public Builder exigir(TipoProduto produto, int quantidade) {
+            return exigir(produto, null, quantidade);
+        }
+        
+        /**
+         * Exige a quantidade de itens do produto no tamanho (null = qualquer tamanho)
+         */
+        public Builder exigir(TipoProduto produto, Tamanho tamanho, int quantidade) {
+            if (produto == null) {
+                throw new IllegalArgumentException("Produto do combo não pode ser nulo");
+            }
+            if (quantidade <= 0) {
+                throw new IllegalArgumentException("Quantidade do combo deve ser positiva");
+            }
+            produtos.add(produto);
+            tamanhos.add(tamanho);
+            quantidades.add(quantidade);
+            return this;
+        }
+        
+        /**
+         * Desconto em reais por combo completo
+         */
+        public Builder comDesconto(double desconto) {
+            this.desconto = desconto;
+            return this;
+        }
+        
+        public PromocaoCombo build() {
+            if (nome == null || nome.isBlank()) {
+                throw new IllegalStateException("Promoção deve ter nome");
+            }
+            if (produtos.isEmpty()) {
+                throw new IllegalStateException("Combo deve exigir pelo menos um produto");
+            }
+            if (desconto <= 0) {
+                throw new IllegalStateException("Desconto do combo deve ser positivo");
+            }
+            for (int i = 0; i < produtos.size(); i++) {
+                for (int j = i + 1; j < produtos.size(); j++) {
+                    if (produtos.get(i) == produtos.get(j) && (tamanhos.get(i) == null || tamanhos.get(j) == null 
+                            || tamanhos.get(i) == tamanhos.get(j))) {
+                        throw new IllegalStateException("Componentes do combo não podem se sobrepor: " 
+                            + produtos.get(i).getNome());
+                    }
+                }
+            }
+            return new PromocaoCombo(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.lanchonete.promocao;
+
+import com.lanchonete.enums.SaborPizza;
+import com.lanchonete.pedido.ItemPedido;
+import com.lanchonete.pedido.Pedido;
+
+/**
+ * A cada N pizzas do sabor, uma sai com desconto percentual (ex.: 3ª Calabresa com 50%)
+ * 
+ * Com k pizzas do sabor, floor(k / N) recebem o desconto, sempre as mais
+ * baratas. O Pedido mantém os preços de cada sabor em ordem, então o
+ * cálculo soma só as pizzas descontadas.
+ */
+public final class PromocaoSabor implements Promocao {
+    private static final int ESCALA_BP = 10_000;
+    
+    private final String nome;
+    private final SaborPizza sabor;
+    private final int cada;
+    private final int descontoBp;
+    
+    private PromocaoSabor(Builder builder) {
+        this.nome = builder.nome;
+        this.sabor = builder.sabor;
+        this.cada = builder.cada;
+        this.descontoBp = (int) Math.round(builder.desconto * ESCALA_BP);
+    }
+    
+    @Override
+    public String getNome() {
+        return nome;
+    }
+    
+    public SaborPizza getSabor() {
+        return sabor;
+    }
+    
+    @Override
+    public boolean depende(ItemPedido item) {
+        return item.getSabor() == sabor;
+    }
+    
+    @Override
+    public long calcularDesconto(Pedido pedido) {
+        int descontadas = pedido.getQuantidade(sabor) / cada;
+        if (descontadas == 0) {
+            return 0;
+        }
+        // Arredondamento meio-para-cima, como na TabelaPrecos
+        return (pedido.somarMaisBaratos(sabor, descontadas) * descontoBp + ESCALA_BP / 2) / ESCALA_BP;
+    }
+    
+    @Override
+    public String toString() {
+        return nome;
+    }
+    
+    /**
+     * Builder para PromocaoSabor
+     */
+    public static class Builder {
+        private String nome;
+        private SaborPizza sabor;
+        private int cada;
+        private double desconto;
+        
+        public Builder comNome(String nome) {
+            this.nome = nome;
+            return this;
+        }
+        
+        public Builder comSabor(SaborPizza sabor) {
+            this.sabor = sabor;
+            return this;
+        }
+        
+        /**
+         * Uma pizza com desconto a cada n do sabor
+         */
+        public Builder comCada(int cada) {
+            this.cada = cada;
+            return this;
+        }
+        
+        /**
+         * Fração do preço descontada (0.5 = 50%)
+         */
+        public Builder comDesconto(double desconto) {
+            this.desconto = desconto;
+            return this;
+        }
+        
+        public PromocaoSabor build() {
+            if (nome == null || nome.isBlank()) {
+                throw new IllegalStateException("Promoção deve ter nome");
+            }
+            if (sabor == null) {
+                throw new IllegalStateException("Sabor da promoção deve ser especificado");
+            }
+            if (cada < 1) {
+                throw new IllegalStateException("A promoção deve valer a cada 1 ou mais pizzas");
+            }
+            if (!(desconto > 0 && desconto <= 1)) {
+                throw new IllegalStateException("Desconto deve estar entre 0% (exclusivo) e 100%");
+            }
+            return new PromocaoSabor(this);
+        }
+    }
+}
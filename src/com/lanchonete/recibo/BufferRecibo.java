@@ -0,0 +1,214 @@
+package com.lanchonete.recibo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Buffer de caracteres reutilizável onde os recibos são renderizados
+ * 
+ * Cresce quando precisa e nunca encolhe, então depois das primeiras
+ * renderizações limpar e reescrever não aloca. O conteúdo pode ser lido
+ * como CharBuffer (visão sobre o mesmo vetor) ou codificado em bytes num
+ * ByteBuffer também reutilizado, para escrever num OutputStream de uma vez.
+ * Não é thread-safe: cada thread (ou cada tela) usa o seu.
+ */
+public final class BufferRecibo implements CharSequence {
+    private static final long[] POTENCIAS_DE_10 = new long[19];
+    
+    static {
+        POTENCIAS_DE_10[0] = 1;
+        for (int i = 1; i < POTENCIAS_DE_10.length; i++) {
+            POTENCIAS_DE_10[i] = POTENCIAS_DE_10[i - 1] * 10;
+        }
+    }
+    
+    char[] caracteres;
+    int tamanho;
+    
+    private final Charset charset;
+    private CharsetEncoder codificador;
+    private CharBuffer visao;
+    private ByteBuffer bytes;
+    
+    public BufferRecibo() {
+        this(512, Charset.defaultCharset());
+    }
+    
+    public BufferRecibo(int capacidade, Charset charset) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.caracteres = new char[capacidade];
+        this.charset = charset;
+    }
+    
+    /**
+     * Descarta o conteúdo, mantendo a capacidade
+     */
+    public BufferRecibo limpar() {
+        tamanho = 0;
+        return this;
+    }
+    
+    public BufferRecibo anexar(char c) {
+        garantir(1);
+        caracteres[tamanho++] = c;
+        return this;
+    }
+    
+    public BufferRecibo anexar(String texto) {
+        int n = texto.length();
+        garantir(n);
+        texto.getChars(0, n, caracteres, tamanho);
+        tamanho += n;
+        return this;
+    }
+    
+    public BufferRecibo anexar(char[] texto) {
+        garantir(texto.length);
+        System.arraycopy(texto, 0, caracteres, tamanho, texto.length);
+        tamanho += texto.length;
+        return this;
+    }
+    
+    public BufferRecibo anexar(CharSequence texto) {
+        int n = texto.length();
+        garantir(n);
+        for (int i = 0; i < n; i++) {
+            caracteres[tamanho++] = texto.charAt(i);
+        }
+        return this;
+    }
+    
+    /**
+     * Anexa o inteiro em decimal, sem passar por String
+     */
+    public BufferRecibo anexar(long valor) {
+        if (valor == Long.MIN_VALUE) {
+            return anexar(Long.toString(valor));
+        }
+        garantir(20);
+        if (valor < 0) {
+            caracteres[tamanho++] = '-';
+            valor = -valor;
+        }
+        int fim = tamanho + contarDigitos(valor);
+        for (int i = fim - 1; i >= tamanho; i--) {
+            caracteres[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        tamanho = fim;
+        return this;
+    }
+    
+    /**
+     * Anexa um valor em centavos no formato informado
+     */
+    public BufferRecibo anexarCentavos(long centavos, FormatoReais formato) {
+        formato.anexar(centavos, this);
+        return this;
+    }
+    
+    /**
+     * Visão do conteúdo atual sobre o mesmo vetor, válida até a próxima escrita
+     */
+    public CharBuffer comoCharBuffer() {
+        if (visao == null || visao.array() != caracteres) {
+            visao = CharBuffer.wrap(caracteres);
+        }
+        visao.limit(tamanho).position(0);
+        return visao;
+    }
+    
+    /**
+     * Codifica o conteúdo e escreve os bytes no destino com uma única chamada
+     */
+    public void escrever(OutputStream destino) throws IOException {
+        ByteBuffer codificados = codificar();
+        destino.write(codificados.array(), 0, codificados.limit());
+    }
+    
+    /**
+     * Escreve o conteúdo no destino com uma única chamada
+     */
+    public void escrever(Writer destino) throws IOException {
+        destino.write(caracteres, 0, tamanho);
+    }
+    
+    /**
+     * Codifica o conteúdo no ByteBuffer reutilizado (posição 0 até o limite)
+     */
+    public ByteBuffer codificar() {
+        if (codificador == null) {
+            codificador = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        int estimativa = (int) Math.ceil(tamanho * (double) codificador.maxBytesPerChar());
+        if (bytes == null || bytes.capacity() < estimativa) {
+            bytes = ByteBuffer.allocate(Math.max(estimativa, 2 * caracteres.length));
+        }
+        
+        CharBuffer entrada = comoCharBuffer();
+        bytes.clear();
+        codificador.reset();
+        CoderResult resultado = codificador.encode(entrada, bytes, true);
+        if (!resultado.isUnderflow()) {
+            throw new IllegalStateException("Falha ao codificar recibo: " + resultado);
+        }
+        codificador.flush(bytes);
+        bytes.flip();
+        return bytes;
+    }
+    
+    @Override
+    public int length() {
+        return tamanho;
+    }
+    
+    @Override
+    public char charAt(int indice) {
+        if (indice < 0 || indice >= tamanho) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fora de [0, " + tamanho + ")");
+        }
+        return caracteres[indice];
+    }
+    
+    @Override
+    public CharSequence subSequence(int inicio, int fim) {
+        return toString().subSequence(inicio, fim);
+    }
+    
+    @Override
+    public String toString() {
+        return new String(caracteres, 0, tamanho);
+    }
+    
+    /**
+     * Garante espaço para mais n caracteres
+     */
+    void garantir(int n) {
+        if (tamanho + n > caracteres.length) {
+            caracteres = Arrays.copyOf(caracteres, Math.max(tamanho + n, caracteres.length * 2));
+        }
+    }
+    
+    /**
+     * Número de dígitos decimais de um valor não negativo
+     */
+    static int contarDigitos(long valor) {
+        int digitos = 1;
+        while (digitos < POTENCIAS_DE_10.length && valor >= POTENCIAS_DE_10[digitos]) {
+            digitos++;
+        }
+        return digitos;
+    }
+}
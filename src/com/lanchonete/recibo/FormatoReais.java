@@ -0,0 +1,87 @@
+package com.lanchonete.recibo;
+
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Formatação de valores em centavos como reais, sem Formatter
+ * 
+ * Os dígitos são escritos de trás para frente direto no vetor do
+ * BufferRecibo, então formatar um valor não aloca nada.
+ */
+public final class FormatoReais {
+    public static final char SEM_AGRUPAMENTO = 0;
+    
+    /**
+     * Separador decimal do locale e sem agrupamento, igual a String.format("%.2f")
+     */
+    public static final FormatoReais LOCAL = new FormatoReais(DecimalFormatSymbols.getInstance().getDecimalSeparator(), SEM_AGRUPAMENTO);
+    
+    /**
+     * Padrão brasileiro: 1.234,56
+     */
+    public static final FormatoReais BRASIL = new FormatoReais(',', '.');
+    
+    /**
+     * Ponto decimal e sem agrupamento, independente do locale (para logs)
+     */
+    public static final FormatoReais PONTO = new FormatoReais('.', SEM_AGRUPAMENTO);
+    
+    // Maior saída possível: sinal, 17 dígitos de reais, 5 separadores de milhar, vírgula e 2 centavos
+    static final int TAMANHO_MAXIMO = 1 + 17 + 5 + 1 + 2;
+    
+    private final char separadorDecimal;
+    private final char separadorMilhar;
+    
+    public FormatoReais(char separadorDecimal, char separadorMilhar) {
+        this.separadorDecimal = separadorDecimal;
+        this.separadorMilhar = separadorMilhar;
+    }
+    
+    /**
+     * Anexa o valor ao buffer
+     */
+    public void anexar(long centavos, BufferRecibo destino) {
+        destino.garantir(TAMANHO_MAXIMO);
+        destino.tamanho = escrever(centavos, destino.caracteres, destino.tamanho);
+    }
+    
+    /**
+     * Valor formatado como String (aloca; para uso fora dos recibos)
+     */
+    public String formatar(long centavos) {
+        char[] caracteres = new char[TAMANHO_MAXIMO];
+        return new String(caracteres, 0, escrever(centavos, caracteres, 0));
+    }
+    
+    /**
+     * Escreve o valor a partir da posição e devolve a posição seguinte
+     */
+    private int escrever(long centavos, char[] destino, int posicao) {
+        if (centavos == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Valor fora do intervalo: " + centavos);
+        }
+        if (centavos < 0) {
+            destino[posicao++] = '-';
+            centavos = -centavos;
+        }
+        
+        long reais = centavos / 100;
+        int digitos = BufferRecibo.contarDigitos(reais);
+        int separadores = separadorMilhar == SEM_AGRUPAMENTO ? 0 : (digitos - 1) / 3;
+        int fim = posicao + digitos + separadores + 3;
+        
+        int i = fim;
+        long resto = centavos % 100;
+        destino[--i] = (char) ('0' + resto % 10);
+        destino[--i] = (char) ('0' + resto / 10);
+        destino[--i] = separadorDecimal;
+        for (int d = 0; d < digitos; d++) {
+            if (d > 0 && d % 3 == 0 && separadores > 0) {
+                destino[--i] = separadorMilhar;
+            }
+            destino[--i] = (char) ('0' + reais % 10);
+            reais /= 10;
+        }
+        return fim;
+    }
+}
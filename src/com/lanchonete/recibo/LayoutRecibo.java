@@ -0,0 +1,84 @@
+package com.lanchonete.recibo;
+
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Produto;
+
+/**
+ * Layouts de recibo disponíveis, com um modelo compilado por tipo de produto
+ */
+public enum LayoutRecibo {
+    /**
+     * Recibo do cliente (o mesmo texto de Lanche/Pizza.toString())
+     */
+    CLIENTE(
+        new ModeloRecibo.Builder()
+            .comModelo("🥪 LANCHE {TAMANHO}\nPão: {massa}\nIngredientes:\n{ingredientes}Preço Total: R$ {total}")
+            .comListaVazia("  - Nenhum ingrediente adicional\n")
+            .build(),
+        new ModeloRecibo.Builder()
+            .comModelo("🍕 PIZZA {TAMANHO}\nMassa: {massa}\nIngredientes:\n{ingredientes}Preço Total: R$ {total}")
+            .comInicioLista("  - Queijo e molho de tomate (base)\n")
+            .comListaVazia("  - Apenas queijo e molho de tomate\n")
+            .build()
+    ),
+    
+    /**
+     * Comanda da cozinha: sem preços, uma linha por ingrediente para marcar
+     */
+    COZINHA(
+        new ModeloRecibo.Builder()
+            .comModelo("COMANDA #{pedido} - LANCHE {TAMANHO}\nPão: {massa}\n{ingredientes}")
+            .comModeloItem("[ ] {quantidade}x {NOME}\n")
+            .comListaVazia("[ ] Sem ingredientes adicionais\n")
+            .build(),
+        new ModeloRecibo.Builder()
+            .comModelo("COMANDA #{pedido} - PIZZA {TAMANHO}\nMassa: {massa}\n[ ] Queijo e molho de tomate\n{ingredientes}")
+            .comModeloItem("[ ] {quantidade}x {NOME}\n")
+            .build()
+    ),
+    
+    /**
+     * Linha única para log, com códigos das constantes e ponto decimal
+     */
+    LOG(
+        new ModeloRecibo.Builder()
+            .comModelo("pedido={pedido} produto=LANCHE tamanho={TAMANHO} massa={massa} total={total} ingredientes={ingredientes}")
+            .comModeloItem("{quantidade}x{codigo}")
+            .comSeparadorItens(",")
+            .comListaVazia("-")
+            .comFormato(FormatoReais.PONTO)
+            .build(),
+        new ModeloRecibo.Builder()
+            .comModelo("pedido={pedido} produto=PIZZA tamanho={TAMANHO} massa={massa} total={total} ingredientes={ingredientes}")
+            .comModeloItem("{quantidade}x{codigo}")
+            .comSeparadorItens(",")
+            .comListaVazia("-")
+            .comFormato(FormatoReais.PONTO)
+            .build()
+    );
+    
+    private final ModeloRecibo[] modelos = new ModeloRecibo[TipoProduto.values().length];
+    
+    LayoutRecibo(ModeloRecibo lanche, ModeloRecibo pizza) {
+        modelos[TipoProduto.LANCHE.ordinal()] = lanche;
+        modelos[TipoProduto.PIZZA.ordinal()] = pizza;
+    }
+    
+    public ModeloRecibo getModelo(TipoProduto tipoProduto) {
+        return modelos[tipoProduto.ordinal()];
+    }
+    
+    /**
+     * Anexa o recibo do produto ao buffer (sem limpá-lo antes)
+     */
+    public BufferRecibo renderizar(Produto produto, long pedido, BufferRecibo destino) {
+        return getModelo(produto.getTipoProduto()).renderizar(produto, pedido, destino);
+    }
+    
+    /**
+     * Recibo do produto como String, sem número de pedido
+     */
+    public String renderizar(Produto produto) {
+        return getModelo(produto.getTipoProduto()).renderizar(produto);
+    }
+}
@@ -0,0 +1,279 @@
+package com.lanchonete.recibo;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.IngredientePremium;
+import com.lanchonete.model.IngredientePromocional;
+import com.lanchonete.model.Produto;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modelo de recibo compilado uma vez em uma lista de segmentos
+ * 
+ * O texto do modelo mistura literais e campos entre chaves, por exemplo
+ * "🥪 LANCHE {TAMANHO}\nPão: {massa}\n{ingredientes}Total: R$ {total}".
+ * Na compilação cada literal vira um vetor de caracteres e cada campo um
+ * segmento que escreve o valor direto no BufferRecibo; renderizar é só
+ * percorrer os segmentos, sem String.format nem concatenação. Nomes em
+ * maiúsculas são calculados uma vez por constante dos enums.
+ * 
+ * Campos do modelo: {produto}, {PRODUTO}, {tamanho}, {TAMANHO}, {massa},
+ * {pedido} (vazio sem número de pedido), {total}, {itens} (número de
+ * ingredientes) e {ingredientes}. Cada ingrediente é escrito pelo modelo de
+ * item, com os campos {item} (como Ingrediente.toString()), {quantidade},
+ * {nome}, {NOME}, {codigo} (nome da constante) e {marca} (" (Premium)",
+ * " (-20% OFF)" ou vazio).
+ */
+public final class ModeloRecibo {
+    public static final long SEM_PEDIDO = -1;
+    
+    private static final char[][] NOMES_PRODUTO = new char[TipoProduto.values().length][];
+    private static final char[][] NOMES_PRODUTO_MAIUSCULOS = new char[TipoProduto.values().length][];
+    private static final char[][] NOMES_TAMANHO = new char[Tamanho.values().length][];
+    private static final char[][] NOMES_TAMANHO_MAIUSCULOS = new char[Tamanho.values().length][];
+    private static final char[][] NOMES_MASSA = new char[TipoMassa.values().length][];
+    private static final char[][] NOMES_INGREDIENTE = new char[TipoIngrediente.values().length][];
+    private static final char[][] NOMES_INGREDIENTE_MAIUSCULOS = new char[TipoIngrediente.values().length][];
+    private static final char[][] CODIGOS_INGREDIENTE = new char[TipoIngrediente.values().length][];
+    private static final char[] MARCA_PREMIUM = " (Premium)".toCharArray();
+    
+    static {
+        for (TipoProduto tipo : TipoProduto.values()) {
+            NOMES_PRODUTO[tipo.ordinal()] = tipo.getNome().toCharArray();
+            NOMES_PRODUTO_MAIUSCULOS[tipo.ordinal()] = tipo.getNome().toUpperCase().toCharArray();
+        }
+        for (Tamanho tamanho : Tamanho.values()) {
+            NOMES_TAMANHO[tamanho.ordinal()] = tamanho.getNome().toCharArray();
+            NOMES_TAMANHO_MAIUSCULOS[tamanho.ordinal()] = tamanho.getNome().toUpperCase().toCharArray();
+        }
+        for (TipoMassa massa : TipoMassa.values()) {
+            NOMES_MASSA[massa.ordinal()] = massa.getNome().toCharArray();
+        }
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            NOMES_INGREDIENTE[tipo.ordinal()] = tipo.getNome().toCharArray();
+            NOMES_INGREDIENTE_MAIUSCULOS[tipo.ordinal()] = tipo.getNome().toUpperCase().toCharArray();
+            CODIGOS_INGREDIENTE[tipo.ordinal()] = tipo.name().toCharArray();
+        }
+    }
+    
+    /**
+     * Parte compilada de um modelo; ingrediente é null fora do modelo de item
+     */
+    private interface Segmento {
+        void escrever(Produto produto, long pedido, Ingrediente ingrediente, BufferRecibo destino);
+    }
+    
+    private final Segmento[] segmentos;
+    private final Segmento[] segmentosItem;
+    private final char[] inicioLista;
+    private final char[] separadorItens;
+    private final char[] listaVazia;
+    private final FormatoReais formato;
+    
+    private ModeloRecibo(Builder builder) {
+        this.formato = builder.formato;
+        this.inicioLista = builder.inicioLista.toCharArray();
+        this.separadorItens = builder.separadorItens.toCharArray();
+        this.listaVazia = builder.listaVazia.toCharArray();
+        this.segmentos = compilar(builder.modelo, false);
+        this.segmentosItem = compilar(builder.modeloItem, true);
+    }
+    
+    /**
+     * Anexa o recibo do produto ao buffer (sem limpá-lo antes)
+     * 
+     * @param pedido número do pedido, ou {@link #SEM_PEDIDO}
+     */
+    public BufferRecibo renderizar(Produto produto, long pedido, BufferRecibo destino) {
+        escrever(segmentos, produto, pedido, null, destino);
+        return destino;
+    }
+    
+    /**
+     * Recibo do produto como String, em um buffer novo
+     */
+    public String renderizar(Produto produto) {
+        return renderizar(produto, SEM_PEDIDO, new BufferRecibo(256, Charset.defaultCharset())).toString();
+    }
+    
+    private static void escrever(Segmento[] segmentos, Produto produto, long pedido, Ingrediente ingrediente,
+                                 BufferRecibo destino) {
+        for (Segmento segmento : segmentos) {
+            segmento.escrever(produto, pedido, ingrediente, destino);
+        }
+    }
+    
+    private void escreverIngredientes(Produto produto, long pedido, BufferRecibo destino) {
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        if (ingredientes.isEmpty()) {
+            destino.anexar(listaVazia);
+            return;
+        }
+        destino.anexar(inicioLista);
+        for (int i = 0; i < ingredientes.size(); i++) {
+            if (i > 0) {
+                destino.anexar(separadorItens);
+            }
+            escrever(segmentosItem, produto, pedido, ingredientes.get(i), destino);
+        }
+    }
+    
+    private Segmento[] compilar(String modelo, boolean item) {
+        List<Segmento> compilados = new ArrayList<>();
+        int i = 0;
+        while (i < modelo.length()) {
+            int abre = modelo.indexOf('{', i);
+            if (abre < 0) {
+                abre = modelo.length();
+            }
+            if (abre > i) {
+                char[] literal = modelo.substring(i, abre).toCharArray();
+                compilados.add((produto, pedido, ingrediente, destino) -> destino.anexar(literal));
+            }
+            if (abre == modelo.length()) {
+                break;
+            }
+            int fecha = modelo.indexOf('}', abre);
+            if (fecha < 0) {
+                throw new IllegalStateException("Campo sem '}' na posição " + abre + " do modelo: " + modelo);
+            }
+            compilados.add(item ? campoItem(modelo.substring(abre + 1, fecha))
+                                : campo(modelo.substring(abre + 1, fecha)));
+            i = fecha + 1;
+        }
+        return compilados.toArray(new Segmento[0]);
+    }
+    
+    private Segmento campo(String nome) {
+        switch (nome) {
+            case "produto":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_PRODUTO[p.getTipoProduto().ordinal()]);
+            case "PRODUTO":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_PRODUTO_MAIUSCULOS[p.getTipoProduto().ordinal()]);
+            case "tamanho":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_TAMANHO[p.getTamanho().ordinal()]);
+            case "TAMANHO":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_TAMANHO_MAIUSCULOS[p.getTamanho().ordinal()]);
+            case "massa":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_MASSA[p.getTipoMassa().ordinal()]);
+            case "pedido":
+                return (p, pedido, ing, d) -> {
+                    if (pedido != SEM_PEDIDO) {
+                        d.anexar(pedido);
+                    }
+                };
+            case "total":
+                return (p, pedido, ing, d) -> formato.anexar(p.calcularPrecoTotalCentavos(), d);
+            case "itens":
+                return (p, pedido, ing, d) -> d.anexar(p.getIngredientes().size());
+            case "ingredientes":
+                return (p, pedido, ing, d) -> escreverIngredientes(p, pedido, d);
+            default:
+                throw new IllegalStateException("Campo desconhecido no modelo: {" + nome + "}");
+        }
+    }
+    
+    private Segmento campoItem(String nome) {
+        switch (nome) {
+            case "item":
+                return (p, pedido, ing, d) -> {
+                    if (ing.getQuantidade() > 1) {
+                        d.anexar(ing.getQuantidade()).anexar('x').anexar(' ');
+                    }
+                    d.anexar(NOMES_INGREDIENTE[ing.getTipo().ordinal()]);
+                    anexarMarca(ing, d);
+                };
+            case "quantidade":
+                return (p, pedido, ing, d) -> d.anexar(ing.getQuantidade());
+            case "nome":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_INGREDIENTE[ing.getTipo().ordinal()]);
+            case "NOME":
+                return (p, pedido, ing, d) -> d.anexar(NOMES_INGREDIENTE_MAIUSCULOS[ing.getTipo().ordinal()]);
+            case "codigo":
+                return (p, pedido, ing, d) -> d.anexar(CODIGOS_INGREDIENTE[ing.getTipo().ordinal()]);
+            case "marca":
+                return (p, pedido, ing, d) -> anexarMarca(ing, d);
+            default:
+                // Campos do produto também valem dentro do item
+                return campo(nome);
+        }
+    }
+    
+    /**
+     * Mesmo sufixo de IngredientePremium/IngredientePromocional.toString()
+     */
+    private static void anexarMarca(Ingrediente ingrediente, BufferRecibo destino) {
+        if (ingrediente instanceof IngredientePremium) {
+            destino.anexar(MARCA_PREMIUM);
+        } else if (ingrediente instanceof IngredientePromocional) {
+            int percentual = (int) (((IngredientePromocional) ingrediente).getPercentualDesconto() * 100);
+            destino.anexar(" (-").anexar(percentual).anexar("% OFF)");
+        }
+    }
+    
+    /**
+     * Builder para montar e compilar modelos de recibo
+     */
+    public static class Builder {
+        private String modelo;
+        private String modeloItem = "  - {item}\n";
+        private String inicioLista = "";
+        private String separadorItens = "";
+        private String listaVazia = "";
+        private FormatoReais formato = FormatoReais.LOCAL;
+        
+        public Builder comModelo(String modelo) {
+            this.modelo = modelo;
+            return this;
+        }
+        
+        /**
+         * Modelo aplicado a cada ingrediente no campo {ingredientes}
+         */
+        public Builder comModeloItem(String modeloItem) {
+            this.modeloItem = modeloItem;
+            return this;
+        }
+        
+        /**
+         * Texto escrito antes do primeiro ingrediente (só se houver algum)
+         */
+        public Builder comInicioLista(String inicioLista) {
+            this.inicioLista = inicioLista;
+            return this;
+        }
+        
+        public Builder comSeparadorItens(String separadorItens) {
+            this.separadorItens = separadorItens;
+            return this;
+        }
+        
+        /**
+         * Texto escrito no lugar da lista quando não há ingredientes
+         */
+        public Builder comListaVazia(String listaVazia) {
+            this.listaVazia = listaVazia;
+            return this;
+        }
+        
+        public Builder comFormato(FormatoReais formato) {
+            this.formato = formato;
+            return this;
+        }
+        
+        public ModeloRecibo build() {
+            if (modelo == null || modeloItem == null) {
+                throw new IllegalStateException("Modelo do recibo é obrigatório");
+            }
+            if (formato == null) {
+                throw new IllegalStateException("Formato de valores é obrigatório");
+            }
+            return new ModeloRecibo(this);
+        }
+    }
+}
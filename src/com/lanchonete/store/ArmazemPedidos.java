@@ -0,0 +1,45 @@
+package com.lanchonete.store;
+
+import com.lanchonete.model.Produto;
+
+/**
+ * Armazenamento dos pedidos confirmados
+ * 
+ * Os números de pedido são monotônicos e começam em 1. Um instantâneo
+ * contém sempre um prefixo contíguo de pedidos (1..n) e nunca muda depois
+ * de obtido, mesmo com escritores concorrentes.
+ */
+public interface ArmazemPedidos {
+    
+    /**
+     * Registra um produto confirmado e retorna o pedido com seu número
+     */
+    PedidoRegistrado registrar(Produto produto);
+    
+    /**
+     * Registra um produto com instante conhecido (ex.: recuperação do diário)
+     */
+    PedidoRegistrado registrar(Produto produto, long instante);
+    
+    /**
+     * Registra um produto com o desconto que recebeu no carrinho (centavos)
+     * 
+     * @throws IllegalArgumentException se o desconto for negativo ou maior que o preço
+     */
+    PedidoRegistrado registrar(Produto produto, long descontoCentavos, long instante);
+    
+    /**
+     * Busca um pedido pelo número; retorna null se não existir
+     */
+    PedidoRegistrado buscar(long id);
+    
+    /**
+     * Quantidade de pedidos visíveis para leitura
+     */
+    long tamanho();
+    
+    /**
+     * Visão imutável dos pedidos registrados até agora
+     */
+    InstantaneoPedidos instantaneo();
+}
@@ -0,0 +1,156 @@
+package com.lanchonete.store;
+
+import com.lanchonete.model.Produto;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Armazém de pedidos seguro para múltiplas threads, sem trava no caminho comum
+ * 
+ * Cada registro recebe seu número com um único fetch-and-add e grava em um
+ * slot exclusivo de um bloco de {@value #TAMANHO_BLOCO} posições, então
+ * escritores nunca disputam o mesmo dado. Os blocos ficam em um diretório
+ * que só é alterado (sob trava) uma vez a cada bloco novo. O contador de
+ * publicados avança sobre o maior prefixo contíguo já gravado: leitores
+ * usam esse contador para obter instantâneos consistentes sem bloquear
+ * escritores, e a busca por número é O(1) (bloco = id / tamanho do bloco).
+ */
+public class ArmazemPedidosConcorrente implements ArmazemPedidos {
+    private static final int BITS_BLOCO = 10;
+    private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+    private static final int BLOCOS_INICIAIS = 16;
+    
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicLong publicados = new AtomicLong();
+    private volatile AtomicReferenceArray<AtomicReferenceArray<PedidoRegistrado>> diretorio = 
+        new AtomicReferenceArray<>(BLOCOS_INICIAIS);
+    
+    @Override
+    public PedidoRegistrado registrar(Produto produto) {
+        return registrar(produto, System.currentTimeMillis());
+    }
+    
+    @Override
+    public PedidoRegistrado registrar(Produto produto, long instante) {
+        return registrar(produto, 0, instante);
+    }
+    
+    @Override
+    public PedidoRegistrado registrar(Produto produto, long descontoCentavos, long instante) {
+        if (produto == null) {
+            throw new IllegalArgumentException("Produto não pode ser nulo");
+        }
+        if (descontoCentavos < 0 || descontoCentavos > produto.calcularPrecoTotalCentavos()) {
+            throw new IllegalArgumentException("Desconto fora do preço do produto: " + descontoCentavos);
+        }
+        
+        long id = sequencia.incrementAndGet();
+        PedidoRegistrado pedido = new PedidoRegistrado(id, instante, produto, descontoCentavos);
+        
+        bloco(indiceBloco(id)).set((int) (id & MASCARA_BLOCO), pedido);
+        publicar();
+        return pedido;
+    }
+    
+    @Override
+    public PedidoRegistrado buscar(long id) {
+        if (id < 1 || id > publicados.get()) {
+            return null;
+        }
+        return ler(diretorio, id);
+    }
+    
+    @Override
+    public long tamanho() {
+        return publicados.get();
+    }
+    
+    @Override
+    public InstantaneoPedidos instantaneo() {
+        // O contador é lido antes do diretório: todo bloco publicado já está nele
+        long tamanho = publicados.get();
+        AtomicReferenceArray<AtomicReferenceArray<PedidoRegistrado>> blocos = diretorio;
+        
+        return new InstantaneoPedidos() {
+            @Override
+            public long tamanho() {
+                return tamanho;
+            }
+            
+            @Override
+            public PedidoRegistrado obter(long id) {
+                if (id < 1 || id > tamanho) {
+                    throw new IndexOutOfBoundsException("Pedido #" + id + " fora do instantâneo (1.." + tamanho + ")");
+                }
+                return ler(blocos, id);
+            }
+        };
+    }
+    
+    /**
+     * Avança o contador de publicados sobre todos os slots contíguos já gravados
+     */
+    private void publicar() {
+        while (true) {
+            long atual = publicados.get();
+            long proximo = atual + 1;
+            
+            if (proximo > sequencia.get() || ler(diretorio, proximo) == null) {
+                return;
+            }
+            publicados.compareAndSet(atual, proximo);
+        }
+    }
+    
+    private AtomicReferenceArray<PedidoRegistrado> bloco(int indice) {
+        AtomicReferenceArray<AtomicReferenceArray<PedidoRegistrado>> blocos = diretorio;
+        if (indice < blocos.length()) {
+            AtomicReferenceArray<PedidoRegistrado> bloco = blocos.get(indice);
+            if (bloco != null) {
+                return bloco;
+            }
+        }
+        return criarBloco(indice);
+    }
+    
+    /**
+     * Caminho raro (uma vez por bloco): cria o bloco e, se preciso, dobra o diretório
+     */
+    private synchronized AtomicReferenceArray<PedidoRegistrado> criarBloco(int indice) {
+        AtomicReferenceArray<AtomicReferenceArray<PedidoRegistrado>> blocos = diretorio;
+        
+        if (indice >= blocos.length()) {
+            int novoTamanho = blocos.length();
+            while (novoTamanho <= indice) {
+                novoTamanho *= 2;
+            }
+            AtomicReferenceArray<AtomicReferenceArray<PedidoRegistrado>> novo = new AtomicReferenceArray<>(novoTamanho);
+            for (int i = 0; i < blocos.length(); i++) {
+                novo.set(i, blocos.get(i));
+            }
+            diretorio = novo;
+            blocos = novo;
+        }
+        
+        AtomicReferenceArray<PedidoRegistrado> bloco = blocos.get(indice);
+        if (bloco == null) {
+            bloco = new AtomicReferenceArray<>(TAMANHO_BLOCO);
+            blocos.set(indice, bloco);
+        }
+        return bloco;
+    }
+    
+    private static PedidoRegistrado ler(AtomicReferenceArray<AtomicReferenceArray<PedidoRegistrado>> blocos, long id) {
+        int indice = indiceBloco(id);
+        if (indice >= blocos.length()) {
+            return null;
+        }
+        AtomicReferenceArray<PedidoRegistrado> bloco = blocos.get(indice);
+        return bloco == null ? null : bloco.get((int) (id & MASCARA_BLOCO));
+    }
+    
+    private static int indiceBloco(long id) {
+        return (int) (id >>> BITS_BLOCO);
+    }
+}
@@ -0,0 +1,44 @@
+package com.lanchonete.store;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Visão consistente e imutável de um prefixo de pedidos (1..tamanho)
+ */
+public abstract class InstantaneoPedidos implements Iterable<PedidoRegistrado> {
+    
+    /**
+     * Número de pedidos no instantâneo
+     */
+    public abstract long tamanho();
+    
+    /**
+     * Pedido pelo número (1..tamanho)
+     */
+    public abstract PedidoRegistrado obter(long id);
+    
+    public boolean isEmpty() {
+        return tamanho() == 0;
+    }
+    
+    @Override
+    public Iterator<PedidoRegistrado> iterator() {
+        return new Iterator<PedidoRegistrado>() {
+            private long proximo = 1;
+            
+            @Override
+            public boolean hasNext() {
+                return proximo <= tamanho();
+            }
+            
+            @Override
+            public PedidoRegistrado next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return obter(proximo++);
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.lanchonete.store;
+
+import com.lanchonete.model.Produto;
+
+/**
+ * Produto confirmado com seu número de pedido, instante de registro e o
+ * desconto que recebeu no carrinho (parte do desconto do pedido)
+ */
+public final class PedidoRegistrado {
+    private final long id;
+    private final long instante;
+    private final Produto produto;
+    private final long descontoCentavos;
+    
+    public PedidoRegistrado(long id, long instante, Produto produto) {
+        this(id, instante, produto, 0);
+    }
+    
+    public PedidoRegistrado(long id, long instante, Produto produto, long descontoCentavos) {
+        this.id = id;
+        this.instante = instante;
+        this.produto = produto;
+        this.descontoCentavos = descontoCentavos;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    /**
+     * Instante do registro em milissegundos desde a época
+     */
+    public long getInstante() {
+        return instante;
+    }
+    
+    public Produto getProduto() {
+        return produto;
+    }
+    
+    public long getDescontoCentavos() {
+        return descontoCentavos;
+    }
+    
+    /**
+     * Valor cobrado pelo produto: preço total menos o desconto
+     */
+    public long getValorCobradoCentavos() {
+        return produto.calcularPrecoTotalCentavos() - descontoCentavos;
+    }
+    
+    @Override
+    public String toString() {
+        return "#" + id + " " + produto.getTipoProduto() + " " + produto.getTamanho();
+    }
+}
@@ -0,0 +1,124 @@
+package com.lanchonete.store;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+
+/**
+ * Agregados de um conjunto de pedidos (receita, quantidade e consumo de ingredientes)
+ * 
+ * Receita e quantidade ficam num cubo pequeno (produto × tamanho × massa),
+ * então a varredura faz só dois incrementos por pedido e qualquer recorte
+ * por dimensão sai do cubo. Valores monetários em centavos. Resumos parciais (ex.: um por segmento
+ * da TabelaColunarPedidos) são combinados com {@link #somar}.
+ */
+public final class ResumoPedidos {
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final TipoMassa[] MASSAS = TipoMassa.values();
+    private static final TipoProduto[] TIPOS_PRODUTO = TipoProduto.values();
+    
+    // Cubo produto × tamanho × massa (poucas células, somadas por dimensão nas consultas)
+    static final int CELULAS = TIPOS_PRODUTO.length * TAMANHOS.length * MASSAS.length;
+    
+    final long[] receitaPorCelula = new long[CELULAS];
+    final long[] pedidosPorCelula = new long[CELULAS];
+    final long[] consumoPorIngrediente = new long[TipoIngrediente.values().length];
+    
+    ResumoPedidos() {
+    }
+    
+    /**
+     * Célula do cubo para a combinação de ordinais
+     */
+    static int celula(int tipoProduto, int tamanho, int massa) {
+        return (tipoProduto * TAMANHOS.length + tamanho) * MASSAS.length + massa;
+    }
+    
+    public long getPedidos() {
+        return somar(pedidosPorCelula, null, null, null);
+    }
+    
+    public long getReceitaCentavos() {
+        return somar(receitaPorCelula, null, null, null);
+    }
+    
+    public long getPedidos(Tamanho tamanho) {
+        return somar(pedidosPorCelula, null, tamanho, null);
+    }
+    
+    public long getReceitaCentavos(Tamanho tamanho) {
+        return somar(receitaPorCelula, null, tamanho, null);
+    }
+    
+    public long getPedidos(TipoProduto tipoProduto) {
+        return somar(pedidosPorCelula, tipoProduto, null, null);
+    }
+    
+    public long getReceitaCentavos(TipoProduto tipoProduto) {
+        return somar(receitaPorCelula, tipoProduto, null, null);
+    }
+    
+    public long getPedidos(TipoMassa tipoMassa) {
+        return somar(pedidosPorCelula, null, null, tipoMassa);
+    }
+    
+    /**
+     * Receita de um produto em um tamanho, em centavos
+     */
+    public long getReceitaCentavos(TipoProduto tipoProduto, Tamanho tamanho) {
+        return somar(receitaPorCelula, tipoProduto, tamanho, null);
+    }
+    
+    /**
+     * Unidades consumidas do ingrediente
+     */
+    public long getConsumo(TipoIngrediente tipo) {
+        return consumoPorIngrediente[tipo.ordinal()];
+    }
+    
+    /**
+     * Valor médio por pedido, em centavos (0 se não houver pedidos)
+     */
+    public double getTicketMedioCentavos() {
+        long pedidos = getPedidos();
+        return pedidos == 0 ? 0.0 : (double) getReceitaCentavos() / pedidos;
+    }
+    
+    /**
+     * Soma outro resumo a este e devolve este
+     */
+    ResumoPedidos somar(ResumoPedidos outro) {
+        for (int i = 0; i < CELULAS; i++) {
+            receitaPorCelula[i] += outro.receitaPorCelula[i];
+            pedidosPorCelula[i] += outro.pedidosPorCelula[i];
+        }
+        for (int i = 0; i < consumoPorIngrediente.length; i++) {
+            consumoPorIngrediente[i] += outro.consumoPorIngrediente[i];
+        }
+        return this;
+    }
+    
+    /**
+     * Soma as células do cubo que casam com as dimensões informadas (null = todas)
+     */
+    private static long somar(long[] cubo, TipoProduto tipoProduto, Tamanho tamanho, TipoMassa massa) {
+        long total = 0;
+        for (TipoProduto p : TIPOS_PRODUTO) {
+            if (tipoProduto != null && p != tipoProduto) {
+                continue;
+            }
+            for (Tamanho t : TAMANHOS) {
+                if (tamanho != null && t != tamanho) {
+                    continue;
+                }
+                for (TipoMassa m : MASSAS) {
+                    if (massa == null || m == massa) {
+                        total += cubo[celula(p.ordinal(), t.ordinal(), m.ordinal())];
+                    }
+                }
+            }
+        }
+        return total;
+    }
+}
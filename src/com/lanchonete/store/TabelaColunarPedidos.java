@@ -0,0 +1,245 @@
+package com.lanchonete.store;
+
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.model.Ingrediente;
+import com.lanchonete.model.Produto;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Tabela de pedidos em colunas, para consultas agregadas
+ * 
+ * Cada pedido vira uma linha distribuída em vetores primitivos (tipo de
+ * produto, tamanho, massa, preço em centavos, instante e a quantidade de
+ * cada TipoIngrediente), agrupados em segmentos de {@value #TAMANHO_SEGMENTO}
+ * linhas. Anexar nunca copia dados: quando um segmento enche, outro é
+ * alocado. As agregações são laços sobre os vetores, sem objetos por
+ * pedido, e cada segmento pode ser resumido em paralelo. As quantidades
+ * ficam empacotadas oito linhas por long, então o consumo de ingredientes
+ * é somado uma palavra por vez.
+ * 
+ * Há um único escritor por vez (anexação sincronizada); leitores não
+ * bloqueiam e enxergam sempre um prefixo completo das linhas, pois o
+ * contador de linhas é publicado depois que a linha foi gravada.
+ */
+public class TabelaColunarPedidos {
+    public static final int TAMANHO_SEGMENTO = 1 << 14;
+    
+    private static final int NUMERO_TIPOS = TipoIngrediente.values().length;
+    
+    // Quantidades de 8 linhas consecutivas empacotadas em um long (um byte por linha)
+    private static final int PALAVRAS_POR_COLUNA = TAMANHO_SEGMENTO / 8;
+    private static final long BYTES_PARES = 0x00FF00FF00FF00FFL;
+    
+    // Palavras somadas antes de esvaziar as lanes: 128 × 2 × 255 cabe em 16 bits
+    private static final int PALAVRAS_POR_BLOCO = 128;
+    
+    private volatile Segmento[] segmentos = new Segmento[0];
+    private volatile long linhas;
+    
+    /**
+     * Anexa um pedido registrado, com a receita pelo valor cobrado (já com o desconto)
+     */
+    public void adicionar(PedidoRegistrado pedido) {
+        adicionar(pedido.getProduto(), pedido.getValorCobradoCentavos(), pedido.getInstante());
+    }
+    
+    /**
+     * Anexa um produto com o instante do pedido (ms desde a época)
+     */
+    public void adicionar(Produto produto, long instante) {
+        adicionar(produto, produto.calcularPrecoTotalCentavos(), instante);
+    }
+    
+    private synchronized void adicionar(Produto produto, long valorCentavos, long instante) {
+        long linha = linhas;
+        int indiceSegmento = (int) (linha / TAMANHO_SEGMENTO);
+        Segmento[] atuais = segmentos;
+        if (indiceSegmento == atuais.length) {
+            atuais = Arrays.copyOf(atuais, atuais.length + 1);
+            atuais[indiceSegmento] = new Segmento();
+            segmentos = atuais;
+        }
+        
+        Segmento segmento = atuais[indiceSegmento];
+        int i = (int) (linha % TAMANHO_SEGMENTO);
+        segmento.produtos[i] = (byte) produto.getTipoProduto().ordinal();
+        segmento.tamanhos[i] = (byte) produto.getTamanho().ordinal();
+        segmento.massas[i] = (byte) produto.getTipoMassa().ordinal();
+        segmento.celulas[i] = (byte) ResumoPedidos.celula(segmento.produtos[i], segmento.tamanhos[i], segmento.massas[i]);
+        segmento.precosCentavos[i] = valorCentavos;
+        segmento.instantes[i] = instante;
+        
+        // Os tipos são únicos por produto e o total é limitado a RegrasCombinacao.MAX_QUANTIDADE_TOTAL, então cabe em um byte
+        List<Ingrediente> ingredientes = produto.getIngredientes();
+        for (int j = 0; j < ingredientes.size(); j++) {
+            Ingrediente ingrediente = ingredientes.get(j);
+            segmento.quantidades[ingrediente.getTipo().ordinal() * PALAVRAS_POR_COLUNA + (i >>> 3)] |= 
+                (long) (ingrediente.getQuantidade() & 0xFF) << ((i & 7) * 8);
+        }
+        
+        linhas = linha + 1; // Publica a linha
+    }
+    
+    /**
+     * Número de linhas visíveis para leitura
+     */
+    public long tamanho() {
+        return linhas;
+    }
+    
+    /**
+     * Resume todos os pedidos em uma única thread
+     */
+    public ResumoPedidos resumir() {
+        return resumir(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Resume os pedidos com instante em [inicio, fim), em uma única thread
+     */
+    public ResumoPedidos resumir(long inicio, long fim) {
+        long total = linhas;
+        Segmento[] atuais = segmentos;
+        ResumoPedidos resumo = new ResumoPedidos();
+        for (int s = 0; s < numeroSegmentos(total); s++) {
+            atuais[s].resumir(linhasDoSegmento(total, s), inicio, fim, resumo);
+        }
+        return resumo;
+    }
+    
+    /**
+     * Resume todos os pedidos, um segmento por tarefa no pool comum
+     */
+    public ResumoPedidos resumirEmParalelo() {
+        return resumirEmParalelo(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Resume os pedidos com instante em [inicio, fim), um segmento por tarefa no pool comum
+     */
+    public ResumoPedidos resumirEmParalelo(long inicio, long fim) {
+        long total = linhas;
+        Segmento[] atuais = segmentos;
+        return IntStream.range(0, numeroSegmentos(total))
+            .parallel()
+            .mapToObj(s -> atuais[s].resumir(linhasDoSegmento(total, s), inicio, fim, new ResumoPedidos()))
+            .reduce(ResumoPedidos::somar)
+            .orElseGet(ResumoPedidos::new);
+    }
+    
+    private static int numeroSegmentos(long total) {
+        return (int) ((total + TAMANHO_SEGMENTO - 1) / TAMANHO_SEGMENTO);
+    }
+    
+    private static int linhasDoSegmento(long total, int segmento) {
+        return (int) Math.min(TAMANHO_SEGMENTO, total - (long) segmento * TAMANHO_SEGMENTO);
+    }
+    
+    /**
+     * Bloco de linhas em vetores primitivos
+     */
+    private static final class Segmento {
+        final byte[] produtos = new byte[TAMANHO_SEGMENTO];
+        final byte[] tamanhos = new byte[TAMANHO_SEGMENTO];
+        final byte[] massas = new byte[TAMANHO_SEGMENTO];
+        
+        // Célula do cubo produto × tamanho × massa, derivada das três colunas acima
+        final byte[] celulas = new byte[TAMANHO_SEGMENTO];
+        final long[] precosCentavos = new long[TAMANHO_SEGMENTO];
+        final long[] instantes = new long[TAMANHO_SEGMENTO];
+        
+        // Uma coluna de quantidades por ingrediente, 8 linhas por palavra:
+        // a linha i do ingrediente t é o byte (i % 8) de quantidades[t * PALAVRAS_POR_COLUNA + i / 8]
+        final long[] quantidades = new long[NUMERO_TIPOS * PALAVRAS_POR_COLUNA];
+        
+        ResumoPedidos resumir(int limite, long inicio, long fim, ResumoPedidos resumo) {
+            long[] receita = resumo.receitaPorCelula;
+            long[] pedidos = resumo.pedidosPorCelula;
+            long[] consumo = resumo.consumoPorIngrediente;
+            boolean semFiltro = inicio == Long.MIN_VALUE && fim == Long.MAX_VALUE;
+            
+            if (semFiltro) {
+                // Duas cópias do cubo alternadas para que linhas vizinhas na mesma célula não se esperem
+                long[] receitaImpar = new long[ResumoPedidos.CELULAS];
+                long[] pedidosImpar = new long[ResumoPedidos.CELULAS];
+                int i = 0;
+                for (; i + 1 < limite; i += 2) {
+                    receita[celulas[i]] += precosCentavos[i];
+                    pedidos[celulas[i]]++;
+                    receitaImpar[celulas[i + 1]] += precosCentavos[i + 1];
+                    pedidosImpar[celulas[i + 1]]++;
+                }
+                if (i < limite) {
+                    receita[celulas[i]] += precosCentavos[i];
+                    pedidos[celulas[i]]++;
+                }
+                for (int c = 0; c < ResumoPedidos.CELULAS; c++) {
+                    receita[c] += receitaImpar[c];
+                    pedidos[c] += pedidosImpar[c];
+                }
+            } else {
+                for (int i = 0; i < limite; i++) {
+                    if (instantes[i] >= inicio && instantes[i] < fim) {
+                        receita[celulas[i]] += precosCentavos[i];
+                        pedidos[celulas[i]]++;
+                    }
+                }
+            }
+            
+            // Consumo coluna a coluna, somando 8 linhas por palavra
+            for (int t = 0; t < NUMERO_TIPOS; t++) {
+                consumo[t] += semFiltro 
+                    ? somarColuna(t * PALAVRAS_POR_COLUNA, limite) 
+                    : somarColuna(t * PALAVRAS_POR_COLUNA, limite, inicio, fim);
+            }
+            return resumo;
+        }
+        
+        /**
+         * Soma as primeiras linhas de uma coluna em paralelo dentro da palavra (SWAR)
+         * 
+         * Os bytes pares e ímpares são separados em lanes de 16 bits, que são
+         * esvaziadas a cada {@value #PALAVRAS_POR_BLOCO} palavras: com até 255
+         * unidades por linha, nenhuma lane transborda.
+         */
+        private long somarColuna(int base, int limite) {
+            int palavrasCompletas = limite >>> 3;
+            long soma = 0;
+            for (int bloco = 0; bloco < palavrasCompletas; bloco += PALAVRAS_POR_BLOCO) {
+                int fimBloco = Math.min(palavrasCompletas, bloco + PALAVRAS_POR_BLOCO);
+                long pares = 0;
+                long impares = 0;
+                for (int w = bloco; w < fimBloco; w++) {
+                    long palavra = quantidades[base + w];
+                    pares += palavra & BYTES_PARES;
+                    impares += (palavra >>> 8) & BYTES_PARES;
+                }
+                soma += somarLanes(pares + impares);
+            }
+            
+            // Palavra parcial: só as linhas já publicadas
+            int resto = limite & 7;
+            if (resto != 0) {
+                long palavra = quantidades[base + palavrasCompletas] & ((1L << (resto * 8)) - 1);
+                soma += somarLanes((palavra & BYTES_PARES) + ((palavra >>> 8) & BYTES_PARES));
+            }
+            return soma;
+        }
+        
+        private static long somarLanes(long lanes) {
+            return (lanes & 0xFFFF) + (lanes >>> 16 & 0xFFFF) + (lanes >>> 32 & 0xFFFF) + (lanes >>> 48);
+        }
+        
+        private long somarColuna(int base, int limite, long inicio, long fim) {
+            long soma = 0;
+            for (int i = 0; i < limite; i++) {
+                if (instantes[i] >= inicio && instantes[i] < fim) {
+                    soma += quantidades[base + (i >>> 3)] >>> ((i & 7) * 8) & 0xFF;
+                }
+            }
+            return soma;
+        }
+    }
+}
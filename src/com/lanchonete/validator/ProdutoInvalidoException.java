@@ -0,0 +1,32 @@
+package com.lanchonete.validator;
+
+/**
+ * Configuração de produto recusada por uma regra de negócio
+ */
+public class ProdutoInvalidoException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+    
+    private final RegraValidacao regra;
+    private final long resultado;
+    
+    public ProdutoInvalidoException(RegraValidacao regra, String mensagem) {
+        this(regra, mensagem, ResultadoValidacao.recusa(regra, null, 0));
+    }
+    
+    ProdutoInvalidoException(RegraValidacao regra, String mensagem, long resultado) {
+        super(mensagem);
+        this.regra = regra;
+        this.resultado = resultado;
+    }
+    
+    public RegraValidacao getRegra() {
+        return regra;
+    }
+    
+    /**
+     * Mesma recusa no formato de ResultadoValidacao
+     */
+    public long getResultado() {
+        return resultado;
+    }
+}
@@ -0,0 +1,54 @@
+package com.lanchonete.validator;
+
+import com.lanchonete.config.RecarregadorArquivo;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+/**
+ * Carrega as regras de combinação de um arquivo e as reinstala no
+ * ValidadorCombinacoes quando ele muda
+ * 
+ * Validações em andamento terminam com o conjunto que leram; se o arquivo
+ * novo é inválido, as regras em vigor continuam.
+ */
+public final class RecarregadorRegras extends RecarregadorArquivo<RegrasCombinacao> {
+    
+    private RecarregadorRegras(Path arquivo, PrintStream log) throws IOException {
+        super(arquivo, "Regras de combinação", log);
+    }
+    
+    /**
+     * Instala as regras do arquivo e passa a observá-lo
+     * 
+     * Se o arquivo não existe, ele é criado com as regras vigentes.
+     * 
+     * @param log destino das mensagens de recarga e de erro
+     * @throws IllegalArgumentException se o arquivo existe mas não descreve regras válidas
+     */
+    public static RecarregadorRegras iniciar(Path arquivo, PrintStream log) throws IOException {
+        RecarregadorRegras recarregador = new RecarregadorRegras(arquivo, log);
+        recarregador.iniciar();
+        return recarregador;
+    }
+    
+    @Override
+    protected RegrasCombinacao ler(Path arquivo) throws IOException {
+        return RegrasCombinacao.ler(arquivo);
+    }
+    
+    @Override
+    protected String formatar(RegrasCombinacao regras) {
+        return regras.formatar();
+    }
+    
+    @Override
+    protected RegrasCombinacao vigente() {
+        return ValidadorCombinacoes.getRegras();
+    }
+    
+    @Override
+    protected void instalar(RegrasCombinacao regras) {
+        ValidadorCombinacoes.instalar(regras);
+    }
+}
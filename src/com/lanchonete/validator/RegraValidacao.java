@@ -0,0 +1,40 @@
+package com.lanchonete.validator;
+
+/**
+ * Identificação das regras de negócio que podem recusar um produto
+ */
+public enum RegraValidacao {
+    TAMANHO_AUSENTE("Tamanho não especificado"),
+    MASSA_AUSENTE("Massa ou pão não especificado"),
+    PRECO_BASE_NEGATIVO("Preço base negativo"),
+    COMBINACAO_PROIBIDA("Combinação de ingredientes não permitida"),
+    LIMITE_PROTEINAS("Excede o limite de tipos de proteína"),
+    LIMITE_QUEIJOS("Excede o limite de tipos de queijo"),
+    QUANTIDADE_TOTAL("Excede a quantidade total de ingredientes"),
+    CIABATTA_PEQUENO("Ciabatta não disponível para lanche pequeno"),
+    TIPOS_LANCHE_PEQUENO("Excede o limite de tipos de ingrediente do lanche pequeno"),
+    BORDA_RECHEADA_PEQUENA("Borda recheada não disponível para pizza pequena"),
+    PIZZA_SEM_PROTEINA("Pizza sem proteína"),
+    PRECO_CONFLITANTE("Ingrediente repetido com outra política de preço"),
+    MASSA_INDISPONIVEL("Massa não disponível no tamanho");
+    
+    private final String descricao;
+    
+    RegraValidacao(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    /**
+     * Descrição curta da regra (as mensagens das exceções trazem os detalhes)
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+    
+    /**
+     * Código estável em minúsculas (usado em métricas e respostas da API)
+     */
+    public String getCodigo() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,524 @@
+package com.lanchonete.validator;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Conjunto imutável das regras de combinação, já compilado em máscaras de bits
+ * 
+ * O ValidadorCombinacoes lê o conjunto vigente uma vez por validação; trocar
+ * as regras é publicar um conjunto novo, e validações em andamento terminam
+ * com o conjunto que leram.
+ * 
+ * Formato do arquivo (java.util.Properties, nomes das constantes dos enums):
+ * 
+ *   combinacoes.proibidas = GORGONZOLA+CHEDDAR, MOLHO_ESPECIAL+BARBECUE, MOLHO_ESPECIAL+KETCHUP
+ *   limite.proteinas = 3
+ *   limite.queijos = 2
+ *   limite.quantidade_total = 15
+ *   lanche.pequeno.limite_tipos = 4
+ *   pizza.exige_proteina = true
+ *   massas_indisponiveis.PEQUENO = CIABATTA, BORDA_RECHEADA
+ * 
+ * Chaves ausentes mantêm o valor das regras padrão; valor vazio em
+ * combinacoes.proibidas ou massas_indisponiveis.* remove todas as entradas.
+ */
+public final class RegrasCombinacao {
+    private static final String COMBINACOES = "combinacoes.proibidas";
+    private static final String LIMITE_PROTEINAS = "limite.proteinas";
+    private static final String LIMITE_QUEIJOS = "limite.queijos";
+    private static final String LIMITE_QUANTIDADE_TOTAL = "limite.quantidade_total";
+    private static final String LIMITE_TIPOS_LANCHE_PEQUENO = "lanche.pequeno.limite_tipos";
+    private static final String PIZZA_EXIGE_PROTEINA = "pizza.exige_proteina";
+    private static final String MASSAS_INDISPONIVEIS = "massas_indisponiveis.";
+    
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    
+    /**
+     * Maior limite de quantidade total aceito: as quantidades por tipo de um
+     * produto são gravadas em um byte (TabelaColunarPedidos, DiarioPedidos)
+     */
+    public static final int MAX_QUANTIDADE_TOTAL = 255;
+    
+    // Máscara com todos os ingredientes de cada categoria
+    private static final long MASCARA_PROTEINAS = mascaraCategoria(TipoIngrediente.Categoria.PROTEINA);
+    private static final long MASCARA_QUEIJOS = mascaraCategoria(TipoIngrediente.Categoria.QUEIJO);
+    
+    private static final RegrasCombinacao PADRAO = new Builder()
+        // Gorgonzola não combina com Cheddar (questão de sabor)
+        .comCombinacaoProibida(TipoIngrediente.GORGONZOLA, TipoIngrediente.CHEDDAR)
+        // Molho especial não combina com outros molhos
+        .comCombinacaoProibida(TipoIngrediente.MOLHO_ESPECIAL, TipoIngrediente.BARBECUE)
+        .comCombinacaoProibida(TipoIngrediente.MOLHO_ESPECIAL, TipoIngrediente.KETCHUP)
+        .comLimiteProteinas(3)
+        .comLimiteQueijos(2)
+        .comLimiteQuantidadeTotal(15)
+        .comLimiteTiposLanchePequeno(4)
+        .comPizzaExigeProteina(true)
+        .comMassasIndisponiveis(Tamanho.PEQUENO, EnumSet.of(TipoMassa.CIABATTA, TipoMassa.BORDA_RECHEADA))
+        .build();
+    
+    private final List<Set<TipoIngrediente>> combinacoes;
+    private final Map<Tamanho, Set<TipoMassa>> massasIndisponiveis;
+    
+    // Uma máscara por combinação proibida, e a máscara de massas indisponíveis por tamanho
+    private final long[] combinacoesProibidas;
+    private final long[] mascarasMassas;
+    private final long mascaraTiposRestritos;
+    
+    private final int limiteProteinas;
+    private final int limiteQueijos;
+    private final int limiteQuantidadeTotal;
+    private final int limiteTiposLanchePequeno;
+    private final boolean pizzaExigeProteina;
+    
+    private RegrasCombinacao(Builder builder) {
+        List<Set<TipoIngrediente>> copias = new ArrayList<>();
+        for (Set<TipoIngrediente> combinacao : builder.combinacoes) {
+            copias.add(Collections.unmodifiableSet(EnumSet.copyOf(combinacao)));
+        }
+        this.combinacoes = Collections.unmodifiableList(copias);
+        this.massasIndisponiveis = Collections.unmodifiableMap(new EnumMap<>(builder.massasIndisponiveis));
+        this.limiteProteinas = builder.limiteProteinas;
+        this.limiteQueijos = builder.limiteQueijos;
+        this.limiteQuantidadeTotal = builder.limiteQuantidadeTotal;
+        this.limiteTiposLanchePequeno = builder.limiteTiposLanchePequeno;
+        this.pizzaExigeProteina = builder.pizzaExigeProteina;
+        
+        this.combinacoesProibidas = new long[combinacoes.size()];
+        long restritos = MASCARA_PROTEINAS | MASCARA_QUEIJOS;
+        for (int i = 0; i < combinacoes.size(); i++) {
+            long mascara = 0L;
+            for (TipoIngrediente tipo : combinacoes.get(i)) {
+                // Mesmo bit de ValidadorCombinacoes.mascara(tipo), sem depender da inicialização dele
+                mascara |= 1L << tipo.ordinal();
+            }
+            combinacoesProibidas[i] = mascara;
+            restritos |= mascara;
+        }
+        this.mascaraTiposRestritos = restritos;
+        
+        this.mascarasMassas = new long[Tamanho.values().length];
+        for (Map.Entry<Tamanho, Set<TipoMassa>> entrada : massasIndisponiveis.entrySet()) {
+            for (TipoMassa massa : entrada.getValue()) {
+                mascarasMassas[entrada.getKey().ordinal()] |= 1L << massa.ordinal();
+            }
+        }
+    }
+    
+    /**
+     * Regras usadas quando nenhum arquivo é carregado
+     */
+    public static RegrasCombinacao padrao() {
+        return PADRAO;
+    }
+    
+    /**
+     * Lê e compila as regras de um arquivo em UTF-8
+     * 
+     * @throws IllegalArgumentException se o conteúdo não descreve regras válidas
+     */
+    public static RegrasCombinacao ler(Path arquivo) throws IOException {
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return ler(leitor);
+        }
+    }
+    
+    /**
+     * Lê e compila as regras no formato descrito na classe
+     * 
+     * @throws IllegalArgumentException se o conteúdo não descreve regras válidas
+     */
+    public static RegrasCombinacao ler(Reader leitor) throws IOException {
+        Properties propriedades = new Properties();
+        propriedades.load(leitor);
+        
+        Builder builder = new Builder(PADRAO);
+        for (String chave : propriedades.stringPropertyNames()) {
+            String valor = propriedades.getProperty(chave).trim();
+            switch (chave) {
+                case COMBINACOES:
+                    builder.comCombinacoesProibidas(lerCombinacoes(valor));
+                    break;
+                case LIMITE_PROTEINAS:
+                    builder.comLimiteProteinas(lerLimite(chave, valor));
+                    break;
+                case LIMITE_QUEIJOS:
+                    builder.comLimiteQueijos(lerLimite(chave, valor));
+                    break;
+                case LIMITE_QUANTIDADE_TOTAL:
+                    builder.comLimiteQuantidadeTotal(lerLimite(chave, valor));
+                    break;
+                case LIMITE_TIPOS_LANCHE_PEQUENO:
+                    builder.comLimiteTiposLanchePequeno(lerLimite(chave, valor));
+                    break;
+                case PIZZA_EXIGE_PROTEINA:
+                    if (!valor.equals("true") && !valor.equals("false")) {
+                        throw new IllegalArgumentException(chave + " deve ser true ou false: " + valor);
+                    }
+                    builder.comPizzaExigeProteina(Boolean.parseBoolean(valor));
+                    break;
+                default:
+                    if (!chave.startsWith(MASSAS_INDISPONIVEIS)) {
+                        throw new IllegalArgumentException("Chave desconhecida nas regras: " + chave);
+                    }
+                    Tamanho tamanho = constante(Tamanho.class, chave.substring(MASSAS_INDISPONIVEIS.length()), chave);
+                    Set<TipoMassa> massas = EnumSet.noneOf(TipoMassa.class);
+                    for (String nome : itens(valor, ',')) {
+                        massas.add(constante(TipoMassa.class, nome, chave));
+                    }
+                    builder.comMassasIndisponiveis(tamanho, massas);
+            }
+        }
+        
+        try {
+            return builder.build();
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Regras no formato do arquivo, em ordem fixa (ler(formatar()) reproduz as mesmas regras)
+     */
+    public String formatar() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append(COMBINACOES).append(" = ");
+        for (int i = 0; i < combinacoes.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            int j = 0;
+            for (TipoIngrediente tipo : combinacoes.get(i)) {
+                sb.append(j++ > 0 ? "+" : "").append(tipo.name());
+            }
+        }
+        sb.append('\n');
+        sb.append(LIMITE_PROTEINAS).append(" = ").append(limiteProteinas).append('\n');
+        sb.append(LIMITE_QUEIJOS).append(" = ").append(limiteQueijos).append('\n');
+        sb.append(LIMITE_QUANTIDADE_TOTAL).append(" = ").append(limiteQuantidadeTotal).append('\n');
+        sb.append(LIMITE_TIPOS_LANCHE_PEQUENO).append(" = ").append(limiteTiposLanchePequeno).append('\n');
+        sb.append(PIZZA_EXIGE_PROTEINA).append(" = ").append(pizzaExigeProteina).append('\n');
+        for (Tamanho tamanho : Tamanho.values()) {
+            sb.append(MASSAS_INDISPONIVEIS).append(tamanho.name()).append(" = ");
+            int j = 0;
+            for (TipoMassa massa : massasIndisponiveis.getOrDefault(tamanho, Collections.emptySet())) {
+                sb.append(j++ > 0 ? ", " : "").append(massa.name());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Regra de combinação de tipos violada pela máscara, sem lançar exceção
+     * 
+     * Cobre apenas as regras que dependem dos tipos presentes (combinações
+     * proibidas e limites por categoria). Essas regras são monótonas: se a
+     * máscara viola alguma, qualquer máscara que a contenha também viola.
+     * 
+     * @return a regra violada, ou null se a combinação de tipos é válida
+     */
+    public RegraValidacao violacaoCombinacao(long mascara) {
+        if (indiceCombinacaoProibida(mascara) >= 0) {
+            return RegraValidacao.COMBINACAO_PROIBIDA;
+        }
+        if (Long.bitCount(mascara & MASCARA_PROTEINAS) > limiteProteinas) {
+            return RegraValidacao.LIMITE_PROTEINAS;
+        }
+        if (Long.bitCount(mascara & MASCARA_QUEIJOS) > limiteQueijos) {
+            return RegraValidacao.LIMITE_QUEIJOS;
+        }
+        return null;
+    }
+    
+    /**
+     * Regra de massa violada no tamanho informado, sem lançar exceção
+     * 
+     * Ciabatta e borda recheada no tamanho pequeno mantêm as regras próprias;
+     * as demais massas indisponíveis são recusadas como MASSA_INDISPONIVEL.
+     * 
+     * @return a regra violada, ou null se a massa está disponível no tamanho
+     */
+    public RegraValidacao violacaoMassa(Tamanho tamanho, TipoMassa tipoMassa) {
+        if ((mascarasMassas[tamanho.ordinal()] & (1L << tipoMassa.ordinal())) == 0L) {
+            return null;
+        }
+        if (tamanho == Tamanho.PEQUENO && tipoMassa == TipoMassa.CIABATTA) {
+            return RegraValidacao.CIABATTA_PEQUENO;
+        }
+        if (tamanho == Tamanho.PEQUENO && tipoMassa == TipoMassa.BORDA_RECHEADA) {
+            return RegraValidacao.BORDA_RECHEADA_PEQUENA;
+        }
+        return RegraValidacao.MASSA_INDISPONIVEL;
+    }
+    
+    /**
+     * Indica se a pizza com esses tipos é recusada por não ter proteína
+     */
+    public boolean faltaProteina(long mascara) {
+        return pizzaExigeProteina && mascara != 0L && (mascara & MASCARA_PROTEINAS) == 0L;
+    }
+    
+    /**
+     * Máscara dos tipos que participam de alguma regra de combinação
+     * 
+     * Os demais tipos podem ser adicionados a qualquer combinação válida sem
+     * violar combinações proibidas nem limites por categoria.
+     */
+    public long mascaraTiposRestritos() {
+        return mascaraTiposRestritos;
+    }
+    
+    public List<Set<TipoIngrediente>> getCombinacoesProibidas() {
+        return combinacoes;
+    }
+    
+    public Set<TipoMassa> getMassasIndisponiveis(Tamanho tamanho) {
+        return massasIndisponiveis.getOrDefault(tamanho, Collections.emptySet());
+    }
+    
+    public int getLimiteProteinas() {
+        return limiteProteinas;
+    }
+    
+    public int getLimiteQueijos() {
+        return limiteQueijos;
+    }
+    
+    public int getLimiteQuantidadeTotal() {
+        return limiteQuantidadeTotal;
+    }
+    
+    public int getLimiteTiposLanchePequeno() {
+        return limiteTiposLanchePequeno;
+    }
+    
+    public boolean isPizzaExigeProteina() {
+        return pizzaExigeProteina;
+    }
+    
+    /**
+     * Verifica as regras de combinação, devolvendo a recusa em vez de lançá-la
+     * 
+     * @return ResultadoValidacao.VALIDO ou o código da recusa
+     */
+    long verificarCombinacao(long mascara, int totalQuantidade) {
+        int indice = indiceCombinacaoProibida(mascara);
+        if (indice >= 0) {
+            long combinacao = combinacoesProibidas[indice];
+            return ValidadorCombinacoes.recusar(RegraValidacao.COMBINACAO_PROIBIDA, 
+                TIPOS[Long.numberOfTrailingZeros(combinacao)], ResultadoValidacao.combinacao(combinacao));
+        }
+        if (Long.bitCount(mascara & MASCARA_PROTEINAS) > limiteProteinas) {
+            return ValidadorCombinacoes.recusar(RegraValidacao.LIMITE_PROTEINAS, null, limiteProteinas);
+        }
+        if (Long.bitCount(mascara & MASCARA_QUEIJOS) > limiteQueijos) {
+            return ValidadorCombinacoes.recusar(RegraValidacao.LIMITE_QUEIJOS, null, limiteQueijos);
+        }
+        if (totalQuantidade > limiteQuantidadeTotal) {
+            return ValidadorCombinacoes.recusar(RegraValidacao.QUANTIDADE_TOTAL, null, limiteQuantidadeTotal);
+        }
+        return ResultadoValidacao.VALIDO;
+    }
+    
+    /**
+     * Verifica a massa no tamanho, devolvendo a recusa em vez de lançá-la
+     * 
+     * @return ResultadoValidacao.VALIDO ou o código da recusa
+     */
+    long verificarMassa(Tamanho tamanho, TipoMassa tipoMassa) {
+        RegraValidacao regra = violacaoMassa(tamanho, tipoMassa);
+        if (regra == null) {
+            return ResultadoValidacao.VALIDO;
+        }
+        return ValidadorCombinacoes.recusar(regra, null, ResultadoValidacao.massaNoTamanho(tipoMassa, tamanho));
+    }
+    
+    private int indiceCombinacaoProibida(long mascara) {
+        for (int i = 0; i < combinacoesProibidas.length; i++) {
+            long combinacaoProibida = combinacoesProibidas[i];
+            if ((mascara & combinacaoProibida) == combinacaoProibida) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static List<Set<TipoIngrediente>> lerCombinacoes(String valor) {
+        List<Set<TipoIngrediente>> combinacoes = new ArrayList<>();
+        for (String combinacao : itens(valor, ',')) {
+            Set<TipoIngrediente> tipos = EnumSet.noneOf(TipoIngrediente.class);
+            for (String nome : itens(combinacao, '+')) {
+                tipos.add(constante(TipoIngrediente.class, nome, COMBINACOES));
+            }
+            combinacoes.add(tipos);
+        }
+        return combinacoes;
+    }
+    
+    private static int lerLimite(String chave, String valor) {
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(chave + " deve ser um número inteiro: " + valor);
+        }
+    }
+    
+    private static <E extends Enum<E>> E constante(Class<E> tipo, String nome, String chave) {
+        try {
+            return Enum.valueOf(tipo, nome);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(chave + ": " + tipo.getSimpleName() + " desconhecido: " + nome);
+        }
+    }
+    
+    private static List<String> itens(String valor, char separador) {
+        List<String> itens = new ArrayList<>();
+        for (String item : valor.split(Pattern.quote(String.valueOf(separador)))) {
+            if (!item.trim().isEmpty()) {
+                itens.add(item.trim());
+            }
+        }
+        return itens;
+    }
+    
+    private static long mascaraCategoria(TipoIngrediente.Categoria categoria) {
+        long mascara = 0L;
+        for (TipoIngrediente tipo : TipoIngrediente.values()) {
+            if (tipo.getCategoria() == categoria) {
+                mascara |= 1L << tipo.ordinal();
+            }
+        }
+        return mascara;
+    }
+    
+    /**
+     * Builder para montar um conjunto de regras
+     */
+    public static class Builder {
+        private final List<Set<TipoIngrediente>> combinacoes = new ArrayList<>();
+        private final Map<Tamanho, Set<TipoMassa>> massasIndisponiveis = new EnumMap<>(Tamanho.class);
+        private int limiteProteinas = Integer.MAX_VALUE;
+        private int limiteQueijos = Integer.MAX_VALUE;
+        private int limiteQuantidadeTotal = MAX_QUANTIDADE_TOTAL;
+        private int limiteTiposLanchePequeno = Integer.MAX_VALUE;
+        private boolean pizzaExigeProteina;
+        
+        /**
+         * Regras vazias: nenhuma combinação proibida e nenhum limite além de MAX_QUANTIDADE_TOTAL
+         */
+        public Builder() {
+        }
+        
+        /**
+         * Parte de um conjunto existente (para alterar só algumas regras)
+         */
+        public Builder(RegrasCombinacao base) {
+            comCombinacoesProibidas(base.combinacoes);
+            massasIndisponiveis.putAll(base.massasIndisponiveis);
+            this.limiteProteinas = base.limiteProteinas;
+            this.limiteQueijos = base.limiteQueijos;
+            this.limiteQuantidadeTotal = base.limiteQuantidadeTotal;
+            this.limiteTiposLanchePequeno = base.limiteTiposLanchePequeno;
+            this.pizzaExigeProteina = base.pizzaExigeProteina;
+        }
+        
+        public Builder comCombinacaoProibida(TipoIngrediente... tipos) {
+            Set<TipoIngrediente> combinacao = EnumSet.noneOf(TipoIngrediente.class);
+            Collections.addAll(combinacao, tipos);
+            combinacoes.add(combinacao);
+            return this;
+        }
+        
+        /**
+         * Substitui todas as combinações proibidas
+         */
+        public Builder comCombinacoesProibidas(List<Set<TipoIngrediente>> combinacoes) {
+            this.combinacoes.clear();
+            for (Set<TipoIngrediente> combinacao : combinacoes) {
+                this.combinacoes.add(combinacao.isEmpty()
+                    ? EnumSet.noneOf(TipoIngrediente.class) : EnumSet.copyOf(combinacao));
+            }
+            return this;
+        }
+        
+        public Builder comLimiteProteinas(int limite) {
+            this.limiteProteinas = limite;
+            return this;
+        }
+        
+        public Builder comLimiteQueijos(int limite) {
+            this.limiteQueijos = limite;
+            return this;
+        }
+        
+        public Builder comLimiteQuantidadeTotal(int limite) {
+            this.limiteQuantidadeTotal = limite;
+            return this;
+        }
+        
+        /**
+         * Limite de tipos de ingrediente do lanche pequeno
+         */
+        public Builder comLimiteTiposLanchePequeno(int limite) {
+            this.limiteTiposLanchePequeno = limite;
+            return this;
+        }
+        
+        public Builder comPizzaExigeProteina(boolean exige) {
+            this.pizzaExigeProteina = exige;
+            return this;
+        }
+        
+        /**
+         * Substitui as massas indisponíveis no tamanho
+         */
+        public Builder comMassasIndisponiveis(Tamanho tamanho, Set<TipoMassa> massas) {
+            if (massas.isEmpty()) {
+                massasIndisponiveis.remove(tamanho);
+            } else {
+                massasIndisponiveis.put(tamanho, EnumSet.copyOf(massas));
+            }
+            return this;
+        }
+        
+        public RegrasCombinacao build() {
+            for (Set<TipoIngrediente> combinacao : combinacoes) {
+                if (combinacao.size() < 2) {
+                    throw new IllegalStateException("Combinação proibida precisa de ao menos 2 ingredientes distintos: "
+                        + combinacao);
+                }
+            }
+            if (new LinkedHashSet<>(combinacoes).size() != combinacoes.size()) {
+                throw new IllegalStateException("Combinação proibida repetida");
+            }
+            if (limiteProteinas < 0 || limiteQueijos < 0 || limiteTiposLanchePequeno < 0) {
+                throw new IllegalStateException("Limites por tipo não podem ser negativos");
+            }
+            if (limiteQuantidadeTotal < 1) {
+                throw new IllegalStateException("Quantidade total deve permitir ao menos 1 unidade");
+            }
+            if (limiteQuantidadeTotal > MAX_QUANTIDADE_TOTAL) {
+                throw new IllegalStateException("Quantidade total não pode passar de " + MAX_QUANTIDADE_TOTAL + " unidades");
+            }
+            return new RegrasCombinacao(this);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.lanchonete.validator;
+
+import com.lanchonete.enums.Tamanho;
+import com.lanchonete.enums.TipoIngrediente;
+import com.lanchonete.enums.TipoMassa;
+import com.lanchonete.enums.TipoProduto;
+import java.util.EnumSet;
+
+/**
+ * Resultado de validação codificado em um long, para o caminho sem exceções
+ * 
+ * Recusar uma configuração por exceção custa a captura da pilha e a
+ * montagem da mensagem; em tráfego com muitas cotações inválidas (clientes
+ * experimentando combinações no totem) esse custo domina. O código guarda
+ * só o necessário para montar a mensagem depois, se ela for exibida:
+ * <pre>
+ *   bits  0-7   ordinal de RegraValidacao + 1 (0 = válido)
+ *   bits  8-15  ordinal do TipoIngrediente envolvido + 1 (0 = nenhum)
+ *   bits 32-63  detalhe da regra (limite, máscara da combinação, massa e tamanho...)
+ * </pre>
+ * A mensagem montada é a mesma da ProdutoInvalidoException correspondente.
+ */
+public final class ResultadoValidacao {
+    public static final long VALIDO = 0L;
+    
+    private static final RegraValidacao[] REGRAS = RegraValidacao.values();
+    private static final TipoIngrediente[] TIPOS = TipoIngrediente.values();
+    private static final TipoMassa[] MASSAS = TipoMassa.values();
+    private static final Tamanho[] TAMANHOS = Tamanho.values();
+    private static final TipoProduto[] PRODUTOS = TipoProduto.values();
+    
+    private ResultadoValidacao() {
+    }
+    
+    /**
+     * Codifica uma recusa
+     * 
+     * @param ingrediente tipo envolvido na recusa, ou null
+     * @param detalhe valor específico da regra (ver mensagem())
+     */
+    public static long recusa(RegraValidacao regra, TipoIngrediente ingrediente, int detalhe) {
+        return (regra.ordinal() + 1)
+            | (ingrediente == null ? 0L : (ingrediente.ordinal() + 1L) << 8)
+            | (long) detalhe << 32;
+    }
+    
+    public static boolean isValido(long resultado) {
+        return resultado == VALIDO;
+    }
+    
+    /**
+     * Regra que recusou a configuração, ou null se ela é válida
+     */
+    public static RegraValidacao regra(long resultado) {
+        int regra = (int) (resultado & 0xFF);
+        return regra == 0 ? null : REGRAS[regra - 1];
+    }
+    
+    /**
+     * Tipo de ingrediente envolvido na recusa, ou null
+     */
+    public static TipoIngrediente ingrediente(long resultado) {
+        int tipo = (int) (resultado >>> 8 & 0xFF);
+        return tipo == 0 ? null : TIPOS[tipo - 1];
+    }
+    
+    public static int detalhe(long resultado) {
+        return (int) (resultado >>> 32);
+    }
+    
+    /**
+     * Monta a mensagem da recusa (só quando ela vai ser exibida)
+     */
+    public static String mensagem(long resultado) {
+        RegraValidacao regra = regra(resultado);
+        if (regra == null) {
+            return "Configuração válida";
+        }
+        int detalhe = detalhe(resultado);
+        switch (regra) {
+            case TAMANHO_AUSENTE:
+                return "Tamanho deve ser especificado";
+            case MASSA_AUSENTE:
+                return PRODUTOS[detalhe] == TipoProduto.LANCHE
+                    ? "Tipo de pão deve ser especificado"
+                    : "Tipo de massa deve ser especificado";
+            case PRECO_BASE_NEGATIVO:
+                return "Preço base não pode ser negativo";
+            case COMBINACAO_PROIBIDA:
+                return "Combinação não permitida: " + tipos(detalhe);
+            case LIMITE_PROTEINAS:
+                return "Máximo de " + detalhe + " tipos de proteína por produto";
+            case LIMITE_QUEIJOS:
+                return "Máximo de " + detalhe + " tipos de queijo por produto";
+            case QUANTIDADE_TOTAL:
+                return "Quantidade total de ingredientes não pode exceder " + detalhe + " unidades";
+            case TIPOS_LANCHE_PEQUENO:
+                return "Lanche pequeno permite no máximo " + detalhe + " tipos de ingredientes";
+            case PIZZA_SEM_PROTEINA:
+                return "Pizza deve ter pelo menos uma proteína";
+            case PRECO_CONFLITANTE:
+                return ingrediente(resultado).getNome() + " já foi adicionado com outra política de preço";
+            case MASSA_INDISPONIVEL:
+                return MASSAS[detalhe & 0xFF].getNome() + " não disponível no tamanho "
+                    + TAMANHOS[detalhe >>> 8].getNome().toLowerCase();
+            default:
+                return regra.getDescricao();
+        }
+    }
+    
+    /**
+     * Exceção equivalente ao resultado, para a API que recusa por exceção
+     */
+    public static ProdutoInvalidoException excecao(long resultado) {
+        return new ProdutoInvalidoException(regra(resultado), mensagem(resultado), resultado);
+    }
+    
+    /**
+     * Detalhe de MASSA_INDISPONIVEL
+     */
+    static int massaNoTamanho(TipoMassa massa, Tamanho tamanho) {
+        return massa.ordinal() | tamanho.ordinal() << 8;
+    }
+    
+    /**
+     * Detalhe de COMBINACAO_PROIBIDA: máscara dos tipos (cabe em 32 bits)
+     */
+    static int combinacao(long mascara) {
+        return (int) mascara;
+    }
+    
+    private static EnumSet<TipoIngrediente> tipos(int mascara) {
+        EnumSet<TipoIngrediente> tipos = EnumSet.noneOf(TipoIngrediente.class);
+        for (TipoIngrediente tipo : TIPOS) {
+            if ((mascara >>> tipo.ordinal() & 1) != 0) {
+                tipos.add(tipo);
+            }
+        }
+        return tipos;
+    }
+}
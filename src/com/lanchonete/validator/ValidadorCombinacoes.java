@@ -1,138 +1,244 @@
 package com.lanchonete.validator;
 
+import com.lanchonete.metrics.MetricasLanchonete;
 import com.lanchonete.model.Ingrediente;
 import com.lanchonete.enums.TipoIngrediente;
 import com.lanchonete.enums.TipoMassa;
 import com.lanchonete.enums.Tamanho;
 import java.util.List;
-import java.util.Set;
-import java.util.HashSet;
 
 /**
  * Validador de combinações de ingredientes
  * Implementa regras de negócio para combinações válidas/inválidas
+ * 
+ * As regras ficam em um RegrasCombinacao imutável, compilado em máscaras de
+ * bits: cada TipoIngrediente ocupa o bit do seu ordinal em um long, de modo
+ * que a validação se reduz a operações AND/popcount sem alocação.
+ * 
+ * O conjunto vigente é uma referência volatile trocada inteira por
+ * {@link #instalar}. Cada validação lê a referência uma única vez e usa esse
+ * conjunto do início ao fim, então uma troca no meio do movimento não exige
+ * trava na leitura nem mistura regras antigas e novas no mesmo produto.
+ * 
+ * Cada regra tem duas formas: validar* lança ProdutoInvalidoException e
+ * verificar* devolve um código de ResultadoValidacao, sem exceção nem
+ * mensagem montada - para cotações com muitas recusas. As validações são
+ * implementadas uma vez, na forma com código, e a forma com exceção apenas
+ * a converte.
  */
 public class ValidadorCombinacoes {
     
-    // Combinações que não podem existir juntas
-    private static final Set<Set<TipoIngrediente>> COMBINACOES_PROIBIDAS = new HashSet<>();
+    private static volatile RegrasCombinacao regras = RegrasCombinacao.padrao();
     
-    // Ingredientes que têm limite por produto
-    private static final int MAX_PROTEINAS_POR_PRODUTO = 3;
-    private static final int MAX_QUEIJOS_POR_PRODUTO = 2;
+    /**
+     * Conjunto de regras vigente
+     */
+    public static RegrasCombinacao getRegras() {
+        return regras;
+    }
     
-    static {
-        // Exemplo: Gorgonzola não combina com Cheddar (questão de sabor)
-        Set<TipoIngrediente> combinacao1 = new HashSet<>();
-        combinacao1.add(TipoIngrediente.GORGONZOLA);
-        combinacao1.add(TipoIngrediente.CHEDDAR);
-        COMBINACOES_PROIBIDAS.add(combinacao1);
-        
-        // Exemplo: Molho especial não combina com outros molhos
-        Set<TipoIngrediente> combinacao2 = new HashSet<>();
-        combinacao2.add(TipoIngrediente.MOLHO_ESPECIAL);
-        combinacao2.add(TipoIngrediente.BARBECUE);
-        COMBINACOES_PROIBIDAS.add(combinacao2);
-        
-        Set<TipoIngrediente> combinacao3 = new HashSet<>();
-        combinacao3.add(TipoIngrediente.MOLHO_ESPECIAL);
-        combinacao3.add(TipoIngrediente.KETCHUP);
-        COMBINACOES_PROIBIDAS.add(combinacao3);
+    /**
+     * Publica um novo conjunto de regras; validações em andamento terminam com o anterior
+     */
+    public static void instalar(RegrasCombinacao novas) {
+        if (novas == null) {
+            throw new IllegalArgumentException("Regras de combinação são obrigatórias");
+        }
+        regras = novas;
+    }
+    
+    /**
+     * Retorna o bit que representa o tipo de ingrediente
+     */
+    public static long mascara(TipoIngrediente tipo) {
+        return 1L << tipo.ordinal();
+    }
+    
+    /**
+     * Calcula a máscara dos tipos presentes em uma lista de ingredientes
+     */
+    public static long mascara(List<Ingrediente> ingredientes) {
+        long mascara = 0L;
+        for (int i = 0; i < ingredientes.size(); i++) {
+            mascara |= mascara(ingredientes.get(i).getTipo());
+        }
+        return mascara;
     }
     
     /**
      * Valida se uma lista de ingredientes é uma combinação válida
      */
     public static void validarCombinacao(List<Ingrediente> ingredientes) {
-        validarCombinacaoProibida(ingredientes);
-        validarLimitePorCategoria(ingredientes);
-        validarQuantidadesTotais(ingredientes);
+        long mascara = 0L;
+        int totalQuantidade = 0;
+        
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            mascara |= mascara(ingrediente.getTipo());
+            totalQuantidade += ingrediente.getQuantidade();
+        }
+        
+        validarCombinacao(mascara, totalQuantidade);
+    }
+    
+    /**
+     * Valida uma combinação já reduzida à máscara de tipos e à quantidade total
+     */
+    public static void validarCombinacao(long mascara, int totalQuantidade) {
+        lancarSeRecusado(regras.verificarCombinacao(mascara, totalQuantidade));
+    }
+    
+    /**
+     * Regra de combinação de tipos violada pela máscara nas regras vigentes
+     * 
+     * @see RegrasCombinacao#violacaoCombinacao(long)
+     */
+    public static RegraValidacao violacaoCombinacao(long mascara) {
+        return regras.violacaoCombinacao(mascara);
+    }
+    
+    /**
+     * Regra de massa violada no tamanho informado nas regras vigentes
+     * 
+     * @see RegrasCombinacao#violacaoMassa(Tamanho, TipoMassa)
+     */
+    public static RegraValidacao violacaoMassa(Tamanho tamanho, TipoMassa tipoMassa) {
+        return regras.violacaoMassa(tamanho, tipoMassa);
+    }
+    
+    /**
+     * Máscara dos tipos que participam de alguma regra de combinação vigente
+     * 
+     * @see RegrasCombinacao#mascaraTiposRestritos()
+     */
+    public static long mascaraTiposRestritos() {
+        return regras.mascaraTiposRestritos();
     }
     
     /**
      * Valida se os ingredientes para um lanche são apropriados
      */
     public static void validarLanche(Tamanho tamanho, TipoMassa tipoPao, List<Ingrediente> ingredientes) {
-        validarCombinacao(ingredientes);
+        long mascara = 0L;
+        int totalQuantidade = 0;
+        
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            mascara |= mascara(ingrediente.getTipo());
+            totalQuantidade += ingrediente.getQuantidade();
+        }
+        
+        validarLanche(tamanho, tipoPao, mascara, totalQuantidade, ingredientes.size());
+    }
+    
+    /**
+     * Valida um lanche a partir da máscara de tipos, quantidade total e número de itens
+     * 
+     * @throws ProdutoInvalidoException se alguma regra recusar o lanche
+     */
+    public static void validarLanche(Tamanho tamanho, TipoMassa tipoPao, long mascara,
+                                     int totalQuantidade, int numeroItens) {
+        lancarSeRecusado(verificarLanche(tamanho, tipoPao, mascara, totalQuantidade, numeroItens));
+    }
+    
+    /**
+     * Mesmas regras de validarLanche, devolvendo a recusa em vez de lançá-la
+     * 
+     * @return ResultadoValidacao.VALIDO ou o código da recusa
+     */
+    public static long verificarLanche(Tamanho tamanho, TipoMassa tipoPao, long mascara,
+                                       int totalQuantidade, int numeroItens) {
+        long inicio = MetricasLanchonete.iniciar();
+        RegrasCombinacao vigentes = regras;
+        long resultado = vigentes.verificarCombinacao(mascara, totalQuantidade);
         
         // Validações específicas para lanches
-        if (tipoPao == TipoMassa.CIABATTA && tamanho == Tamanho.PEQUENO) {
-            throw new IllegalStateException("Ciabatta não disponível para lanche pequeno");
+        if (resultado == ResultadoValidacao.VALIDO) {
+            resultado = vigentes.verificarMassa(tamanho, tipoPao);
         }
         
         // Lanche pequeno tem limite de ingredientes
-        if (tamanho == Tamanho.PEQUENO && ingredientes.size() > 4) {
-            throw new IllegalStateException("Lanche pequeno permite no máximo 4 tipos de ingredientes");
+        if (resultado == ResultadoValidacao.VALIDO 
+                && tamanho == Tamanho.PEQUENO && numeroItens > vigentes.getLimiteTiposLanchePequeno()) {
+            resultado = recusar(RegraValidacao.TIPOS_LANCHE_PEQUENO, null, vigentes.getLimiteTiposLanchePequeno());
         }
+        MetricasLanchonete.registrar(MetricasLanchonete.VALIDACAO_LANCHE, inicio);
+        return resultado;
     }
     
     /**
      * Valida se os ingredientes para uma pizza são apropriados
      */
     public static void validarPizza(Tamanho tamanho, TipoMassa tipoMassa, List<Ingrediente> ingredientes) {
-        validarCombinacao(ingredientes);
+        long mascara = 0L;
+        int totalQuantidade = 0;
         
-        // Validações específicas para pizzas
-        if (tipoMassa == TipoMassa.BORDA_RECHEADA && tamanho == Tamanho.PEQUENO) {
-            throw new IllegalStateException("Borda recheada não disponível para pizza pequena");
+        for (int i = 0; i < ingredientes.size(); i++) {
+            Ingrediente ingrediente = ingredientes.get(i);
+            mascara |= mascara(ingrediente.getTipo());
+            totalQuantidade += ingrediente.getQuantidade();
         }
         
-        // Pizza deve ter pelo menos uma proteína
-        boolean temProteina = ingredientes.stream()
-                .anyMatch(ing -> ing.getTipo().getCategoria() == TipoIngrediente.Categoria.PROTEINA);
-        
-        if (!temProteina && !ingredientes.isEmpty()) {
-            throw new IllegalStateException("Pizza deve ter pelo menos uma proteína");
-        }
+        validarPizza(tamanho, tipoMassa, mascara, totalQuantidade);
     }
     
-    private static void validarCombinacaoProibida(List<Ingrediente> ingredientes) {
-        Set<TipoIngrediente> tiposPresentes = new HashSet<>();
-        
-        for (Ingrediente ingrediente : ingredientes) {
-            tiposPresentes.add(ingrediente.getTipo());
-        }
-        
-        for (Set<TipoIngrediente> combinacaoProibida : COMBINACOES_PROIBIDAS) {
-            if (tiposPresentes.containsAll(combinacaoProibida)) {
-                throw new IllegalStateException(
-                    "Combinação não permitida: " + combinacaoProibida.toString()
-                );
-            }
-        }
+    /**
+     * Valida uma pizza a partir da máscara de tipos e da quantidade total
+     * 
+     * @throws ProdutoInvalidoException se alguma regra recusar a pizza
+     */
+    public static void validarPizza(Tamanho tamanho, TipoMassa tipoMassa, long mascara, int totalQuantidade) {
+        lancarSeRecusado(verificarPizza(tamanho, tipoMassa, mascara, totalQuantidade));
     }
     
-    private static void validarLimitePorCategoria(List<Ingrediente> ingredientes) {
-        long countProteinas = ingredientes.stream()
-                .filter(ing -> ing.getTipo().getCategoria() == TipoIngrediente.Categoria.PROTEINA)
-                .count();
-        
-        long countQueijos = ingredientes.stream()
-                .filter(ing -> ing.getTipo().getCategoria() == TipoIngrediente.Categoria.QUEIJO)
-                .count();
+    /**
+     * Mesmas regras de validarPizza, devolvendo a recusa em vez de lançá-la
+     * 
+     * @return ResultadoValidacao.VALIDO ou o código da recusa
+     */
+    public static long verificarPizza(Tamanho tamanho, TipoMassa tipoMassa, long mascara, int totalQuantidade) {
+        long inicio = MetricasLanchonete.iniciar();
+        RegrasCombinacao vigentes = regras;
+        long resultado = vigentes.verificarCombinacao(mascara, totalQuantidade);
         
-        if (countProteinas > MAX_PROTEINAS_POR_PRODUTO) {
-            throw new IllegalStateException(
-                "Máximo de " + MAX_PROTEINAS_POR_PRODUTO + " tipos de proteína por produto"
-            );
+        // Validações específicas para pizzas
+        if (resultado == ResultadoValidacao.VALIDO) {
+            resultado = vigentes.verificarMassa(tamanho, tipoMassa);
         }
         
-        if (countQueijos > MAX_QUEIJOS_POR_PRODUTO) {
-            throw new IllegalStateException(
-                "Máximo de " + MAX_QUEIJOS_POR_PRODUTO + " tipos de queijo por produto"
-            );
+        // Pizza deve ter pelo menos uma proteína
+        if (resultado == ResultadoValidacao.VALIDO && vigentes.faltaProteina(mascara)) {
+            resultado = recusar(RegraValidacao.PIZZA_SEM_PROTEINA, null, 0);
         }
+        MetricasLanchonete.registrar(MetricasLanchonete.VALIDACAO_PIZZA, inicio);
+        return resultado;
     }
     
-    private static void validarQuantidadesTotais(List<Ingrediente> ingredientes) {
-        int totalQuantidade = ingredientes.stream()
-                .mapToInt(Ingrediente::getQuantidade)
-                .sum();
-        
-        if (totalQuantidade > 15) {
-            throw new IllegalStateException(
-                "Quantidade total de ingredientes não pode exceder 15 unidades"
-            );
+    /**
+     * Contabiliza a rejeição na métrica da regra e devolve o código correspondente
+     * 
+     * @param ingrediente tipo envolvido na recusa, ou null
+     * @param detalhe valor específico da regra (ver ResultadoValidacao)
+     */
+    public static long recusar(RegraValidacao regra, TipoIngrediente ingrediente, int detalhe) {
+        MetricasLanchonete.rejeicao(regra);
+        return ResultadoValidacao.recusa(regra, ingrediente, detalhe);
+    }
+    
+    /**
+     * Converte um código de recusa na exceção correspondente (a métrica já foi contada em recusar)
+     */
+    public static void lancarSeRecusado(long resultado) {
+        if (resultado != ResultadoValidacao.VALIDO) {
+            throw ResultadoValidacao.excecao(resultado);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Contabiliza a rejeição na métrica da regra e cria a exceção correspondente
+     */
+    public static ProdutoInvalidoException rejeitar(RegraValidacao regra, String mensagem) {
+        MetricasLanchonete.rejeicao(regra);
+        return new ProdutoInvalidoException(regra, mensagem);
+    }
+}